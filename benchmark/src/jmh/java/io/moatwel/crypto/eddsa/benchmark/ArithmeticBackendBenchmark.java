@@ -0,0 +1,44 @@
+package io.moatwel.crypto.eddsa.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import io.moatwel.crypto.HashAlgorithm;
+import io.moatwel.crypto.KeyPair;
+import io.moatwel.crypto.Signature;
+import io.moatwel.crypto.eddsa.ArithmeticBackend;
+import io.moatwel.crypto.eddsa.Edwards;
+import io.moatwel.crypto.eddsa.ed25519.Curve25519;
+import io.moatwel.crypto.eddsa.ed25519.Ed25519SchemeProvider;
+
+@State(Scope.Benchmark)
+public class ArithmeticBackendBenchmark {
+
+    @Param({"reference", "limbs", "vector"})
+    private String backend;
+
+    private Edwards edwards;
+    private KeyPair pair;
+    private Signature signature;
+
+    @Setup
+    public void setup() {
+        edwards = new Edwards(new Ed25519SchemeProvider(HashAlgorithm.SHA_512,
+                ArithmeticBackend.getBackend(backend, Curve25519.getInstance())));
+        pair = edwards.generateKeyPair();
+        signature = edwards.sign(pair, new byte[32]);
+    }
+
+    @Benchmark
+    public void sign() {
+        edwards.sign(pair, new byte[32]);
+    }
+
+    @Benchmark
+    public void verify() {
+        edwards.verify(pair.getPublicKey(), new byte[32], signature);
+    }
+}
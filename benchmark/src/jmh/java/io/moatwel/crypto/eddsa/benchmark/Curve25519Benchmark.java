@@ -2,17 +2,59 @@ package io.moatwel.crypto.eddsa.benchmark;
 
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
 
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+import io.moatwel.crypto.ExpandedPrivateKey;
+import io.moatwel.crypto.HashAlgorithm;
 import io.moatwel.crypto.KeyPair;
+import io.moatwel.crypto.PreparedPublicKey;
 import io.moatwel.crypto.Signature;
+import io.moatwel.crypto.VerificationItem;
+import io.moatwel.crypto.eddsa.DecodeException;
 import io.moatwel.crypto.eddsa.Edwards;
+import io.moatwel.crypto.eddsa.Point;
+import io.moatwel.crypto.eddsa.PublicKeyDelegate;
+import io.moatwel.crypto.eddsa.PublicKeyCache;
+import io.moatwel.crypto.eddsa.ed25519.Ed25519SchemeProvider;
+import io.moatwel.crypto.eddsa.ed25519.EncodedPointEd25519;
+import io.moatwel.util.SharedKeyHelper;
 
 @State(Scope.Benchmark)
 public class Curve25519Benchmark {
     private Edwards edwards = new Edwards();
+    private Edwards edwardsCached = new Edwards(new Ed25519SchemeProvider(HashAlgorithm.KECCAK_512), new PublicKeyCache(1024));
     private KeyPair pair = edwards.generateKeyPair();
     private Signature signature = edwards.sign(pair, new byte[32]);
+    private ExpandedPrivateKey expandedPrivateKey = edwards.expandPrivateKey(pair);
+    private List<VerificationItem> items = new ArrayList<>();
+    private PreparedPublicKey preparedPublicKey;
+    private Point point = edwards.getCurve().multiplyBase(BigInteger.TEN);
+    private BigInteger scalar = edwards.getCurve().getPrimeL().subtract(BigInteger.TEN);
+    private KeyPair otherPair = edwards.generateKeyPair();
+    private PublicKeyDelegate delegate = edwards.getSchemeProvider().getPublicKeyDelegate();
+    private Point[] points = new Point[64];
+    private byte[][] encodedKeys = new byte[1024][];
+
+    public Curve25519Benchmark() {
+        for (int i = 0; i < 64; i++) {
+            KeyPair keyPair = edwards.generateKeyPair();
+            points[i] = edwards.getCurve().multiplyBase(BigInteger.valueOf(i + 1));
+            items.add(new VerificationItem(keyPair.getPublicKey(), new byte[32], edwards.sign(keyPair, new byte[32])));
+        }
+        for (int i = 0; i < encodedKeys.length; i++) {
+            encodedKeys[i] = edwards.getCurve().multiplyBase(BigInteger.valueOf(i + 1)).encode().getValue();
+        }
+    }
+
+    @Setup
+    public void setup() throws DecodeException {
+        preparedPublicKey = edwards.prepare(pair.getPublicKey());
+    }
 
     @Benchmark
     public void generate_KeyPair() {
@@ -24,8 +66,73 @@ public class Curve25519Benchmark {
         edwards.sign(pair, new byte[32]);
     }
 
+    @Benchmark
+    public void sign_Expanded() {
+        edwards.sign(expandedPrivateKey, new byte[32]);
+    }
+
     @Benchmark
     public void verify() {
         edwards.verify(pair.getPublicKey(), new byte[32], signature);
     }
+
+    @Benchmark
+    public void verify_Prepared() {
+        edwards.verify(preparedPublicKey, new byte[32], signature);
+    }
+
+    @Benchmark
+    public void verify_Cached() {
+        edwardsCached.verify(pair.getPublicKey(), new byte[32], signature);
+    }
+
+    @Benchmark
+    public void verify_Batch_64() {
+        edwards.verifyBatch(items);
+    }
+
+    @Benchmark
+    public Point scalarMultiply() {
+        return point.scalarMultiply(scalar);
+    }
+
+    @Benchmark
+    public Point scalarMultiply_VariableTime() {
+        return point.scalarMultiplyVariableTime(scalar);
+    }
+
+    @Benchmark
+    public byte[] sharedKeySeed() throws DecodeException {
+        return SharedKeyHelper.generateSharedKeySeed(otherPair.getPublicKey(), pair.getPrivateKey(), delegate);
+    }
+
+    @Benchmark
+    public byte[] sharedSecret() throws DecodeException {
+        return SharedKeyHelper.generateSharedSecret(otherPair.getPublicKey(), pair.getPrivateKey(), delegate);
+    }
+
+    @Benchmark
+    public byte[] encode_64() {
+        byte[] output = new byte[64 * edwards.getCurve().getPublicKeyByteLength()];
+        for (int i = 0; i < points.length; i++) {
+            byte[] encoded = points[i].encode().getValue();
+            System.arraycopy(encoded, 0, output, i * encoded.length, encoded.length);
+        }
+        return output;
+    }
+
+    @Benchmark
+    public byte[] encodeBatch_64() {
+        return edwards.getCurve().encodeBatch(points);
+    }
+
+    @Benchmark
+    public Point[] decodeAll_1024() {
+        return EncodedPointEd25519.decodeAll(encodedKeys, 1);
+    }
+
+    @Benchmark
+    public Point[] decodeAll_1024_4_threads() {
+        return EncodedPointEd25519.decodeAll(encodedKeys, 4);
+    }
 }
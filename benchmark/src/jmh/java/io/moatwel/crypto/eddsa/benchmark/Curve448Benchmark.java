@@ -2,19 +2,57 @@ package io.moatwel.crypto.eddsa.benchmark;
 
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
 
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+import io.moatwel.crypto.ExpandedPrivateKey;
 import io.moatwel.crypto.HashAlgorithm;
 import io.moatwel.crypto.KeyPair;
+import io.moatwel.crypto.PreparedPublicKey;
 import io.moatwel.crypto.Signature;
+import io.moatwel.crypto.VerificationItem;
+import io.moatwel.crypto.eddsa.DecodeException;
 import io.moatwel.crypto.eddsa.Edwards;
+import io.moatwel.crypto.eddsa.Point;
+import io.moatwel.crypto.eddsa.PublicKeyDelegate;
 import io.moatwel.crypto.eddsa.ed448.Ed448SchemeProvider;
+import io.moatwel.crypto.eddsa.ed448.EncodedPointEd448;
+import io.moatwel.util.SharedKeyHelper;
 
 @State(Scope.Benchmark)
 public class Curve448Benchmark {
     private Edwards edwards448 = new Edwards(new Ed448SchemeProvider(HashAlgorithm.SHAKE_256));
     private KeyPair pair448 = edwards448.generateKeyPair();
     private Signature signature448 = edwards448.sign(pair448, new byte[32]);
+    private ExpandedPrivateKey expandedPrivateKey448 = edwards448.expandPrivateKey(pair448);
+    private List<VerificationItem> items448 = new ArrayList<>();
+    private PreparedPublicKey preparedPublicKey448;
+    private Point point448 = edwards448.getCurve().multiplyBase(BigInteger.TEN);
+    private BigInteger scalar448 = edwards448.getCurve().getPrimeL().subtract(BigInteger.TEN);
+    private KeyPair otherPair448 = edwards448.generateKeyPair();
+    private PublicKeyDelegate delegate448 = edwards448.getSchemeProvider().getPublicKeyDelegate();
+    private Point[] points448 = new Point[64];
+    private byte[][] encodedKeys448 = new byte[1024][];
+
+    public Curve448Benchmark() {
+        for (int i = 0; i < 64; i++) {
+            KeyPair keyPair = edwards448.generateKeyPair();
+            points448[i] = edwards448.getCurve().multiplyBase(BigInteger.valueOf(i + 1));
+            items448.add(new VerificationItem(keyPair.getPublicKey(), new byte[32], edwards448.sign(keyPair, new byte[32])));
+        }
+        for (int i = 0; i < encodedKeys448.length; i++) {
+            encodedKeys448[i] = edwards448.getCurve().multiplyBase(BigInteger.valueOf(i + 1)).encode().getValue();
+        }
+    }
+
+    @Setup
+    public void setup() throws DecodeException {
+        preparedPublicKey448 = edwards448.prepare(pair448.getPublicKey());
+    }
 
     @Benchmark
     public void generate_KeyPair() {
@@ -26,8 +64,68 @@ public class Curve448Benchmark {
         edwards448.sign(pair448, new byte[32]);
     }
 
+    @Benchmark
+    public void sign_Expanded() {
+        edwards448.sign(expandedPrivateKey448, new byte[32]);
+    }
+
     @Benchmark
     public void verify() {
         edwards448.verify(pair448.getPublicKey(), new byte[32], signature448);
     }
+
+    @Benchmark
+    public void verify_Prepared() {
+        edwards448.verify(preparedPublicKey448, new byte[32], signature448);
+    }
+
+    @Benchmark
+    public void verify_Batch_64() {
+        edwards448.verifyBatch(items448);
+    }
+
+    @Benchmark
+    public Point scalarMultiply() {
+        return point448.scalarMultiply(scalar448);
+    }
+
+    @Benchmark
+    public Point scalarMultiply_VariableTime() {
+        return point448.scalarMultiplyVariableTime(scalar448);
+    }
+
+    @Benchmark
+    public byte[] sharedKeySeed() throws DecodeException {
+        return SharedKeyHelper.generateSharedKeySeed(otherPair448.getPublicKey(), pair448.getPrivateKey(), delegate448);
+    }
+
+    @Benchmark
+    public byte[] sharedSecret() throws DecodeException {
+        return SharedKeyHelper.generateSharedSecret(otherPair448.getPublicKey(), pair448.getPrivateKey(), delegate448);
+    }
+
+    @Benchmark
+    public byte[] encode_64() {
+        byte[] output = new byte[64 * edwards448.getCurve().getPublicKeyByteLength()];
+        for (int i = 0; i < points448.length; i++) {
+            byte[] encoded = points448[i].encode().getValue();
+            System.arraycopy(encoded, 0, output, i * encoded.length, encoded.length);
+        }
+        return output;
+    }
+
+    @Benchmark
+    public byte[] encodeBatch_64() {
+        return edwards448.getCurve().encodeBatch(points448);
+    }
+
+    @Benchmark
+    public Point[] decodeAll_1024() {
+        return EncodedPointEd448.decodeAll(encodedKeys448, 1);
+    }
+
+    @Benchmark
+    public Point[] decodeAll_1024_4_threads() {
+        return EncodedPointEd448.decodeAll(encodedKeys448, 4);
+    }
 }
@@ -0,0 +1,31 @@
+package io.moatwel.crypto.eddsa.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import io.moatwel.crypto.HashAlgorithm;
+import io.moatwel.crypto.Hashes;
+
+@State(Scope.Benchmark)
+public class HashesBenchmark {
+
+    private byte[] data = new byte[64];
+
+    @Benchmark
+    public byte[] hash_SHA512() {
+        return Hashes.hash(HashAlgorithm.SHA_512, data);
+    }
+
+    @Benchmark
+    @Threads(32)
+    public byte[] hash_SHA512_32threads() {
+        return Hashes.hash(HashAlgorithm.SHA_512, data);
+    }
+
+    @Benchmark
+    public byte[] hash_SHAKE256() {
+        return Hashes.hash(HashAlgorithm.SHAKE_256, 114, data);
+    }
+}
@@ -0,0 +1,54 @@
+package io.moatwel.crypto.eddsa.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigInteger;
+import java.security.SecureRandom;
+
+import io.moatwel.crypto.eddsa.Curve;
+import io.moatwel.crypto.eddsa.MultiScalarMultiplier;
+import io.moatwel.crypto.eddsa.Point;
+import io.moatwel.crypto.eddsa.ed25519.Curve25519;
+import io.moatwel.crypto.eddsa.ed448.Curve448;
+
+@State(Scope.Benchmark)
+public class MultiScalarMultiplierBenchmark {
+
+    @Param({"25519", "448"})
+    private String curveName;
+
+    @Param({"16", "256", "4096"})
+    private int size;
+
+    private MultiScalarMultiplier multiplier;
+    private Point[] points;
+    private BigInteger[] scalars;
+
+    @Setup
+    public void setup() {
+        Curve curve = "25519".equals(curveName) ? Curve25519.getInstance() : Curve448.getInstance();
+        multiplier = curve.getMultiScalarMultiplier();
+
+        SecureRandom random = new SecureRandom();
+        points = new Point[size];
+        scalars = new BigInteger[size];
+        for (int i = 0; i < size; i++) {
+            points[i] = curve.multiplyBase(new BigInteger(curve.getPrimeL().bitLength(), random));
+            scalars[i] = new BigInteger(curve.getPrimeL().bitLength(), random);
+        }
+    }
+
+    @Benchmark
+    public Point multiply_Straus() {
+        return multiplier.multiplyStraus(points, scalars);
+    }
+
+    @Benchmark
+    public Point multiply_Pippenger() {
+        return multiplier.multiplyPippenger(points, scalars);
+    }
+}
@@ -0,0 +1,39 @@
+package io.moatwel.crypto.eddsa.ed25519;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigInteger;
+
+@State(Scope.Benchmark)
+public class Field25519Benchmark {
+
+    private int[] x = Field25519.create(new BigInteger("20266806181347897178517736945403300566236311925948585575972021784256181966831"));
+    private int[] y = Field25519.create(new BigInteger("20852410506957026626210500909507772892959249564214740554270305643381675686982"));
+    private int[] result = Field25519.create();
+
+    @Benchmark
+    public int[] Field_Addition() {
+        Field25519.add(result, x, y);
+        return result;
+    }
+
+    @Benchmark
+    public int[] Field_Multiplication() {
+        Field25519.mul(result, x, y);
+        return result;
+    }
+
+    @Benchmark
+    public int[] Field_Square() {
+        Field25519.square(result, x);
+        return result;
+    }
+
+    @Benchmark
+    public int[] Field_Inverse() {
+        Field25519.invert(result, x);
+        return result;
+    }
+}
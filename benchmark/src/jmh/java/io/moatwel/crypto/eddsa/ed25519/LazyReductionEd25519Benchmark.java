@@ -0,0 +1,96 @@
+package io.moatwel.crypto.eddsa.ed25519;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import io.moatwel.crypto.eddsa.Point;
+
+/**
+ * Point formulas with sums and differences computed lazily, as they are in
+ * {@link MutablePointEd25519}, against the same formulas carrying after every addition.
+ */
+@State(Scope.Benchmark)
+public class LazyReductionEd25519Benchmark {
+
+    private MutablePointEd25519 p = new MutablePointEd25519();
+    private CachedPointEd25519 q = new CachedPointEd25519();
+    private MutablePointEd25519 result = new MutablePointEd25519();
+    private ScratchEd25519 scratch = ScratchEd25519.get();
+
+    public LazyReductionEd25519Benchmark() {
+        Point base = Curve25519.getInstance().getBasePoint();
+        int[] x = Field25519.create(base.getX().getInteger());
+        int[] y = Field25519.create(base.getY().getInteger());
+        int[] z = Field25519.create();
+        Field25519.one(z);
+        int[] t = Field25519.create();
+        Field25519.mul(t, x, y);
+        p.set(x, y, z, t);
+        result.doubling(p, scratch);
+        q.set(result);
+    }
+
+    @Benchmark
+    public MutablePointEd25519 addCached_Lazy() {
+        result.addCached(p, q, scratch);
+        return result;
+    }
+
+    @Benchmark
+    public MutablePointEd25519 addCached_Eager() {
+        int[] A = scratch.t0;
+        int[] B = scratch.t1;
+        int[] C = scratch.t2;
+        int[] D = scratch.t3;
+        int[] E = scratch.t4;
+
+        Field25519.sub(A, p.Y, p.X);
+        Field25519.mul(A, A, q.yMinusX);
+        Field25519.add(B, p.Y, p.X);
+        Field25519.mul(B, B, q.yPlusX);
+        Field25519.mul(C, p.T, q.t2d);
+        Field25519.mul(D, p.Z, q.z2);
+        Field25519.sub(E, B, A);
+        Field25519.add(B, B, A);
+        Field25519.sub(A, D, C);
+        Field25519.add(C, D, C);
+        setEFGH(E, A, C, B);
+        return result;
+    }
+
+    @Benchmark
+    public MutablePointEd25519 doubling_Lazy() {
+        result.doubling(p, scratch);
+        return result;
+    }
+
+    @Benchmark
+    public MutablePointEd25519 doubling_Eager() {
+        int[] A = scratch.t0;
+        int[] B = scratch.t1;
+        int[] C = scratch.t2;
+        int[] E = scratch.t3;
+        int[] H = scratch.t4;
+
+        Field25519.square(A, p.X);
+        Field25519.square(B, p.Y);
+        Field25519.square(C, p.Z);
+        Field25519.add(C, C, C);
+        Field25519.add(E, p.X, p.Y);
+        Field25519.square(E, E);
+        Field25519.add(H, A, B);
+        Field25519.sub(E, H, E);
+        Field25519.sub(B, A, B);
+        Field25519.add(C, C, B);
+        setEFGH(E, C, B, H);
+        return result;
+    }
+
+    private void setEFGH(int[] E, int[] F, int[] G, int[] H) {
+        Field25519.mul(result.X, E, F);
+        Field25519.mul(result.Y, G, H);
+        Field25519.mul(result.T, E, H);
+        Field25519.mul(result.Z, F, G);
+    }
+}
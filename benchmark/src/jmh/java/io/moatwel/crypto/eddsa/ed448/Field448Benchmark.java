@@ -0,0 +1,39 @@
+package io.moatwel.crypto.eddsa.ed448;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigInteger;
+
+@State(Scope.Benchmark)
+public class Field448Benchmark {
+
+    private int[] x = Field448.create(new BigInteger("496544546383904370482908739931890968810042188285062784953381303098483531855058566662298864807157195069264585727569471579829248415152011"));
+    private int[] y = Field448.create(new BigInteger("591147908820812699411016566844505499322098077586462946823338816820146837633310978349380099990309979151635711440731321642888626535260884"));
+    private int[] result = Field448.create();
+
+    @Benchmark
+    public int[] Field_Addition() {
+        Field448.add(result, x, y);
+        return result;
+    }
+
+    @Benchmark
+    public int[] Field_Multiplication() {
+        Field448.mul(result, x, y);
+        return result;
+    }
+
+    @Benchmark
+    public int[] Field_Square() {
+        Field448.square(result, x);
+        return result;
+    }
+
+    @Benchmark
+    public int[] Field_Inverse() {
+        Field448.invert(result, x);
+        return result;
+    }
+}
@@ -0,0 +1,98 @@
+package io.moatwel.crypto.eddsa.ed448;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import io.moatwel.crypto.eddsa.Point;
+
+/**
+ * Point formulas with sums and differences computed lazily, as they are in
+ * {@link TwistedPointEd448}, against the same formulas carrying after every addition.
+ */
+@State(Scope.Benchmark)
+public class LazyReductionEd448Benchmark {
+
+    private TwistedPointEd448 p = new TwistedPointEd448();
+    private TwistedCachedPointEd448 q = new TwistedCachedPointEd448();
+    private TwistedPointEd448 result = new TwistedPointEd448();
+    private ScratchEd448 scratch = ScratchEd448.get();
+
+    public LazyReductionEd448Benchmark() {
+        Point base = Curve448.getInstance().getBasePoint();
+        int[] x = Field448.create(base.getX().getInteger());
+        int[] y = Field448.create(base.getY().getInteger());
+        int[] z = Field448.create();
+        Field448.one(z);
+        int[] t = Field448.create();
+        Field448.mul(t, x, y);
+        MutablePointEd448 point = new MutablePointEd448();
+        point.set(x, y, z, t);
+        p.isogeny(point, scratch);
+        result.doubling(p, scratch);
+        q.set(result);
+    }
+
+    @Benchmark
+    public TwistedPointEd448 addCached_Lazy() {
+        result.addCached(p, q, scratch);
+        return result;
+    }
+
+    @Benchmark
+    public TwistedPointEd448 addCached_Eager() {
+        int[] A = scratch.t0;
+        int[] B = scratch.t1;
+        int[] C = scratch.t2;
+        int[] D = scratch.t3;
+        int[] E = scratch.t4;
+
+        Field448.sub(A, p.Y, p.X);
+        Field448.mul(A, A, q.yMinusX);
+        Field448.add(B, p.Y, p.X);
+        Field448.mul(B, B, q.yPlusX);
+        Field448.mul(C, p.T, q.t2d);
+        Field448.mul(D, p.Z, q.z2);
+        Field448.sub(E, B, A);
+        Field448.add(B, B, A);
+        Field448.sub(A, D, C);
+        Field448.add(C, D, C);
+        setEFGH(E, A, C, B);
+        return result;
+    }
+
+    @Benchmark
+    public TwistedPointEd448 doubling_Lazy() {
+        result.doubling(p, scratch);
+        return result;
+    }
+
+    @Benchmark
+    public TwistedPointEd448 doubling_Eager() {
+        int[] A = scratch.t0;
+        int[] B = scratch.t1;
+        int[] C = scratch.t2;
+        int[] E = scratch.t3;
+        int[] H = scratch.t4;
+
+        Field448.square(A, p.X);
+        Field448.square(B, p.Y);
+        Field448.square(C, p.Z);
+        Field448.add(C, C, C);
+        Field448.add(E, p.X, p.Y);
+        Field448.square(E, E);
+        Field448.add(H, A, B);
+        Field448.sub(E, H, E);
+        Field448.sub(B, A, B);
+        Field448.add(C, C, B);
+        setEFGH(E, C, B, H);
+        return result;
+    }
+
+    private void setEFGH(int[] E, int[] F, int[] G, int[] H) {
+        Field448.mul(result.X, E, F);
+        Field448.mul(result.Y, G, H);
+        Field448.mul(result.T, E, H);
+        Field448.mul(result.Z, F, G);
+    }
+}
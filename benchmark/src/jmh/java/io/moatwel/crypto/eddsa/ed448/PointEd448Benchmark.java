@@ -38,4 +38,9 @@ public class PointEd448Benchmark {
     public void Point_Mulitiplication() {
         point.scalarMultiply(integer);
     }
+
+    @Benchmark
+    public void Point_Multiplication_Base() {
+        Curve448.getInstance().multiplyBase(integer);
+    }
 }
@@ -1,5 +1,9 @@
 package io.moatwel.crypto;
 
+import io.moatwel.crypto.eddsa.DecodeException;
+
+import java.util.List;
+
 /**
  * A interface represent signer for Edward-curve DSA.
  *
@@ -22,6 +26,20 @@ public interface EdDsaSigner {
      */
     Signature sign(KeyPair keyPair, final byte[] data, byte[] context);
 
+    /**
+     * Sign your message with {@link ExpandedPrivateKey}, which does not hash the private key again.
+     *
+     * <p>
+     * {@code expandedPrivateKey} must be created on the same scheme as this signer.
+     *
+     * @param expandedPrivateKey {@link ExpandedPrivateKey} you want to use.
+     * @param data               byte data you want to sign.
+     * @param context            byte array you want to use on this signature.
+     * @return {@link Signature} which has result in byte array.
+     * @throws IllegalStateException if you input context which has 256 or above length.
+     */
+    Signature sign(ExpandedPrivateKey expandedPrivateKey, final byte[] data, byte[] context);
+
     /**
      * Verify your message with signature on your key pair.
      *
@@ -55,6 +73,10 @@ public interface EdDsaSigner {
      * {@link io.moatwel.crypto.eddsa.DecodeException}. This method must tackle with that exception.
      * {@link io.moatwel.crypto.eddsa.DecodeException} means failure of verifying, so this method
      * must return false.
+     * <p>
+     * The equation is checked without the cofactor: the encoding of {@code s * B - k * A} must
+     * be equal to R byte by byte, so R which is not canonical or has a small order component is
+     * rejected.
      *
      * @param publicKey   {@link PublicKey} you want to use.
      * @param data      byte array you want to verify.
@@ -64,4 +86,58 @@ public interface EdDsaSigner {
      * false if not.
      */
     boolean verify(PublicKey publicKey, final byte[] data, byte[] context, final Signature signature);
+
+    /**
+     * Verify your message with signature on {@link PreparedPublicKey}, which does not decode the
+     * public key again.
+     *
+     * <p>
+     * If {@code preparedPublicKey} is prepared by another backend or on another curve, the public
+     * key is decoded again as {@link #verify(PublicKey, byte[], byte[], Signature)} does.
+     *
+     * @param preparedPublicKey {@link PreparedPublicKey} you want to use.
+     * @param data              byte array you want to verify.
+     * @param context           byte array you want to use on this signature.
+     * @param signature         {@link Signature} to verify you message.
+     * @return true if {@code data} is authorized,
+     *         false if not.
+     * @throws IllegalArgumentException if {@code preparedPublicKey} is prepared on another curve
+     *                                  whose public key has another length.
+     */
+    boolean verify(PreparedPublicKey preparedPublicKey, final byte[] data, byte[] context, final Signature signature);
+
+    /**
+     * Decode and validate the public key for repeated verification.
+     *
+     * @param publicKey  {@link PublicKey} you want to use.
+     * @param precompute true if odd multiples of the public key should be computed as well,
+     *                   which makes each verification faster and takes about 4KB of memory.
+     * @return {@link PreparedPublicKey}
+     * @throws DecodeException if the public key is not a point on the curve.
+     */
+    PreparedPublicKey prepare(PublicKey publicKey, boolean precompute) throws DecodeException;
+
+    /**
+     * Verify many signatures at once.
+     *
+     * <p>
+     * All equations are combined with random coefficients into a single multi-scalar
+     * multiplication, which is much faster than verifying one by one. If the combined equation
+     * does not hold, each item is verified again on its own, so the result tells which item
+     * failed.
+     * <p>
+     * The combined equation is multiplied by the cofactor as RFC 8032 allows, so if it holds, a
+     * signature whose R or public key has a small order component is accepted here even though
+     * {@link EdDsaSigner#verify(PublicKey, byte[], byte[], Signature)} rejects it. If it does not
+     * hold, each item is verified with the rule of
+     * {@link EdDsaSigner#verify(PublicKey, byte[], byte[], Signature)}. Signatures made by
+     * {@link EdDsaSigner#sign(KeyPair, byte[], byte[])} never have such component, and R which is
+     * not canonical is rejected in both cases.
+     *
+     * @param items {@link VerificationItem}s you want to verify.
+     * @return array of the results in the same order as {@code items},
+     *         true if the item is authorized, false if not.
+     * @throws IllegalStateException if any item has context which has 256 or above length.
+     */
+    boolean[] verifyBatch(List<VerificationItem> items);
 }
@@ -0,0 +1,77 @@
+package io.moatwel.crypto;
+
+import io.moatwel.util.ByteUtils;
+import io.moatwel.util.HexEncoder;
+
+import java.math.BigInteger;
+
+/**
+ * {@link PrivateKey} with values derived from it, which are the clamped secret scalar, the prefix
+ * of nonce and the public key.
+ *
+ * <p>
+ * Signing with {@link KeyPair} hashes the private key on every signature. This class hashes it
+ * only once, so it should be used if you sign many messages with the same key. The derived
+ * values depend on the scheme, so this must be used with the scheme it is created on.
+ *
+ * <p>
+ * {@link #getRaw()} is the 64-byte {@code seed || publicKey} format of libsodium on Ed25519,
+ * and 114 bytes on Ed448.
+ *
+ * @author halu5071 (Yasunori Horii)
+ * @see KeyGenerator#expandPrivateKey(PrivateKey)
+ * @see EdDsaSigner#sign(ExpandedPrivateKey, byte[], byte[])
+ */
+public class ExpandedPrivateKey {
+
+    private final KeyPair keyPair;
+    private final BigInteger scalar;
+    private final byte[] prefix;
+
+    public ExpandedPrivateKey(KeyPair keyPair, BigInteger scalar, byte[] prefix) {
+        if (keyPair == null || keyPair.getPublicKey() == null || scalar == null || prefix == null) {
+            throw new IllegalArgumentException("KeyPair, PublicKey, scalar and prefix must not be null.");
+        }
+        this.keyPair = keyPair;
+        this.scalar = scalar;
+        this.prefix = prefix.clone();
+    }
+
+    public KeyPair getKeyPair() {
+        return keyPair;
+    }
+
+    public PrivateKey getPrivateKey() {
+        return keyPair.getPrivateKey();
+    }
+
+    public PublicKey getPublicKey() {
+        return keyPair.getPublicKey();
+    }
+
+    /**
+     * @return clamped secret scalar, which is the discrete logarithm of the public key
+     */
+    public BigInteger getScalar() {
+        return scalar;
+    }
+
+    /**
+     * @return the latter half of the hash of the private key, which is hashed with a message
+     *         to make a nonce
+     */
+    public byte[] getPrefix() {
+        return prefix.clone();
+    }
+
+    /**
+     * @return {@code seed || publicKey}
+     */
+    public byte[] getRaw() {
+        return ByteUtils.join(keyPair.getPrivateKey().getRaw(), keyPair.getPublicKey().getRaw());
+    }
+
+    public String getHexString() {
+        return HexEncoder.getString(getRaw());
+    }
+}
@@ -1,17 +1,44 @@
 package io.moatwel.crypto;
 
+import org.spongycastle.crypto.Digest;
+import org.spongycastle.crypto.digests.KeccakDigest;
+import org.spongycastle.crypto.digests.RIPEMD160Digest;
+import org.spongycastle.crypto.digests.SHA3Digest;
+import org.spongycastle.crypto.digests.SHA512Digest;
 import org.spongycastle.crypto.digests.SHAKEDigest;
 import org.spongycastle.jce.provider.BouncyCastleProvider;
 
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
-import java.security.NoSuchProviderException;
 import java.security.Security;
 
+/**
+ * Hash functions on SpongyCastle lightweight digests.
+ *
+ * <p>
+ * Digests are not looked up through JCA providers. Each thread holds one digest per
+ * {@link HashAlgorithm}, which is reset and reused on every call, so hashing takes no lock and
+ * allocates nothing but the result.
+ *
+ * <p>
+ * SpongyCastle is still registered as a JCA provider when this class is loaded, for code which
+ * depends on it. Set the system property {@value #ADD_PROVIDER_PROPERTY} to {@code false} to skip it.
+ *
+ * @author halu5071 (Yasunori Horii)
+ */
 public class Hashes {
 
+    public static final String ADD_PROVIDER_PROPERTY = "io.moatwel.crypto.hashes.addProvider";
+
+    private static final ThreadLocal<Digest[]> DIGESTS = new ThreadLocal<Digest[]>() {
+        @Override
+        protected Digest[] initialValue() {
+            return new Digest[HashAlgorithm.values().length];
+        }
+    };
+
     static {
-        Security.addProvider(new BouncyCastleProvider());
+        if (Boolean.parseBoolean(System.getProperty(ADD_PROVIDER_PROPERTY, "true"))) {
+            Security.addProvider(new BouncyCastleProvider());
+        }
     }
 
     public static byte[] hash(HashAlgorithm algorithm, byte[]... inputs) {
@@ -25,7 +52,7 @@ public class Hashes {
                 return hashVariableOutput(algorithm, outputByteLength, inputs);
             default:
                 if (algorithm.getDefaultBitLength() / 8 == outputByteLength) {
-                    return hash(algorithm.getName(), inputs);
+                    return hashFixedOutput(algorithm, inputs);
                 } else {
                     throw new IllegalStateException("Specified output byte length("
                             + outputByteLength + ") is not available on this hash algorithm("
@@ -34,26 +61,71 @@ public class Hashes {
         }
     }
 
-    private static byte[] hash(String algorithm, byte[]... inputs) throws RuntimeException {
-        MessageDigest digest;
-        try {
-            digest = MessageDigest.getInstance(algorithm, "SC"); // It's SpongyCastle on Android
-            for (final byte[] input : inputs) {
-                digest.update(input);
-            }
-            return digest.digest();
-        } catch (NoSuchAlgorithmException | NoSuchProviderException e) {
-            throw new RuntimeException("Hashing error: " + e.getMessage(), e);
+    /**
+     * Return the digest of the current thread for the algorithm, which is reset and shared by
+     * all calls of {@link #hash(HashAlgorithm, byte[]...)} on the thread.
+     *
+     * <p>
+     * The digest must not be passed to other threads, and must not be held across calls which
+     * may hash with the same algorithm.
+     *
+     * @param algorithm hash algorithm
+     * @return reset {@link Digest} instance
+     */
+    public static Digest getDigest(HashAlgorithm algorithm) {
+        Digest[] digests = DIGESTS.get();
+        Digest digest = digests[algorithm.ordinal()];
+        if (digest == null) {
+            digest = newDigest(algorithm);
+            digests[algorithm.ordinal()] = digest;
+        } else {
+            digest.reset();
         }
+        return digest;
     }
 
-    private static byte[] hashVariableOutput(HashAlgorithm algorithm, int byteLength, byte[]... inputs) {
-        SHAKEDigest shakeDigest = new SHAKEDigest(algorithm.getDefaultBitLength());
-        for (byte[] input : inputs) {
-            shakeDigest.update(input, 0, input.length);
+    /**
+     * @param algorithm hash algorithm
+     * @return new {@link Digest} instance, which is owned by the caller
+     */
+    public static Digest newDigest(HashAlgorithm algorithm) {
+        switch (algorithm) {
+            case KECCAK_256:
+            case KECCAK_512:
+                return new KeccakDigest(algorithm.getDefaultBitLength());
+            case SHA3_256:
+            case SHA3_512:
+                return new SHA3Digest(algorithm.getDefaultBitLength());
+            case SHA_512:
+                return new SHA512Digest();
+            case SHAKE_128:
+            case SHAKE_256:
+                return new SHAKEDigest(algorithm.getDefaultBitLength());
+            case RIPEMD_160:
+                return new RIPEMD160Digest();
+            default:
+                throw new IllegalArgumentException("Unsupported hash algorithm: " + algorithm.getName());
         }
+    }
+
+    private static byte[] hashFixedOutput(HashAlgorithm algorithm, byte[]... inputs) {
+        Digest digest = update(getDigest(algorithm), inputs);
+        byte[] result = new byte[digest.getDigestSize()];
+        digest.doFinal(result, 0);
+        return result;
+    }
+
+    private static byte[] hashVariableOutput(HashAlgorithm algorithm, int byteLength, byte[]... inputs) {
+        SHAKEDigest shakeDigest = (SHAKEDigest) update(getDigest(algorithm), inputs);
         byte[] result = new byte[byteLength];
         shakeDigest.doFinal(result, 0, byteLength);
         return result;
     }
+
+    private static Digest update(Digest digest, byte[]... inputs) {
+        for (byte[] input : inputs) {
+            digest.update(input, 0, input.length);
+        }
+        return digest;
+    }
 }
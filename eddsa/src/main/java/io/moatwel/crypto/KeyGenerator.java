@@ -20,4 +20,32 @@ public interface KeyGenerator {
     KeyPair generateKeyPair(PrivateKey privateKey);
 
     PublicKey derivePublicKey(PrivateKey privateKey);
+
+    /**
+     * Hash {@link PrivateKey} once and derive the values used on signing.
+     *
+     * @param privateKey {@link PrivateKey} to expand
+     * @return {@link ExpandedPrivateKey} with the public key derived from {@code privateKey}
+     */
+    ExpandedPrivateKey expandPrivateKey(PrivateKey privateKey);
+
+    /**
+     * Hash the private key of {@link KeyPair} once and derive the values used on signing.
+     * The public key of {@code keyPair} is used as it is.
+     *
+     * @param keyPair {@link KeyPair} to expand
+     * @return {@link ExpandedPrivateKey}
+     */
+    ExpandedPrivateKey expandPrivateKey(KeyPair keyPair);
+
+    /**
+     * Import {@link ExpandedPrivateKey} from {@code seed || publicKey} bytes, which is
+     * {@link ExpandedPrivateKey#getRaw()}. The public key is not derived from the seed again,
+     * so it must be the one of the seed.
+     *
+     * @param seedAndPublicKey {@code seed || publicKey}
+     * @return {@link ExpandedPrivateKey}
+     * @throws IllegalArgumentException if the length is not twice of the key length
+     */
+    ExpandedPrivateKey expandPrivateKey(byte[] seedAndPublicKey);
 }
@@ -0,0 +1,55 @@
+package io.moatwel.crypto;
+
+import io.moatwel.crypto.eddsa.Point;
+
+/**
+ * {@link PublicKey} which is decoded and validated in advance for repeated verification.
+ *
+ * <p>
+ * Verifying with {@link PublicKey} decodes the key and encodes it again on every signature, which
+ * costs a square root and some inversions. This class keeps the decoded point and its canonical
+ * encoding, and may keep odd multiples of the point for the double-scalar multiplication of
+ * verification as well. It should be used for keys which verify many signatures, and must be used
+ * with the scheme it is prepared on.
+ *
+ * @author halu5071 (Yasunori Horii)
+ * @see EdDsaSigner#prepare(PublicKey, boolean)
+ * @see EdDsaSigner#verify(PreparedPublicKey, byte[], byte[], Signature)
+ */
+public class PreparedPublicKey {
+
+    private final PublicKey publicKey;
+    private final Point point;
+    private final byte[] encoded;
+
+    public PreparedPublicKey(PublicKey publicKey, Point point, byte[] encoded) {
+        if (publicKey == null || point == null || encoded == null) {
+            throw new IllegalArgumentException("PublicKey, point and encoded point must not be null.");
+        }
+        this.publicKey = publicKey;
+        this.point = point;
+        this.encoded = encoded.clone();
+    }
+
+    public PublicKey getPublicKey() {
+        return publicKey;
+    }
+
+    /**
+     * @return decoded point of the public key
+     */
+    public Point getPoint() {
+        return point;
+    }
+
+    /**
+     * @return canonical encoding of the point, which is hashed on verification
+     */
+    public byte[] getEncoded() {
+        return encoded.clone();
+    }
+
+    public String getHexString() {
+        return publicKey.getHexString();
+    }
+}
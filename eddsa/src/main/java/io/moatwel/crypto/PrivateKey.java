@@ -38,6 +38,23 @@ public abstract class PrivateKey {
 
     public abstract BigInteger getScalarSeed(HashDelegate hashDelegate);
 
+    /**
+     * Return the clamped secret scalar from the hash of this private key, which is the result
+     * of {@link HashDelegate#hashPrivateKey(PrivateKey)}. It is clamped by
+     * {@link #getScalarSeed(HashDelegate)}, so subclasses need not override it.
+     *
+     * @param hashResult hash of this private key
+     * @return secret scalar
+     */
+    public BigInteger getScalarSeed(final byte[] hashResult) {
+        return getScalarSeed(new HashDelegate() {
+            @Override
+            public byte[] hashPrivateKey(PrivateKey privateKey) {
+                return hashResult.clone();
+            }
+        });
+    }
+
     public byte[] getRaw() {
         return this.value.clone();
     }
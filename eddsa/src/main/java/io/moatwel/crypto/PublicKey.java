@@ -3,6 +3,7 @@ package io.moatwel.crypto;
 import io.moatwel.util.HexEncoder;
 
 import java.math.BigInteger;
+import java.util.Arrays;
 
 /**
  * PublicKey for EdDsa.
@@ -18,7 +19,7 @@ public class PublicKey {
     }
 
     public PublicKey(byte[] bytes) {
-        this.value = bytes;
+        this.value = bytes.clone();
     }
 
     public static PublicKey fromHexString(String hex) {
@@ -36,4 +37,18 @@ public class PublicKey {
     public String getHexString() {
         return HexEncoder.getString(value);
     }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(this.value);
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (!(obj instanceof PublicKey)) {
+            return false;
+        }
+        final PublicKey publicKey = ((PublicKey) obj);
+        return Arrays.equals(this.value, publicKey.value);
+    }
 }
@@ -0,0 +1,45 @@
+package io.moatwel.crypto;
+
+/**
+ * A set of public key, message, context and signature, which is verified together with
+ * others on {@link EdDsaSigner#verifyBatch(java.util.List)}.
+ *
+ * @author halu5071 (Yasunori Horii)
+ */
+public class VerificationItem {
+
+    private final PublicKey publicKey;
+    private final byte[] data;
+    private final byte[] context;
+    private final Signature signature;
+
+    public VerificationItem(PublicKey publicKey, byte[] data, Signature signature) {
+        this(publicKey, data, null, signature);
+    }
+
+    public VerificationItem(PublicKey publicKey, byte[] data, byte[] context, Signature signature) {
+        if (publicKey == null || data == null || signature == null) {
+            throw new IllegalArgumentException("PublicKey, data and Signature must not be null.");
+        }
+        this.publicKey = publicKey;
+        this.data = data;
+        this.context = context;
+        this.signature = signature;
+    }
+
+    public PublicKey getPublicKey() {
+        return publicKey;
+    }
+
+    public byte[] getData() {
+        return data;
+    }
+
+    public byte[] getContext() {
+        return context;
+    }
+
+    public Signature getSignature() {
+        return signature;
+    }
+}
@@ -0,0 +1,225 @@
+package io.moatwel.crypto.eddsa;
+
+import io.moatwel.crypto.EdDsaSigner;
+import io.moatwel.crypto.HashAlgorithm;
+import io.moatwel.crypto.eddsa.ed25519.Ed25519LimbsBackend;
+import io.moatwel.crypto.eddsa.ed25519.Ed25519VectorBackend;
+import io.moatwel.crypto.eddsa.ed448.Ed448LimbsBackend;
+import io.moatwel.crypto.eddsa.reference.ReferenceBackend;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+
+/**
+ * Implementation of the arithmetic of a curve, which provides the {@link Curve} and the
+ * {@link EdDsaSigner} of {@link SchemeProvider}.
+ *
+ * <p>
+ * Backends are found with {@link ServiceLoader}, and are listed in
+ * {@code META-INF/services/io.moatwel.crypto.eddsa.ArithmeticBackend}. This library has the
+ * following backends.
+ * <ul>
+ * <li>{@code reference}: {@link java.math.BigInteger} arithmetic written directly from RFC 8032,
+ * on Curve25519 and Curve448. It is slow and does not run in constant time, and is for
+ * comparing results with other backends.</li>
+ * <li>{@code limbs}: arithmetic on fixed-size limbs, on Curve25519 and Curve448.</li>
+ * <li>{@code vector}: {@code limbs} with the buckets of Pippenger's method on the Vector API,
+ * on Curve25519. It is available only on JDK 17 or later with
+ * {@code --add-modules jdk.incubator.vector}, see {@link MultiScalarMultiplier#VECTOR_PROPERTY}.</li>
+ * </ul>
+ *
+ * <p>
+ * A backend can be given to each {@link SchemeProvider}. Otherwise, the backend named by the
+ * system property {@value #PROPERTY} is used if it supports the curve, and the available
+ * backend of the highest priority is used if not. {@link SchemeProvider#getBackend()} tells
+ * which one is used.
+ *
+ * @author halu5071 (Yasunori Horii)
+ * @see SchemeProvider#getBackend()
+ */
+public abstract class ArithmeticBackend {
+
+    /**
+     * System property of the name of the default backend.
+     */
+    public static final String PROPERTY = "io.moatwel.crypto.eddsa.backend";
+
+    /**
+     * Return the name of this backend. Backends on different curves may have the same name.
+     *
+     * @return name of this backend
+     */
+    public abstract String getName();
+
+    /**
+     * Return the priority of this backend, the available backend of the highest priority is
+     * the default one.
+     *
+     * @return priority of this backend
+     */
+    public abstract int getPriority();
+
+    /**
+     * Return true if this backend can be used on this platform. Backends which are not
+     * available are never returned by {@link #getBackends()}.
+     *
+     * @return true if this backend is available
+     */
+    public boolean isAvailable() {
+        return true;
+    }
+
+    /**
+     * Return the curve of this backend which is the same curve as {@code curve}.
+     *
+     * @param curve curve such as {@link io.moatwel.crypto.eddsa.ed25519.Curve25519#getInstance()}
+     * @return {@link Curve} instance of this backend, or null if the curve is not supported
+     */
+    public abstract Curve getCurve(Curve curve);
+
+    /**
+     * Return a signer on the curve of {@code schemeProvider}, whose curve is one returned by
+     * {@link #getCurve(Curve)} of this backend.
+     *
+     * @param schemeProvider {@link SchemeProvider} of this backend
+     * @param algorithm      hash algorithm of the scheme
+     * @return {@link EdDsaSigner} instance
+     */
+    public abstract EdDsaSigner getSigner(SchemeProvider schemeProvider, HashAlgorithm algorithm);
+
+    /**
+     * Return true if this backend supports the curve.
+     *
+     * @param curve curve
+     * @return true if {@link #getCurve(Curve)} returns a curve
+     */
+    public final boolean supports(Curve curve) {
+        return getCurve(curve) != null;
+    }
+
+    /**
+     * Return all available backends in descending order of priority.
+     *
+     * @return list of {@link ArithmeticBackend}
+     */
+    public static List<ArithmeticBackend> getBackends() {
+        return BackendsHolder.BACKENDS;
+    }
+
+    /**
+     * Return the available backend of the name which supports the curve.
+     *
+     * @param name  name of the backend
+     * @param curve curve
+     * @return {@link ArithmeticBackend} instance
+     * @throws IllegalArgumentException if there is no such backend
+     */
+    public static ArithmeticBackend getBackend(String name, Curve curve) {
+        for (ArithmeticBackend backend : getBackends()) {
+            if (backend.getName().equals(name) && backend.supports(curve)) {
+                return backend;
+            }
+        }
+        throw new IllegalArgumentException("Backend " + name + " is not available on the curve.");
+    }
+
+    /**
+     * Return the default backend of the curve, which is the one named by the system property
+     * {@value #PROPERTY} if it supports the curve, or the available backend of the highest
+     * priority. If no loaded backend supports the curve, for example when the service file is
+     * replaced by that of another jar, a built-in backend of this library is used.
+     *
+     * @param curve curve
+     * @return {@link ArithmeticBackend} instance, or null if no backend supports the curve
+     */
+    public static ArithmeticBackend getDefault(Curve curve) {
+        String name = System.getProperty(PROPERTY);
+        ArithmeticBackend fallback = null;
+        for (ArithmeticBackend backend : getBackends()) {
+            if (!backend.supports(curve)) {
+                continue;
+            }
+            if (backend.getName().equals(name)) {
+                return backend;
+            }
+            if (fallback == null) {
+                fallback = backend;
+            }
+        }
+        if (fallback == null) {
+            for (ArithmeticBackend backend : builtInBackends()) {
+                if (backend.isAvailable() && backend.supports(curve)) {
+                    return backend;
+                }
+            }
+        }
+        return fallback;
+    }
+
+    /**
+     * Return true if both curves have the same parameters, so that they are implementations of
+     * the same curve. {@code other} must be a curve of this library.
+     */
+    protected static boolean isSameCurve(Curve curve, Curve other) {
+        return other.getPublicKeyByteLength() == curve.getPublicKeyByteLength()
+                && other.getPrimePowerP().equals(curve.getPrimePowerP())
+                && other.getPrimeL().equals(curve.getPrimeL());
+    }
+
+    @Override
+    public String toString() {
+        return getName();
+    }
+
+    private static List<ArithmeticBackend> loadBackends() {
+        List<ArithmeticBackend> backends = new ArrayList<>();
+        Iterator<ArithmeticBackend> iterator =
+                ServiceLoader.load(ArithmeticBackend.class, ArithmeticBackend.class.getClassLoader()).iterator();
+        while (true) {
+            try {
+                if (!iterator.hasNext()) {
+                    break;
+                }
+                backends.add(iterator.next());
+            } catch (ServiceConfigurationError e) {
+                // a backend which cannot be loaded is skipped
+            }
+        }
+        if (backends.isEmpty()) {
+            // the service file may be dropped when the jar is repackaged
+            backends.addAll(Arrays.asList(new ReferenceBackend(), new Ed25519VectorBackend()));
+            backends.addAll(builtInBackends());
+        }
+
+        List<ArithmeticBackend> available = new ArrayList<>();
+        for (ArithmeticBackend backend : backends) {
+            if (backend.isAvailable()) {
+                available.add(backend);
+            }
+        }
+        Collections.sort(available, new Comparator<ArithmeticBackend>() {
+            @Override
+            public int compare(ArithmeticBackend a, ArithmeticBackend b) {
+                return b.getPriority() < a.getPriority() ? -1 : (b.getPriority() == a.getPriority() ? 0 : 1);
+            }
+        });
+        return Collections.unmodifiableList(available);
+    }
+
+    /**
+     * Return the backends of this library which are used by default.
+     */
+    private static List<ArithmeticBackend> builtInBackends() {
+        return Arrays.<ArithmeticBackend>asList(new Ed25519LimbsBackend(), new Ed448LimbsBackend());
+    }
+
+    private static class BackendsHolder {
+        private static final List<ArithmeticBackend> BACKENDS = loadBackends();
+    }
+}
@@ -21,6 +21,90 @@ public abstract class Curve {
      */
     public abstract Point getBasePoint();
 
+    /**
+     * Return {@code scalar * B}, where B is the BasePoint of this curve.
+     * <p>
+     * Curves may use precomputed multiples of BasePoint, so this is faster than
+     * {@code getBasePoint().scalarMultiply(scalar)}.
+     *
+     * @param scalar scalar value
+     * @return {@link Point} instance of {@code scalar * B}
+     */
+    public Point multiplyBase(BigInteger scalar) {
+        return getBasePoint().scalarMultiply(scalar);
+    }
+
+    /**
+     * Encode points into a new byte array, {@link #getPublicKeyByteLength()} bytes each in order.
+     *
+     * @param points points on this curve
+     * @return encoded points
+     * @see #encodeBatch(Point[], byte[], int)
+     */
+    public byte[] encodeBatch(Point[] points) {
+        byte[] output = new byte[points.length * getPublicKeyByteLength()];
+        encodeBatch(points, output, 0);
+        return output;
+    }
+
+    /**
+     * Encode points into {@code output} from {@code offset}, {@link #getPublicKeyByteLength()}
+     * bytes each in order. Each encoding is the same as {@link Point#encode()}.
+     * <p>
+     * Curves may invert all Z with a single inversion by Montgomery's trick, so this is faster
+     * than encoding points one by one.
+     *
+     * @param points points on this curve
+     * @param output buffer of the encoded points
+     * @param offset index of {@code output} where the first encoded point is written
+     * @throws IllegalArgumentException if {@code output} does not have enough space from {@code offset}
+     */
+    public void encodeBatch(Point[] points, byte[] output, int offset) {
+        checkEncodeBatch(points, output, offset);
+        int length = getPublicKeyByteLength();
+        for (int i = 0; i < points.length; i++) {
+            System.arraycopy(points[i].encode().getValue(), 0, output, offset + i * length, length);
+        }
+    }
+
+    protected final void checkEncodeBatch(Point[] points, byte[] output, int offset) {
+        if (offset < 0 || output.length - offset < (long) points.length * getPublicKeyByteLength()) {
+            throw new IllegalArgumentException("output must have " + getPublicKeyByteLength() +
+                    " bytes for each point from the offset.");
+        }
+    }
+
+    /**
+     * Return {@link MultiScalarMultiplier} on this curve with the default parameters.
+     *
+     * @return {@link MultiScalarMultiplier} instance
+     * @throws UnsupportedOperationException if this curve does not support multi-scalar multiplication
+     */
+    public MultiScalarMultiplier getMultiScalarMultiplier() {
+        return getMultiScalarMultiplier(MultiScalarMultiplier.DEFAULT_STRAUS_WIDTH,
+                MultiScalarMultiplier.AUTO_WINDOW, MultiScalarMultiplier.DEFAULT_STRAUS_THRESHOLD);
+    }
+
+    /**
+     * Return {@link MultiScalarMultiplier} on this curve.
+     * <p>
+     * Curves of this library override this. Other curves do not support multi-scalar
+     * multiplication unless they override it as well.
+     *
+     * @param strausWidth     width of wNAF on Straus' method, between 2 and 8
+     * @param pippengerWindow window of Pippenger's method, between 1 and 20,
+     *                        or {@link MultiScalarMultiplier#AUTO_WINDOW}
+     * @param strausThreshold Straus' method is used if the number of points is less than this
+     * @return {@link MultiScalarMultiplier} instance
+     * @throws IllegalArgumentException      if any parameter is out of range
+     * @throws UnsupportedOperationException if this curve does not support multi-scalar multiplication
+     */
+    public MultiScalarMultiplier getMultiScalarMultiplier(int strausWidth, int pippengerWindow,
+                                                          int strausThreshold) {
+        throw new UnsupportedOperationException(getClass().getSimpleName() +
+                " does not support multi-scalar multiplication.");
+    }
+
     public abstract BigInteger getPrimeL();
 
     public abstract BigInteger getPrimePowerP();
@@ -1,9 +1,13 @@
 package io.moatwel.crypto.eddsa;
 
+import io.moatwel.crypto.ExpandedPrivateKey;
 import io.moatwel.crypto.KeyGenerator;
 import io.moatwel.crypto.KeyPair;
 import io.moatwel.crypto.PrivateKey;
 import io.moatwel.crypto.PublicKey;
+import io.moatwel.util.ByteUtils;
+
+import java.math.BigInteger;
 
 /**
  * @author halu5071 (Yasunori Horii)
@@ -50,4 +54,45 @@ public class EdDsaKeyGenerator implements KeyGenerator {
 
         return new PublicKey(publicKeySeed);
     }
+
+    @Override
+    public ExpandedPrivateKey expandPrivateKey(PrivateKey privateKey) {
+        if (privateKey == null) {
+            throw new IllegalArgumentException("PrivateKey must not be null.");
+        }
+        return expand(privateKey, null);
+    }
+
+    @Override
+    public ExpandedPrivateKey expandPrivateKey(KeyPair keyPair) {
+        if (keyPair == null) {
+            throw new IllegalArgumentException("KeyPair must not be null.");
+        }
+        return expand(keyPair.getPrivateKey(), keyPair.getPublicKey());
+    }
+
+    @Override
+    public ExpandedPrivateKey expandPrivateKey(byte[] seedAndPublicKey) {
+        int length = schemeProvider.getCurve().getPublicKeyByteLength();
+        if (seedAndPublicKey == null || seedAndPublicKey.length != 2 * length) {
+            throw new IllegalArgumentException("seed and public key must have " + 2 * length + " byte length.");
+        }
+        byte[][] split = ByteUtils.split(seedAndPublicKey, length);
+        return expand(PrivateKey.newInstance(split[0]), new PublicKey(split[1]));
+    }
+
+    private ExpandedPrivateKey expand(PrivateKey privateKey, PublicKey publicKey) {
+        Curve curve = schemeProvider.getCurve();
+        if (privateKey.getRaw().length != curve.getPublicKeyByteLength()) {
+            throw new IllegalArgumentException("PrivateKey must have " + curve.getPublicKeyByteLength() + " byte length.");
+        }
+        byte[] hashResult = schemeProvider.getPublicKeyDelegate().hashPrivateKey(privateKey);
+        BigInteger scalar = privateKey.getScalarSeed(hashResult);
+        byte[] prefix = ByteUtils.split(hashResult, hashResult.length / 2)[1];
+
+        if (publicKey == null) {
+            publicKey = new PublicKey(curve.multiplyBase(scalar).encode().getValue());
+        }
+        return new ExpandedPrivateKey(new KeyPair(privateKey, publicKey, analyzer), scalar, prefix);
+    }
 }
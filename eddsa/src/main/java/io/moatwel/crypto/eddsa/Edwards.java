@@ -1,14 +1,19 @@
 package io.moatwel.crypto.eddsa;
 
 import io.moatwel.crypto.EdDsaSigner;
+import io.moatwel.crypto.ExpandedPrivateKey;
 import io.moatwel.crypto.HashAlgorithm;
 import io.moatwel.crypto.KeyGenerator;
 import io.moatwel.crypto.KeyPair;
+import io.moatwel.crypto.PreparedPublicKey;
 import io.moatwel.crypto.PrivateKey;
 import io.moatwel.crypto.PublicKey;
 import io.moatwel.crypto.Signature;
+import io.moatwel.crypto.VerificationItem;
 import io.moatwel.crypto.eddsa.ed25519.Ed25519SchemeProvider;
 
+import java.util.List;
+
 /**
  * Base class for operations of EdDsa.
  *
@@ -23,6 +28,7 @@ public final class Edwards {
     private final KeyGenerator generator;
     private final EdDsaSigner signer;
     private final SchemeProvider schemeProvider;
+    private final PublicKeyCache publicKeyCache;
 
     public Edwards() {
         this(new Ed25519SchemeProvider(HashAlgorithm.KECCAK_512));
@@ -33,6 +39,17 @@ public final class Edwards {
     }
 
     public Edwards(SchemeProvider schemeProvider) {
+        this(schemeProvider, null);
+    }
+
+    /**
+     * Create Edwards which verifies signatures with public keys in {@code publicKeyCache}, so
+     * that each public key is decoded only once while it is in the cache.
+     *
+     * @param schemeProvider {@link SchemeProvider}
+     * @param publicKeyCache {@link PublicKeyCache}, or null not to cache public keys
+     */
+    public Edwards(SchemeProvider schemeProvider, PublicKeyCache publicKeyCache) {
         if (schemeProvider == null) {
             throw new IllegalArgumentException("SchemeProvider must not be null.");
         }
@@ -40,6 +57,7 @@ public final class Edwards {
         this.generator = new EdDsaKeyGenerator(schemeProvider);
         this.signer = schemeProvider.getSigner();
         this.schemeProvider = schemeProvider;
+        this.publicKeyCache = publicKeyCache;
     }
 
     public KeyPair generateKeyPair() {
@@ -54,6 +72,18 @@ public final class Edwards {
         return generator.derivePublicKey(privateKey);
     }
 
+    public ExpandedPrivateKey expandPrivateKey(PrivateKey privateKey) {
+        return generator.expandPrivateKey(privateKey);
+    }
+
+    public ExpandedPrivateKey expandPrivateKey(KeyPair keyPair) {
+        return generator.expandPrivateKey(keyPair);
+    }
+
+    public ExpandedPrivateKey expandPrivateKey(byte[] seedAndPublicKey) {
+        return generator.expandPrivateKey(seedAndPublicKey);
+    }
+
     public Signature sign(KeyPair keyPair, byte[] data) {
         return signer.sign(keyPair, data, null);
     }
@@ -62,13 +92,21 @@ public final class Edwards {
         return signer.sign(keyPair, data, context);
     }
 
+    public Signature sign(ExpandedPrivateKey expandedPrivateKey, byte[] data) {
+        return signer.sign(expandedPrivateKey, data, null);
+    }
+
+    public Signature sign(ExpandedPrivateKey expandedPrivateKey, byte[] data, byte[] context) {
+        return signer.sign(expandedPrivateKey, data, context);
+    }
+
     @Deprecated
     public boolean verify(KeyPair keyPair, byte[] data, Signature signature) {
         return signer.verify(keyPair, data, null, signature);
     }
 
     public boolean verify(PublicKey publicKey, byte[] data, Signature signature) {
-        return signer.verify(publicKey, data, null, signature);
+        return verify(publicKey, data, null, signature);
     }
 
     @Deprecated
@@ -77,7 +115,36 @@ public final class Edwards {
     }
 
     public boolean verify(PublicKey publicKey, byte[] data, byte[] context, Signature signature) {
-        return signer.verify(publicKey, data, context, signature);
+        if (publicKeyCache == null) {
+            return signer.verify(publicKey, data, context, signature);
+        }
+        PreparedPublicKey preparedPublicKey;
+        try {
+            preparedPublicKey = publicKeyCache.get(publicKey, signer);
+        } catch (DecodeException e) {
+            return false;
+        }
+        return signer.verify(preparedPublicKey, data, context, signature);
+    }
+
+    public boolean verify(PreparedPublicKey preparedPublicKey, byte[] data, Signature signature) {
+        return signer.verify(preparedPublicKey, data, null, signature);
+    }
+
+    public boolean verify(PreparedPublicKey preparedPublicKey, byte[] data, byte[] context, Signature signature) {
+        return signer.verify(preparedPublicKey, data, context, signature);
+    }
+
+    public PreparedPublicKey prepare(PublicKey publicKey) throws DecodeException {
+        return signer.prepare(publicKey, true);
+    }
+
+    public PreparedPublicKey prepare(PublicKey publicKey, boolean precompute) throws DecodeException {
+        return signer.prepare(publicKey, precompute);
+    }
+
+    public boolean[] verifyBatch(List<VerificationItem> items) {
+        return signer.verifyBatch(items);
     }
 
     public Curve getCurve() {
@@ -95,4 +162,11 @@ public final class Edwards {
     public SchemeProvider getSchemeProvider() {
         return schemeProvider;
     }
+
+    /**
+     * @return {@link PublicKeyCache} of this instance, or null if public keys are not cached
+     */
+    public PublicKeyCache getPublicKeyCache() {
+        return publicKeyCache;
+    }
 }
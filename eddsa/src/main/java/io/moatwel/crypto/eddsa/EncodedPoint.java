@@ -38,4 +38,71 @@ public abstract class EncodedPoint {
      * @throws DecodeException if a point you want to decode is not on your curve.
      */
     public abstract Point decode() throws DecodeException;
+
+    /**
+     * Decode many encoded points of a curve at once. The points are divided into as many
+     * contiguous ranges as threads, and each range is decoded on its own thread, the last one
+     * on the calling thread. An encoded point which can not be decoded, including one of a wrong
+     * length or {@code null}, is reported as {@code null} in the result instead of an exception,
+     * so that a few bad keys do not stop the rest of the batch.
+     *
+     * @param values  encoded points
+     * @param length  byte length of an encoded point of the curve
+     * @param threads number of threads, at least 1
+     * @return decoded points in the order of {@code values}, {@code null} for each failure
+     */
+    protected static Point[] decodeAll(final byte[][] values, int length, int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be at least 1.");
+        }
+        final Point[] points = new Point[values.length];
+        int count = Math.max(1, Math.min(threads, values.length));
+
+        Thread[] workers = new Thread[count - 1];
+        for (int i = 0; i < workers.length; i++) {
+            final int from = (int) ((long) values.length * i / count);
+            final int to = (int) ((long) values.length * (i + 1) / count);
+            final int expected = length;
+            workers[i] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    decodeRange(values, points, from, to, expected);
+                }
+            });
+            workers[i].start();
+        }
+        decodeRange(values, points, (int) ((long) values.length * (count - 1) / count), values.length, length);
+
+        // the workers are short-lived, so an interrupt is kept for the caller instead of
+        // leaving them behind with a half-filled result.
+        boolean interrupted = false;
+        for (Thread worker : workers) {
+            while (true) {
+                try {
+                    worker.join();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        return points;
+    }
+
+    private static void decodeRange(byte[][] values, Point[] points, int from, int to, int length) {
+        for (int i = from; i < to; i++) {
+            byte[] value = values[i];
+            if (value == null || value.length != length) {
+                continue;
+            }
+            try {
+                points[i] = from(value).decode();
+            } catch (DecodeException e) {
+                // reported as null
+            }
+        }
+    }
 }
@@ -0,0 +1,211 @@
+package io.moatwel.crypto.eddsa;
+
+import java.math.BigInteger;
+import java.util.List;
+
+/**
+ * Compute {@code k[0] * P[0] + k[1] * P[1] + ... + k[n - 1] * P[n - 1]} at once.
+ *
+ * <p>
+ * For small n, Straus' method is used. Odd multiples of each point are precomputed, and the
+ * wNAF of all scalars are scanned together so that all points share doublings. For large n,
+ * Pippenger's bucket method is used. Scalars are split into windows, and on each window every
+ * point is added to the bucket of its digit, then the buckets are summed up with a running sum.
+ * It needs about {@code (b / c) * (n + 2^c)} additions for b-bit scalars and c-bit windows, so
+ * the cost per point decreases as n grows. On Curve25519, four points are added to four buckets
+ * at once across vector lanes on JDK 17 or later with {@code --add-modules jdk.incubator.vector},
+ * see {@link #VECTOR_PROPERTY}.
+ *
+ * <p>
+ * Points which are used many times can be converted into {@link PrecomputedPoints} once, so that
+ * the conversion and the tables of odd multiples are reused.
+ *
+ * <p>
+ * Scalars are not reduced, and may be negative. Both methods run in variable time, so they must
+ * be used only with public scalars.
+ *
+ * @author halu5071 (Yasunori Horii)
+ * @see Curve#getMultiScalarMultiplier()
+ */
+public abstract class MultiScalarMultiplier {
+
+    /**
+     * Choose the window of Pippenger's method from the number of points.
+     */
+    public static final int AUTO_WINDOW = 0;
+
+    public static final int DEFAULT_STRAUS_WIDTH = 5;
+
+    public static final int DEFAULT_STRAUS_THRESHOLD = 128;
+
+    /**
+     * System property to enable the Vector API backend of Pippenger's method on Curve25519, which
+     * is used by default if it is available.
+     */
+    public static final String VECTOR_PROPERTY = "io.moatwel.crypto.eddsa.vector";
+
+    private static final int MAX_WINDOW = 20;
+
+    private final int strausWidth;
+    private final int pippengerWindow;
+    private final int strausThreshold;
+
+    /**
+     * @param strausWidth     width of wNAF on Straus' method, between 2 and 8
+     * @param pippengerWindow window of Pippenger's method, between 1 and 20,
+     *                        or {@link #AUTO_WINDOW}
+     * @param strausThreshold Straus' method is used if the number of points is less than this
+     */
+    protected MultiScalarMultiplier(int strausWidth, int pippengerWindow, int strausThreshold) {
+        if (strausWidth < 2 || 8 < strausWidth) {
+            throw new IllegalArgumentException("width of Straus' method must be between 2 and 8");
+        }
+        if (pippengerWindow != AUTO_WINDOW && (pippengerWindow < 1 || MAX_WINDOW < pippengerWindow)) {
+            throw new IllegalArgumentException("window of Pippenger's method must be between 1 and " + MAX_WINDOW);
+        }
+        if (strausThreshold < 0) {
+            throw new IllegalArgumentException("threshold must not be negative");
+        }
+        this.strausWidth = strausWidth;
+        this.pippengerWindow = pippengerWindow;
+        this.strausThreshold = strausThreshold;
+    }
+
+    /**
+     * Return {@code sum(scalars[i] * points[i])}. Straus' method is used for less points than
+     * the threshold, Pippenger's method otherwise.
+     *
+     * @param points  points
+     * @param scalars scalars of the points
+     * @return {@link Point} instance of the sum, the neutral element if no point is given
+     * @throws IllegalArgumentException if the numbers of points and scalars are different
+     */
+    public Point multiply(Point[] points, BigInteger[] scalars) {
+        return precompute(points).multiply(scalars);
+    }
+
+    public Point multiply(List<Point> points, List<BigInteger> scalars) {
+        return multiply(points.toArray(new Point[0]), scalars.toArray(new BigInteger[0]));
+    }
+
+    /**
+     * Return {@code sum(scalars[i] * points[i])} with Straus' method.
+     *
+     * @param points  points
+     * @param scalars scalars of the points
+     * @return {@link Point} instance of the sum
+     * @throws IllegalArgumentException if the numbers of points and scalars are different
+     */
+    public Point multiplyStraus(Point[] points, BigInteger[] scalars) {
+        return precompute(points).multiplyStraus(scalars);
+    }
+
+    /**
+     * Return {@code sum(scalars[i] * points[i])} with Pippenger's method.
+     *
+     * @param points  points
+     * @param scalars scalars of the points
+     * @return {@link Point} instance of the sum
+     * @throws IllegalArgumentException if the numbers of points and scalars are different
+     */
+    public Point multiplyPippenger(Point[] points, BigInteger[] scalars) {
+        return precompute(points).multiplyPippenger(scalars);
+    }
+
+    /**
+     * Convert points into the form for multi-scalar multiplication, which can be reused for
+     * other scalars.
+     *
+     * @param points points on the curve of this multiplier
+     * @return {@link PrecomputedPoints}
+     */
+    public abstract PrecomputedPoints precompute(Point[] points);
+
+    public int getStrausWidth() {
+        return strausWidth;
+    }
+
+    public int getPippengerWindow() {
+        return pippengerWindow;
+    }
+
+    public int getStrausThreshold() {
+        return strausThreshold;
+    }
+
+    /**
+     * Return the window of Pippenger's method for n points and scalars of {@code bitLength}
+     * bits, which minimizes the number of additions {@code (bitLength / c + 1) * (n + 2^c)}
+     * if the window is {@link #AUTO_WINDOW}.
+     *
+     * @param n         number of points
+     * @param bitLength maximum bit length of scalars
+     * @return window
+     */
+    protected int windowOf(int n, int bitLength) {
+        if (pippengerWindow != AUTO_WINDOW) {
+            return pippengerWindow;
+        }
+        int best = 1;
+        long bestCost = Long.MAX_VALUE;
+        for (int c = 1; c <= MAX_WINDOW; c++) {
+            long cost = (long) (bitLength / c + 1) * (n + (1L << c));
+            if (cost < bestCost) {
+                best = c;
+                bestCost = cost;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Points converted for multi-scalar multiplication.
+     */
+    public abstract class PrecomputedPoints {
+
+        /**
+         * @return number of the points
+         */
+        public abstract int size();
+
+        /**
+         * Return {@code sum(scalars[i] * points[i])}. Straus' method is used for less points
+         * than the threshold, Pippenger's method otherwise.
+         *
+         * @param scalars scalars of the points
+         * @return {@link Point} instance of the sum
+         * @throws IllegalArgumentException if the numbers of points and scalars are different
+         */
+        public Point multiply(BigInteger[] scalars) {
+            if (size() < strausThreshold) {
+                return multiplyStraus(scalars);
+            }
+            return multiplyPippenger(scalars);
+        }
+
+        /**
+         * Return {@code sum(scalars[i] * points[i])} with Straus' method. Tables of odd
+         * multiples are computed on the first call, and reused after that.
+         *
+         * @param scalars scalars of the points
+         * @return {@link Point} instance of the sum
+         * @throws IllegalArgumentException if the numbers of points and scalars are different
+         */
+        public abstract Point multiplyStraus(BigInteger[] scalars);
+
+        /**
+         * Return {@code sum(scalars[i] * points[i])} with Pippenger's method.
+         *
+         * @param scalars scalars of the points
+         * @return {@link Point} instance of the sum
+         * @throws IllegalArgumentException if the numbers of points and scalars are different
+         */
+        public abstract Point multiplyPippenger(BigInteger[] scalars);
+
+        protected void checkLength(BigInteger[] scalars) {
+            if (scalars.length != size()) {
+                throw new IllegalArgumentException("number of scalars must be equal to number of points");
+            }
+        }
+    }
+}
@@ -13,6 +13,11 @@ import java.math.BigInteger;
  */
 public abstract class Point {
 
+    /**
+     * Window width of wNAF on {@link #scalarMultiplyVariableTime(BigInteger)}.
+     */
+    public static final int DEFAULT_WNAF_WIDTH = 5;
+
     protected final Coordinate x;
     protected final Coordinate y;
     protected final Coordinate z;
@@ -33,6 +38,16 @@ public abstract class Point {
         this.t = t;
     }
 
+    /**
+     * constructor of Point whose coordinates are kept in its own representation.
+     * <p>
+     * A subclass which uses this constructor must override {@link #getX()}, {@link #getY()},
+     * {@link #getZ()} and {@link #getT()}.
+     */
+    protected Point() {
+        this(null, null, null, null);
+    }
+
     /**
      * Return x-coordinate value on projective coordinate.
      *
@@ -48,8 +63,8 @@ public abstract class Point {
      * @return x coordinate on affine coordinate.
      */
     public Coordinate getAffineX() {
-        Coordinate zInverse = z.inverse();
-        return x.multiply(zInverse).mod();
+        Coordinate zInverse = getZ().inverse();
+        return getX().multiply(zInverse).mod();
     }
 
     /**
@@ -67,8 +82,8 @@ public abstract class Point {
      * @return y coordinate on affine coordinate.
      */
     public Coordinate getAffineY() {
-        Coordinate zInverse = z.inverse();
-        return y.multiply(zInverse).mod();
+        Coordinate zInverse = getZ().inverse();
+        return getY().multiply(zInverse).mod();
     }
 
     public Coordinate getZ() {
@@ -123,11 +138,54 @@ public abstract class Point {
      * If {@code integer} is equal to {@link BigInteger#ZERO}, this method must return the origin
      * point which is Point(0, 1).
      *
+     * <p>
+     * The implementations on limbs, {@code PointEd25519} and {@code PointEd448}, do not branch
+     * or access memory depending on the value of {@code integer}, so they can be used with
+     * secret scalars. Other implementations, such as the reference backend, may run in
+     * variable time. Use {@link #scalarMultiplyVariableTime(BigInteger)} for public scalars,
+     * which is faster.
+     *
      * @param integer scalar value to multiply Point.
      * @return {@link Point} which will be multiplied.
      */
     public abstract Point scalarMultiply(BigInteger integer);
 
+    /**
+     * Return a Point multiplied by a public scalar with width-w non-adjacent form (wNAF) of
+     * {@link #DEFAULT_WNAF_WIDTH}.
+     *
+     * @param integer public scalar value to multiply Point.
+     * @return {@link Point} which will be multiplied.
+     * @see #scalarMultiplyVariableTime(BigInteger, int)
+     */
+    public Point scalarMultiplyVariableTime(BigInteger integer) {
+        return scalarMultiplyVariableTime(integer, DEFAULT_WNAF_WIDTH);
+    }
+
+    /**
+     * Return a Point multiplied by a public scalar with width-w non-adjacent form (wNAF).
+     *
+     * <p>
+     * Odd multiples {@code P, 3P, ..., (2^(w-1) - 1)P} are computed first, then each non-zero
+     * digit of wNAF needs one addition, which is about {@code bitLength / (w + 1)} additions in
+     * total instead of one addition per bit. This runs in variable time, so it must not be used
+     * with secret scalars such as private keys, use {@link #scalarMultiply(BigInteger)} for them.
+     *
+     * <p>
+     * A subclass should override this method, it falls back to {@link #scalarMultiply(BigInteger)}.
+     *
+     * @param integer public scalar value to multiply Point.
+     * @param width   window width of wNAF, between 2 and 8.
+     * @return {@link Point} which will be multiplied.
+     * @throws IllegalArgumentException if {@code width} is out of range.
+     */
+    public Point scalarMultiplyVariableTime(BigInteger integer, int width) {
+        if (width < 2 || 8 < width) {
+            throw new IllegalArgumentException("width must be between 2 and 8");
+        }
+        return scalarMultiply(integer);
+    }
+
     /**
      * Return a point has negated y-coordinate.
      * <p>
@@ -0,0 +1,227 @@
+package io.moatwel.crypto.eddsa;
+
+import io.moatwel.crypto.EdDsaSigner;
+import io.moatwel.crypto.PreparedPublicKey;
+import io.moatwel.crypto.PublicKey;
+
+import java.util.LinkedHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Size-bounded cache of {@link PreparedPublicKey}s, which {@link Edwards} uses on verification
+ * so that frequently used public keys are decoded only once.
+ *
+ * <p>
+ * Keys are split into segments by their hash, and each segment is a LRU map with its own lock,
+ * so threads looking up different keys rarely wait for each other. The size is bounded over all
+ * segments, so no key is evicted while the cache holds fewer than {@code maximumSize} keys. When
+ * it is full, the least recently used key of the segment of the new key is evicted, or of the
+ * next segment if the new key is the only one in its segment. A missing key is prepared outside
+ * of the lock, so two threads may prepare the same key at once, and one of the results is kept.
+ *
+ * <p>
+ * A cache may be shared by {@link Edwards} instances on the same curve. Public keys of
+ * Ed25519 and Ed448 have different lengths, so they never collide on a shared cache either.
+ * Public keys which cannot be decoded are not cached.
+ *
+ * @author halu5071 (Yasunori Horii)
+ * @see Edwards#Edwards(SchemeProvider, PublicKeyCache)
+ */
+public class PublicKeyCache {
+
+    public static final int DEFAULT_CONCURRENCY_LEVEL = 16;
+
+    private final Segment[] segments;
+    private final int maximumSize;
+    private final boolean precompute;
+
+    private final AtomicInteger count = new AtomicInteger();
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    /**
+     * @param maximumSize maximum number of public keys
+     */
+    public PublicKeyCache(int maximumSize) {
+        this(maximumSize, DEFAULT_CONCURRENCY_LEVEL, true);
+    }
+
+    /**
+     * @param maximumSize      maximum number of public keys
+     * @param concurrencyLevel number of segments, which is rounded up to a power of 2
+     * @param precompute       true if odd multiples of each public key should be kept as well,
+     *                         see {@link EdDsaSigner#prepare(PublicKey, boolean)}
+     */
+    public PublicKeyCache(int maximumSize, int concurrencyLevel, boolean precompute) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("maximum size must be positive");
+        }
+        if (concurrencyLevel <= 0) {
+            throw new IllegalArgumentException("concurrency level must be positive");
+        }
+        int segmentCount = 1;
+        while (segmentCount < Math.min(concurrencyLevel, maximumSize)) {
+            segmentCount <<= 1;
+        }
+
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment();
+        }
+        this.maximumSize = maximumSize;
+        this.precompute = precompute;
+    }
+
+    /**
+     * Return the prepared public key from this cache, or prepare it with {@code signer} and
+     * put it into this cache if it is missing.
+     *
+     * @param publicKey {@link PublicKey}
+     * @param signer    {@link EdDsaSigner} of the curve of the public key
+     * @return {@link PreparedPublicKey}
+     * @throws DecodeException if the public key is not a point on the curve.
+     */
+    public PreparedPublicKey get(PublicKey publicKey, EdDsaSigner signer) throws DecodeException {
+        int index = indexFor(publicKey);
+        Segment segment = segments[index];
+        PreparedPublicKey preparedPublicKey;
+        synchronized (segment) {
+            preparedPublicKey = segment.get(publicKey);
+        }
+        if (preparedPublicKey != null) {
+            hitCount.incrementAndGet();
+            return preparedPublicKey;
+        }
+        missCount.incrementAndGet();
+
+        preparedPublicKey = signer.prepare(publicKey, precompute);
+        synchronized (segment) {
+            PreparedPublicKey existing = segment.get(publicKey);
+            if (existing != null) {
+                return existing;
+            }
+            segment.put(publicKey, preparedPublicKey);
+            count.incrementAndGet();
+        }
+        evictIfFull(index, publicKey);
+        return preparedPublicKey;
+    }
+
+    /**
+     * @param publicKey {@link PublicKey}
+     * @return {@link PreparedPublicKey} in this cache, or null if it is missing
+     */
+    public PreparedPublicKey getIfPresent(PublicKey publicKey) {
+        Segment segment = segments[indexFor(publicKey)];
+        synchronized (segment) {
+            return segment.get(publicKey);
+        }
+    }
+
+    /**
+     * @return number of public keys in this cache
+     */
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    public void clear() {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                count.addAndGet(-segment.size());
+                segment.clear();
+            }
+        }
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    private int indexFor(PublicKey publicKey) {
+        int h = publicKey.hashCode();
+        h ^= (h >>> 16);
+        return h & (segments.length - 1);
+    }
+
+    /**
+     * Evict least recently used keys while this cache holds more than {@code maximumSize} keys,
+     * starting from the segment at {@code index}. Only one segment is locked at a time.
+     *
+     * @param index     index of the segment of the new key
+     * @param publicKey new key, which is not evicted
+     */
+    private void evictIfFull(int index, PublicKey publicKey) {
+        while (true) {
+            int size = count.get();
+            if (size <= maximumSize) {
+                return;
+            }
+            if (!count.compareAndSet(size, size - 1)) {
+                continue;
+            }
+            if (!evictOne(index, publicKey)) {
+                // other threads have removed keys meanwhile
+                count.incrementAndGet();
+                return;
+            }
+            evictionCount.incrementAndGet();
+        }
+    }
+
+    private boolean evictOne(int index, PublicKey publicKey) {
+        for (int i = 0; i < segments.length; i++) {
+            Segment segment = segments[(index + i) & (segments.length - 1)];
+            synchronized (segment) {
+                if (segment.removeEldest(publicKey)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * LRU map of a segment, which must be used in synchronized block on itself.
+     */
+    private static final class Segment extends LinkedHashMap<PublicKey, PreparedPublicKey> {
+
+        private static final long serialVersionUID = 1L;
+
+        private Segment() {
+            super(16, 0.75f, true);
+        }
+
+        /**
+         * Remove the least recently used key unless it is {@code keep}.
+         *
+         * @return true if a key is removed
+         */
+        private boolean removeEldest(PublicKey keep) {
+            Iterator<Map.Entry<PublicKey, PreparedPublicKey>> iterator = entrySet().iterator();
+            if (!iterator.hasNext() || iterator.next().getKey().equals(keep)) {
+                return false;
+            }
+            iterator.remove();
+            return true;
+        }
+    }
+}
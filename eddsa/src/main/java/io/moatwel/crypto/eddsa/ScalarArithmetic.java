@@ -0,0 +1,251 @@
+package io.moatwel.crypto.eddsa;
+
+import java.math.BigInteger;
+
+/**
+ * Arithmetic of scalars modulo the order L of the base point of a curve, on fixed-size words.
+ * It is shared by the scalars of Curve25519 and Curve448, which only differ in L and the
+ * byte length of an encoded scalar.
+ *
+ * <p>
+ * A scalar is represented by {@code int[words]}, unsigned 32-bit words from the least
+ * significant one, where {@code words} is {@code bytes / 4}. Results are always reduced into
+ * {@code [0, L)}. Reduction is Barrett's method with {@code mu = floor(2^(64 * words) / L)},
+ * which reduces any integer less than {@code 2^(64 * words)} with two multiplications, and the
+ * final subtractions of L are done without any branch on the value. Longer integers, such as
+ * hashes, are reduced from the most significant {@code words} words one by one.
+ *
+ * <p>
+ * This class is public only to be shared by the packages of curves, and is not a part of API.
+ *
+ * @author halu5071 (Yasunori Horii)
+ * @see <a href="http://cacr.uwaterloo.ca/hac/about/chap14.pdf">Handbook of Applied Cryptography, Algorithm 14.42</a>
+ */
+public final class ScalarArithmetic {
+
+    private static final long M = 0xFFFFFFFFL;
+
+    private final int words;
+    private final int bytes;
+
+    // L and mu = floor(2^(64 * words) / L) in words + 1 words
+    private final int[] lWords;
+    private final int[] mu;
+
+    /**
+     * @param l     order of the base point, which is less than {@code 2^(32 * (bytes / 4))}
+     * @param bytes byte length of an encoded scalar, whose bytes beyond {@code 4 * (bytes / 4)}
+     *              are zero on canonical scalars
+     */
+    public ScalarArithmetic(BigInteger l, int bytes) {
+        this.words = bytes / 4;
+        this.bytes = bytes;
+        this.lWords = toWords(l, words + 1);
+        if (lWords[words] != 0) {
+            throw new IllegalArgumentException("L must be less than 2^" + (32 * words));
+        }
+        this.mu = toWords(BigInteger.ONE.shiftLeft(64 * words).divide(l), words + 1);
+    }
+
+    public int[] create() {
+        return new int[words];
+    }
+
+    /**
+     * @param value integer between 0 and {@code 2^(32 * words) - 1}, which is not reduced
+     * @return scalar
+     */
+    public int[] create(BigInteger value) {
+        return toWords(value, words);
+    }
+
+    public BigInteger toBigInteger(int[] a) {
+        byte[] bigEndian = new byte[4 * words];
+        for (int i = 0; i < words; i++) {
+            int w = a[words - 1 - i];
+            bigEndian[4 * i] = (byte) (w >>> 24);
+            bigEndian[4 * i + 1] = (byte) (w >>> 16);
+            bigEndian[4 * i + 2] = (byte) (w >>> 8);
+            bigEndian[4 * i + 3] = (byte) w;
+        }
+        return new BigInteger(1, bigEndian);
+    }
+
+    /**
+     * r = bytes mod L, where {@code bytes} is a little-endian integer of any length, for
+     * example a hash.
+     *
+     * @param r     result
+     * @param bytes little-endian integer
+     */
+    public void reduce(int[] r, byte[] bytes) {
+        int chunks = Math.max(2, (bytes.length + 4 * words - 1) / (4 * words));
+        int[] x = new int[2 * words];
+        load(x, words, bytes, (chunks - 1) * 4 * words);
+        load(x, 0, bytes, (chunks - 2) * 4 * words);
+        barrett(r, x);
+        for (int c = chunks - 3; c >= 0; c--) {
+            // r * 2^(32 * words) + chunk < L * 2^(32 * words)
+            System.arraycopy(r, 0, x, words, words);
+            load(x, 0, bytes, c * 4 * words);
+            barrett(r, x);
+        }
+    }
+
+    /**
+     * r = a * b + c mod L. The operands do not need to be reduced.
+     *
+     * @param r result
+     * @param a scalar
+     * @param b scalar
+     * @param c scalar
+     */
+    public void mulAdd(int[] r, int[] a, int[] b, int[] c) {
+        int[] x = new int[2 * words];
+        for (int i = 0; i < words; i++) {
+            long carry = 0;
+            long ai = a[i] & M;
+            for (int j = 0; j < words; j++) {
+                long t = ai * (b[j] & M) + (x[i + j] & M) + carry;
+                x[i + j] = (int) t;
+                carry = t >>> 32;
+            }
+            x[i + words] = (int) carry;
+        }
+        long carry = 0;
+        for (int i = 0; i < 2 * words; i++) {
+            long t = (x[i] & M) + (i < words ? c[i] & M : 0) + carry;
+            x[i] = (int) t;
+            carry = t >>> 32;
+        }
+        // a * b + c < 2^(64 * words), so there is no carry out.
+        barrett(r, x);
+    }
+
+    /**
+     * Load an encoded scalar and check that it is canonical, in other words less than L.
+     *
+     * @param r     result, which is loaded even if it is not canonical
+     * @param bytes little-endian encoded scalar
+     * @return true if the scalar is less than L
+     */
+    public boolean decode(int[] r, byte[] bytes) {
+        if (bytes.length != this.bytes) {
+            throw new IllegalArgumentException("scalar must be " + this.bytes + " bytes");
+        }
+        int[] x = new int[words + 1];
+        load(x, 0, bytes, 0);
+        System.arraycopy(x, 0, r, 0, words);
+        // the bytes out of words words, if any, must be zero
+        for (int i = 4 * words; i < bytes.length; i++) {
+            x[words] |= bytes[i] & 0xFF;
+        }
+        return x[words] == 0 && subtractBorrow(x) != 0;
+    }
+
+    /**
+     * @param a scalar less than L
+     * @return little-endian encoded scalar
+     */
+    public byte[] encode(int[] a) {
+        byte[] s = new byte[bytes];
+        for (int i = 0; i < 4 * words; i++) {
+            s[i] = (byte) (a[i >>> 2] >>> (8 * (i & 3)));
+        }
+        return s;
+    }
+
+    /**
+     * r = x mod L for x less than {@code 2^(64 * words)}.
+     */
+    private void barrett(int[] r, int[] x) {
+        // q3 = floor(floor(x / b^(k - 1)) * mu / b^(k + 1)), which is q or q - 1 or q - 2
+        // for the quotient q of x / L
+        int[] q2 = new int[2 * words + 2];
+        for (int i = 0; i < words + 1; i++) {
+            long carry = 0;
+            long xi = x[words - 1 + i] & M;
+            for (int j = 0; j < words + 1; j++) {
+                long t = xi * (mu[j] & M) + (q2[i + j] & M) + carry;
+                q2[i + j] = (int) t;
+                carry = t >>> 32;
+            }
+            q2[i + words + 1] = (int) carry;
+        }
+
+        // t = (x - q3 * L) mod b^(k + 1), only the lower k + 1 words are needed
+        int[] t = new int[words + 1];
+        for (int i = 0; i < words + 1; i++) {
+            long carry = 0;
+            long qi = q2[words + 1 + i] & M;
+            for (int j = 0; i + j < words + 1; j++) {
+                long u = qi * (lWords[j] & M) + (t[i + j] & M) + carry;
+                t[i + j] = (int) u;
+                carry = u >>> 32;
+            }
+        }
+        long borrow = 0;
+        for (int i = 0; i < words + 1; i++) {
+            long u = (x[i] & M) - (t[i] & M) + borrow;
+            t[i] = (int) u;
+            borrow = u >> 32;
+        }
+
+        // now t < 3L
+        subtractL(t);
+        subtractL(t);
+        System.arraycopy(t, 0, r, 0, words);
+    }
+
+    /**
+     * t = t - L if t is not less than L, without any branch on t.
+     */
+    private void subtractL(int[] t) {
+        int[] d = t.clone();
+        int mask = subtractBorrow(d);
+        for (int i = 0; i < t.length; i++) {
+            t[i] = (t[i] & mask) | (d[i] & ~mask);
+        }
+    }
+
+    /**
+     * t = t - L in words + 1 words.
+     *
+     * @return -1 if t was less than L, 0 otherwise
+     */
+    private int subtractBorrow(int[] t) {
+        long borrow = 0;
+        for (int i = 0; i < words + 1; i++) {
+            long u = (t[i] & M) - (lWords[i] & M) + borrow;
+            t[i] = (int) u;
+            borrow = u >> 32;
+        }
+        return (int) borrow;
+    }
+
+    /**
+     * Load {@code words} words from little-endian bytes from {@code offset}, bytes out of
+     * range are zero.
+     */
+    private void load(int[] x, int xOffset, byte[] bytes, int offset) {
+        for (int i = 0; i < words; i++) {
+            int w = 0;
+            for (int j = 3; j >= 0; j--) {
+                int index = offset + 4 * i + j;
+                w = (w << 8) | (index < bytes.length ? bytes[index] & 0xFF : 0);
+            }
+            x[xOffset + i] = w;
+        }
+    }
+
+    private static int[] toWords(BigInteger value, int words) {
+        if (value.signum() < 0 || value.bitLength() > 32 * words) {
+            throw new IllegalArgumentException("value must be between 0 and 2^" + (32 * words) + " - 1");
+        }
+        int[] a = new int[words];
+        for (int i = 0; i < words; i++) {
+            a[i] = value.shiftRight(32 * i).intValue();
+        }
+        return a;
+    }
+}
@@ -1,6 +1,7 @@
 package io.moatwel.crypto.eddsa;
 
 import io.moatwel.crypto.EdDsaSigner;
+import io.moatwel.crypto.HashAlgorithm;
 import io.moatwel.crypto.PrivateKey;
 
 /**
@@ -11,20 +12,67 @@ import io.moatwel.crypto.PrivateKey;
 public abstract class SchemeProvider {
 
     private final Curve curve;
+    private final ArithmeticBackend backend;
 
     protected SchemeProvider(Curve curve) {
+        this(curve, null);
+    }
+
+    /**
+     * Create SchemeProvider on the curve of {@code backend}.
+     *
+     * @param curve   curve of the scheme
+     * @param backend backend of arithmetic, or null to use {@link ArithmeticBackend#getDefault(Curve)}
+     * @throws IllegalArgumentException if {@code backend} does not support the curve
+     */
+    protected SchemeProvider(Curve curve, ArithmeticBackend backend) {
         if (curve == null) {
             throw new NullPointerException("Curve must not be null");
         }
-        this.curve = curve;
+        if (backend == null) {
+            backend = ArithmeticBackend.getDefault(curve);
+        } else if (!backend.supports(curve)) {
+            throw new IllegalArgumentException("Backend " + backend.getName() + " does not support the curve.");
+        }
+        this.backend = backend;
+        this.curve = backend == null ? curve : backend.getCurve(curve);
     }
 
+    /**
+     * Return the curve of the backend of this scheme.
+     *
+     * @return {@link Curve} instance
+     */
     public Curve getCurve() {
         return curve;
     }
 
+    /**
+     * Return the backend of arithmetic which is used by this scheme.
+     *
+     * @return {@link ArithmeticBackend} instance, or null if no backend supports the curve
+     */
+    public ArithmeticBackend getBackend() {
+        return backend;
+    }
+
     public abstract EdDsaSigner getSigner();
 
+    /**
+     * Return the signer of the backend of this scheme.
+     *
+     * @param algorithm hash algorithm of the scheme
+     * @return {@link EdDsaSigner} instance
+     * @throws IllegalStateException if no backend supports the curve of this scheme
+     */
+    protected EdDsaSigner getBackendSigner(HashAlgorithm algorithm) {
+        if (backend == null) {
+            throw new IllegalStateException("No arithmetic backend supports the curve of "
+                    + getClass().getSimpleName() + ".");
+        }
+        return backend.getSigner(this, algorithm);
+    }
+
     public abstract PublicKeyDelegate getPublicKeyDelegate();
 
     public abstract PrivateKey generatePrivateKey();
@@ -0,0 +1,273 @@
+package io.moatwel.crypto.eddsa.ed25519;
+
+import io.moatwel.util.ArrayUtils;
+
+import java.math.BigInteger;
+
+/**
+ * Precomputed multiples of the base point of Curve25519 for fixed-base scalar multiplication.
+ *
+ * <p>
+ * A scalar is written in signed radix 16, {@code a = e[0] + 16 * e[1] + ... + 16^63 * e[63]}
+ * with {@code -8 <= e[i] <= 8}, and {@code j * 256^i * B} for {@code 1 <= j <= 8} and
+ * {@code 0 <= i < 32} are kept in Niels form. Then
+ * {@code a * B = sum(e[2i] * 256^i * B) + 16 * sum(e[2i + 1] * 256^i * B)}, which needs only
+ * 64 mixed additions and 4 doublings. This is the comb method of ref10.
+ *
+ * <p>
+ * Odd multiples {@code B, 3B, ..., 127B} are kept as well for wNAF, which is used by
+ * double-scalar multiplication on verification.
+ *
+ * @author halu5071 (Yasunori Horii)
+ * @see <a href="https://ed25519.cr.yp.to/ed25519-20110926.pdf">High-speed high-security signatures</a>
+ */
+final class BasePointTableEd25519 {
+
+    private static final int ROWS = 32;
+    private static final int COLUMNS = 8;
+
+    // window width of wNAF of the scalar of the base point, and of a variable point.
+    private static final int BASE_WIDTH = 8;
+    private static final int POINT_WIDTH = 5;
+
+    private static final BigInteger L = Curve25519.getInstance().getPrimeL();
+
+    private final NielsPointEd25519[][] table = new NielsPointEd25519[ROWS][COLUMNS];
+
+    // odd multiples B, 3B, ..., 127B for wNAF
+    private final NielsPointEd25519[] oddMultiples = new NielsPointEd25519[1 << (BASE_WIDTH - 2)];
+
+    BasePointTableEd25519(PointEd25519 base) {
+        ScratchEd25519 scratch = ScratchEd25519.get();
+
+        MutablePointEd25519[] points = new MutablePointEd25519[ROWS * COLUMNS];
+        MutablePointEd25519 row = new MutablePointEd25519();
+        base.copyTo(row);
+        for (int i = 0; i < ROWS; i++) {
+            points[i * COLUMNS] = new MutablePointEd25519();
+            points[i * COLUMNS].set(row);
+            for (int j = 1; j < COLUMNS; j++) {
+                points[i * COLUMNS + j] = new MutablePointEd25519();
+                points[i * COLUMNS + j].add(points[i * COLUMNS + j - 1], row, scratch);
+            }
+            // row = 256 * row
+            for (int k = 0; k < 8; k++) {
+                row.doubling(row, scratch);
+            }
+        }
+
+        MutablePointEd25519[] odd = new MutablePointEd25519[oddMultiples.length];
+        for (int i = 0; i < odd.length; i++) {
+            odd[i] = new MutablePointEd25519();
+        }
+        base.copyTo(row);
+        MutablePointEd25519.oddMultiples(odd, row, scratch);
+
+        MutablePointEd25519[] all = new MutablePointEd25519[points.length + odd.length];
+        System.arraycopy(points, 0, all, 0, points.length);
+        System.arraycopy(odd, 0, all, points.length, odd.length);
+
+        int[][] zInverse = new int[all.length][];
+        for (int i = 0; i < all.length; i++) {
+            zInverse[i] = Field25519.create();
+            Field25519.copy(zInverse[i], all[i].Z);
+        }
+        Field25519.batchInvert(zInverse, zInverse);
+
+        int[] x = Field25519.create();
+        int[] y = Field25519.create();
+        for (int i = 0; i < all.length; i++) {
+            Field25519.mul(x, all[i].X, zInverse[i]);
+            Field25519.mul(y, all[i].Y, zInverse[i]);
+            NielsPointEd25519 entry = new NielsPointEd25519();
+            entry.set(x, y, MutablePointEd25519.D2);
+            if (i < points.length) {
+                table[i / COLUMNS][i % COLUMNS] = entry;
+            } else {
+                oddMultiples[i - points.length] = entry;
+            }
+        }
+    }
+
+    /**
+     * h = scalar * B. The scalar is reduced by modulo L before multiplication, and the
+     * sequence of operations does not depend on its value.
+     *
+     * @param h       result
+     * @param scalar  scalar
+     * @param scratch scratch of the current thread
+     */
+    void multiply(MutablePointEd25519 h, BigInteger scalar, ScratchEd25519 scratch) {
+        multiply(h, Scalar25519.create(scalar.mod(L)), scratch);
+    }
+
+    /**
+     * h = scalar * B, where the scalar is already reduced by modulo L in {@link Scalar25519} form.
+     *
+     * @param h       result
+     * @param scalar  scalar less than L
+     * @param scratch scratch of the current thread
+     */
+    void multiply(MutablePointEd25519 h, int[] scalar, ScratchEd25519 scratch) {
+        byte[] e = scratch.digits;
+        toSignedDigits(e, scalar);
+
+        NielsPointEd25519 t = scratch.niels;
+        h.setIdentity();
+        for (int i = 1; i < 64; i += 2) {
+            select(t, i / 2, e[i], scratch.t0);
+            h.addNiels(h, t, scratch);
+        }
+
+        h.doublingProjective(h, scratch);
+        h.doublingProjective(h, scratch);
+        h.doublingProjective(h, scratch);
+        h.doubling(h, scratch);
+
+        for (int i = 0; i < 64; i += 2) {
+            select(t, i / 2, e[i], scratch.t0);
+            h.addNiels(h, t, scratch);
+        }
+    }
+
+    /**
+     * h = s * B - k * A, with interleaved wNAF (Straus' method) so that both multiplications
+     * share doublings. The scalars must be less than L. This runs in variable time, so
+     * it must be used only with public values, for example on verification.
+     *
+     * @param h       result, must not be in {@code scratch}
+     * @param s       scalar of the base point, less than L
+     * @param a       point A
+     * @param k       scalar of A, less than L
+     * @param scratch scratch of the current thread
+     */
+    void doubleScalarMultiply(MutablePointEd25519 h, int[] s, MutablePointEd25519 a, int[] k,
+                              ScratchEd25519 scratch) {
+        CachedPointEd25519[] aMultiples = scratch.oddMultiples;
+        MutablePointEd25519.oddMultiples(aMultiples, a, scratch);
+
+        interleave(h, ArrayUtils.toWindowedNonAdjacentForm(s, BASE_WIDTH), aMultiples,
+                ArrayUtils.toWindowedNonAdjacentForm(k, POINT_WIDTH), scratch);
+    }
+
+    /**
+     * h = s * B - k * A, where A has odd multiples {@code A, 3A, ..., (2^(width - 1) - 1)A} in
+     * Niels form computed in advance, so that no odd multiple is computed here and each addition
+     * of A needs one multiplication less. This runs in variable time as well.
+     *
+     * @param h          result, must not be in {@code scratch}
+     * @param s          scalar of the base point, less than L
+     * @param aMultiples odd multiples of point A
+     * @param width      width of wNAF of {@code k}
+     * @param k          scalar of A, less than L
+     * @param scratch    scratch of the current thread
+     */
+    void doubleScalarMultiply(MutablePointEd25519 h, int[] s, NielsPointEd25519[] aMultiples, int width, int[] k,
+                              ScratchEd25519 scratch) {
+        byte[] sNaf = ArrayUtils.toWindowedNonAdjacentForm(s, BASE_WIDTH);
+        byte[] kNaf = ArrayUtils.toWindowedNonAdjacentForm(k, width);
+
+        int i = Math.max(sNaf.length, kNaf.length) - 1;
+        while (i >= 0 && digit(sNaf, i) == 0 && digit(kNaf, i) == 0) {
+            i--;
+        }
+
+        h.setIdentity();
+        for (; i >= 0; i--) {
+            int sDigit = digit(sNaf, i);
+            int kDigit = digit(kNaf, i);
+            // T is needed only if a point is added next
+            if (sDigit == 0 && kDigit == 0 && i > 0) {
+                h.doublingProjective(h, scratch);
+                continue;
+            }
+            h.doubling(h, scratch);
+
+            if (sDigit > 0) {
+                h.addNiels(h, oddMultiples[sDigit >> 1], scratch);
+            } else if (sDigit < 0) {
+                h.subNiels(h, oddMultiples[-sDigit >> 1], scratch);
+            }
+
+            if (kDigit > 0) {
+                h.subNiels(h, aMultiples[kDigit >> 1], scratch);
+            } else if (kDigit < 0) {
+                h.addNiels(h, aMultiples[-kDigit >> 1], scratch);
+            }
+        }
+    }
+
+    /**
+     * h = sNaf * B - kNaf * A, where {@code aMultiples} are odd multiples of A.
+     */
+    private void interleave(MutablePointEd25519 h, byte[] sNaf, CachedPointEd25519[] aMultiples, byte[] kNaf,
+                            ScratchEd25519 scratch) {
+        int i = Math.max(sNaf.length, kNaf.length) - 1;
+        while (i >= 0 && digit(sNaf, i) == 0 && digit(kNaf, i) == 0) {
+            i--;
+        }
+
+        h.setIdentity();
+        for (; i >= 0; i--) {
+            int sDigit = digit(sNaf, i);
+            int kDigit = digit(kNaf, i);
+            if (sDigit == 0 && kDigit == 0 && i > 0) {
+                h.doublingProjective(h, scratch);
+                continue;
+            }
+            h.doubling(h, scratch);
+
+            if (sDigit > 0) {
+                h.addNiels(h, oddMultiples[sDigit >> 1], scratch);
+            } else if (sDigit < 0) {
+                h.subNiels(h, oddMultiples[-sDigit >> 1], scratch);
+            }
+
+            if (kDigit > 0) {
+                h.subCached(h, aMultiples[kDigit >> 1], scratch);
+            } else if (kDigit < 0) {
+                h.addCached(h, aMultiples[-kDigit >> 1], scratch);
+            }
+        }
+    }
+
+    private static int digit(byte[] naf, int i) {
+        return i < naf.length ? naf[i] : 0;
+    }
+
+    /**
+     * t = b * 256^row * B, without any branch or memory access depending on {@code b}.
+     */
+    private void select(NielsPointEd25519 t, int row, byte b, int[] tmp) {
+        int negative = (b >> 7) & 1;
+        int abs = b - ((-negative & b) << 1);
+
+        t.setIdentity();
+        for (int j = 0; j < COLUMNS; j++) {
+            t.cmov(table[row][j], equal(abs, j + 1));
+        }
+        t.cneg(negative, tmp);
+    }
+
+    private static int equal(int b, int c) {
+        return ((b ^ c) - 1) >>> 31;
+    }
+
+    private static void toSignedDigits(byte[] e, int[] a) {
+        for (int i = 0; i < 32; i++) {
+            int b = (a[i >>> 2] >>> ((i & 3) << 3)) & 0xFF;
+            e[2 * i] = (byte) (b & 15);
+            e[2 * i + 1] = (byte) ((b >> 4) & 15);
+        }
+
+        // each e[i] is between 0 and 15, and e[63] is between 0 and 1 since a < L < 2^253.
+        int carry = 0;
+        for (int i = 0; i < 63; i++) {
+            e[i] += carry;
+            carry = (e[i] + 8) >> 4;
+            e[i] -= carry << 4;
+        }
+        e[63] += carry;
+        // now each e[i] is between -8 and 8.
+    }
+}
@@ -0,0 +1,104 @@
+package io.moatwel.crypto.eddsa.ed25519;
+
+import io.moatwel.crypto.eddsa.MultiScalarMultiplier;
+
+import java.lang.reflect.Constructor;
+
+/**
+ * Buckets of Pippenger's method on Curve25519, each of which has a sum of points in affine
+ * Niels form.
+ *
+ * <p>
+ * {@link #create(int)} returns the buckets which add four points to four buckets at once across
+ * the lanes of 256-bit vectors, if the classes of the Vector API backend are in the
+ * {@code META-INF/versions/17} directory of the multi-release jar, the module
+ * {@code jdk.incubator.vector} is added with {@code --add-modules}, and the platform has vectors
+ * of 256 bits or more. Otherwise the buckets on scalar limbs are returned, which add points one
+ * by one. Set the system property {@value MultiScalarMultiplier#VECTOR_PROPERTY} to
+ * {@code false} to use the scalar buckets always.
+ *
+ * @author halu5071 (Yasunori Horii)
+ * @see MultiScalarMultiplierEd25519
+ */
+abstract class BucketsEd25519 {
+
+    private static final String VECTOR_BUCKETS = "io.moatwel.crypto.eddsa.ed25519.VectorBucketsEd25519";
+
+    // constructor of the buckets of the Vector API backend, or null if it is not available
+    private static final Constructor<? extends BucketsEd25519> VECTOR = vectorConstructor();
+
+    /**
+     * Return buckets, all of which are the neutral element.
+     *
+     * @param count number of buckets
+     * @return buckets on vectors if available, or on scalar limbs
+     */
+    static BucketsEd25519 create(int count) {
+        return create(count, true);
+    }
+
+    /**
+     * Return buckets, all of which are the neutral element.
+     *
+     * @param count           number of buckets
+     * @param isVectorAllowed false if the buckets must be on scalar limbs
+     * @return buckets on vectors if available and allowed, or on scalar limbs
+     */
+    static BucketsEd25519 create(int count, boolean isVectorAllowed) {
+        if (isVectorAllowed && VECTOR != null) {
+            try {
+                return VECTOR.newInstance(count);
+            } catch (ReflectiveOperationException e) {
+                // the first instance has been created successfully, so this never happens
+            }
+        }
+        return new ScalarBucketsEd25519(count);
+    }
+
+    /**
+     * Return true if {@link #create(int)} returns buckets on vectors.
+     */
+    static boolean isVectorized() {
+        return VECTOR != null;
+    }
+
+    /**
+     * Set all buckets to the neutral element.
+     */
+    abstract void clear();
+
+    /**
+     * buckets[b] = buckets[b] + q, or buckets[b] - q if {@code negative} is true. The sum may
+     * not be computed until {@link #get(int, ScratchEd25519)} is called.
+     *
+     * @param b        index of the bucket
+     * @param q        point in affine Niels form, which must not be changed until the sum is got
+     * @param negative true if q is subtracted
+     * @param scratch  scratch of the current thread
+     */
+    abstract void add(int b, NielsPointEd25519 q, boolean negative, ScratchEd25519 scratch);
+
+    /**
+     * Return the sum in a bucket, which is valid until the buckets are changed.
+     *
+     * @param b       index of the bucket
+     * @param scratch scratch of the current thread
+     * @return sum of the points added to the bucket, whose T is valid
+     */
+    abstract MutablePointEd25519 get(int b, ScratchEd25519 scratch);
+
+    private static Constructor<? extends BucketsEd25519> vectorConstructor() {
+        if (!Boolean.parseBoolean(System.getProperty(MultiScalarMultiplier.VECTOR_PROPERTY, "true"))) {
+            return null;
+        }
+        try {
+            Constructor<? extends BucketsEd25519> constructor = Class.forName(VECTOR_BUCKETS)
+                    .asSubclass(BucketsEd25519.class).getDeclaredConstructor(int.class);
+            // the first instance fails if the module or 256-bit vectors are not available
+            constructor.newInstance(1);
+            return constructor;
+        } catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package io.moatwel.crypto.eddsa.ed25519;
+
+/**
+ * Point on Curve25519 in cached form (Y + X, Y - X, 2 * Z, 2 * d * T), which is the form of
+ * ref10 for a point added many times. {@code 2 * d * T} and {@code 2 * Z} are computed once
+ * when the point is cached, so adding this form to a {@link MutablePointEd25519} needs one
+ * multiplication less than adding two extended points.
+ *
+ * <p>
+ * Unlike {@link NielsPointEd25519}, Z is kept and no inversion is needed, so this is the form
+ * of tables computed for each scalar multiplication.
+ *
+ * @author halu5071 (Yasunori Horii)
+ * @see MutablePointEd25519#addCached(MutablePointEd25519, CachedPointEd25519, ScratchEd25519)
+ */
+final class CachedPointEd25519 {
+
+    final int[] yPlusX = Field25519.create();
+    final int[] yMinusX = Field25519.create();
+    final int[] z2 = Field25519.create();
+    final int[] t2d = Field25519.create();
+
+    /**
+     * Create the neutral element.
+     */
+    CachedPointEd25519() {
+        setIdentity();
+    }
+
+    void setIdentity() {
+        Field25519.one(yPlusX);
+        Field25519.one(yMinusX);
+        Field25519.one(z2);
+        Field25519.add(z2, z2, z2);
+        Field25519.zero(t2d);
+    }
+
+    /**
+     * Set the cached form of an extended point.
+     *
+     * @param p point, whose T must be valid
+     */
+    void set(MutablePointEd25519 p) {
+        Field25519.add(yPlusX, p.Y, p.X);
+        Field25519.sub(yMinusX, p.Y, p.X);
+        Field25519.add(z2, p.Z, p.Z);
+        Field25519.mul(t2d, p.T, MutablePointEd25519.D2);
+    }
+
+    /**
+     * Replace this point with {@code p} if {@code b} is 1, without any branch on {@code b}.
+     *
+     * @param p point
+     * @param b 0 or 1
+     */
+    void cmov(CachedPointEd25519 p, int b) {
+        Field25519.cmov(yPlusX, p.yPlusX, b);
+        Field25519.cmov(yMinusX, p.yMinusX, b);
+        Field25519.cmov(z2, p.z2, b);
+        Field25519.cmov(t2d, p.t2d, b);
+    }
+
+    /**
+     * this = b * p, where {@code table[j] = (j + 1) * p}, without any branch or memory access
+     * depending on {@code b}.
+     *
+     * @param table multiples {@code p, 2p, ..., 8p}
+     * @param b     digit between -8 and 8
+     * @param tmp   temporary
+     */
+    void select(CachedPointEd25519[] table, byte b, int[] tmp) {
+        int negative = (b >> 7) & 1;
+        int abs = b - ((-negative & b) << 1);
+
+        setIdentity();
+        for (int j = 0; j < table.length; j++) {
+            cmov(table[j], ((abs ^ (j + 1)) - 1) >>> 31);
+        }
+        Field25519.cswap(yPlusX, yMinusX, negative);
+        Field25519.neg(tmp, t2d);
+        Field25519.cmov(t2d, tmp, negative);
+    }
+}
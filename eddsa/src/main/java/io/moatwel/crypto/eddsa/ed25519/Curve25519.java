@@ -2,6 +2,7 @@ package io.moatwel.crypto.eddsa.ed25519;
 
 import io.moatwel.crypto.eddsa.Coordinate;
 import io.moatwel.crypto.eddsa.Curve;
+import io.moatwel.crypto.eddsa.MultiScalarMultiplier;
 import io.moatwel.crypto.eddsa.Point;
 
 import java.math.BigInteger;
@@ -29,13 +30,24 @@ public class Curve25519 extends Curve {
             new CoordinateEd25519(new BigInteger("46827403850823179245072216630277197565144205554125654976674165829533817101731"))
     );
 
-    private Curve25519() {
+    private final boolean isVectorAllowed;
+
+    private Curve25519(boolean isVectorAllowed) {
+        this.isVectorAllowed = isVectorAllowed;
     }
 
     public static Curve25519 getInstance() {
         return CurveHolder.INSTANCE;
     }
 
+    /**
+     * Return the curve whose {@link MultiScalarMultiplier} never uses vectors, which is the
+     * curve of {@link Ed25519LimbsBackend}. {@link #getInstance()} uses vectors if available.
+     */
+    static Curve25519 getScalarInstance() {
+        return ScalarCurveHolder.INSTANCE;
+    }
+
     @Override
     public final int getPublicKeyByteLength() {
         return 32;
@@ -46,6 +58,77 @@ public class Curve25519 extends Curve {
         return BASE;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This uses the table of BasePoint which is computed at the first call.
+     */
+    @Override
+    public final Point multiplyBase(BigInteger scalar) {
+        MutablePointEd25519 result = new MutablePointEd25519();
+        TableHolder.TABLE.multiply(result, scalar, ScratchEd25519.get());
+        return new PointEd25519(result);
+    }
+
+    /**
+     * Return {@code scalar * B} with a scalar already reduced by modulo L in {@link Scalar25519} form.
+     */
+    Point multiplyBase(int[] scalar) {
+        MutablePointEd25519 result = new MutablePointEd25519();
+        TableHolder.TABLE.multiply(result, scalar, ScratchEd25519.get());
+        return new PointEd25519(result);
+    }
+
+    /**
+     * Return {@code s * B - k * A} with a single double-scalar multiplication, which runs in
+     * variable time. This is for verification, {@code s * B - k * A} must be equal to R.
+     * <p>
+     * Odd multiples of A are used if it has them, see {@link PointEd25519#precompute()}.
+     *
+     * @param s scalar of BasePoint
+     * @param a point A
+     * @param k scalar of A
+     * @return {@link Point} instance of {@code s * B - k * A}
+     */
+    Point multiplyBaseMinus(BigInteger s, Point a, BigInteger k) {
+        return multiplyBaseMinus(Scalar25519.create(s.mod(getPrimeL())), a, Scalar25519.create(k.mod(getPrimeL())));
+    }
+
+    /**
+     * Same as {@link #multiplyBaseMinus(BigInteger, Point, BigInteger)}, with scalars already
+     * reduced by modulo L in {@link Scalar25519} form.
+     */
+    Point multiplyBaseMinus(int[] s, Point a, int[] k) {
+        PointEd25519 pointA = PointEd25519.from(a);
+        MutablePointEd25519 result = new MutablePointEd25519();
+        if (pointA.getOddMultiples() != null) {
+            TableHolder.TABLE.doubleScalarMultiply(result, s, pointA.getOddMultiples(), PointEd25519.PRECOMPUTED_WIDTH, k,
+                    ScratchEd25519.get());
+            return new PointEd25519(result);
+        }
+        MutablePointEd25519 mutableA = new MutablePointEd25519();
+        pointA.copyTo(mutableA);
+        TableHolder.TABLE.doubleScalarMultiply(result, s, mutableA, k, ScratchEd25519.get());
+        return new PointEd25519(result);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * All Z are inverted with a single inversion.
+     */
+    @Override
+    public final void encodeBatch(Point[] points, byte[] output, int offset) {
+        checkEncodeBatch(points, output, offset);
+        PointEd25519.encodeAll(points, output, offset);
+    }
+
+    @Override
+    public final MultiScalarMultiplier getMultiScalarMultiplier(int strausWidth, int pippengerWindow,
+                                                                int strausThreshold) {
+        return new MultiScalarMultiplierEd25519(strausWidth, pippengerWindow, strausThreshold, isVectorAllowed);
+    }
+
     @Override
     public final BigInteger getPrimeL() {
         return L;
@@ -67,6 +150,14 @@ public class Curve25519 extends Curve {
     }
 
     private static class CurveHolder {
-        private static final Curve25519 INSTANCE = new Curve25519();
+        private static final Curve25519 INSTANCE = new Curve25519(true);
+    }
+
+    private static class ScalarCurveHolder {
+        private static final Curve25519 INSTANCE = new Curve25519(false);
+    }
+
+    private static class TableHolder {
+        private static final BasePointTableEd25519 TABLE = new BasePointTableEd25519((PointEd25519) BASE);
     }
 }
@@ -0,0 +1,48 @@
+package io.moatwel.crypto.eddsa.ed25519;
+
+import io.moatwel.crypto.EdDsaSigner;
+import io.moatwel.crypto.HashAlgorithm;
+import io.moatwel.crypto.eddsa.ArithmeticBackend;
+import io.moatwel.crypto.eddsa.Curve;
+import io.moatwel.crypto.eddsa.SchemeProvider;
+
+/**
+ * Backend of Curve25519 on fixed 10-limb field elements of {@link Field25519}, which never uses
+ * vectors. It runs on any Java 7 platform.
+ *
+ * @author halu5071 (Yasunori Horii)
+ * @see ArithmeticBackend
+ */
+public final class Ed25519LimbsBackend extends ArithmeticBackend {
+
+    public static final String NAME = "limbs";
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public int getPriority() {
+        return 100;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This is {@link Curve25519#getInstance()} if vectors are not available, since it never uses
+     * them then.
+     */
+    @Override
+    public Curve getCurve(Curve curve) {
+        if (!isSameCurve(curve, Curve25519.getInstance())) {
+            return null;
+        }
+        return BucketsEd25519.isVectorized() ? Curve25519.getScalarInstance() : Curve25519.getInstance();
+    }
+
+    @Override
+    public EdDsaSigner getSigner(SchemeProvider schemeProvider, HashAlgorithm algorithm) {
+        return new Ed25519Signer(algorithm, schemeProvider);
+    }
+}
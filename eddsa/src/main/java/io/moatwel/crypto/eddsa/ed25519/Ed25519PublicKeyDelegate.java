@@ -34,7 +34,7 @@ public class Ed25519PublicKeyDelegate implements PublicKeyDelegate {
 
         BigInteger s = privateKey.getScalarSeed(this);
 
-        Point point = CURVE.getBasePoint().scalarMultiply(s);
+        Point point = CURVE.multiplyBase(s);
         return point.encode().getValue();
     }
 
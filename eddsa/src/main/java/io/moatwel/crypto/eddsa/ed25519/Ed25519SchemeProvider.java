@@ -3,6 +3,7 @@ package io.moatwel.crypto.eddsa.ed25519;
 import io.moatwel.crypto.EdDsaSigner;
 import io.moatwel.crypto.HashAlgorithm;
 import io.moatwel.crypto.PrivateKey;
+import io.moatwel.crypto.eddsa.ArithmeticBackend;
 import io.moatwel.crypto.eddsa.PublicKeyDelegate;
 import io.moatwel.crypto.eddsa.SchemeProvider;
 
@@ -18,7 +19,18 @@ public class Ed25519SchemeProvider extends SchemeProvider {
     private final HashAlgorithm hashAlgorithm;
 
     public Ed25519SchemeProvider(HashAlgorithm algorithm) {
-        super(Curve25519.getInstance());
+        this(algorithm, null);
+    }
+
+    /**
+     * Create Ed25519SchemeProvider on the backend of arithmetic.
+     *
+     * @param algorithm hash algorithm you use.
+     * @param backend   {@link ArithmeticBackend}, or null to use the default backend.
+     * @throws IllegalArgumentException if {@code backend} does not support Curve25519.
+     */
+    public Ed25519SchemeProvider(HashAlgorithm algorithm, ArithmeticBackend backend) {
+        super(Curve25519.getInstance(), backend);
 
         if (algorithm == null) {
             throw new IllegalArgumentException("argument HashAlgorithm must not be null.");
@@ -28,7 +40,7 @@ public class Ed25519SchemeProvider extends SchemeProvider {
 
     @Override
     public EdDsaSigner getSigner() {
-        return new Ed25519Signer(hashAlgorithm, this);
+        return getBackendSigner(hashAlgorithm);
     }
 
     @Override
@@ -1,22 +1,25 @@
 package io.moatwel.crypto.eddsa.ed25519;
 
 import io.moatwel.crypto.EdDsaSigner;
+import io.moatwel.crypto.ExpandedPrivateKey;
 import io.moatwel.crypto.HashAlgorithm;
 import io.moatwel.crypto.Hashes;
 import io.moatwel.crypto.KeyPair;
+import io.moatwel.crypto.PreparedPublicKey;
 import io.moatwel.crypto.PublicKey;
 import io.moatwel.crypto.Signature;
-import io.moatwel.crypto.eddsa.Coordinate;
-import io.moatwel.crypto.eddsa.Curve;
+import io.moatwel.crypto.VerificationItem;
 import io.moatwel.crypto.eddsa.DecodeException;
-import io.moatwel.crypto.eddsa.EncodedCoordinate;
+import io.moatwel.crypto.eddsa.EdDsaKeyGenerator;
 import io.moatwel.crypto.eddsa.EncodedPoint;
 import io.moatwel.crypto.eddsa.Point;
-import io.moatwel.crypto.eddsa.PublicKeyDelegate;
 import io.moatwel.crypto.eddsa.SchemeProvider;
 import io.moatwel.util.ByteUtils;
 
 import java.math.BigInteger;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * A Signer on Edwards-CURVE DSA specified on Ed25519 CURVE.
@@ -27,50 +30,58 @@ import java.math.BigInteger;
  */
 public class Ed25519Signer implements EdDsaSigner {
 
-    private static final Curve CURVE = Curve25519.getInstance();
+    private static final Curve25519 CURVE = Curve25519.getInstance();
 
     private final HashAlgorithm hashAlgorithm;
     private final SchemeProvider schemeProvider;
+    // curve of the backend, whose multi-scalar multiplier may be on vectors
+    private final Curve25519 curve;
 
     public Ed25519Signer(HashAlgorithm algorithm, SchemeProvider schemeProvider) {
         this.hashAlgorithm = algorithm;
         this.schemeProvider = schemeProvider;
+        this.curve = schemeProvider.getCurve() instanceof Curve25519
+                ? (Curve25519) schemeProvider.getCurve() : CURVE;
     }
 
     @Override
     public Signature sign(KeyPair keyPair, byte[] data, byte[] context) {
+        return sign(new EdDsaKeyGenerator(schemeProvider).expandPrivateKey(keyPair), data, context);
+    }
+
+    @Override
+    public Signature sign(ExpandedPrivateKey expandedPrivateKey, byte[] data, byte[] context) {
         context = beNonNullContext(context);
         checkContextLength(context);
-        PublicKeyDelegate publicKeyDelegate = schemeProvider.getPublicKeyDelegate();
-        byte[] h = publicKeyDelegate.hashPrivateKey(keyPair.getPrivateKey());
 
-        BigInteger s = keyPair.getPrivateKey().getScalarSeed(publicKeyDelegate);
+        int[] s = Scalar25519.create(expandedPrivateKey.getScalar());
 
         // Step2
         byte[] dom = schemeProvider.dom(context);
-        byte[] prefix = ByteUtils.split(h, 32)[1];
+        byte[] prefix = expandedPrivateKey.getPrefix();
         byte[] ph = schemeProvider.preHash(data);
 
         byte[] rSeed = Hashes.hash(hashAlgorithm, dom, prefix, ph);
-        byte[] rSeedReversed = ByteUtils.reverse(rSeed);
-        BigInteger r = new BigInteger(1, rSeedReversed);
+        int[] r = Scalar25519.create();
+        Scalar25519.reduce(r, rSeed);
 
         // Step3
-        Point pointR = CURVE.getBasePoint().scalarMultiply(r);
+        Point pointR = CURVE.multiplyBase(r);
         byte[] rPoint = pointR.encode().getValue();
 
         // Step4
-        byte[] kSeed = Hashes.hash(hashAlgorithm, dom, rPoint, keyPair.getPublicKey().getRaw(), ph);
+        byte[] kSeed = Hashes.hash(hashAlgorithm, dom, rPoint, expandedPrivateKey.getPublicKey().getRaw(), ph);
 
         // Step5
-        BigInteger k = new BigInteger(1, ByteUtils.reverse(kSeed));
+        int[] k = Scalar25519.create();
+        Scalar25519.reduce(k, kSeed);
 
-        BigInteger pointS = k.mod(CURVE.getPrimeL()).multiply(s).add(r).mod(CURVE.getPrimeL());
-        byte[] sPoint = new CoordinateEd25519(pointS).encode().getValue();
+        int[] pointS = Scalar25519.create();
+        Scalar25519.mulAdd(pointS, k, s, r);
+        byte[] sPoint = Scalar25519.encode(pointS);
 
         // Step6
-        return new SignatureEd25519(ByteUtils.paddingZeroOnTail(rPoint, 32),
-                ByteUtils.paddingZeroOnTail(sPoint, 32));
+        return new SignatureEd25519(ByteUtils.paddingZeroOnTail(rPoint, 32), sPoint);
     }
 
     @Override
@@ -80,33 +91,166 @@ public class Ed25519Signer implements EdDsaSigner {
 
     @Override
     public boolean verify(PublicKey publicKey, byte[] data, byte[] context, Signature signature) {
-        try {
-            context = beNonNullContext(context);
-            checkContextLength(context);
+        Equation equation = decodeEquation(publicKey, data, context, signature);
+        return equation != null && equation.holds();
+    }
 
-            byte[] rSeed = signature.getR();
-            EncodedPoint encodedR = new EncodedPointEd25519(rSeed);
-            Point r = encodedR.decode();
+    @Override
+    public boolean verify(PreparedPublicKey preparedPublicKey, byte[] data, byte[] context, Signature signature) {
+        if (!(preparedPublicKey.getPoint() instanceof PointEd25519)) {
+            // prepared by another backend, or on another curve
+            return verify(preparedPublicKey.getPublicKey(), data, context, signature);
+        }
+        Equation equation = decodeEquation(preparedPublicKey.getPoint(), preparedPublicKey.getEncoded(),
+                data, context, signature);
+        return equation != null && equation.holds();
+    }
 
-            EncodedPoint encodedPublicKey = new EncodedPointEd25519(publicKey.getRaw());
-            Point a = encodedPublicKey.decode();
+    @Override
+    public PreparedPublicKey prepare(PublicKey publicKey, boolean precompute) throws DecodeException {
+        PointEd25519 a = PointEd25519.from(new EncodedPointEd25519(publicKey.getRaw()).decode());
+        if (precompute) {
+            a = a.precompute();
+        }
+        return new PreparedPublicKey(publicKey, a, a.encode().getValue());
+    }
+
+    @Override
+    public boolean[] verifyBatch(List<VerificationItem> items) {
+        boolean[] results = new boolean[items.size()];
+        Equation[] equations = new Equation[items.size()];
+        Point[] points = new Point[2 * items.size() + 1];
+        BigInteger[] scalars = new BigInteger[2 * items.size() + 1];
+        int[] sumS = Scalar25519.create();
+        int[] zk = Scalar25519.create();
+        int[] zero = Scalar25519.create();
+        SecureRandom random = new SecureRandom();
+
+        Point[] rs = new Point[items.size()];
+        for (int i = 0; i < items.size(); i++) {
+            VerificationItem item = items.get(i);
+            Equation equation = decodeEquation(item.getPublicKey(), item.getData(), item.getContext(), item.getSignature());
+            if (equation == null) {
+                continue;
+            }
+            try {
+                rs[i] = new EncodedPointEd25519(equation.encodedR).decode();
+            } catch (DecodeException e) {
+                continue;
+            }
+            equations[i] = equation;
+        }
+        rejectNonCanonicalR(equations, rs);
+
+        int n = 1;
+        for (int i = 0; i < equations.length; i++) {
+            Equation equation = equations[i];
+            if (equation == null) {
+                continue;
+            }
+            Point r = rs[i];
 
-            EncodedCoordinate encodedS = new EncodedCoordinateEd25519(signature.getS());
-            Coordinate s = encodedS.decode();
+            // random coefficient z, 0 < z <= 2^128
+            BigInteger z = new BigInteger(128, random).add(BigInteger.ONE);
+            int[] zWords = Scalar25519.create(z);
+            Scalar25519.mulAdd(sumS, zWords, equation.s, sumS);
+            Scalar25519.mulAdd(zk, zWords, equation.k, zero);
+            points[n] = r;
+            scalars[n++] = z.negate();
+            points[n] = equation.a;
+            scalars[n++] = Scalar25519.toBigInteger(zk).negate();
+        }
+        if (n == 1) {
+            return results;
+        }
+        points[0] = CURVE.getBasePoint();
+        scalars[0] = Scalar25519.toBigInteger(sumS);
+
+        // 8 * (sum(z * s) * B - sum(z * R) - sum(z * k * A)) must be the neutral element
+        Point checkPoint = curve.getMultiScalarMultiplier()
+                .multiply(Arrays.copyOf(points, n), Arrays.copyOf(scalars, n)).doubling().doubling().doubling();
+        boolean isValid = checkPoint.isEqual(PointEd25519.O);
 
-            byte[] dom = schemeProvider.dom(context);
-            byte[] ph = schemeProvider.preHash(data);
-            byte[] kSeed = Hashes.hash(hashAlgorithm, dom, r.encode().getValue(), a.encode().getValue(), ph);
-            Coordinate k = new EncodedCoordinateEd25519(kSeed).decode();
+        for (int i = 0; i < equations.length; i++) {
+            results[i] = equations[i] != null && (isValid || equations[i].holds());
+        }
+        return results;
+    }
 
-            Point checkPoint = r.add(a.scalarMultiply(k.getInteger()));
+    /**
+     * Drop the equations whose R is decoded from another encoding than its own, as
+     * {@link Equation#holds()} compares encodings of R. All R are encoded with a single inversion.
+     */
+    private static void rejectNonCanonicalR(Equation[] equations, Point[] rs) {
+        int length = CURVE.getPublicKeyByteLength();
+        int[] indices = new int[rs.length];
+        Point[] decoded = new Point[rs.length];
+        int count = 0;
+        for (int i = 0; i < rs.length; i++) {
+            if (equations[i] != null) {
+                indices[count] = i;
+                decoded[count++] = rs[i];
+            }
+        }
+        if (count == 0) {
+            return;
+        }
+        byte[] encoded = new byte[count * length];
+        CURVE.encodeBatch(Arrays.copyOf(decoded, count), encoded, 0);
+        for (int j = 0; j < count; j++) {
+            byte[] encodedR = Arrays.copyOfRange(encoded, j * length, (j + 1) * length);
+            if (!Arrays.equals(encodedR, equations[indices[j]].encodedR)) {
+                equations[indices[j]] = null;
+            }
+        }
+    }
 
-            Point target = CURVE.getBasePoint().scalarMultiply(s.getInteger());
+    /**
+     * Decode A and s of a signature and compute k.
+     *
+     * @return {@link Equation} of the signature, or null if A cannot be decoded or
+     *         s is not canonical.
+     */
+    private Equation decodeEquation(PublicKey publicKey, byte[] data, byte[] context, Signature signature) {
+        try {
+            // the length of context is checked even if A cannot be decoded
+            checkContextLength(beNonNullContext(context));
 
-            return checkPoint.isEqual(target);
+            EncodedPoint encodedPublicKey = new EncodedPointEd25519(publicKey.getRaw());
+            Point a = encodedPublicKey.decode();
+            return decodeEquation(a, a.encode().getValue(), data, context, signature);
         } catch (DecodeException e) {
-            return false;
+            return null;
+        }
+    }
+
+    /**
+     * Decode s of a signature and compute k with decoded public key A.
+     *
+     * @param a        decoded public key
+     * @param encodedA canonical encoding of {@code a}
+     */
+    private Equation decodeEquation(Point a, byte[] encodedA, byte[] data, byte[] context, Signature signature) {
+        context = beNonNullContext(context);
+        checkContextLength(context);
+
+        // R is not decoded, the encoding of s * B - k * A is compared with it instead
+        byte[] encodedR = new EncodedPointEd25519(signature.getR()).getValue();
+
+        // s must be canonical, 0 <= s < L, so that a signature cannot be changed into another valid one
+        byte[] encodedS = signature.getS();
+        int[] s = Scalar25519.create();
+        if (encodedS.length != Scalar25519.BYTES || !Scalar25519.decode(s, encodedS)) {
+            return null;
         }
+
+        byte[] dom = schemeProvider.dom(context);
+        byte[] ph = schemeProvider.preHash(data);
+        byte[] kSeed = Hashes.hash(hashAlgorithm, dom, encodedR, encodedA, ph);
+        int[] k = Scalar25519.create();
+        Scalar25519.reduce(k, kSeed);
+
+        return new Equation(encodedR, a, s, k);
     }
 
     private byte[] beNonNullContext(byte[] context) {
@@ -118,4 +262,33 @@ public class Ed25519Signer implements EdDsaSigner {
         if (context.length > 255)
             throw new IllegalStateException("context length in byte must be less than 256 bytes.");
     }
+
+    /**
+     * Verification equation {@code s * B = R + k * A} of a signature, with R in encoded form.
+     */
+    private static final class Equation {
+
+        private final byte[] encodedR;
+        private final Point a;
+        private final int[] s;
+        private final int[] k;
+
+        private Equation(byte[] encodedR, Point a, int[] s, int[] k) {
+            this.encodedR = encodedR;
+            this.a = a;
+            this.s = s;
+            this.k = k;
+        }
+
+        /**
+         * s * B = R + k * A, computed as R = s * B - k * A with a double-scalar multiplication.
+         * The encoding of {@code s * B - k * A} is compared with R byte by byte, so that R is
+         * never decoded and only a single inversion is needed. Since the encoding is canonical,
+         * R which is not canonical never matches.
+         */
+        private boolean holds() {
+            byte[] checkR = CURVE.multiplyBaseMinus(s, a, k).encode().getValue();
+            return Arrays.equals(checkR, encodedR);
+        }
+    }
 }
@@ -0,0 +1,46 @@
+package io.moatwel.crypto.eddsa.ed25519;
+
+import io.moatwel.crypto.EdDsaSigner;
+import io.moatwel.crypto.HashAlgorithm;
+import io.moatwel.crypto.eddsa.ArithmeticBackend;
+import io.moatwel.crypto.eddsa.Curve;
+import io.moatwel.crypto.eddsa.SchemeProvider;
+
+/**
+ * Backend of Curve25519 which is the same as {@link Ed25519LimbsBackend} except that points
+ * are added to the buckets of Pippenger's method four at a time on vectors, see
+ * {@link BucketsEd25519}. It is available only if the Vector API can be used.
+ *
+ * @author halu5071 (Yasunori Horii)
+ * @see ArithmeticBackend
+ * @see io.moatwel.crypto.eddsa.MultiScalarMultiplier#VECTOR_PROPERTY
+ */
+public final class Ed25519VectorBackend extends ArithmeticBackend {
+
+    public static final String NAME = "vector";
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public int getPriority() {
+        return 200;
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return BucketsEd25519.isVectorized();
+    }
+
+    @Override
+    public Curve getCurve(Curve curve) {
+        return isSameCurve(curve, Curve25519.getInstance()) ? Curve25519.getInstance() : null;
+    }
+
+    @Override
+    public EdDsaSigner getSigner(SchemeProvider schemeProvider, HashAlgorithm algorithm) {
+        return new Ed25519Signer(algorithm, schemeProvider);
+    }
+}
@@ -1,14 +1,11 @@
 package io.moatwel.crypto.eddsa.ed25519;
 
-import io.moatwel.crypto.eddsa.Coordinate;
 import io.moatwel.crypto.eddsa.Curve;
 import io.moatwel.crypto.eddsa.DecodeException;
 import io.moatwel.crypto.eddsa.EncodedPoint;
 import io.moatwel.crypto.eddsa.Point;
 import io.moatwel.util.ByteUtils;
 
-import java.math.BigInteger;
-
 /**
  * Encoded Point implementation of the Curve25519. Implements {@link EncodedPoint#decode()}
  * operation. This object has byte array whose length is 32, which represents encoded point.
@@ -17,6 +14,8 @@ public class EncodedPointEd25519 extends EncodedPoint {
 
     private static final Curve curve = Curve25519.getInstance();
 
+    private static final int[] D = Field25519.create(curve.getD().getInteger());
+
     public EncodedPointEd25519(byte[] value) {
         super(value);
         if (value.length != 32)
@@ -24,6 +23,26 @@ public class EncodedPointEd25519 extends EncodedPoint {
                     "32 byte length. The length of your EncodedPoint was " + value.length);
     }
 
+    /**
+     * Decode many encoded points on the Curve25519, such as a set of public keys, with
+     * {@code threads} threads. Each point is decoded and validated exactly as {@link #decode()}
+     * does, and one which is not a canonical encoding of a point on the curve is {@code null} in
+     * the result.
+     *
+     * <p>
+     * Unlike encoding, decoding needs no inversion: the division in {@code x^2 = u / v} is part
+     * of the single exponentiation which also takes the square root, so nothing is shared
+     * between the points, and the batch is only divided among threads.
+     *
+     * @param values  encoded points, each of which should be 32 bytes
+     * @param threads number of threads, at least 1
+     * @return decoded points in the order of {@code values}, {@code null} for each failure
+     * @throws IllegalArgumentException if {@code threads} is less than 1
+     */
+    public static Point[] decodeAll(byte[][] values, int threads) {
+        return decodeAll(values, 32, threads);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -33,44 +52,46 @@ public class EncodedPointEd25519 extends EncodedPoint {
         byte readTarget = value[value.length - 1];
         int x0 = ByteUtils.readBit(readTarget, 7);
 
-        Coordinate y = recoverY(this.value);
+        int[] y = recoverY(this.value);
 
-        Coordinate x = recoverX(y, x0);
+        int[] x = recoverX(y, x0);
 
         return PointEd25519.fromAffine(x, y);
     }
 
-    private Coordinate recoverY(byte[] source) throws DecodeException {
-        source[source.length - 1] &= 0x7F;
-        BigInteger ySeed = new BigInteger(ByteUtils.reverse(source));
-        if (ySeed.compareTo(curve.getPrimePowerP()) >= 1) {
+    private int[] recoverY(byte[] source) throws DecodeException {
+        if (!Field25519.isCanonical(source)) {
             throw new DecodeException("EdDsa decoding failed. This point is not on the edwards Curve25519.");
         }
-        return new CoordinateEd25519(ySeed);
+        int[] y = Field25519.create();
+        Field25519.fromBytes(y, source);
+        return y;
     }
 
-    private Coordinate recoverX(Coordinate y, int xSource) throws DecodeException {
-        Coordinate one = new CoordinateEd25519(BigInteger.ONE);
-        Coordinate u = y.multiply(y).subtract(one).mod();
-        Coordinate v = (curve.getD().multiply(y).multiply(y).add(one)).mod();
-        Coordinate xx = u.multiply(v.inverse()).mod();
-
-        Coordinate x = xx.powerMod(curve.getPrimePowerP().add(new BigInteger("3")).divide(new BigInteger("8")));
-
-        if (x.multiply(x).subtract(xx).mod().getInteger().compareTo(BigInteger.ZERO) != 0) {
-            if (x.multiply(x).add(xx).mod().getInteger().compareTo(BigInteger.ZERO) == 0) {
-                x = x.multiply(new CoordinateEd25519(
-                        BigInteger.ONE.shiftLeft(1).modPow(
-                                curve.getPrimePowerP().subtract(BigInteger.ONE).divide(BigInteger.ONE.shiftLeft(2)),
-                                curve.getPrimePowerP()))).mod();
-            } else {
-                throw new DecodeException("EdDsa decoding failed.");
-            }
+    private int[] recoverX(int[] y, int xSource) throws DecodeException {
+        int[] u = Field25519.create();
+        int[] v = Field25519.create();
+        int[] one = Field25519.create();
+        Field25519.one(one);
+
+        // u = y^2 - 1, v = d * y^2 + 1
+        Field25519.square(u, y);
+        Field25519.mul(v, u, D);
+        Field25519.sub(u, u, one);
+        Field25519.add(v, v, one);
+
+        int[] x = Field25519.create();
+        if (!Field25519.sqrtRatio(x, u, v)) {
+            throw new DecodeException("EdDsa decoding failed.");
+        }
+
+        // -0 is not a canonical encoding of x = 0
+        if (Field25519.isZero(x) && xSource == 1) {
+            throw new DecodeException("EdDsa decoding failed.");
         }
 
-        BigInteger result = x.getInteger().mod(BigInteger.ONE.shiftLeft(1));
-        if (result.compareTo(BigInteger.valueOf((long) xSource)) != 0) {
-            x = new CoordinateEd25519(curve.getPrimePowerP().subtract(x.getInteger()).mod(curve.getPrimePowerP()));
+        if (Field25519.isNegative(x) != xSource) {
+            Field25519.neg(x, x);
         }
 
         return x;
@@ -0,0 +1,551 @@
+package io.moatwel.crypto.eddsa.ed25519;
+
+import io.moatwel.util.ByteUtils;
+
+import java.math.BigInteger;
+
+/**
+ * Arithmetic of the finite field GF(2^255 - 19) on fixed-size limbs.
+ *
+ * <p>
+ * An element is represented by {@code int[10]} in radix 2^25.5, in other words, limbs
+ * hold 26, 25, 26, 25, ... bits alternately and the value is
+ * {@code h0 + h1 * 2^26 + h2 * 2^51 + h3 * 2^77 + ... + h9 * 2^230}. Limbs may be negative.
+ * This is the representation of the ref10 implementation of Ed25519, all products fit in
+ * {@code long} so that it works without any 128-bit multiplication.
+ *
+ * <p>
+ * All operations write the result into the first argument. The result array may be the same
+ * array as one of operands. Every operation returns a carried element, whose limbs are within
+ * 1.1 times 2^25 or 2^24, so that any result can be passed to any operation directly. The
+ * exceptions are {@link #addLazy(int[], int[], int[])} and {@link #subLazy(int[], int[], int[])},
+ * which skip the carry for an operand of multiplication.
+ *
+ * <p>
+ * Multiplication and squaring are done by {@link Field25519Kernel}, which is replaced with a
+ * kernel of 128-bit products on Java 9 or later.
+ *
+ * @author halu5071 (Yasunori Horii)
+ * @see <a href="https://ed25519.cr.yp.to/software.html">Ed25519 software</a>
+ */
+final class Field25519 {
+
+    static final int LIMBS = 10;
+
+    static final BigInteger P = BigInteger.ONE.shiftLeft(255).subtract(BigInteger.valueOf(19));
+
+    // sqrt(-1) = 2^((p - 1) / 4)
+    private static final int[] SQRT_M1 = create(BigInteger.valueOf(2).modPow(
+            P.subtract(BigInteger.ONE).shiftRight(2), P));
+
+    private Field25519() {
+    }
+
+    static int[] create() {
+        return new int[LIMBS];
+    }
+
+    static int[] create(BigInteger value) {
+        int[] h = new int[LIMBS];
+        fromBigInteger(h, value);
+        return h;
+    }
+
+    static void zero(int[] h) {
+        for (int i = 0; i < LIMBS; i++) {
+            h[i] = 0;
+        }
+    }
+
+    static void one(int[] h) {
+        zero(h);
+        h[0] = 1;
+    }
+
+    static void copy(int[] h, int[] f) {
+        System.arraycopy(f, 0, h, 0, LIMBS);
+    }
+
+    /**
+     * Replace {@code h} with {@code f} if {@code b} is 1 and keep it if {@code b} is 0,
+     * without any branch on {@code b}.
+     *
+     * @param h result.
+     * @param f field element.
+     * @param b 0 or 1.
+     */
+    static void cmov(int[] h, int[] f, int b) {
+        int mask = -b;
+        for (int i = 0; i < LIMBS; i++) {
+            h[i] ^= mask & (h[i] ^ f[i]);
+        }
+    }
+
+    /**
+     * Swap {@code f} and {@code g} if {@code b} is 1 and keep them if {@code b} is 0,
+     * without any branch on {@code b}.
+     *
+     * @param f field element.
+     * @param g field element.
+     * @param b 0 or 1.
+     */
+    static void cswap(int[] f, int[] g, int b) {
+        int mask = -b;
+        for (int i = 0; i < LIMBS; i++) {
+            int x = mask & (f[i] ^ g[i]);
+            f[i] ^= x;
+            g[i] ^= x;
+        }
+    }
+
+    /**
+     * Load a little-endian 32 byte array. The most significant bit is ignored.
+     *
+     * @param h result.
+     * @param s 32 byte little-endian representation.
+     */
+    static void fromBytes(int[] h, byte[] s) {
+        long h0 = load4(s, 0);
+        long h1 = load3(s, 4) << 6;
+        long h2 = load3(s, 7) << 5;
+        long h3 = load3(s, 10) << 3;
+        long h4 = load3(s, 13) << 2;
+        long h5 = load4(s, 16);
+        long h6 = load3(s, 20) << 7;
+        long h7 = load3(s, 23) << 5;
+        long h8 = load3(s, 26) << 4;
+        long h9 = (load3(s, 29) & 0x7FFFFF) << 2;
+
+        carry(h, h0, h1, h2, h3, h4, h5, h6, h7, h8, h9);
+    }
+
+    /**
+     * Store the canonical little-endian 32 byte representation of {@code h}.
+     *
+     * @param s result, 32 byte array.
+     * @param h field element.
+     */
+    static void toBytes(byte[] s, int[] h) {
+        int h0 = h[0];
+        int h1 = h[1];
+        int h2 = h[2];
+        int h3 = h[3];
+        int h4 = h[4];
+        int h5 = h[5];
+        int h6 = h[6];
+        int h7 = h[7];
+        int h8 = h[8];
+        int h9 = h[9];
+
+        // q = floor(h / p), which is 0 or 1 for a carried element.
+        int q = (19 * h9 + (1 << 24)) >> 25;
+        q = (h0 + q) >> 26;
+        q = (h1 + q) >> 25;
+        q = (h2 + q) >> 26;
+        q = (h3 + q) >> 25;
+        q = (h4 + q) >> 26;
+        q = (h5 + q) >> 25;
+        q = (h6 + q) >> 26;
+        q = (h7 + q) >> 25;
+        q = (h8 + q) >> 26;
+        q = (h9 + q) >> 25;
+
+        h0 += 19 * q;
+
+        int carry;
+        carry = h0 >> 26; h1 += carry; h0 -= carry << 26;
+        carry = h1 >> 25; h2 += carry; h1 -= carry << 25;
+        carry = h2 >> 26; h3 += carry; h2 -= carry << 26;
+        carry = h3 >> 25; h4 += carry; h3 -= carry << 25;
+        carry = h4 >> 26; h5 += carry; h4 -= carry << 26;
+        carry = h5 >> 25; h6 += carry; h5 -= carry << 25;
+        carry = h6 >> 26; h7 += carry; h6 -= carry << 26;
+        carry = h7 >> 25; h8 += carry; h7 -= carry << 25;
+        carry = h8 >> 26; h9 += carry; h8 -= carry << 26;
+        carry = h9 >> 25; h9 -= carry << 25;
+
+        s[0] = (byte) h0;
+        s[1] = (byte) (h0 >> 8);
+        s[2] = (byte) (h0 >> 16);
+        s[3] = (byte) ((h0 >> 24) | (h1 << 2));
+        s[4] = (byte) (h1 >> 6);
+        s[5] = (byte) (h1 >> 14);
+        s[6] = (byte) ((h1 >> 22) | (h2 << 3));
+        s[7] = (byte) (h2 >> 5);
+        s[8] = (byte) (h2 >> 13);
+        s[9] = (byte) ((h2 >> 21) | (h3 << 5));
+        s[10] = (byte) (h3 >> 3);
+        s[11] = (byte) (h3 >> 11);
+        s[12] = (byte) ((h3 >> 19) | (h4 << 6));
+        s[13] = (byte) (h4 >> 2);
+        s[14] = (byte) (h4 >> 10);
+        s[15] = (byte) (h4 >> 18);
+        s[16] = (byte) h5;
+        s[17] = (byte) (h5 >> 8);
+        s[18] = (byte) (h5 >> 16);
+        s[19] = (byte) ((h5 >> 24) | (h6 << 1));
+        s[20] = (byte) (h6 >> 7);
+        s[21] = (byte) (h6 >> 15);
+        s[22] = (byte) ((h6 >> 23) | (h7 << 3));
+        s[23] = (byte) (h7 >> 5);
+        s[24] = (byte) (h7 >> 13);
+        s[25] = (byte) ((h7 >> 21) | (h8 << 4));
+        s[26] = (byte) (h8 >> 4);
+        s[27] = (byte) (h8 >> 12);
+        s[28] = (byte) ((h8 >> 20) | (h9 << 6));
+        s[29] = (byte) (h9 >> 2);
+        s[30] = (byte) (h9 >> 10);
+        s[31] = (byte) (h9 >> 18);
+    }
+
+    /**
+     * Return whether a little-endian 32 byte array, ignoring its most significant bit, represents
+     * an integer less than p.
+     *
+     * @param s 32 byte little-endian representation.
+     * @return true if the integer is less than p.
+     */
+    static boolean isCanonical(byte[] s) {
+        if ((s[31] & 0x7F) != 0x7F) {
+            return true;
+        }
+        for (int i = 30; i > 0; i--) {
+            if ((s[i] & 0xFF) != 0xFF) {
+                return true;
+            }
+        }
+        return (s[0] & 0xFF) < 0xED;
+    }
+
+    static byte[] toBytes(int[] h) {
+        byte[] s = new byte[32];
+        toBytes(s, h);
+        return s;
+    }
+
+    /**
+     * Load an arbitrary integer. Negative or unreduced integer is reduced by modulo p.
+     *
+     * @param h     result.
+     * @param value integer value.
+     */
+    static void fromBigInteger(int[] h, BigInteger value) {
+        byte[] bigEndian = value.mod(P).toByteArray();
+        byte[] s = new byte[32];
+        for (int i = 0; i < 32 && i < bigEndian.length; i++) {
+            s[i] = bigEndian[bigEndian.length - 1 - i];
+        }
+        fromBytes(h, s);
+    }
+
+    static BigInteger toBigInteger(int[] h) {
+        return new BigInteger(1, ByteUtils.reverse(toBytes(h)));
+    }
+
+    static void add(int[] h, int[] f, int[] g) {
+        carry(h,
+                (long) f[0] + g[0], (long) f[1] + g[1], (long) f[2] + g[2], (long) f[3] + g[3], (long) f[4] + g[4],
+                (long) f[5] + g[5], (long) f[6] + g[6], (long) f[7] + g[7], (long) f[8] + g[8], (long) f[9] + g[9]);
+    }
+
+    static void sub(int[] h, int[] f, int[] g) {
+        carry(h,
+                (long) f[0] - g[0], (long) f[1] - g[1], (long) f[2] - g[2], (long) f[3] - g[3], (long) f[4] - g[4],
+                (long) f[5] - g[5], (long) f[6] - g[6], (long) f[7] - g[7], (long) f[8] - g[8], (long) f[9] - g[9]);
+    }
+
+    /**
+     * h = f + g without carry. {@link #mul(int[], int[], int[])} and {@link #square(int[], int[])}
+     * accept limbs up to 1.65 times 2^26 or 2^25, so a sum or difference of up to three carried
+     * elements can be multiplied as it is. The result may be passed only to mul, square, add,
+     * sub, addLazy and subLazy, and the bound is checked with assertions.
+     */
+    static void addLazy(int[] h, int[] f, int[] g) {
+        for (int i = 0; i < LIMBS; i++) {
+            h[i] = f[i] + g[i];
+        }
+        assert isBounded(h);
+    }
+
+    /**
+     * h = f - g without carry, which is the same as {@link #addLazy(int[], int[], int[])}.
+     */
+    static void subLazy(int[] h, int[] f, int[] g) {
+        for (int i = 0; i < LIMBS; i++) {
+            h[i] = f[i] - g[i];
+        }
+        assert isBounded(h);
+    }
+
+    static void neg(int[] h, int[] f) {
+        for (int i = 0; i < LIMBS; i++) {
+            h[i] = -f[i];
+        }
+    }
+
+    static void mul(int[] h, int[] f, int[] g) {
+        assert isBounded(f) && isBounded(g);
+        Field25519Kernel.mul(h, f, g);
+    }
+
+    /**
+     * Multiply by a small non-negative integer, which is much cheaper than {@link #mul(int[], int[], int[])}.
+     *
+     * @param h result.
+     * @param f field element.
+     * @param g integer less than 2^17.
+     */
+    static void mulSmall(int[] h, int[] f, int g) {
+        carry(h,
+                (long) f[0] * g, (long) f[1] * g, (long) f[2] * g, (long) f[3] * g, (long) f[4] * g,
+                (long) f[5] * g, (long) f[6] * g, (long) f[7] * g, (long) f[8] * g, (long) f[9] * g);
+    }
+
+    static void square(int[] h, int[] f) {
+        assert isBounded(f);
+        Field25519Kernel.square(h, f);
+    }
+
+    /**
+     * Compute {@code 1 / f} as {@code f^(p - 2)} with the addition chain of ref10,
+     * 254 squarings and 11 multiplications. The inverse of zero is zero.
+     *
+     * @param h result.
+     * @param f field element.
+     */
+    static void invert(int[] h, int[] f) {
+        int[] t0 = create();
+        int[] t1 = create();
+        // t0 = f^11, t1 = f^(2^250 - 1)
+        pow2250m1(t0, t1, f);
+        squareN(t1, t1, 5);
+        mul(h, t1, t0);
+    }
+
+    /**
+     * Compute {@code f^((p - 5) / 8)} = {@code f^(2^252 - 3)}.
+     *
+     * @param h result.
+     * @param f field element.
+     */
+    static void pow22523(int[] h, int[] f) {
+        int[] t0 = create();
+        int[] t1 = create();
+        pow2250m1(t0, t1, f);
+        squareN(t1, t1, 2);
+        mul(h, t1, f);
+    }
+
+    /**
+     * Compute the square root of {@code u / v} with a single exponentiation,
+     * {@code x = u * v^3 * (u * v^7)^((p - 5) / 8)}.
+     *
+     * <p>
+     * Which of two square roots is returned is unspecified.
+     *
+     * @param h result, the square root if it exists.
+     * @param u numerator.
+     * @param v denominator, must not be zero.
+     * @return true if {@code u / v} is a square.
+     * @see <a href="https://tools.ietf.org/html/rfc8032#section-5.1.3">RFC 8032 5.1.3</a>
+     */
+    static boolean sqrtRatio(int[] h, int[] u, int[] v) {
+        int[] v3 = create();
+        int[] x = create();
+        int[] check = create();
+
+        // v3 = v^3, x = u * v^7
+        square(v3, v);
+        mul(v3, v3, v);
+        square(x, v3);
+        mul(x, x, v);
+        mul(x, x, u);
+
+        pow22523(x, x);
+        mul(x, x, v3);
+        mul(x, x, u);
+
+        // check = v * x^2, which must be u or -u
+        square(check, x);
+        mul(check, check, v);
+
+        boolean correct = isEqual(check, u);
+        neg(check, check);
+        boolean flipped = isEqual(check, u);
+        if (flipped) {
+            mul(x, x, SQRT_M1);
+        }
+        copy(h, x);
+        return correct || flipped;
+    }
+
+    /**
+     * Invert all elements of {@code f} with a single inversion by Montgomery's trick.
+     * All elements must be non-zero.
+     *
+     * @param h results, may be the same array as {@code f}.
+     * @param f field elements.
+     */
+    static void batchInvert(int[][] h, int[][] f) {
+        int n = f.length;
+        if (n == 0) {
+            return;
+        }
+        // acc[i] = f[0] * f[1] * ... * f[i]
+        int[][] acc = new int[n][];
+        acc[0] = create();
+        copy(acc[0], f[0]);
+        for (int i = 1; i < n; i++) {
+            acc[i] = create();
+            mul(acc[i], acc[i - 1], f[i]);
+        }
+
+        int[] inverse = create();
+        int[] tmp = create();
+        invert(inverse, acc[n - 1]);
+        for (int i = n - 1; i > 0; i--) {
+            // tmp = 1 / f[i], inverse = 1 / (f[0] * ... * f[i - 1])
+            mul(tmp, inverse, acc[i - 1]);
+            mul(inverse, inverse, f[i]);
+            copy(h[i], tmp);
+        }
+        copy(h[0], inverse);
+    }
+
+    /**
+     * Return whether the canonical form of {@code f} is odd, in other words, whether
+     * {@code f} is "negative" in RFC 8032.
+     *
+     * @param f field element.
+     * @return 1 if odd, 0 otherwise.
+     */
+    static int isNegative(int[] f) {
+        return toBytes(f)[0] & 1;
+    }
+
+    static boolean isZero(int[] f) {
+        byte[] s = toBytes(f);
+        int result = 0;
+        for (byte b : s) {
+            result |= b;
+        }
+        return result == 0;
+    }
+
+    static boolean isEqual(int[] f, int[] g) {
+        byte[] s = toBytes(f);
+        byte[] t = toBytes(g);
+        int result = 0;
+        for (int i = 0; i < s.length; i++) {
+            result |= s[i] ^ t[i];
+        }
+        return result == 0;
+    }
+
+    /**
+     * Compute {@code t0 = f^11} and {@code t1 = f^(2^250 - 1)}, the common part of
+     * {@link #invert(int[], int[])} and {@link #pow22523(int[], int[])}.
+     */
+    private static void pow2250m1(int[] t0, int[] t1, int[] f) {
+        int[] t2 = create();
+        int[] t3 = create();
+
+        square(t0, f);
+        squareN(t1, t0, 2);
+        mul(t1, f, t1);
+        mul(t0, t0, t1);
+        square(t2, t0);
+        // 2^5 - 1
+        mul(t1, t1, t2);
+        squareN(t2, t1, 5);
+        // 2^10 - 1
+        mul(t1, t2, t1);
+        squareN(t2, t1, 10);
+        // 2^20 - 1
+        mul(t2, t2, t1);
+        squareN(t3, t2, 20);
+        // 2^40 - 1
+        mul(t2, t3, t2);
+        squareN(t2, t2, 10);
+        // 2^50 - 1
+        mul(t1, t2, t1);
+        squareN(t2, t1, 50);
+        // 2^100 - 1
+        mul(t2, t2, t1);
+        squareN(t3, t2, 100);
+        // 2^200 - 1
+        mul(t2, t3, t2);
+        squareN(t2, t2, 50);
+        // 2^250 - 1
+        mul(t1, t2, t1);
+    }
+
+    /**
+     * Compute {@code f^(2^n)} by n successive squarings.
+     */
+    private static void squareN(int[] h, int[] f, int n) {
+        square(h, f);
+        for (int i = 1; i < n; i++) {
+            square(h, h);
+        }
+    }
+
+    /**
+     * Return true if every limb of f is small enough for an operand of multiplication, which is
+     * 1.65 times 2^26 or 2^25.
+     */
+    private static boolean isBounded(int[] f) {
+        for (int i = 0; i < LIMBS; i++) {
+            long bound = (165L << (26 - (i & 1))) / 100;
+            if (f[i] > bound || f[i] < -bound) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Carry limbs of radix 2^25.5 given in {@code long}, each of which must be less than 2^62,
+     * and write the carried element into h.
+     */
+    static void carry(int[] h, long h0, long h1, long h2, long h3, long h4,
+                              long h5, long h6, long h7, long h8, long h9) {
+        long carry;
+        carry = (h0 + (1L << 25)) >> 26; h1 += carry; h0 -= carry << 26;
+        carry = (h4 + (1L << 25)) >> 26; h5 += carry; h4 -= carry << 26;
+        carry = (h1 + (1L << 24)) >> 25; h2 += carry; h1 -= carry << 25;
+        carry = (h5 + (1L << 24)) >> 25; h6 += carry; h5 -= carry << 25;
+        carry = (h2 + (1L << 25)) >> 26; h3 += carry; h2 -= carry << 26;
+        carry = (h6 + (1L << 25)) >> 26; h7 += carry; h6 -= carry << 26;
+        carry = (h3 + (1L << 24)) >> 25; h4 += carry; h3 -= carry << 25;
+        carry = (h7 + (1L << 24)) >> 25; h8 += carry; h7 -= carry << 25;
+        carry = (h4 + (1L << 25)) >> 26; h5 += carry; h4 -= carry << 26;
+        carry = (h8 + (1L << 25)) >> 26; h9 += carry; h8 -= carry << 26;
+        carry = (h9 + (1L << 24)) >> 25; h0 += carry * 19; h9 -= carry << 25;
+        carry = (h0 + (1L << 25)) >> 26; h1 += carry; h0 -= carry << 26;
+
+        h[0] = (int) h0;
+        h[1] = (int) h1;
+        h[2] = (int) h2;
+        h[3] = (int) h3;
+        h[4] = (int) h4;
+        h[5] = (int) h5;
+        h[6] = (int) h6;
+        h[7] = (int) h7;
+        h[8] = (int) h8;
+        h[9] = (int) h9;
+    }
+
+    private static long load3(byte[] s, int offset) {
+        return (s[offset] & 0xFF)
+                | (s[offset + 1] & 0xFF) << 8
+                | (s[offset + 2] & 0xFF) << 16;
+    }
+
+    private static long load4(byte[] s, int offset) {
+        return ((long) (s[offset] & 0xFF))
+                | (s[offset + 1] & 0xFF) << 8
+                | (s[offset + 2] & 0xFF) << 16
+                | ((long) (s[offset + 3] & 0xFF)) << 24;
+    }
+}
@@ -0,0 +1,218 @@
+package io.moatwel.crypto.eddsa.ed25519;
+
+import io.moatwel.crypto.eddsa.MultiScalarMultiplier;
+import io.moatwel.crypto.eddsa.Point;
+import io.moatwel.util.ArrayUtils;
+
+import java.math.BigInteger;
+
+/**
+ * Multi-scalar multiplication on Curve25519.
+ *
+ * <p>
+ * Points are converted into affine Niels form with a single simultaneous inversion, so that
+ * every addition of a point is a mixed addition. Points are added to the buckets of Pippenger's
+ * method through {@link BucketsEd25519}, which adds four of them at once on vectors if possible.
+ *
+ * @author halu5071 (Yasunori Horii)
+ * @see MultiScalarMultiplier
+ */
+final class MultiScalarMultiplierEd25519 extends MultiScalarMultiplier {
+
+    private final boolean isVectorAllowed;
+
+    MultiScalarMultiplierEd25519(int strausWidth, int pippengerWindow, int strausThreshold,
+                                 boolean isVectorAllowed) {
+        super(strausWidth, pippengerWindow, strausThreshold);
+        this.isVectorAllowed = isVectorAllowed;
+    }
+
+    @Override
+    public PrecomputedPoints precompute(Point[] points) {
+        MutablePointEd25519[] mutablePoints = new MutablePointEd25519[points.length];
+        for (int i = 0; i < points.length; i++) {
+            mutablePoints[i] = new MutablePointEd25519();
+            PointEd25519.from(points[i]).copyTo(mutablePoints[i]);
+        }
+        return new PrecomputedPointsEd25519(toNiels(mutablePoints));
+    }
+
+    /**
+     * Convert points into affine Niels form, with a simultaneous inversion of all Z.
+     */
+    private static NielsPointEd25519[] toNiels(MutablePointEd25519[] points) {
+        int[][] zInverse = new int[points.length][];
+        for (int i = 0; i < points.length; i++) {
+            zInverse[i] = Field25519.create();
+            Field25519.copy(zInverse[i], points[i].Z);
+        }
+        Field25519.batchInvert(zInverse, zInverse);
+
+        NielsPointEd25519[] niels = new NielsPointEd25519[points.length];
+        int[] x = Field25519.create();
+        int[] y = Field25519.create();
+        for (int i = 0; i < points.length; i++) {
+            Field25519.mul(x, points[i].X, zInverse[i]);
+            Field25519.mul(y, points[i].Y, zInverse[i]);
+            niels[i] = new NielsPointEd25519();
+            niels[i].set(x, y, MutablePointEd25519.D2);
+        }
+        return niels;
+    }
+
+    private static boolean isZeroDigits(byte[][] nafs, int i) {
+        for (byte[] naf : nafs) {
+            if (i < naf.length && naf[i] != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private final class PrecomputedPointsEd25519 extends PrecomputedPoints {
+
+        private final NielsPointEd25519[] points;
+
+        // odd multiples P, 3P, 5P, ... of each point for Straus' method, computed lazily
+        private volatile NielsPointEd25519[][] oddMultiples;
+
+        private PrecomputedPointsEd25519(NielsPointEd25519[] points) {
+            this.points = points;
+        }
+
+        @Override
+        public int size() {
+            return points.length;
+        }
+
+        @Override
+        public Point multiplyStraus(BigInteger[] scalars) {
+            checkLength(scalars);
+            NielsPointEd25519[][] tables = oddMultiples();
+            ScratchEd25519 scratch = ScratchEd25519.get();
+
+            byte[][] nafs = new byte[scalars.length][];
+            int top = -1;
+            for (int j = 0; j < scalars.length; j++) {
+                nafs[j] = ArrayUtils.toWindowedNonAdjacentForm(scalars[j].abs(), getStrausWidth());
+                top = Math.max(top, nafs[j].length - 1);
+            }
+
+            MutablePointEd25519 h = new MutablePointEd25519();
+            for (int i = top; i >= 0; i--) {
+                // T is needed only if a point is added next
+                if (isZeroDigits(nafs, i) && i > 0) {
+                    h.doublingProjective(h, scratch);
+                    continue;
+                }
+                h.doubling(h, scratch);
+                for (int j = 0; j < nafs.length; j++) {
+                    int digit = i < nafs[j].length ? nafs[j][i] : 0;
+                    if (scalars[j].signum() < 0) {
+                        digit = -digit;
+                    }
+                    if (digit > 0) {
+                        h.addNiels(h, tables[j][digit >> 1], scratch);
+                    } else if (digit < 0) {
+                        h.subNiels(h, tables[j][-digit >> 1], scratch);
+                    }
+                }
+            }
+            return new PointEd25519(h);
+        }
+
+        @Override
+        public Point multiplyPippenger(BigInteger[] scalars) {
+            checkLength(scalars);
+            ScratchEd25519 scratch = ScratchEd25519.get();
+
+            int bitLength = 0;
+            for (BigInteger scalar : scalars) {
+                bitLength = Math.max(bitLength, scalar.bitLength());
+            }
+            int window = windowOf(scalars.length, bitLength);
+
+            int[][] digits = new int[scalars.length][];
+            for (int j = 0; j < scalars.length; j++) {
+                digits[j] = ArrayUtils.toSignedRadixForm(scalars[j].abs(), window);
+            }
+            int windows = bitLength / window + 1;
+
+            // bucket b has the sum of points whose digit is b + 1
+            BucketsEd25519 buckets = BucketsEd25519.create(1 << (window - 1), isVectorAllowed);
+            boolean[] isUsed = new boolean[1 << (window - 1)];
+            MutablePointEd25519 runningSum = new MutablePointEd25519();
+            MutablePointEd25519 windowSum = new MutablePointEd25519();
+
+            MutablePointEd25519 h = new MutablePointEd25519();
+            for (int i = windows - 1; i >= 0; i--) {
+                for (int k = 1; k < window; k++) {
+                    h.doublingProjective(h, scratch);
+                }
+                h.doubling(h, scratch);
+
+                buckets.clear();
+                int top = -1;
+                for (int j = 0; j < digits.length; j++) {
+                    int digit = i < digits[j].length ? digits[j][i] : 0;
+                    if (scalars[j].signum() < 0) {
+                        digit = -digit;
+                    }
+                    if (digit == 0) {
+                        continue;
+                    }
+                    int b = Math.abs(digit) - 1;
+                    isUsed[b] = true;
+                    top = Math.max(top, b);
+                    buckets.add(b, points[j], digit < 0, scratch);
+                }
+
+                // sum((b + 1) * buckets[b]) = sum of running sums from the top bucket
+                runningSum.setIdentity();
+                windowSum.setIdentity();
+                for (int b = top; b >= 0; b--) {
+                    if (isUsed[b]) {
+                        runningSum.add(runningSum, buckets.get(b, scratch), scratch);
+                        isUsed[b] = false;
+                    }
+                    windowSum.add(windowSum, runningSum, scratch);
+                }
+                h.add(h, windowSum, scratch);
+            }
+            return new PointEd25519(h);
+        }
+
+        private NielsPointEd25519[][] oddMultiples() {
+            NielsPointEd25519[][] tables = oddMultiples;
+            if (tables != null) {
+                return tables;
+            }
+
+            ScratchEd25519 scratch = ScratchEd25519.get();
+            int count = 1 << (getStrausWidth() - 2);
+            MutablePointEd25519[] multiples = new MutablePointEd25519[points.length * count];
+            MutablePointEd25519 point = new MutablePointEd25519();
+            CachedPointEd25519 twice = new CachedPointEd25519();
+            for (int j = 0; j < points.length; j++) {
+                point.setIdentity();
+                point.addNiels(point, points[j], scratch);
+                multiples[j * count] = new MutablePointEd25519();
+                multiples[j * count].set(point);
+                point.doubling(point, scratch);
+                twice.set(point);
+                for (int m = 1; m < count; m++) {
+                    multiples[j * count + m] = new MutablePointEd25519();
+                    multiples[j * count + m].addCached(multiples[j * count + m - 1], twice, scratch);
+                }
+            }
+
+            NielsPointEd25519[] niels = toNiels(multiples);
+            tables = new NielsPointEd25519[points.length][count];
+            for (int j = 0; j < points.length; j++) {
+                System.arraycopy(niels, j * count, tables[j], 0, count);
+            }
+            oddMultiples = tables;
+            return tables;
+        }
+    }
+}
@@ -0,0 +1,528 @@
+package io.moatwel.crypto.eddsa.ed25519;
+
+import java.math.BigInteger;
+
+/**
+ * Mutable point on Curve25519 in extended coordinates (X : Y : Z : T), which is P3 of ref10.
+ *
+ * <p>
+ * Each addition and doubling computes E, F, G and H first, which is the completed point
+ * (P1P1) {@code ((E : G), (H : F))}, and then converts it with 4 multiplications. When the
+ * result is only doubled again, {@link #doublingProjective(MutablePointEd25519, ScratchEd25519)}
+ * skips T and leaves the projective point (X : Y : Z) (P2) with 3 multiplications, since
+ * doubling does not read T. Points added many times are kept in {@link CachedPointEd25519} or
+ * {@link NielsPointEd25519}.
+ *
+ * <p>
+ * E, F, G and H are sums and differences of products, which are computed without carry by
+ * {@link Field25519#addLazy(int[], int[], int[])}, since they are only multiplied. Each of them
+ * is a sum of at most three carried elements, which is the limit of multiplication.
+ *
+ * <p>
+ * Every operation writes the result into this point, and this point may be the same
+ * object as one of operands. Temporaries are taken from {@link ScratchEd25519}, so that
+ * no object is allocated during operations. {@link PointEd25519} is the immutable facade
+ * of this class.
+ *
+ * @author halu5071 (Yasunori Horii)
+ */
+final class MutablePointEd25519 {
+
+    // bits of scalars which scalarMultiply processes in a fixed number of operations
+    private static final int SCALAR_BITS = 256;
+
+    static final int[] D2 = Field25519.create(
+            Curve25519.getInstance().getD().getInteger().shiftLeft(1));
+
+    final int[] X = Field25519.create();
+    final int[] Y = Field25519.create();
+    final int[] Z = Field25519.create();
+    final int[] T = Field25519.create();
+
+    /**
+     * Create the neutral element.
+     */
+    MutablePointEd25519() {
+        setIdentity();
+    }
+
+    void setIdentity() {
+        Field25519.zero(X);
+        Field25519.one(Y);
+        Field25519.one(Z);
+        Field25519.zero(T);
+    }
+
+    void set(MutablePointEd25519 p) {
+        set(p.X, p.Y, p.Z, p.T);
+    }
+
+    void set(int[] x, int[] y, int[] z, int[] t) {
+        Field25519.copy(X, x);
+        Field25519.copy(Y, y);
+        Field25519.copy(Z, z);
+        Field25519.copy(T, t);
+    }
+
+    /**
+     * Replace this point with {@code p} if {@code b} is 1, without any branch on {@code b}.
+     *
+     * @param p point
+     * @param b 0 or 1
+     */
+    void cmov(MutablePointEd25519 p, int b) {
+        Field25519.cmov(X, p.X, b);
+        Field25519.cmov(Y, p.Y, b);
+        Field25519.cmov(Z, p.Z, b);
+        Field25519.cmov(T, p.T, b);
+    }
+
+    /**
+     * this = p + q, with "add-2008-hwcd-3" formula.
+     *
+     * @param p       point
+     * @param q       point
+     * @param scratch scratch of the current thread
+     */
+    void add(MutablePointEd25519 p, MutablePointEd25519 q, ScratchEd25519 scratch) {
+        int[] A = scratch.t0;
+        int[] B = scratch.t1;
+        int[] C = scratch.t2;
+        int[] D = scratch.t3;
+        int[] tmp = scratch.t4;
+
+        Field25519.subLazy(A, p.Y, p.X);
+        Field25519.subLazy(tmp, q.Y, q.X);
+        Field25519.mul(A, A, tmp);
+        Field25519.addLazy(B, p.Y, p.X);
+        Field25519.addLazy(tmp, q.Y, q.X);
+        Field25519.mul(B, B, tmp);
+        Field25519.mul(C, p.T, D2);
+        Field25519.mul(C, C, q.T);
+        Field25519.mul(D, p.Z, q.Z);
+        Field25519.addLazy(D, D, D);
+
+        int[] E = tmp;
+        Field25519.subLazy(E, B, A);
+        int[] H = B;
+        Field25519.addLazy(H, B, A);
+        int[] F = A;
+        Field25519.subLazy(F, D, C);
+        int[] G = C;
+        Field25519.addLazy(G, D, C);
+
+        setEFGH(E, F, G, H);
+    }
+
+    /**
+     * this = p - q. Same as {@link #add(MutablePointEd25519, MutablePointEd25519, ScratchEd25519)}
+     * with -q = (-X2 : Y2 : Z2 : -T2).
+     *
+     * @param p       point
+     * @param q       point
+     * @param scratch scratch of the current thread
+     */
+    void sub(MutablePointEd25519 p, MutablePointEd25519 q, ScratchEd25519 scratch) {
+        int[] A = scratch.t0;
+        int[] B = scratch.t1;
+        int[] C = scratch.t2;
+        int[] D = scratch.t3;
+        int[] tmp = scratch.t4;
+
+        Field25519.subLazy(A, p.Y, p.X);
+        Field25519.addLazy(tmp, q.Y, q.X);
+        Field25519.mul(A, A, tmp);
+        Field25519.addLazy(B, p.Y, p.X);
+        Field25519.subLazy(tmp, q.Y, q.X);
+        Field25519.mul(B, B, tmp);
+        Field25519.mul(C, p.T, D2);
+        Field25519.mul(C, C, q.T);
+        Field25519.mul(D, p.Z, q.Z);
+        Field25519.addLazy(D, D, D);
+
+        int[] E = tmp;
+        Field25519.subLazy(E, B, A);
+        int[] H = B;
+        Field25519.addLazy(H, B, A);
+        int[] F = A;
+        Field25519.addLazy(F, D, C);
+        int[] G = C;
+        Field25519.subLazy(G, D, C);
+
+        setEFGH(E, F, G, H);
+    }
+
+    /**
+     * this = p + q, where q is a precomputed affine point, with "madd-2008-hwcd-3" formula.
+     *
+     * @param p       point
+     * @param q       affine point in Niels form
+     * @param scratch scratch of the current thread
+     */
+    void addNiels(MutablePointEd25519 p, NielsPointEd25519 q, ScratchEd25519 scratch) {
+        int[] A = scratch.t0;
+        int[] B = scratch.t1;
+        int[] C = scratch.t2;
+        int[] D = scratch.t3;
+        int[] E = scratch.t4;
+
+        Field25519.subLazy(A, p.Y, p.X);
+        Field25519.mul(A, A, q.yMinusX);
+        Field25519.addLazy(B, p.Y, p.X);
+        Field25519.mul(B, B, q.yPlusX);
+        Field25519.mul(C, p.T, q.xy2d);
+        Field25519.addLazy(D, p.Z, p.Z);
+
+        Field25519.subLazy(E, B, A);
+        int[] H = B;
+        Field25519.addLazy(H, B, A);
+        int[] F = A;
+        Field25519.subLazy(F, D, C);
+        int[] G = C;
+        Field25519.addLazy(G, D, C);
+
+        setEFGH(E, F, G, H);
+    }
+
+    /**
+     * this = p - q, where q is a precomputed affine point.
+     *
+     * @param p       point
+     * @param q       affine point in Niels form
+     * @param scratch scratch of the current thread
+     */
+    void subNiels(MutablePointEd25519 p, NielsPointEd25519 q, ScratchEd25519 scratch) {
+        int[] A = scratch.t0;
+        int[] B = scratch.t1;
+        int[] C = scratch.t2;
+        int[] D = scratch.t3;
+        int[] E = scratch.t4;
+
+        Field25519.subLazy(A, p.Y, p.X);
+        Field25519.mul(A, A, q.yPlusX);
+        Field25519.addLazy(B, p.Y, p.X);
+        Field25519.mul(B, B, q.yMinusX);
+        Field25519.mul(C, p.T, q.xy2d);
+        Field25519.addLazy(D, p.Z, p.Z);
+
+        Field25519.subLazy(E, B, A);
+        int[] H = B;
+        Field25519.addLazy(H, B, A);
+        int[] F = A;
+        Field25519.addLazy(F, D, C);
+        int[] G = C;
+        Field25519.subLazy(G, D, C);
+
+        setEFGH(E, F, G, H);
+    }
+
+    /**
+     * this = p + q, where q is in cached form, with "add-2008-hwcd-3" formula whose
+     * {@code 2 * Z2} and {@code 2 * d * T2} are precomputed.
+     *
+     * @param p       point
+     * @param q       point in cached form
+     * @param scratch scratch of the current thread
+     */
+    void addCached(MutablePointEd25519 p, CachedPointEd25519 q, ScratchEd25519 scratch) {
+        int[] A = scratch.t0;
+        int[] B = scratch.t1;
+        int[] C = scratch.t2;
+        int[] D = scratch.t3;
+        int[] E = scratch.t4;
+
+        Field25519.subLazy(A, p.Y, p.X);
+        Field25519.mul(A, A, q.yMinusX);
+        Field25519.addLazy(B, p.Y, p.X);
+        Field25519.mul(B, B, q.yPlusX);
+        Field25519.mul(C, p.T, q.t2d);
+        Field25519.mul(D, p.Z, q.z2);
+
+        Field25519.subLazy(E, B, A);
+        int[] H = B;
+        Field25519.addLazy(H, B, A);
+        int[] F = A;
+        Field25519.subLazy(F, D, C);
+        int[] G = C;
+        Field25519.addLazy(G, D, C);
+
+        setEFGH(E, F, G, H);
+    }
+
+    /**
+     * this = p - q, where q is in cached form.
+     *
+     * @param p       point
+     * @param q       point in cached form
+     * @param scratch scratch of the current thread
+     */
+    void subCached(MutablePointEd25519 p, CachedPointEd25519 q, ScratchEd25519 scratch) {
+        int[] A = scratch.t0;
+        int[] B = scratch.t1;
+        int[] C = scratch.t2;
+        int[] D = scratch.t3;
+        int[] E = scratch.t4;
+
+        Field25519.subLazy(A, p.Y, p.X);
+        Field25519.mul(A, A, q.yPlusX);
+        Field25519.addLazy(B, p.Y, p.X);
+        Field25519.mul(B, B, q.yMinusX);
+        Field25519.mul(C, p.T, q.t2d);
+        Field25519.mul(D, p.Z, q.z2);
+
+        Field25519.subLazy(E, B, A);
+        int[] H = B;
+        Field25519.addLazy(H, B, A);
+        int[] F = A;
+        Field25519.addLazy(F, D, C);
+        int[] G = C;
+        Field25519.subLazy(G, D, C);
+
+        setEFGH(E, F, G, H);
+    }
+
+    /**
+     * this = 2 * p, with "dbl-2008-hwcd" formula.
+     *
+     * @param p       point, whose T is not read
+     * @param scratch scratch of the current thread
+     */
+    void doubling(MutablePointEd25519 p, ScratchEd25519 scratch) {
+        doublingEFGH(p, scratch);
+        setEFGH(scratch.t3, scratch.t2, scratch.t1, scratch.t4);
+    }
+
+    /**
+     * this = 2 * p in projective coordinates (X : Y : Z), which needs one multiplication less
+     * than {@link #doubling(MutablePointEd25519, ScratchEd25519)}. T of the result is not valid,
+     * so the result must be doubled again before it is added to any point.
+     *
+     * @param p       point, whose T is not read
+     * @param scratch scratch of the current thread
+     */
+    void doublingProjective(MutablePointEd25519 p, ScratchEd25519 scratch) {
+        doublingEFGH(p, scratch);
+        int[] E = scratch.t3;
+        int[] F = scratch.t2;
+        int[] G = scratch.t1;
+        int[] H = scratch.t4;
+        Field25519.mul(X, E, F);
+        Field25519.mul(Y, G, H);
+        Field25519.mul(Z, F, G);
+    }
+
+    /**
+     * Compute E, F, G and H of 2 * p into t3, t2, t1 and t4 of scratch.
+     */
+    private static void doublingEFGH(MutablePointEd25519 p, ScratchEd25519 scratch) {
+        int[] A = scratch.t0;
+        int[] B = scratch.t1;
+        int[] C = scratch.t2;
+        int[] E = scratch.t3;
+        int[] H = scratch.t4;
+
+        Field25519.square(A, p.X);
+        Field25519.square(B, p.Y);
+        Field25519.square(C, p.Z);
+        // carried, since F = 2 * C + A - B would be a sum of four elements otherwise.
+        Field25519.add(C, C, C);
+        Field25519.addLazy(E, p.X, p.Y);
+        Field25519.square(E, E);
+
+        Field25519.addLazy(H, A, B);
+        Field25519.subLazy(E, H, E);
+        int[] G = B;
+        Field25519.subLazy(G, A, B);
+        int[] F = C;
+        Field25519.addLazy(F, C, G);
+    }
+
+    /**
+     * this = k * p, with signed radix-16 fixed window. {@code |k|} is written as
+     * {@code e[0] + 16 * e[1] + 16^2 * e[2] + ...} with {@code -8 <= e[i] <= 8}, and each
+     * {@code e[i] * p} is selected from {@code p, 2p, ..., 8p} with conditional moves. Neither
+     * branch nor memory access depends on the digits, and the number of operations is fixed for
+     * scalars up to {@value #SCALAR_BITS} bits, which depends only on the bit length for larger ones.
+     *
+     * @param p       point
+     * @param k       scalar
+     * @param scratch scratch of the current thread
+     */
+    void scalarMultiply(MutablePointEd25519 p, BigInteger k, ScratchEd25519 scratch) {
+        boolean negative = k.signum() < 0;
+        byte[] e = toSignedDigits(k.abs());
+
+        // table[j] = (j + 1) * p in cached form
+        CachedPointEd25519[] table = scratch.cachedMultiples;
+        MutablePointEd25519 multiple = scratch.base;
+        multiple.set(p);
+        table[0].set(multiple);
+        for (int j = 1; j < table.length; j++) {
+            multiple.addCached(multiple, table[0], scratch);
+            table[j].set(multiple);
+        }
+
+        CachedPointEd25519 selected = scratch.cached;
+        setIdentity();
+        for (int i = e.length - 1; i >= 0; i--) {
+            doublingProjective(this, scratch);
+            doublingProjective(this, scratch);
+            doublingProjective(this, scratch);
+            doubling(this, scratch);
+            selected.select(table, e[i], scratch.t0);
+            addCached(this, selected, scratch);
+        }
+
+        // zero gives the neutral element (0 : 1 : 1 : 0) itself, not a multiple of it
+        multiple.setIdentity();
+        cmov(multiple, k.signum() == 0 ? 1 : 0);
+
+        if (negative) {
+            negate(this);
+        }
+    }
+
+    /**
+     * this = naf * p, where {@code table} has odd multiples {@code p, 3p, 5p, ...} of p in
+     * cached form and each digit of {@code naf} is zero or odd less than {@code 2 * table.length}
+     * in absolute value. This runs in variable time, so it must be used only with public scalars.
+     *
+     * @param naf     digits of wNAF from the least significant one
+     * @param table   odd multiples of p
+     * @param scratch scratch of the current thread
+     */
+    void multiplyNaf(byte[] naf, CachedPointEd25519[] table, ScratchEd25519 scratch) {
+        int i = naf.length - 1;
+        while (i >= 0 && naf[i] == 0) {
+            i--;
+        }
+
+        setIdentity();
+        for (; i >= 0; i--) {
+            // T is needed only if a point is added next
+            if (naf[i] == 0 && i > 0) {
+                doublingProjective(this, scratch);
+                continue;
+            }
+            doubling(this, scratch);
+            if (naf[i] > 0) {
+                addCached(this, table[naf[i] >> 1], scratch);
+            } else if (naf[i] < 0) {
+                subCached(this, table[-naf[i] >> 1], scratch);
+            }
+        }
+    }
+
+    /**
+     * this = naf * p, where {@code table} has odd multiples of p in Niels form.
+     *
+     * @param naf     digits of wNAF from the least significant one
+     * @param table   odd multiples of p
+     * @param scratch scratch of the current thread
+     * @see #multiplyNaf(byte[], CachedPointEd25519[], ScratchEd25519)
+     */
+    void multiplyNaf(byte[] naf, NielsPointEd25519[] table, ScratchEd25519 scratch) {
+        int i = naf.length - 1;
+        while (i >= 0 && naf[i] == 0) {
+            i--;
+        }
+
+        setIdentity();
+        for (; i >= 0; i--) {
+            if (naf[i] == 0 && i > 0) {
+                doublingProjective(this, scratch);
+                continue;
+            }
+            doubling(this, scratch);
+            if (naf[i] > 0) {
+                addNiels(this, table[naf[i] >> 1], scratch);
+            } else if (naf[i] < 0) {
+                subNiels(this, table[-naf[i] >> 1], scratch);
+            }
+        }
+    }
+
+    /**
+     * Compute odd multiples {@code p, 3p, 5p, ...} into {@code table}.
+     *
+     * @param table   results, {@code table[i] = (2i + 1) * p}
+     * @param p       point
+     * @param scratch scratch of the current thread
+     */
+    static void oddMultiples(MutablePointEd25519[] table, MutablePointEd25519 p, ScratchEd25519 scratch) {
+        CachedPointEd25519 twice = scratch.cached;
+        scratch.sum.doubling(p, scratch);
+        twice.set(scratch.sum);
+        table[0].set(p);
+        for (int i = 1; i < table.length; i++) {
+            table[i].addCached(table[i - 1], twice, scratch);
+        }
+    }
+
+    /**
+     * Compute odd multiples {@code p, 3p, 5p, ...} into {@code table} in cached form.
+     *
+     * @param table   results, {@code table[i] = (2i + 1) * p}
+     * @param p       point
+     * @param scratch scratch of the current thread
+     */
+    static void oddMultiples(CachedPointEd25519[] table, MutablePointEd25519 p, ScratchEd25519 scratch) {
+        CachedPointEd25519 twice = scratch.cached;
+        MutablePointEd25519 multiple = scratch.sum;
+        multiple.doubling(p, scratch);
+        twice.set(multiple);
+        multiple.set(p);
+        table[0].set(multiple);
+        for (int i = 1; i < table.length; i++) {
+            multiple.addCached(multiple, twice, scratch);
+            table[i].set(multiple);
+        }
+    }
+
+    /**
+     * this = -p, that is (-X : Y : Z : -T).
+     *
+     * @param p point
+     */
+    void negate(MutablePointEd25519 p) {
+        Field25519.neg(X, p.X);
+        Field25519.copy(Y, p.Y);
+        Field25519.copy(Z, p.Z);
+        Field25519.neg(T, p.T);
+    }
+
+    private void setEFGH(int[] E, int[] F, int[] G, int[] H) {
+        Field25519.mul(X, E, F);
+        Field25519.mul(Y, G, H);
+        Field25519.mul(T, E, H);
+        Field25519.mul(Z, F, G);
+    }
+
+    /**
+     * Return signed radix-16 digits of a non-negative integer, each of which is between -8 and 8.
+     * The number of digits is {@code SCALAR_BITS / 4 + 1} for integers up to
+     * {@value #SCALAR_BITS} bits.
+     */
+    private static byte[] toSignedDigits(BigInteger k) {
+        byte[] a = k.toByteArray();
+        int length = (Math.max(SCALAR_BITS, k.bitLength()) + 3) / 4 + 1;
+        byte[] e = new byte[length];
+        for (int i = 0; i < (length + 1) / 2; i++) {
+            int b = i < a.length ? a[a.length - 1 - i] & 0xFF : 0;
+            e[2 * i] = (byte) (b & 15);
+            if (2 * i + 1 < length) {
+                e[2 * i + 1] = (byte) ((b >> 4) & 15);
+            }
+        }
+
+        // the last digit is 0 before the carry, so it is 0 or 1 after that.
+        int carry = 0;
+        for (int i = 0; i < length - 1; i++) {
+            e[i] += carry;
+            carry = (e[i] + 8) >> 4;
+            e[i] -= carry << 4;
+        }
+        e[length - 1] += carry;
+        return e;
+    }
+}
@@ -1,43 +1,111 @@
 package io.moatwel.crypto.eddsa.ed25519;
 
 import io.moatwel.crypto.eddsa.Coordinate;
-import io.moatwel.crypto.eddsa.Curve;
 import io.moatwel.crypto.eddsa.EncodedPoint;
 import io.moatwel.crypto.eddsa.Point;
 import io.moatwel.util.ArrayUtils;
-import io.moatwel.util.ByteUtils;
 
 import java.math.BigInteger;
 
 /**
  * Point class on Curve25519.
  *
+ * <p>
+ * This point keeps extended coordinates (X : Y : Z : T) as {@link Field25519} limbs, and
+ * {@link Coordinate}s are created only when they are requested. This class is the immutable
+ * facade of {@link MutablePointEd25519}, each operation creates only the resulting point.
+ *
  * @author halu5071 (Yasunori Horii)
  */
 class PointEd25519 extends Point {
 
-    private static final Coordinate DEFAULT_Z = new CoordinateEd25519(BigInteger.ONE);
-    private static final Coordinate ONE = new CoordinateEd25519(BigInteger.ONE);
-    private static final Coordinate ZERO = new CoordinateEd25519(BigInteger.ZERO);
-    static final PointEd25519 O = new PointEd25519(ZERO, ONE, DEFAULT_Z, ZERO);
-    private static final Curve curve = Curve25519.getInstance();
+    static final PointEd25519 O = new PointEd25519(new MutablePointEd25519());
+
+    // width of wNAF of the scalar of a point which has odd multiples.
+    static final int PRECOMPUTED_WIDTH = 7;
+
+    // never modified after construction.
+    private final MutablePointEd25519 point;
+
+    // odd multiples P, 3P, ..., 63P, or null if they are not computed.
+    private final NielsPointEd25519[] oddMultiples;
 
     /**
      * constructor of Point
      *
      * @param x x-coordinate
      * @param y y-coordinate
+     * @param z z-coordinate
+     * @param t t-coordinate
      */
     PointEd25519(Coordinate x, Coordinate y, Coordinate z, Coordinate t) {
-        super(x, y, z, t);
+        this(Field25519.create(x.getInteger()),
+                Field25519.create(y.getInteger()),
+                Field25519.create(z.getInteger()),
+                Field25519.create(t.getInteger()));
+    }
+
+    private PointEd25519(int[] x, int[] y, int[] z, int[] t) {
+        this(new MutablePointEd25519());
+        point.set(x, y, z, t);
+    }
+
+    PointEd25519(MutablePointEd25519 point) {
+        this(point, null);
+    }
+
+    private PointEd25519(MutablePointEd25519 point, NielsPointEd25519[] oddMultiples) {
+        super();
+        this.point = point;
+        this.oddMultiples = oddMultiples;
     }
 
     public static PointEd25519 fromAffine(Coordinate x, Coordinate y) {
-        return new PointEd25519(
-                x.multiply(DEFAULT_Z).mod(),
-                y.multiply(DEFAULT_Z).mod(),
-                DEFAULT_Z,
-                x.multiply(y).multiply(DEFAULT_Z).mod());
+        return fromAffine(Field25519.create(x.getInteger()), Field25519.create(y.getInteger()));
+    }
+
+    static PointEd25519 fromAffine(int[] x, int[] y) {
+        MutablePointEd25519 p = new MutablePointEd25519();
+        Field25519.copy(p.X, x);
+        Field25519.copy(p.Y, y);
+        Field25519.mul(p.T, x, y);
+        return new PointEd25519(p);
+    }
+
+    @Override
+    public Coordinate getX() {
+        return new CoordinateEd25519(Field25519.toBigInteger(point.X));
+    }
+
+    @Override
+    public Coordinate getY() {
+        return new CoordinateEd25519(Field25519.toBigInteger(point.Y));
+    }
+
+    @Override
+    public Coordinate getZ() {
+        return new CoordinateEd25519(Field25519.toBigInteger(point.Z));
+    }
+
+    @Override
+    public Coordinate getT() {
+        return new CoordinateEd25519(Field25519.toBigInteger(point.T));
+    }
+
+    @Override
+    public Coordinate getAffineX() {
+        int[] x = Field25519.create();
+        Field25519.invert(x, point.Z);
+        Field25519.mul(x, point.X, x);
+        return new CoordinateEd25519(Field25519.toBigInteger(x));
+    }
+
+    @Override
+    public Coordinate getAffineY() {
+        int[] y = Field25519.create();
+        Field25519.invert(y, point.Z);
+        Field25519.mul(y, point.Y, y);
+        return new CoordinateEd25519(Field25519.toBigInteger(y));
     }
 
     /**
@@ -45,55 +113,16 @@ class PointEd25519 extends Point {
      */
     @Override
     public final Point add(Point point) {
-        Coordinate x1 = this.x;
-        Coordinate y1 = this.y;
-        Coordinate z1 = this.z;
-        Coordinate t1 = this.t;
-        Coordinate x2 = point.getX();
-        Coordinate y2 = point.getY();
-        Coordinate z2 = point.getZ();
-        Coordinate t2 = point.getT();
-
-        Coordinate d = new CoordinateEd25519(curve.getD().getInteger());
-        Coordinate coord2 = new CoordinateEd25519(BigInteger.ONE.shiftLeft(1));
-
-        Coordinate A = y1.subtract(x1).multiply(y2.subtract(x2)).mod();
-        Coordinate B = y1.add(x1).multiply(y2.add(x2)).mod();
-        Coordinate C = t1.multiply(coord2).multiply(d).multiply(t2).mod();
-        Coordinate D = z1.multiply(coord2).multiply(z2).mod();
-        Coordinate E = B.subtract(A).mod();
-        Coordinate F = D.subtract(C).mod();
-        Coordinate G = D.add(C).mod();
-        Coordinate H = B.add(A).mod();
-
-        Coordinate x3 = E.multiply(F).mod();
-        Coordinate y3 = G.multiply(H).mod();
-        Coordinate t3 = E.multiply(H).mod();
-        Coordinate z3 = F.multiply(G).mod();
-
-        return new PointEd25519(x3, y3, z3, t3);
+        MutablePointEd25519 result = new MutablePointEd25519();
+        result.add(this.point, from(point).point, ScratchEd25519.get());
+        return new PointEd25519(result);
     }
 
     @Override
     public Point doubling() {
-        Coordinate x1 = this.x;
-        Coordinate y1 = this.y;
-        Coordinate z1 = this.z;
-
-        Coordinate A = x1.multiply(x1).mod();
-        Coordinate B = y1.multiply(y1).mod();
-        Coordinate C = new CoordinateEd25519(BigInteger.ONE.shiftLeft(1)).multiply(z1).multiply(z1).mod();
-        Coordinate H = A.add(B).mod();
-        Coordinate E = H.subtract(x1.add(y1).multiply(x1.add(y1)).mod()).mod();
-        Coordinate G = A.subtract(B).mod();
-        Coordinate F = C.add(G).mod();
-
-        Coordinate X3 = E.multiply(F).mod();
-        Coordinate Y3 = G.multiply(H).mod();
-        Coordinate T3 = E.multiply(H).mod();
-        Coordinate Z3 = F.multiply(G).mod();
-
-        return new PointEd25519(X3, Y3, Z3, T3);
+        MutablePointEd25519 result = new MutablePointEd25519();
+        result.doubling(point, ScratchEd25519.get());
+        return new PointEd25519(result);
     }
 
     /**
@@ -101,26 +130,58 @@ class PointEd25519 extends Point {
      */
     @Override
     public final Point scalarMultiply(BigInteger integer) {
-        if (integer.equals(BigInteger.ZERO)) {
-            return PointEd25519.O;
-        }
+        MutablePointEd25519 result = new MutablePointEd25519();
+        result.scalarMultiply(point, integer, ScratchEd25519.get());
+        return new PointEd25519(result);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * If this point has odd multiples computed by {@link #precompute()}, they are used with
+     * wNAF of width {@link #PRECOMPUTED_WIDTH}.
+     */
+    @Override
+    public Point scalarMultiplyVariableTime(BigInteger integer) {
+        return scalarMultiplyVariableTime(integer, oddMultiples != null ? PRECOMPUTED_WIDTH : DEFAULT_WNAF_WIDTH);
+    }
 
-        Point[] qs = new Point[]{O, O};
-        Point[] rs = new Point[]{this, this, negateY()};
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Point scalarMultiplyVariableTime(BigInteger integer, int width) {
+        byte[] naf = ArrayUtils.toWindowedNonAdjacentForm(integer.abs(), width);
+        ScratchEd25519 scratch = ScratchEd25519.get();
+        MutablePointEd25519 result = new MutablePointEd25519();
 
-        int[] signedBin = ArrayUtils.toMutualOppositeForm(integer);
+        if (oddMultiples != null && width == PRECOMPUTED_WIDTH) {
+            result.multiplyNaf(naf, oddMultiples, scratch);
+        } else {
+            CachedPointEd25519[] table = scratch.oddMultiples;
+            if (table.length != 1 << (width - 2)) {
+                table = new CachedPointEd25519[1 << (width - 2)];
+                for (int i = 0; i < table.length; i++) {
+                    table[i] = new CachedPointEd25519();
+                }
+            }
+            MutablePointEd25519.oddMultiples(table, point, scratch);
+            result.multiplyNaf(naf, table, scratch);
+        }
 
-        for (int aSignedBin : signedBin) {
-            qs[0] = qs[0].doubling();
-            qs[1] = qs[0].add(rs[1 - aSignedBin]).negate();
-            qs[0] = qs[(aSignedBin ^ (aSignedBin >> 31)) - (aSignedBin >> 31)];
+        if (integer.signum() < 0) {
+            result.negate(result);
         }
-        return qs[0];
+        return new PointEd25519(result);
     }
 
     @Override
     public Point negateY() {
-        return new PointEd25519(x, y.negate(), z, t.negate());
+        MutablePointEd25519 result = new MutablePointEd25519();
+        result.set(point);
+        Field25519.neg(result.Y, point.Y);
+        Field25519.neg(result.T, point.T);
+        return new PointEd25519(result);
     }
 
     /**
@@ -128,25 +189,154 @@ class PointEd25519 extends Point {
      */
     @Override
     public final EncodedPoint encode() {
-        byte[] reversedY = ByteUtils.reverse(ArrayUtils.toByteArray(getAffineY().getInteger(), 32));
-        reversedY = ByteUtils.paddingZeroOnTail(reversedY, 32);
-        byte[] byteX = ArrayUtils.toByteArray(getAffineX().getInteger(), 32);
-        int lengthX = byteX.length;
-        int lengthY = reversedY.length;
-        int writeBit = byteX[lengthX - 1] & 0b00000001;
-
-        if (writeBit == 1) {
-            reversedY[lengthY - 1] |= 1 << 7;
-        } else {
-            writeBit = ~(1 << 7);
-            reversedY[lengthY - 1] &= writeBit;
+        ScratchEd25519 scratch = ScratchEd25519.get();
+        int[] zInverse = scratch.t0;
+        Field25519.invert(zInverse, point.Z);
+
+        byte[] encoded = new byte[32];
+        encode(encoded, point, zInverse, scratch);
+        return new EncodedPointEd25519(encoded);
+    }
+
+    /**
+     * Encode points into {@code output} from {@code offset}, 32 bytes each, with a single
+     * simultaneous inversion of all Z.
+     *
+     * @param points points on Curve25519
+     * @param output buffer of the encoded points
+     * @param offset index of {@code output} where the first encoded point is written
+     */
+    static void encodeAll(Point[] points, byte[] output, int offset) {
+        MutablePointEd25519[] mutablePoints = new MutablePointEd25519[points.length];
+        int[][] zInverse = new int[points.length][];
+        for (int i = 0; i < points.length; i++) {
+            mutablePoints[i] = from(points[i]).point;
+            zInverse[i] = Field25519.create();
+            Field25519.copy(zInverse[i], mutablePoints[i].Z);
         }
+        Field25519.batchInvert(zInverse, zInverse);
+
+        ScratchEd25519 scratch = ScratchEd25519.get();
+        byte[] encoded = new byte[32];
+        for (int i = 0; i < points.length; i++) {
+            encode(encoded, mutablePoints[i], zInverse[i], scratch);
+            System.arraycopy(encoded, 0, output, offset + 32 * i, 32);
+        }
+    }
+
+    /**
+     * Write the encoding of {@code p} into 32 bytes {@code s}, where {@code zInverse} is the
+     * inverse of Z of {@code p}.
+     */
+    private static void encode(byte[] s, MutablePointEd25519 p, int[] zInverse, ScratchEd25519 scratch) {
+        int[] x = scratch.t1;
+        int[] y = scratch.t2;
+        Field25519.mul(x, p.X, zInverse);
+        Field25519.mul(y, p.Y, zInverse);
 
-        return new EncodedPointEd25519(reversedY);
+        Field25519.toBytes(s, y);
+        s[31] |= Field25519.isNegative(x) << 7;
     }
 
     @Override
     public Point negate() {
-        return new PointEd25519(x.negate(), y.negate(), z, t);
+        MutablePointEd25519 result = new MutablePointEd25519();
+        result.set(point);
+        Field25519.neg(result.X, point.X);
+        Field25519.neg(result.Y, point.Y);
+        return new PointEd25519(result);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Compare on the projective coordinate, {@code X1 * Z2 = X2 * Z1} and {@code Y1 * Z2 = Y2 * Z1},
+     * so that no inversion is needed.
+     */
+    @Override
+    public boolean isEqual(Point point) {
+        if (!(point instanceof PointEd25519)) {
+            return super.isEqual(point);
+        }
+        MutablePointEd25519 that = ((PointEd25519) point).point;
+
+        ScratchEd25519 scratch = ScratchEd25519.get();
+        int[] lhs = scratch.t0;
+        int[] rhs = scratch.t1;
+        Field25519.mul(lhs, this.point.X, that.Z);
+        Field25519.mul(rhs, that.X, this.point.Z);
+        if (!Field25519.isEqual(lhs, rhs)) {
+            return false;
+        }
+        Field25519.mul(lhs, this.point.Y, that.Z);
+        Field25519.mul(rhs, that.Y, this.point.Z);
+        return Field25519.isEqual(lhs, rhs);
+    }
+
+    /**
+     * Return the same point with odd multiples {@code P, 3P, ..., 63P} in Niels form, which are
+     * used by double-scalar multiplication instead of computing odd multiples on every call.
+     *
+     * @return PointEd25519 instance which has odd multiples
+     */
+    PointEd25519 precompute() {
+        if (oddMultiples != null) {
+            return this;
+        }
+        ScratchEd25519 scratch = ScratchEd25519.get();
+
+        MutablePointEd25519[] odd = new MutablePointEd25519[1 << (PRECOMPUTED_WIDTH - 2)];
+        for (int i = 0; i < odd.length; i++) {
+            odd[i] = new MutablePointEd25519();
+        }
+        MutablePointEd25519.oddMultiples(odd, point, scratch);
+
+        int[][] zInverse = new int[odd.length][];
+        for (int i = 0; i < odd.length; i++) {
+            zInverse[i] = Field25519.create();
+            Field25519.copy(zInverse[i], odd[i].Z);
+        }
+        Field25519.batchInvert(zInverse, zInverse);
+
+        int[] x = Field25519.create();
+        int[] y = Field25519.create();
+        NielsPointEd25519[] table = new NielsPointEd25519[odd.length];
+        for (int i = 0; i < odd.length; i++) {
+            Field25519.mul(x, odd[i].X, zInverse[i]);
+            Field25519.mul(y, odd[i].Y, zInverse[i]);
+            table[i] = new NielsPointEd25519();
+            table[i].set(x, y, MutablePointEd25519.D2);
+        }
+        return new PointEd25519(point, table);
+    }
+
+    /**
+     * @return odd multiples {@code P, 3P, ..., 63P}, or null if they are not computed
+     * @see #precompute()
+     */
+    NielsPointEd25519[] getOddMultiples() {
+        return oddMultiples;
+    }
+
+    /**
+     * Copy this point into {@code dst}.
+     *
+     * @param dst destination
+     */
+    void copyTo(MutablePointEd25519 dst) {
+        dst.set(point);
+    }
+
+    /**
+     * Return {@code point} itself if it is a PointEd25519, otherwise convert it.
+     *
+     * @param point point on this curve
+     * @return PointEd25519 instance
+     */
+    static PointEd25519 from(Point point) {
+        if (point instanceof PointEd25519) {
+            return (PointEd25519) point;
+        }
+        return new PointEd25519(point.getX(), point.getY(), point.getZ(), point.getT());
     }
 }
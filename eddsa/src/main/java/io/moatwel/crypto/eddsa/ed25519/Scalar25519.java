@@ -0,0 +1,84 @@
+package io.moatwel.crypto.eddsa.ed25519;
+
+import io.moatwel.crypto.eddsa.ScalarArithmetic;
+
+import java.math.BigInteger;
+
+/**
+ * Arithmetic of scalars modulo the order L of the base point of Curve25519, on fixed-size words.
+ *
+ * <p>
+ * A scalar is represented by {@code int[8]}, unsigned 32-bit words from the least
+ * significant one, and results are always reduced into {@code [0, L)}. The arithmetic is
+ * shared with the other curve, see {@link ScalarArithmetic}.
+ *
+ * <p>
+ * This replaces {@link BigInteger} on signing and verification, where {@code r}, {@code k}
+ * and {@code S = k * s + r} are computed from hashes on every signature.
+ *
+ * @author halu5071 (Yasunori Horii)
+ */
+final class Scalar25519 {
+
+    static final int WORDS = 8;
+
+    // byte length of an encoded scalar
+    static final int BYTES = 32;
+
+    static final BigInteger L = BigInteger.ONE.shiftLeft(252).add(new BigInteger("27742317777372353535851937790883648493"));
+
+    private static final ScalarArithmetic ARITHMETIC = new ScalarArithmetic(L, BYTES);
+
+    private Scalar25519() {
+    }
+
+    static int[] create() {
+        return ARITHMETIC.create();
+    }
+
+    /**
+     * @param value integer between 0 and {@code 2^(32 * WORDS) - 1}, which is not reduced
+     * @return scalar
+     */
+    static int[] create(BigInteger value) {
+        return ARITHMETIC.create(value);
+    }
+
+    static BigInteger toBigInteger(int[] a) {
+        return ARITHMETIC.toBigInteger(a);
+    }
+
+    /**
+     * r = bytes mod L, where {@code bytes} is a little-endian integer of any length, for
+     * example a hash.
+     */
+    static void reduce(int[] r, byte[] bytes) {
+        ARITHMETIC.reduce(r, bytes);
+    }
+
+    /**
+     * r = a * b + c mod L. The operands do not need to be reduced.
+     */
+    static void mulAdd(int[] r, int[] a, int[] b, int[] c) {
+        ARITHMETIC.mulAdd(r, a, b, c);
+    }
+
+    /**
+     * Load an encoded scalar and check that it is canonical, in other words less than L.
+     *
+     * @param r     result, which is loaded even if it is not canonical
+     * @param bytes little-endian {@value #BYTES} bytes
+     * @return true if the scalar is less than L
+     */
+    static boolean decode(int[] r, byte[] bytes) {
+        return ARITHMETIC.decode(r, bytes);
+    }
+
+    /**
+     * @param a scalar less than L
+     * @return little-endian {@value #BYTES} bytes
+     */
+    static byte[] encode(int[] a) {
+        return ARITHMETIC.encode(a);
+    }
+}
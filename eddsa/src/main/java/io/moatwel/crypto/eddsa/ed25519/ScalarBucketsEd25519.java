@@ -0,0 +1,40 @@
+package io.moatwel.crypto.eddsa.ed25519;
+
+/**
+ * Buckets on scalar limbs, to which points are added one by one as soon as they are given.
+ *
+ * @author halu5071 (Yasunori Horii)
+ * @see BucketsEd25519
+ */
+final class ScalarBucketsEd25519 extends BucketsEd25519 {
+
+    private final MutablePointEd25519[] sums;
+
+    ScalarBucketsEd25519(int count) {
+        sums = new MutablePointEd25519[count];
+        for (int b = 0; b < count; b++) {
+            sums[b] = new MutablePointEd25519();
+        }
+    }
+
+    @Override
+    void clear() {
+        for (MutablePointEd25519 sum : sums) {
+            sum.setIdentity();
+        }
+    }
+
+    @Override
+    void add(int b, NielsPointEd25519 q, boolean negative, ScratchEd25519 scratch) {
+        if (negative) {
+            sums[b].subNiels(sums[b], q, scratch);
+        } else {
+            sums[b].addNiels(sums[b], q, scratch);
+        }
+    }
+
+    @Override
+    MutablePointEd25519 get(int b, ScratchEd25519 scratch) {
+        return sums[b];
+    }
+}
@@ -0,0 +1,62 @@
+package io.moatwel.crypto.eddsa.ed25519;
+
+/**
+ * Reusable working storage of point operations on Curve25519.
+ *
+ * <p>
+ * One instance is kept per thread, so that point operations on {@link MutablePointEd25519}
+ * do not allocate any object in steady state. Temporaries are only valid during a single
+ * operation, and an operation must not be called while another operation using the same
+ * scratch is running.
+ *
+ * @author halu5071 (Yasunori Horii)
+ */
+final class ScratchEd25519 {
+
+    private static final ThreadLocal<ScratchEd25519> LOCAL = new ThreadLocal<ScratchEd25519>() {
+        @Override
+        protected ScratchEd25519 initialValue() {
+            return new ScratchEd25519();
+        }
+    };
+
+    // temporaries of addition and doubling
+    final int[] t0 = Field25519.create();
+    final int[] t1 = Field25519.create();
+    final int[] t2 = Field25519.create();
+    final int[] t3 = Field25519.create();
+    final int[] t4 = Field25519.create();
+
+    // points of scalar multiplication
+    final MutablePointEd25519 base = new MutablePointEd25519();
+    final MutablePointEd25519 sum = new MutablePointEd25519();
+
+    // odd multiples P, 3P, ..., 15P of variable-base wNAF multiplication
+    final CachedPointEd25519[] oddMultiples = new CachedPointEd25519[8];
+
+    // multiples P, 2P, ..., 8P of variable-base fixed-window multiplication, and selected entry
+    final CachedPointEd25519[] cachedMultiples = new CachedPointEd25519[8];
+    final CachedPointEd25519 cached = new CachedPointEd25519();
+
+    // selected entry and signed radix-16 digits of fixed-base multiplication
+    final NielsPointEd25519 niels = new NielsPointEd25519();
+    final byte[] digits = new byte[64];
+
+    private ScratchEd25519() {
+        for (int i = 0; i < oddMultiples.length; i++) {
+            oddMultiples[i] = new CachedPointEd25519();
+        }
+        for (int i = 0; i < cachedMultiples.length; i++) {
+            cachedMultiples[i] = new CachedPointEd25519();
+        }
+    }
+
+    /**
+     * Return the scratch of the current thread.
+     *
+     * @return scratch
+     */
+    static ScratchEd25519 get() {
+        return LOCAL.get();
+    }
+}
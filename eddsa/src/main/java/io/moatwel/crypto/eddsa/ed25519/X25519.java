@@ -0,0 +1,178 @@
+package io.moatwel.crypto.eddsa.ed25519;
+
+import io.moatwel.crypto.PrivateKey;
+import io.moatwel.crypto.PublicKey;
+import io.moatwel.crypto.eddsa.HashDelegate;
+
+import java.math.BigInteger;
+
+/**
+ * X25519 key agreement of RFC 7748, a Diffie-Hellman function on the Montgomery curve
+ * {@code v^2 = u^3 + 486662 * u^2 + u} which is birationally equivalent to Ed25519.
+ *
+ * <p>
+ * Only the u-coordinate is used, and the scalar multiplication is done with the Montgomery
+ * ladder, which needs 5 multiplications and 4 squarings per bit and a single inversion at the
+ * end. The sequence of operations does not depend on the scalar.
+ *
+ * <p>
+ * Keys of Ed25519 can be converted with {@link #toMontgomery(PrivateKey, HashDelegate)} and
+ * {@link #toMontgomery(PublicKey)}, so that they can be used for key agreement as well. The
+ * result of key agreement with converted keys is the u-coordinate of the point computed by
+ * {@link io.moatwel.util.SharedKeyHelper#generateSharedKeySeed}.
+ *
+ * @author halu5071 (Yasunori Horii)
+ * @see <a href="https://tools.ietf.org/html/rfc7748">RFC 7748 Elliptic Curves for Security</a>
+ */
+public final class X25519 {
+
+    public static final int KEY_LENGTH = 32;
+
+    private static final int BITS = 255;
+
+    // (486662 - 2) / 4
+    private static final int A24 = 121665;
+
+    private static final byte[] BASE_U = new byte[KEY_LENGTH];
+
+    static {
+        BASE_U[0] = 9;
+    }
+
+    private X25519() {
+    }
+
+    /**
+     * X25519(k, u) of RFC 7748. The scalar is clamped, and the most significant bit of u is
+     * ignored.
+     *
+     * @param scalar 32 byte little-endian scalar
+     * @param u      32 byte little-endian u-coordinate
+     * @return 32 byte u-coordinate of {@code scalar * u}, which is all zero if u is of small order
+     * @throws IllegalArgumentException if the length of any argument is not 32 bytes
+     */
+    public static byte[] scalarMultiply(byte[] scalar, byte[] u) {
+        checkLength(scalar, "scalar");
+        checkLength(u, "u");
+
+        byte[] k = clamp(scalar);
+        int[] x1 = Field25519.create();
+        Field25519.fromBytes(x1, u);
+        int[] x2 = Field25519.create();
+        int[] z2 = Field25519.create();
+        int[] x3 = Field25519.create();
+        int[] z3 = Field25519.create();
+        int[] a = Field25519.create();
+        int[] aa = Field25519.create();
+        int[] b = Field25519.create();
+        int[] bb = Field25519.create();
+        int[] e = Field25519.create();
+        int[] c = Field25519.create();
+        int[] d = Field25519.create();
+
+        Field25519.one(x2);
+        Field25519.copy(x3, x1);
+        Field25519.one(z3);
+        int swap = 0;
+        for (int t = BITS - 1; t >= 0; t--) {
+            int bit = (k[t >>> 3] >>> (t & 7)) & 1;
+            swap ^= bit;
+            Field25519.cswap(x2, x3, swap);
+            Field25519.cswap(z2, z3, swap);
+            swap = bit;
+
+            Field25519.addLazy(a, x2, z2);
+            Field25519.square(aa, a);
+            Field25519.subLazy(b, x2, z2);
+            Field25519.square(bb, b);
+            Field25519.subLazy(e, aa, bb);
+            Field25519.addLazy(c, x3, z3);
+            Field25519.subLazy(d, x3, z3);
+            // d = DA, c = CB
+            Field25519.mul(d, d, a);
+            Field25519.mul(c, c, b);
+            Field25519.addLazy(x3, d, c);
+            Field25519.square(x3, x3);
+            Field25519.subLazy(z3, d, c);
+            Field25519.square(z3, z3);
+            Field25519.mul(z3, z3, x1);
+            Field25519.mul(x2, aa, bb);
+            Field25519.mulSmall(z2, e, A24);
+            Field25519.addLazy(z2, z2, aa);
+            Field25519.mul(z2, z2, e);
+        }
+        Field25519.cswap(x2, x3, swap);
+        Field25519.cswap(z2, z3, swap);
+
+        Field25519.invert(z2, z2);
+        Field25519.mul(x2, x2, z2);
+        return Field25519.toBytes(x2);
+    }
+
+    /**
+     * X25519(k, 9), the public key of a scalar.
+     *
+     * @param scalar 32 byte little-endian scalar
+     * @return 32 byte u-coordinate of {@code scalar * 9}
+     */
+    public static byte[] scalarMultiplyBase(byte[] scalar) {
+        return scalarMultiply(scalar, BASE_U);
+    }
+
+    /**
+     * Convert a private key of Ed25519 into a scalar of X25519, which is the clamped secret
+     * scalar of the private key.
+     *
+     * @param privateKey   private key of Ed25519
+     * @param hashDelegate hash function of the scheme of the key
+     * @return 32 byte little-endian scalar
+     */
+    public static byte[] toMontgomery(PrivateKey privateKey, HashDelegate hashDelegate) {
+        BigInteger scalar = privateKey.getScalarSeed(hashDelegate);
+        byte[] k = new byte[KEY_LENGTH];
+        for (int i = 0; i < KEY_LENGTH; i++) {
+            k[i] = (byte) scalar.shiftRight(8 * i).intValue();
+        }
+        return k;
+    }
+
+    /**
+     * Convert a public key of Ed25519 into a u-coordinate with {@code u = (1 + y) / (1 - y)}.
+     * Only y is read, so the key is not checked to be on Ed25519. Any u is safe for X25519,
+     * since both the curve and its twist have large prime-order subgroups.
+     *
+     * @param publicKey public key of Ed25519
+     * @return 32 byte little-endian u-coordinate
+     * @throws IllegalArgumentException if the length of the key is not 32 bytes
+     */
+    public static byte[] toMontgomery(PublicKey publicKey) {
+        byte[] raw = publicKey.getRaw();
+        checkLength(raw, "public key");
+
+        int[] y = Field25519.create();
+        Field25519.fromBytes(y, raw);
+        int[] one = Field25519.create();
+        Field25519.one(one);
+        int[] numerator = Field25519.create();
+        int[] denominator = Field25519.create();
+        Field25519.add(numerator, one, y);
+        Field25519.sub(denominator, one, y);
+        Field25519.invert(denominator, denominator);
+        Field25519.mul(numerator, numerator, denominator);
+        return Field25519.toBytes(numerator);
+    }
+
+    private static byte[] clamp(byte[] scalar) {
+        byte[] k = scalar.clone();
+        k[0] &= (byte) 248;
+        k[31] &= 127;
+        k[31] |= 64;
+        return k;
+    }
+
+    private static void checkLength(byte[] value, String name) {
+        if (value.length != KEY_LENGTH) {
+            throw new IllegalArgumentException(name + " must be " + KEY_LENGTH + " bytes.");
+        }
+    }
+}
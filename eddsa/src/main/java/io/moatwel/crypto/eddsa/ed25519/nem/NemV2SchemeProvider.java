@@ -1,6 +1,7 @@
 package io.moatwel.crypto.eddsa.ed25519.nem;
 
 import io.moatwel.crypto.HashAlgorithm;
+import io.moatwel.crypto.eddsa.ArithmeticBackend;
 import io.moatwel.crypto.eddsa.PublicKeyDelegate;
 import io.moatwel.crypto.eddsa.ed25519.Ed25519SchemeProvider;
 
@@ -10,6 +11,10 @@ public class NemV2SchemeProvider extends Ed25519SchemeProvider {
         super(HashAlgorithm.SHA3_512);
     }
 
+    public NemV2SchemeProvider(ArithmeticBackend backend) {
+        super(HashAlgorithm.SHA3_512, backend);
+    }
+
     @Override
     public PublicKeyDelegate getPublicKeyDelegate() {
         return new NemV2PublicKeyDelegate();
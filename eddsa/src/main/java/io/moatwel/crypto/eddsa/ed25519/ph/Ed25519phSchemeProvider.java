@@ -4,11 +4,11 @@ import io.moatwel.crypto.EdDsaSigner;
 import io.moatwel.crypto.HashAlgorithm;
 import io.moatwel.crypto.Hashes;
 import io.moatwel.crypto.PrivateKey;
+import io.moatwel.crypto.eddsa.ArithmeticBackend;
 import io.moatwel.crypto.eddsa.PublicKeyDelegate;
 import io.moatwel.crypto.eddsa.SchemeProvider;
 import io.moatwel.crypto.eddsa.ed25519.Curve25519;
 import io.moatwel.crypto.eddsa.ed25519.Ed25519PublicKeyDelegate;
-import io.moatwel.crypto.eddsa.ed25519.Ed25519Signer;
 import io.moatwel.util.ByteUtils;
 
 import java.security.SecureRandom;
@@ -18,7 +18,18 @@ public class Ed25519phSchemeProvider extends SchemeProvider {
     private final HashAlgorithm algorithm;
 
     public Ed25519phSchemeProvider(HashAlgorithm algorithm) {
-        super(Curve25519.getInstance());
+        this(algorithm, null);
+    }
+
+    /**
+     * Create Ed25519phSchemeProvider on the backend of arithmetic.
+     *
+     * @param algorithm hash algorithm you use.
+     * @param backend   {@link ArithmeticBackend}, or null to use the default backend.
+     * @throws IllegalArgumentException if {@code backend} does not support Curve25519.
+     */
+    public Ed25519phSchemeProvider(HashAlgorithm algorithm, ArithmeticBackend backend) {
+        super(Curve25519.getInstance(), backend);
 
         if (algorithm == null) {
             throw new IllegalArgumentException("argument HashAlgorithm must not be null.");
@@ -28,7 +39,7 @@ public class Ed25519phSchemeProvider extends SchemeProvider {
 
     @Override
     public EdDsaSigner getSigner() {
-        return new Ed25519Signer(algorithm, this);
+        return getBackendSigner(algorithm);
     }
 
     @Override
@@ -0,0 +1,313 @@
+package io.moatwel.crypto.eddsa.ed448;
+
+import io.moatwel.util.ArrayUtils;
+
+import java.math.BigInteger;
+
+/**
+ * Precomputed multiples of the base point of Curve448 for fixed-base scalar multiplication.
+ *
+ * <p>
+ * Multiples are kept on the twisted curve of {@link TwistedPointEd448}, as multiples of the
+ * isogeny B' of B. Since B is of order L, {@code a * B} is the dual isogeny of
+ * {@code (a / 4 mod L) * B'}. The scalar {@code a / 4 mod L} is written in signed radix 16,
+ * {@code e[0] + 16 * e[1] + ... + 16^111 * e[111]} with {@code -8 <= e[i] <= 8}, and
+ * {@code j * 256^i * B'} for {@code 1 <= j <= 8} and {@code 0 <= i < 56} are kept in Niels form.
+ * Then the product is {@code sum(e[2i] * 256^i * B') + 16 * sum(e[2i + 1] * 256^i * B')}, which
+ * needs only 112 mixed additions and 4 doublings.
+ *
+ * <p>
+ * Odd multiples {@code B', 3B', ..., 127B'} are kept as well for wNAF, which is used by
+ * double-scalar multiplication on verification.
+ *
+ * @author Yasunori Horii.
+ * @see io.moatwel.crypto.eddsa.ed25519.BasePointTableEd25519
+ */
+final class BasePointTableEd448 {
+
+    private static final int ROWS = 56;
+    private static final int COLUMNS = 8;
+
+    // window width of wNAF of the scalar of the base point, and of a variable point.
+    private static final int BASE_WIDTH = 8;
+    private static final int POINT_WIDTH = 5;
+
+    private static final BigInteger L = Curve448.getInstance().getPrimeL();
+
+    // 1 / 4 mod L, and zero
+    private static final int[] QUARTER = Scalar448.create(BigInteger.valueOf(4).modInverse(L));
+    private static final int[] ZERO = Scalar448.create();
+
+    private final TwistedNielsPointEd448[][] table = new TwistedNielsPointEd448[ROWS][COLUMNS];
+
+    // odd multiples B', 3B', ..., 127B' for wNAF
+    private final TwistedNielsPointEd448[] oddMultiples = new TwistedNielsPointEd448[1 << (BASE_WIDTH - 2)];
+
+    BasePointTableEd448(PointEd448 base) {
+        ScratchEd448 scratch = ScratchEd448.get();
+
+        MutablePointEd448 mutableBase = new MutablePointEd448();
+        base.copyTo(mutableBase);
+        TwistedPointEd448 twistedBase = new TwistedPointEd448();
+        twistedBase.isogeny(mutableBase, scratch);
+
+        TwistedPointEd448[] points = new TwistedPointEd448[ROWS * COLUMNS];
+        TwistedPointEd448 row = new TwistedPointEd448();
+        TwistedCachedPointEd448 cachedRow = new TwistedCachedPointEd448();
+        row.set(twistedBase);
+        for (int i = 0; i < ROWS; i++) {
+            cachedRow.set(row);
+            points[i * COLUMNS] = new TwistedPointEd448();
+            points[i * COLUMNS].set(row);
+            for (int j = 1; j < COLUMNS; j++) {
+                points[i * COLUMNS + j] = new TwistedPointEd448();
+                points[i * COLUMNS + j].addCached(points[i * COLUMNS + j - 1], cachedRow, scratch);
+            }
+            // row = 256 * row
+            for (int k = 0; k < 8; k++) {
+                row.doubling(row, scratch);
+            }
+        }
+
+        TwistedPointEd448[] odd = new TwistedPointEd448[oddMultiples.length];
+        for (int i = 0; i < odd.length; i++) {
+            odd[i] = new TwistedPointEd448();
+        }
+        TwistedPointEd448.oddMultiples(odd, twistedBase, scratch);
+
+        TwistedPointEd448[] all = new TwistedPointEd448[points.length + odd.length];
+        System.arraycopy(points, 0, all, 0, points.length);
+        System.arraycopy(odd, 0, all, points.length, odd.length);
+
+        TwistedNielsPointEd448[] niels = TwistedNielsPointEd448.fromExtended(all);
+        for (int i = 0; i < points.length; i++) {
+            table[i / COLUMNS][i % COLUMNS] = niels[i];
+        }
+        System.arraycopy(niels, points.length, oddMultiples, 0, odd.length);
+    }
+
+    /**
+     * h = scalar * B. The scalar is reduced by modulo L before multiplication, and the
+     * sequence of operations does not depend on its value.
+     *
+     * @param h       result
+     * @param scalar  scalar
+     * @param scratch scratch of the current thread
+     */
+    void multiply(MutablePointEd448 h, BigInteger scalar, ScratchEd448 scratch) {
+        multiply(h, Scalar448.create(scalar.mod(L)), scratch);
+    }
+
+    /**
+     * h = scalar * B, where the scalar is already reduced by modulo L in {@link Scalar448} form.
+     *
+     * @param h       result
+     * @param scalar  scalar less than L
+     * @param scratch scratch of the current thread
+     */
+    void multiply(MutablePointEd448 h, int[] scalar, ScratchEd448 scratch) {
+        int[] quarter = Scalar448.create();
+        Scalar448.mulAdd(quarter, scalar, QUARTER, ZERO);
+        byte[] e = scratch.digits;
+        toSignedDigits(e, quarter);
+
+        TwistedNielsPointEd448 t = scratch.niels;
+        TwistedPointEd448 sum = scratch.twisted;
+        sum.setIdentity();
+        for (int i = 1; i < 112; i += 2) {
+            select(t, i / 2, e[i], scratch.t0);
+            sum.addNiels(sum, t, scratch);
+        }
+
+        sum.doublingProjective(sum, scratch);
+        sum.doublingProjective(sum, scratch);
+        sum.doublingProjective(sum, scratch);
+        sum.doubling(sum, scratch);
+
+        for (int i = 0; i < 112; i += 2) {
+            select(t, i / 2, e[i], scratch.t0);
+            sum.addNiels(sum, t, scratch);
+        }
+        h.dualIsogeny(sum, scratch);
+    }
+
+    /**
+     * h = s * B - k * A, with interleaved wNAF (Straus' method) so that both multiplications
+     * share doublings. k is written as {@code 4 * q + r} with {@code 0 <= r < 4}, then
+     * {@code (s / 4 mod L) * B' - q * A'} is computed on the twisted curve, where B' and A' are
+     * the isogenies of B and A, and {@code r * A} is subtracted from its dual isogeny. The scalars
+     * must be less than L. This runs in variable time, so it must be used only with public values,
+     * for example on verification.
+     *
+     * @param h       result, must not be in {@code scratch}
+     * @param s       scalar of the base point, less than L
+     * @param a       point A
+     * @param k       scalar of A, less than L
+     * @param scratch scratch of the current thread
+     */
+    void doubleScalarMultiply(MutablePointEd448 h, int[] s, MutablePointEd448 a, int[] k,
+                              ScratchEd448 scratch) {
+        TwistedPointEd448 twistedA = scratch.twistedBase;
+        twistedA.isogeny(a, scratch);
+        TwistedCachedPointEd448[] aMultiples = scratch.oddMultiples;
+        TwistedPointEd448.oddMultiples(aMultiples, twistedA, scratch);
+
+        int[] q = Scalar448.create();
+        int r = divideBy4(q, k);
+        int[] quarter = Scalar448.create();
+        Scalar448.mulAdd(quarter, s, QUARTER, ZERO);
+
+        TwistedPointEd448 sum = scratch.twisted;
+        interleave(sum, ArrayUtils.toWindowedNonAdjacentForm(quarter, BASE_WIDTH), aMultiples,
+                ArrayUtils.toWindowedNonAdjacentForm(q, POINT_WIDTH), scratch);
+        h.dualIsogeny(sum, scratch);
+        for (; r > 0; r--) {
+            h.sub(h, a, scratch);
+        }
+    }
+
+    /**
+     * h = s * B - k * A, where the isogeny A' of A has odd multiples
+     * {@code A', 3A', ..., (2^(width - 1) - 1)A'} in Niels form computed in advance, so that no
+     * odd multiple is computed here and each addition of A' needs one multiplication less. This
+     * runs in variable time as well.
+     *
+     * @param h          result, must not be in {@code scratch}
+     * @param s          scalar of the base point, less than L
+     * @param a          point A
+     * @param aMultiples odd multiples of the isogeny of point A
+     * @param width      width of wNAF of {@code k}
+     * @param k          scalar of A, less than L
+     * @param scratch    scratch of the current thread
+     * @see #doubleScalarMultiply(MutablePointEd448, int[], MutablePointEd448, int[], ScratchEd448)
+     */
+    void doubleScalarMultiply(MutablePointEd448 h, int[] s, MutablePointEd448 a, TwistedNielsPointEd448[] aMultiples,
+                              int width, int[] k, ScratchEd448 scratch) {
+        int[] q = Scalar448.create();
+        int r = divideBy4(q, k);
+        int[] quarter = Scalar448.create();
+        Scalar448.mulAdd(quarter, s, QUARTER, ZERO);
+
+        byte[] sNaf = ArrayUtils.toWindowedNonAdjacentForm(quarter, BASE_WIDTH);
+        byte[] kNaf = ArrayUtils.toWindowedNonAdjacentForm(q, width);
+
+        int i = Math.max(sNaf.length, kNaf.length) - 1;
+        while (i >= 0 && digit(sNaf, i) == 0 && digit(kNaf, i) == 0) {
+            i--;
+        }
+
+        TwistedPointEd448 sum = scratch.twisted;
+        sum.setIdentity();
+        for (; i >= 0; i--) {
+            int sDigit = digit(sNaf, i);
+            int kDigit = digit(kNaf, i);
+            // T is needed only if a point is added next
+            if (sDigit == 0 && kDigit == 0 && i > 0) {
+                sum.doublingProjective(sum, scratch);
+                continue;
+            }
+            sum.doubling(sum, scratch);
+
+            if (sDigit > 0) {
+                sum.addNiels(sum, oddMultiples[sDigit >> 1], scratch);
+            } else if (sDigit < 0) {
+                sum.subNiels(sum, oddMultiples[-sDigit >> 1], scratch);
+            }
+
+            if (kDigit > 0) {
+                sum.subNiels(sum, aMultiples[kDigit >> 1], scratch);
+            } else if (kDigit < 0) {
+                sum.addNiels(sum, aMultiples[-kDigit >> 1], scratch);
+            }
+        }
+        h.dualIsogeny(sum, scratch);
+        for (; r > 0; r--) {
+            h.sub(h, a, scratch);
+        }
+    }
+
+    /**
+     * h = sNaf * B' - kNaf * A', where {@code aMultiples} are odd multiples of A'.
+     */
+    private void interleave(TwistedPointEd448 h, byte[] sNaf, TwistedCachedPointEd448[] aMultiples,
+                            byte[] kNaf, ScratchEd448 scratch) {
+        int i = Math.max(sNaf.length, kNaf.length) - 1;
+        while (i >= 0 && digit(sNaf, i) == 0 && digit(kNaf, i) == 0) {
+            i--;
+        }
+
+        h.setIdentity();
+        for (; i >= 0; i--) {
+            int sDigit = digit(sNaf, i);
+            int kDigit = digit(kNaf, i);
+            if (sDigit == 0 && kDigit == 0 && i > 0) {
+                h.doublingProjective(h, scratch);
+                continue;
+            }
+            h.doubling(h, scratch);
+
+            if (sDigit > 0) {
+                h.addNiels(h, oddMultiples[sDigit >> 1], scratch);
+            } else if (sDigit < 0) {
+                h.subNiels(h, oddMultiples[-sDigit >> 1], scratch);
+            }
+
+            if (kDigit > 0) {
+                h.subCached(h, aMultiples[kDigit >> 1], scratch);
+            } else if (kDigit < 0) {
+                h.addCached(h, aMultiples[-kDigit >> 1], scratch);
+            }
+        }
+    }
+
+    /**
+     * q = k / 4, and return k mod 4.
+     */
+    private static int divideBy4(int[] q, int[] k) {
+        for (int i = 0; i < k.length; i++) {
+            int next = i + 1 < k.length ? k[i + 1] : 0;
+            q[i] = (k[i] >>> 2) | (next << 30);
+        }
+        return k[0] & 3;
+    }
+
+    private static int digit(byte[] naf, int i) {
+        return i < naf.length ? naf[i] : 0;
+    }
+
+    /**
+     * t = b * 256^row * B', without any branch or memory access depending on {@code b}.
+     */
+    private void select(TwistedNielsPointEd448 t, int row, byte b, int[] tmp) {
+        int negative = (b >> 7) & 1;
+        int abs = b - ((-negative & b) << 1);
+
+        t.setIdentity();
+        for (int j = 0; j < COLUMNS; j++) {
+            t.cmov(table[row][j], equal(abs, j + 1));
+        }
+        t.cneg(negative, tmp);
+    }
+
+    private static int equal(int b, int c) {
+        return ((b ^ c) - 1) >>> 31;
+    }
+
+    private static void toSignedDigits(byte[] e, int[] a) {
+        for (int i = 0; i < 56; i++) {
+            int b = (a[i >>> 2] >>> ((i & 3) << 3)) & 0xFF;
+            e[2 * i] = (byte) (b & 15);
+            e[2 * i + 1] = (byte) ((b >> 4) & 15);
+        }
+
+        // each e[i] is between 0 and 15, and e[111] is between 0 and 3 since a < L < 2^446.
+        int carry = 0;
+        for (int i = 0; i < 111; i++) {
+            e[i] += carry;
+            carry = (e[i] + 8) >> 4;
+            e[i] -= carry << 4;
+        }
+        e[111] += carry;
+        // now each e[i] is between -8 and 8.
+    }
+}
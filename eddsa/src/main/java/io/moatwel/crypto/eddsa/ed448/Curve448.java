@@ -2,6 +2,7 @@ package io.moatwel.crypto.eddsa.ed448;
 
 import io.moatwel.crypto.eddsa.Coordinate;
 import io.moatwel.crypto.eddsa.Curve;
+import io.moatwel.crypto.eddsa.MultiScalarMultiplier;
 import io.moatwel.crypto.eddsa.Point;
 
 import java.math.BigInteger;
@@ -44,6 +45,77 @@ public class Curve448 extends Curve {
         return BASE;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This uses the table of BasePoint which is computed at the first call.
+     */
+    @Override
+    public Point multiplyBase(BigInteger scalar) {
+        MutablePointEd448 result = new MutablePointEd448();
+        TableHolder.TABLE.multiply(result, scalar, ScratchEd448.get());
+        return new PointEd448(result);
+    }
+
+    /**
+     * Return {@code scalar * B} with a scalar already reduced by modulo L in {@link Scalar448} form.
+     */
+    Point multiplyBase(int[] scalar) {
+        MutablePointEd448 result = new MutablePointEd448();
+        TableHolder.TABLE.multiply(result, scalar, ScratchEd448.get());
+        return new PointEd448(result);
+    }
+
+    /**
+     * Return {@code s * B - k * A} with a single double-scalar multiplication, which runs in
+     * variable time. This is for verification, {@code s * B - k * A} must be equal to R.
+     * <p>
+     * Odd multiples of A are used if it has them, see {@link PointEd448#precompute()}.
+     *
+     * @param s scalar of BasePoint
+     * @param a point A
+     * @param k scalar of A
+     * @return {@link Point} instance of {@code s * B - k * A}
+     */
+    Point multiplyBaseMinus(BigInteger s, Point a, BigInteger k) {
+        return multiplyBaseMinus(Scalar448.create(s.mod(getPrimeL())), a, Scalar448.create(k.mod(getPrimeL())));
+    }
+
+    /**
+     * Same as {@link #multiplyBaseMinus(BigInteger, Point, BigInteger)}, with scalars already
+     * reduced by modulo L in {@link Scalar448} form.
+     */
+    Point multiplyBaseMinus(int[] s, Point a, int[] k) {
+        PointEd448 pointA = PointEd448.from(a);
+        MutablePointEd448 mutableA = new MutablePointEd448();
+        pointA.copyTo(mutableA);
+        MutablePointEd448 result = new MutablePointEd448();
+        if (pointA.getOddMultiples() != null) {
+            TableHolder.TABLE.doubleScalarMultiply(result, s, mutableA, pointA.getOddMultiples(),
+                    PointEd448.PRECOMPUTED_WIDTH, k, ScratchEd448.get());
+            return new PointEd448(result);
+        }
+        TableHolder.TABLE.doubleScalarMultiply(result, s, mutableA, k, ScratchEd448.get());
+        return new PointEd448(result);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * All Z are inverted with a single inversion.
+     */
+    @Override
+    public void encodeBatch(Point[] points, byte[] output, int offset) {
+        checkEncodeBatch(points, output, offset);
+        PointEd448.encodeAll(points, output, offset);
+    }
+
+    @Override
+    public MultiScalarMultiplier getMultiScalarMultiplier(int strausWidth, int pippengerWindow,
+                                                          int strausThreshold) {
+        return new MultiScalarMultiplierEd448(strausWidth, pippengerWindow, strausThreshold);
+    }
+
     @Override
     public BigInteger getPrimeL() {
         return L;
@@ -67,4 +139,8 @@ public class Curve448 extends Curve {
     private static class CurveHolder {
         private static final Curve448 INSTANCE = new Curve448();
     }
+
+    private static class TableHolder {
+        private static final BasePointTableEd448 TABLE = new BasePointTableEd448((PointEd448) BASE);
+    }
 }
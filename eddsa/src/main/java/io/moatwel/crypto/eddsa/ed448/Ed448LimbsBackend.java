@@ -0,0 +1,39 @@
+package io.moatwel.crypto.eddsa.ed448;
+
+import io.moatwel.crypto.EdDsaSigner;
+import io.moatwel.crypto.HashAlgorithm;
+import io.moatwel.crypto.eddsa.ArithmeticBackend;
+import io.moatwel.crypto.eddsa.Curve;
+import io.moatwel.crypto.eddsa.SchemeProvider;
+
+/**
+ * Backend of Curve448 on fixed 16-limb field elements of {@link Field448}. It runs on any
+ * Java 7 platform.
+ *
+ * @author halu5071 (Yasunori Horii)
+ * @see ArithmeticBackend
+ */
+public final class Ed448LimbsBackend extends ArithmeticBackend {
+
+    public static final String NAME = "limbs";
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public int getPriority() {
+        return 100;
+    }
+
+    @Override
+    public Curve getCurve(Curve curve) {
+        return isSameCurve(curve, Curve448.getInstance()) ? Curve448.getInstance() : null;
+    }
+
+    @Override
+    public EdDsaSigner getSigner(SchemeProvider schemeProvider, HashAlgorithm algorithm) {
+        return new Ed448Signer(algorithm, schemeProvider);
+    }
+}
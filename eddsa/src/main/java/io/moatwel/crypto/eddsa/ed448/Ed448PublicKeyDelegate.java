@@ -35,7 +35,7 @@ public class Ed448PublicKeyDelegate implements PublicKeyDelegate, HashDelegate {
 
         BigInteger s = privateKey.getScalarSeed(this);
 
-        Point point = CURVE.getBasePoint().scalarMultiply(s);
+        Point point = CURVE.multiplyBase(s);
         return point.encode().getValue();
     }
 
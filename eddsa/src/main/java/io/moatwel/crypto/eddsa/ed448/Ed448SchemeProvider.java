@@ -3,6 +3,7 @@ package io.moatwel.crypto.eddsa.ed448;
 import io.moatwel.crypto.EdDsaSigner;
 import io.moatwel.crypto.HashAlgorithm;
 import io.moatwel.crypto.PrivateKey;
+import io.moatwel.crypto.eddsa.ArithmeticBackend;
 import io.moatwel.crypto.eddsa.PublicKeyDelegate;
 import io.moatwel.crypto.eddsa.SchemeProvider;
 import io.moatwel.util.ByteUtils;
@@ -27,7 +28,18 @@ public class Ed448SchemeProvider extends SchemeProvider {
      * @param hashAlgorithm hash algorithm you use.
      */
     public Ed448SchemeProvider(HashAlgorithm hashAlgorithm) {
-        super(Curve448.getInstance());
+        this(hashAlgorithm, null);
+    }
+
+    /**
+     * Create Ed448SchemeProvider on the backend of arithmetic.
+     *
+     * @param hashAlgorithm hash algorithm you use.
+     * @param backend       {@link ArithmeticBackend}, or null to use the default backend.
+     * @throws IllegalArgumentException if {@code backend} does not support Curve448.
+     */
+    public Ed448SchemeProvider(HashAlgorithm hashAlgorithm, ArithmeticBackend backend) {
+        super(Curve448.getInstance(), backend);
 
         if (hashAlgorithm == null) {
             throw new IllegalArgumentException("argument HashAlgorithm must not be null.");
@@ -37,7 +49,7 @@ public class Ed448SchemeProvider extends SchemeProvider {
 
     @Override
     public EdDsaSigner getSigner() {
-        return new Ed448Signer(hashAlgorithm, this);
+        return getBackendSigner(hashAlgorithm);
     }
 
     @Override
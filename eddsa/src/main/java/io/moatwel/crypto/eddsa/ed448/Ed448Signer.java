@@ -1,22 +1,26 @@
 package io.moatwel.crypto.eddsa.ed448;
 
 import io.moatwel.crypto.EdDsaSigner;
+import io.moatwel.crypto.ExpandedPrivateKey;
 import io.moatwel.crypto.HashAlgorithm;
 import io.moatwel.crypto.Hashes;
 import io.moatwel.crypto.KeyPair;
+import io.moatwel.crypto.PreparedPublicKey;
 import io.moatwel.crypto.PrivateKey;
 import io.moatwel.crypto.PublicKey;
 import io.moatwel.crypto.Signature;
-import io.moatwel.crypto.eddsa.Curve;
+import io.moatwel.crypto.VerificationItem;
 import io.moatwel.crypto.eddsa.DecodeException;
-import io.moatwel.crypto.eddsa.EncodedCoordinate;
+import io.moatwel.crypto.eddsa.EdDsaKeyGenerator;
 import io.moatwel.crypto.eddsa.EncodedPoint;
 import io.moatwel.crypto.eddsa.Point;
-import io.moatwel.crypto.eddsa.PublicKeyDelegate;
 import io.moatwel.crypto.eddsa.SchemeProvider;
 import io.moatwel.util.ByteUtils;
 
 import java.math.BigInteger;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * A signer on Curve448 of Edwards-CURVE DSA.
@@ -25,7 +29,7 @@ import java.math.BigInteger;
  */
 public class Ed448Signer implements EdDsaSigner {
 
-    private static final Curve CURVE = Curve448.getInstance();
+    private static final Curve448 CURVE = Curve448.getInstance();
 
     private final HashAlgorithm algorithm;
     private final SchemeProvider scheme;
@@ -37,34 +41,37 @@ public class Ed448Signer implements EdDsaSigner {
 
     @Override
     public Signature sign(KeyPair keyPair, byte[] data, byte[] context) {
+        return sign(new EdDsaKeyGenerator(scheme).expandPrivateKey(keyPair), data, context);
+    }
+
+    @Override
+    public Signature sign(ExpandedPrivateKey expandedPrivateKey, byte[] data, byte[] context) {
         context = beNonNullContext(context);
         checkContextLength(context);
 
-        PublicKeyDelegate delegate = scheme.getPublicKeyDelegate();
-        byte[] h = delegate.hashPrivateKey(keyPair.getPrivateKey());
-
-        BigInteger s = keyPair.getPrivateKey().getScalarSeed(delegate);
+        int[] s = Scalar448.create(expandedPrivateKey.getScalar());
 
         byte[] dom = scheme.dom(context);
-        byte[] prefix = ByteUtils.split(h, 57)[1];
+        byte[] prefix = expandedPrivateKey.getPrefix();
         byte[] ph = scheme.preHash(data);
 
         byte[] rSeed = Hashes.hash(algorithm, 114, dom, prefix, ph);
-        byte[] rSeedReversed = ByteUtils.reverse(rSeed);
-        BigInteger r = new BigInteger(1, rSeedReversed).mod(CURVE.getPrimeL());
+        int[] r = Scalar448.create();
+        Scalar448.reduce(r, rSeed);
 
-        Point pointR = CURVE.getBasePoint().scalarMultiply(r);
+        Point pointR = CURVE.multiplyBase(r);
         byte[] rPoint = pointR.encode().getValue();
 
-        byte[] kSeed = Hashes.hash(algorithm, 114, dom, rPoint, keyPair.getPublicKey().getRaw(), ph);
+        byte[] kSeed = Hashes.hash(algorithm, 114, dom, rPoint, expandedPrivateKey.getPublicKey().getRaw(), ph);
 
-        BigInteger k = new BigInteger(1, ByteUtils.reverse(kSeed));
+        int[] k = Scalar448.create();
+        Scalar448.reduce(k, kSeed);
 
-        BigInteger pointS = k.mod(CURVE.getPrimeL()).multiply(s).add(r).mod(CURVE.getPrimeL());
-        byte[] sPoint = new CoordinateEd448(pointS).encode().getValue();
+        int[] pointS = Scalar448.create();
+        Scalar448.mulAdd(pointS, k, s, r);
+        byte[] sPoint = Scalar448.encode(pointS);
 
-        return new SignatureEd448(ByteUtils.paddingZeroOnTail(rPoint, 57),
-                ByteUtils.paddingZeroOnTail(sPoint, 57));
+        return new SignatureEd448(ByteUtils.paddingZeroOnTail(rPoint, 57), sPoint);
     }
 
     @Override
@@ -74,37 +81,166 @@ public class Ed448Signer implements EdDsaSigner {
 
     @Override
     public boolean verify(PublicKey publicKey, byte[] data, byte[] context, Signature signature) {
-        try {
-            context = beNonNullContext(context);
-            checkContextLength(context);
+        Equation equation = decodeEquation(publicKey, data, context, signature);
+        return equation != null && equation.holds();
+    }
 
-            byte[] rSeed = signature.getR();
-            EncodedPoint encodedR = new EncodedPointEd448(rSeed);
-            Point r = encodedR.decode();
+    @Override
+    public boolean verify(PreparedPublicKey preparedPublicKey, byte[] data, byte[] context, Signature signature) {
+        if (!(preparedPublicKey.getPoint() instanceof PointEd448)) {
+            // prepared by another backend, or on another curve
+            return verify(preparedPublicKey.getPublicKey(), data, context, signature);
+        }
+        Equation equation = decodeEquation(preparedPublicKey.getPoint(), preparedPublicKey.getEncoded(),
+                data, context, signature);
+        return equation != null && equation.holds();
+    }
 
-            EncodedPoint encodedPublicKey = new EncodedPointEd448(publicKey.getRaw());
-            Point a = encodedPublicKey.decode();
+    @Override
+    public PreparedPublicKey prepare(PublicKey publicKey, boolean precompute) throws DecodeException {
+        PointEd448 a = PointEd448.from(new EncodedPointEd448(publicKey.getRaw()).decode());
+        if (precompute) {
+            a = a.precompute();
+        }
+        return new PreparedPublicKey(publicKey, a, a.encode().getValue());
+    }
 
-            EncodedCoordinate encodedS = new EncodedCoordinateEd448(signature.getS());
-            BigInteger s = encodedS.decode().getInteger();
-            if (s.compareTo(BigInteger.ZERO) < 0 || s.compareTo(CURVE.getPrimeL()) > 0) {
-                return false;
+    @Override
+    public boolean[] verifyBatch(List<VerificationItem> items) {
+        boolean[] results = new boolean[items.size()];
+        Equation[] equations = new Equation[items.size()];
+        Point[] points = new Point[2 * items.size() + 1];
+        BigInteger[] scalars = new BigInteger[2 * items.size() + 1];
+        int[] sumS = Scalar448.create();
+        int[] zk = Scalar448.create();
+        int[] zero = Scalar448.create();
+        SecureRandom random = new SecureRandom();
+
+        Point[] rs = new Point[items.size()];
+        for (int i = 0; i < items.size(); i++) {
+            VerificationItem item = items.get(i);
+            Equation equation = decodeEquation(item.getPublicKey(), item.getData(), item.getContext(), item.getSignature());
+            if (equation == null) {
+                continue;
             }
+            try {
+                rs[i] = new EncodedPointEd448(equation.encodedR).decode();
+            } catch (DecodeException e) {
+                continue;
+            }
+            equations[i] = equation;
+        }
+        rejectNonCanonicalR(equations, rs);
 
-            byte[] dom = scheme.dom(context);
-            byte[] ph = scheme.preHash(data);
-            byte[] kSeed = Hashes.hash(algorithm, 114, dom, r.encode().getValue(), a.encode().getValue(), ph);
+        int n = 1;
+        for (int i = 0; i < equations.length; i++) {
+            Equation equation = equations[i];
+            if (equation == null) {
+                continue;
+            }
+            Point r = rs[i];
 
-            BigInteger k = new EncodedCoordinateEd448(kSeed).decode().getInteger();
+            // random coefficient z, 0 < z <= 2^128
+            BigInteger z = new BigInteger(128, random).add(BigInteger.ONE);
+            int[] zWords = Scalar448.create(z);
+            Scalar448.mulAdd(sumS, zWords, equation.s, sumS);
+            Scalar448.mulAdd(zk, zWords, equation.k, zero);
+            points[n] = r;
+            scalars[n++] = z.negate();
+            points[n] = equation.a;
+            scalars[n++] = Scalar448.toBigInteger(zk).negate();
+        }
+        if (n == 1) {
+            return results;
+        }
+        points[0] = CURVE.getBasePoint();
+        scalars[0] = Scalar448.toBigInteger(sumS);
 
-            Point checkPoint = r.add(a.scalarMultiply(k));
+        // 4 * (sum(z * s) * B - sum(z * R) - sum(z * k * A)) must be the neutral element
+        Point checkPoint = CURVE.getMultiScalarMultiplier()
+                .multiply(Arrays.copyOf(points, n), Arrays.copyOf(scalars, n)).doubling().doubling();
+        boolean isValid = checkPoint.isEqual(PointEd448.O);
 
-            Point target = CURVE.getBasePoint().scalarMultiply(s);
+        for (int i = 0; i < equations.length; i++) {
+            results[i] = equations[i] != null && (isValid || equations[i].holds());
+        }
+        return results;
+    }
 
-            return checkPoint.isEqual(target);
+    /**
+     * Drop the equations whose R is decoded from another encoding than its own, as
+     * {@link Equation#holds()} compares encodings of R. All R are encoded with a single inversion.
+     */
+    private static void rejectNonCanonicalR(Equation[] equations, Point[] rs) {
+        int length = CURVE.getPublicKeyByteLength();
+        int[] indices = new int[rs.length];
+        Point[] decoded = new Point[rs.length];
+        int count = 0;
+        for (int i = 0; i < rs.length; i++) {
+            if (equations[i] != null) {
+                indices[count] = i;
+                decoded[count++] = rs[i];
+            }
+        }
+        if (count == 0) {
+            return;
+        }
+        byte[] encoded = new byte[count * length];
+        CURVE.encodeBatch(Arrays.copyOf(decoded, count), encoded, 0);
+        for (int j = 0; j < count; j++) {
+            byte[] encodedR = Arrays.copyOfRange(encoded, j * length, (j + 1) * length);
+            if (!Arrays.equals(encodedR, equations[indices[j]].encodedR)) {
+                equations[indices[j]] = null;
+            }
+        }
+    }
+
+    /**
+     * Decode A and s of a signature and compute k.
+     *
+     * @return {@link Equation} of the signature, or null if A cannot be decoded or
+     *         s is out of range.
+     */
+    private Equation decodeEquation(PublicKey publicKey, byte[] data, byte[] context, Signature signature) {
+        try {
+            // the length of context is checked even if A cannot be decoded
+            checkContextLength(beNonNullContext(context));
+
+            EncodedPoint encodedPublicKey = new EncodedPointEd448(publicKey.getRaw());
+            Point a = encodedPublicKey.decode();
+            return decodeEquation(a, a.encode().getValue(), data, context, signature);
         } catch (DecodeException e) {
-            return false;
+            return null;
+        }
+    }
+
+    /**
+     * Decode s of a signature and compute k with decoded public key A.
+     *
+     * @param a        decoded public key
+     * @param encodedA canonical encoding of {@code a}
+     */
+    private Equation decodeEquation(Point a, byte[] encodedA, byte[] data, byte[] context, Signature signature) {
+        context = beNonNullContext(context);
+        checkContextLength(context);
+
+        // R is not decoded, the encoding of s * B - k * A is compared with it instead
+        byte[] encodedR = new EncodedPointEd448(signature.getR()).getValue();
+
+        byte[] encodedS = signature.getS();
+        int[] s = Scalar448.create();
+        if (encodedS.length != Scalar448.BYTES || !Scalar448.decode(s, encodedS)) {
+            return null;
         }
+
+        byte[] dom = scheme.dom(context);
+        byte[] ph = scheme.preHash(data);
+        byte[] kSeed = Hashes.hash(algorithm, 114, dom, encodedR, encodedA, ph);
+
+        int[] k = Scalar448.create();
+        Scalar448.reduce(k, kSeed);
+
+        return new Equation(encodedR, a, s, k);
     }
 
     private byte[] beNonNullContext(byte[] context) {
@@ -116,4 +252,33 @@ public class Ed448Signer implements EdDsaSigner {
         if (context.length > 255)
             throw new IllegalStateException("context length in byte must be less than 256 bytes.");
     }
+
+    /**
+     * Verification equation {@code s * B = R + k * A} of a signature, with R in encoded form.
+     */
+    private static final class Equation {
+
+        private final byte[] encodedR;
+        private final Point a;
+        private final int[] s;
+        private final int[] k;
+
+        private Equation(byte[] encodedR, Point a, int[] s, int[] k) {
+            this.encodedR = encodedR;
+            this.a = a;
+            this.s = s;
+            this.k = k;
+        }
+
+        /**
+         * s * B = R + k * A, computed as R = s * B - k * A with a double-scalar multiplication.
+         * The encoding of {@code s * B - k * A} is compared with R byte by byte, so that R is
+         * never decoded and only a single inversion is needed. Since the encoding is canonical,
+         * R which is not canonical never matches.
+         */
+        private boolean holds() {
+            byte[] checkR = CURVE.multiplyBaseMinus(s, a, k).encode().getValue();
+            return Arrays.equals(checkR, encodedR);
+        }
+    }
 }
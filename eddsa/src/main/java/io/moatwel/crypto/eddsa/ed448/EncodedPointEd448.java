@@ -1,13 +1,12 @@
 package io.moatwel.crypto.eddsa.ed448;
 
-import io.moatwel.crypto.eddsa.Coordinate;
 import io.moatwel.crypto.eddsa.Curve;
 import io.moatwel.crypto.eddsa.DecodeException;
 import io.moatwel.crypto.eddsa.EncodedPoint;
 import io.moatwel.crypto.eddsa.Point;
 import io.moatwel.util.ByteUtils;
 
-import java.math.BigInteger;
+import java.util.Arrays;
 
 /**
  * Encoded Point implementation of ed448 curve. Implements {@link EncodedPoint#decode()}
@@ -17,6 +16,8 @@ public class EncodedPointEd448 extends EncodedPoint {
 
     private static final Curve curve = Curve448.getInstance();
 
+    private static final int[] D = Field448.create(curve.getD().getInteger());
+
     public EncodedPointEd448(byte[] value) {
         super(value);
         if (value.length != 57) {
@@ -25,6 +26,26 @@ public class EncodedPointEd448 extends EncodedPoint {
         }
     }
 
+    /**
+     * Decode many encoded points on the Curve448, such as a set of public keys, with
+     * {@code threads} threads. Each point is decoded and validated exactly as {@link #decode()}
+     * does, and one which is not a canonical encoding of a point on the curve is {@code null} in
+     * the result.
+     *
+     * <p>
+     * Unlike encoding, decoding needs no inversion: the division in {@code x^2 = u / v} is part
+     * of the single exponentiation which also takes the square root, so nothing is shared
+     * between the points, and the batch is only divided among threads.
+     *
+     * @param values  encoded points, each of which should be 57 bytes
+     * @param threads number of threads, at least 1
+     * @return decoded points in the order of {@code values}, {@code null} for each failure
+     * @throws IllegalArgumentException if {@code threads} is less than 1
+     */
+    public static Point[] decodeAll(byte[][] values, int threads) {
+        return decodeAll(values, 57, threads);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -33,39 +54,48 @@ public class EncodedPointEd448 extends EncodedPoint {
         byte readTarget = value[value.length - 1];
         int x0 = ByteUtils.readBit(readTarget, 7);
 
-        Coordinate y = recoverY(this.value);
+        int[] y = recoverY(this.value);
 
-        Coordinate x = recoverX(y, x0);
+        int[] x = recoverX(y, x0);
 
         return PointEd448.fromAffine(x, y);
     }
 
-    private Coordinate recoverY(byte[] source) throws DecodeException {
-        source[source.length - 1] &= 0x7F;
-        BigInteger ySeed = new BigInteger(1, ByteUtils.reverse(source));
-        if (ySeed.compareTo(curve.getPrimePowerP()) >= 1) {
+    private int[] recoverY(byte[] source) throws DecodeException {
+        // the last byte carries only the sign of x, and the rest of it must be zero.
+        byte[] ySource = Arrays.copyOf(source, source.length);
+        ySource[ySource.length - 1] &= 0x7F;
+        if (!Field448.isCanonical(ySource)) {
             throw new DecodeException("EdDsa decoding failed. This point is not on the Curve448.");
         }
-        return new CoordinateEd448(ySeed);
+        int[] y = Field448.create();
+        Field448.fromBytes(y, ySource);
+        return y;
     }
 
-    private Coordinate recoverX(Coordinate y, int xSource) throws DecodeException {
-        Coordinate u = y.multiply(y).subtract(CoordinateEd448.ONE).mod();
-        Coordinate v = curve.getD().multiply(y).multiply(y).subtract(CoordinateEd448.ONE).mod();
-        Coordinate xx = u.multiply(v.inverse()).mod();
+    private int[] recoverX(int[] y, int xSource) throws DecodeException {
+        int[] u = Field448.create();
+        int[] v = Field448.create();
+        int[] one = Field448.create();
+        Field448.one(one);
 
-        Coordinate x = xx.powerMod(curve.getPrimePowerP().add(BigInteger.ONE).divide(BigInteger.ONE.shiftLeft(2)));
+        // u = y^2 - 1, v = d * y^2 - 1
+        Field448.square(u, y);
+        Field448.mul(v, u, D);
+        Field448.sub(u, u, one);
+        Field448.sub(v, v, one);
 
-        if (x.multiply(x).mod().subtract(xx).getInteger().compareTo(BigInteger.ZERO) != 0) {
+        int[] x = Field448.create();
+        if (!Field448.sqrtRatio(x, u, v)) {
             throw new DecodeException("EdDsa decoding failed. This encoded point is not on the Curve448");
         }
 
-        if (x.isEqual(CoordinateEd448.ZERO) && xSource == 1) {
+        if (Field448.isZero(x) && xSource == 1) {
             throw new DecodeException("EdDsa decoding failed.");
         }
 
-        if (x.getInteger().mod(BigInteger.ONE.shiftLeft(1)).compareTo(BigInteger.valueOf((long) xSource)) != 0) {
-            x = new CoordinateEd448(BigInteger.ZERO.subtract(x.getInteger()).mod(curve.getPrimePowerP()));
+        if (Field448.isNegative(x) != xSource) {
+            Field448.neg(x, x);
         }
 
         return x;
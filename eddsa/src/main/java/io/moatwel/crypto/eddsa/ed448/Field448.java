@@ -0,0 +1,826 @@
+package io.moatwel.crypto.eddsa.ed448;
+
+import io.moatwel.util.ByteUtils;
+
+import java.math.BigInteger;
+
+/**
+ * Arithmetic of the finite field GF(2^448 - 2^224 - 1) on fixed-size limbs.
+ *
+ * <p>
+ * An element is represented by {@code int[16]} in radix 2^28, and the value is
+ * {@code h0 + h1 * 2^28 + h2 * 2^56 + ... + h15 * 2^420}. Limbs are never negative.
+ *
+ * <p>
+ * The prime has the "Goldilocks" form {@code p = phi^2 - phi - 1} where {@code phi = 2^224}.
+ * A product of {@code a = a0 + a1 * phi} and {@code b = b0 + b1 * phi} is computed with
+ * Karatsuba's method as {@code (a0 * b0 + a1 * b1) + ((a0 + a1) * (b0 + b1) - a0 * b0) * phi},
+ * and a product limb above 2^448 is reduced by {@code 2^448 = 2^224 + 1 (mod p)}.
+ *
+ * <p>
+ * All operations write the result into the first argument. The result array may be the same
+ * array as one of operands. Every operation returns a carried element, so that any result can
+ * be passed to any operation directly. {@link #addLazy(int[], int[], int[])} and
+ * {@link #subLazy(int[], int[], int[])} carry only once, and their results are valid operands of
+ * any operation as well.
+ *
+ * @author halu5071 (Yasunori Horii)
+ * @see <a href="https://eprint.iacr.org/2015/625">Ed448-Goldilocks, a new elliptic curve</a>
+ */
+final class Field448 {
+
+    static final int LIMBS = 16;
+
+    static final BigInteger P = BigInteger.ONE.shiftLeft(448).subtract(BigInteger.ONE.shiftLeft(224)).subtract(BigInteger.ONE);
+
+    private static final int M = 0x0FFFFFFF;
+
+    // 2 * p, added before subtraction so that no limb becomes negative.
+    private static final int[] TWO_P = new int[]{
+            0x1FFFFFFE, 0x1FFFFFFE, 0x1FFFFFFE, 0x1FFFFFFE, 0x1FFFFFFE, 0x1FFFFFFE, 0x1FFFFFFE, 0x1FFFFFFE,
+            0x1FFFFFFC, 0x1FFFFFFE, 0x1FFFFFFE, 0x1FFFFFFE, 0x1FFFFFFE, 0x1FFFFFFE, 0x1FFFFFFE, 0x1FFFFFFE};
+
+    private Field448() {
+    }
+
+    static int[] create() {
+        return new int[LIMBS];
+    }
+
+    static int[] create(BigInteger value) {
+        int[] h = new int[LIMBS];
+        fromBigInteger(h, value);
+        return h;
+    }
+
+    static void zero(int[] h) {
+        for (int i = 0; i < LIMBS; i++) {
+            h[i] = 0;
+        }
+    }
+
+    static void one(int[] h) {
+        zero(h);
+        h[0] = 1;
+    }
+
+    static void copy(int[] h, int[] f) {
+        System.arraycopy(f, 0, h, 0, LIMBS);
+    }
+
+    /**
+     * Replace {@code h} with {@code f} if {@code b} is 1 and keep it if {@code b} is 0,
+     * without any branch on {@code b}.
+     *
+     * @param h result.
+     * @param f field element.
+     * @param b 0 or 1.
+     */
+    static void cmov(int[] h, int[] f, int b) {
+        int mask = -b;
+        for (int i = 0; i < LIMBS; i++) {
+            h[i] ^= mask & (h[i] ^ f[i]);
+        }
+    }
+
+    /**
+     * Swap {@code f} and {@code g} if {@code b} is 1 and keep them if {@code b} is 0,
+     * without any branch on {@code b}.
+     *
+     * @param f field element.
+     * @param g field element.
+     * @param b 0 or 1.
+     */
+    static void cswap(int[] f, int[] g, int b) {
+        int mask = -b;
+        for (int i = 0; i < LIMBS; i++) {
+            int x = mask & (f[i] ^ g[i]);
+            f[i] ^= x;
+            g[i] ^= x;
+        }
+    }
+
+    /**
+     * Load a little-endian 56 byte array.
+     *
+     * @param h result.
+     * @param s little-endian representation, at least 56 byte length.
+     */
+    static void fromBytes(int[] h, byte[] s) {
+        for (int i = 0; i < LIMBS; i++) {
+            int bit = 28 * i;
+            h[i] = (int) (load4(s, bit >> 3) >>> (bit & 7)) & M;
+        }
+    }
+
+    /**
+     * Store the canonical little-endian 56 byte representation of {@code h}.
+     *
+     * @param s result, at least 56 byte length.
+     * @param h field element.
+     */
+    static void toBytes(byte[] s, int[] h) {
+        int[] r = new int[LIMBS];
+        reduce(r, h);
+
+        long acc = 0;
+        int bits = 0;
+        int offset = 0;
+        for (int i = 0; i < LIMBS; i++) {
+            acc |= ((long) r[i]) << bits;
+            bits += 28;
+            while (bits >= 8) {
+                s[offset++] = (byte) acc;
+                acc >>>= 8;
+                bits -= 8;
+            }
+        }
+    }
+
+    static byte[] toBytes(int[] h) {
+        byte[] s = new byte[56];
+        toBytes(s, h);
+        return s;
+    }
+
+    /**
+     * Return whether a little-endian byte array represents an integer less than p.
+     * Bytes after the 56th must be zero.
+     *
+     * @param s little-endian representation, at least 56 byte length.
+     * @return true if the integer is less than p.
+     */
+    static boolean isCanonical(byte[] s) {
+        for (int i = 56; i < s.length; i++) {
+            if (s[i] != 0) {
+                return false;
+            }
+        }
+        // p = 0xff..ff fe ff..ff, the 28th byte from the bottom is 0xfe.
+        for (int i = 55; i >= 0; i--) {
+            int expected = i == 28 ? 0xFE : 0xFF;
+            int b = s[i] & 0xFF;
+            if (b != expected) {
+                return b < expected;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Load an arbitrary integer. Negative or unreduced integer is reduced by modulo p.
+     *
+     * @param h     result.
+     * @param value integer value.
+     */
+    static void fromBigInteger(int[] h, BigInteger value) {
+        byte[] bigEndian = value.mod(P).toByteArray();
+        byte[] s = new byte[56];
+        for (int i = 0; i < 56 && i < bigEndian.length; i++) {
+            s[i] = bigEndian[bigEndian.length - 1 - i];
+        }
+        fromBytes(h, s);
+    }
+
+    static BigInteger toBigInteger(int[] h) {
+        return new BigInteger(1, ByteUtils.reverse(toBytes(h)));
+    }
+
+    static void add(int[] h, int[] f, int[] g) {
+        carry(h,
+                (long) f[0] + g[0],
+                (long) f[1] + g[1],
+                (long) f[2] + g[2],
+                (long) f[3] + g[3],
+                (long) f[4] + g[4],
+                (long) f[5] + g[5],
+                (long) f[6] + g[6],
+                (long) f[7] + g[7],
+                (long) f[8] + g[8],
+                (long) f[9] + g[9],
+                (long) f[10] + g[10],
+                (long) f[11] + g[11],
+                (long) f[12] + g[12],
+                (long) f[13] + g[13],
+                (long) f[14] + g[14],
+                (long) f[15] + g[15]);
+    }
+
+    static void sub(int[] h, int[] f, int[] g) {
+        carry(h,
+                (long) f[0] - g[0] + TWO_P[0],
+                (long) f[1] - g[1] + TWO_P[1],
+                (long) f[2] - g[2] + TWO_P[2],
+                (long) f[3] - g[3] + TWO_P[3],
+                (long) f[4] - g[4] + TWO_P[4],
+                (long) f[5] - g[5] + TWO_P[5],
+                (long) f[6] - g[6] + TWO_P[6],
+                (long) f[7] - g[7] + TWO_P[7],
+                (long) f[8] - g[8] + TWO_P[8],
+                (long) f[9] - g[9] + TWO_P[9],
+                (long) f[10] - g[10] + TWO_P[10],
+                (long) f[11] - g[11] + TWO_P[11],
+                (long) f[12] - g[12] + TWO_P[12],
+                (long) f[13] - g[13] + TWO_P[13],
+                (long) f[14] - g[14] + TWO_P[14],
+                (long) f[15] - g[15] + TWO_P[15]);
+    }
+
+    /**
+     * h = f + g with a single round of carry, in which every limb passes its carry to the next
+     * one at once instead of one after another. Limbs of the result are less than 2^28 + 6.
+     *
+     * <p>
+     * The columns of {@link #mul(int[], int[], int[])} are sums of up to 39 products of limbs,
+     * which leave no room for a sum without any carry, but any operation accepts limbs less
+     * than 1.5 * 2^28. So the result can be passed to any operation, and the bound is checked
+     * with assertions.
+     */
+    static void addLazy(int[] h, int[] f, int[] g) {
+        int top = (f[15] + g[15]) >>> 28;
+        int carry = top;
+        for (int i = 0; i < LIMBS; i++) {
+            int x = f[i] + g[i];
+            h[i] = (x & M) + carry;
+            carry = x >>> 28;
+        }
+        h[8] += top;
+        assert isBounded(h);
+    }
+
+    /**
+     * h = f - g with a single round of carry, which is the same as
+     * {@link #addLazy(int[], int[], int[])}.
+     */
+    static void subLazy(int[] h, int[] f, int[] g) {
+        int top = (f[15] - g[15] + TWO_P[15]) >>> 28;
+        int carry = top;
+        for (int i = 0; i < LIMBS; i++) {
+            int x = f[i] - g[i] + TWO_P[i];
+            h[i] = (x & M) + carry;
+            carry = x >>> 28;
+        }
+        h[8] += top;
+        assert isBounded(h);
+    }
+
+    static void neg(int[] h, int[] f) {
+        carry(h,
+                (long) TWO_P[0] - f[0],
+                (long) TWO_P[1] - f[1],
+                (long) TWO_P[2] - f[2],
+                (long) TWO_P[3] - f[3],
+                (long) TWO_P[4] - f[4],
+                (long) TWO_P[5] - f[5],
+                (long) TWO_P[6] - f[6],
+                (long) TWO_P[7] - f[7],
+                (long) TWO_P[8] - f[8],
+                (long) TWO_P[9] - f[9],
+                (long) TWO_P[10] - f[10],
+                (long) TWO_P[11] - f[11],
+                (long) TWO_P[12] - f[12],
+                (long) TWO_P[13] - f[13],
+                (long) TWO_P[14] - f[14],
+                (long) TWO_P[15] - f[15]);
+    }
+
+    static void mul(int[] h, int[] f, int[] g) {
+        assert isBounded(f) && isBounded(g);
+        int f0 = f[0];
+        int f1 = f[1];
+        int f2 = f[2];
+        int f3 = f[3];
+        int f4 = f[4];
+        int f5 = f[5];
+        int f6 = f[6];
+        int f7 = f[7];
+        int f8 = f[8];
+        int f9 = f[9];
+        int f10 = f[10];
+        int f11 = f[11];
+        int f12 = f[12];
+        int f13 = f[13];
+        int f14 = f[14];
+        int f15 = f[15];
+        int g0 = g[0];
+        int g1 = g[1];
+        int g2 = g[2];
+        int g3 = g[3];
+        int g4 = g[4];
+        int g5 = g[5];
+        int g6 = g[6];
+        int g7 = g[7];
+        int g8 = g[8];
+        int g9 = g[9];
+        int g10 = g[10];
+        int g11 = g[11];
+        int g12 = g[12];
+        int g13 = g[13];
+        int g14 = g[14];
+        int g15 = g[15];
+
+        // A0 + A1, B0 + B1
+        int s0 = f0 + f8;
+        int s1 = f1 + f9;
+        int s2 = f2 + f10;
+        int s3 = f3 + f11;
+        int s4 = f4 + f12;
+        int s5 = f5 + f13;
+        int s6 = f6 + f14;
+        int s7 = f7 + f15;
+        int t0 = g0 + g8;
+        int t1 = g1 + g9;
+        int t2 = g2 + g10;
+        int t3 = g3 + g11;
+        int t4 = g4 + g12;
+        int t5 = g5 + g13;
+        int t6 = g6 + g14;
+        int t7 = g7 + g15;
+
+        // A0 * B0, A1 * B1, (A0 + A1) * (B0 + B1)
+        long p0_0 = (long) f0 * g0;
+        long p0_1 = (long) f0 * g1 + (long) f1 * g0;
+        long p0_2 = (long) f0 * g2 + (long) f1 * g1 + (long) f2 * g0;
+        long p0_3 = (long) f0 * g3 + (long) f1 * g2 + (long) f2 * g1 + (long) f3 * g0;
+        long p0_4 = (long) f0 * g4 + (long) f1 * g3 + (long) f2 * g2 + (long) f3 * g1 + (long) f4 * g0;
+        long p0_5 = (long) f0 * g5 + (long) f1 * g4 + (long) f2 * g3 + (long) f3 * g2 + (long) f4 * g1
+                + (long) f5 * g0;
+        long p0_6 = (long) f0 * g6 + (long) f1 * g5 + (long) f2 * g4 + (long) f3 * g3 + (long) f4 * g2
+                + (long) f5 * g1 + (long) f6 * g0;
+        long p0_7 = (long) f0 * g7 + (long) f1 * g6 + (long) f2 * g5 + (long) f3 * g4 + (long) f4 * g3
+                + (long) f5 * g2 + (long) f6 * g1 + (long) f7 * g0;
+        long p0_8 = (long) f1 * g7 + (long) f2 * g6 + (long) f3 * g5 + (long) f4 * g4 + (long) f5 * g3
+                + (long) f6 * g2 + (long) f7 * g1;
+        long p0_9 = (long) f2 * g7 + (long) f3 * g6 + (long) f4 * g5 + (long) f5 * g4 + (long) f6 * g3
+                + (long) f7 * g2;
+        long p0_10 = (long) f3 * g7 + (long) f4 * g6 + (long) f5 * g5 + (long) f6 * g4 + (long) f7 * g3;
+        long p0_11 = (long) f4 * g7 + (long) f5 * g6 + (long) f6 * g5 + (long) f7 * g4;
+        long p0_12 = (long) f5 * g7 + (long) f6 * g6 + (long) f7 * g5;
+        long p0_13 = (long) f6 * g7 + (long) f7 * g6;
+        long p0_14 = (long) f7 * g7;
+        long p1_0 = (long) f8 * g8;
+        long p1_1 = (long) f8 * g9 + (long) f9 * g8;
+        long p1_2 = (long) f8 * g10 + (long) f9 * g9 + (long) f10 * g8;
+        long p1_3 = (long) f8 * g11 + (long) f9 * g10 + (long) f10 * g9 + (long) f11 * g8;
+        long p1_4 = (long) f8 * g12 + (long) f9 * g11 + (long) f10 * g10 + (long) f11 * g9 + (long) f12 * g8;
+        long p1_5 = (long) f8 * g13 + (long) f9 * g12 + (long) f10 * g11 + (long) f11 * g10 + (long) f12 * g9
+                + (long) f13 * g8;
+        long p1_6 = (long) f8 * g14 + (long) f9 * g13 + (long) f10 * g12 + (long) f11 * g11 + (long) f12 * g10
+                + (long) f13 * g9 + (long) f14 * g8;
+        long p1_7 = (long) f8 * g15 + (long) f9 * g14 + (long) f10 * g13 + (long) f11 * g12 + (long) f12 * g11
+                + (long) f13 * g10 + (long) f14 * g9 + (long) f15 * g8;
+        long p1_8 = (long) f9 * g15 + (long) f10 * g14 + (long) f11 * g13 + (long) f12 * g12 + (long) f13 * g11
+                + (long) f14 * g10 + (long) f15 * g9;
+        long p1_9 = (long) f10 * g15 + (long) f11 * g14 + (long) f12 * g13 + (long) f13 * g12 + (long) f14 * g11
+                + (long) f15 * g10;
+        long p1_10 = (long) f11 * g15 + (long) f12 * g14 + (long) f13 * g13 + (long) f14 * g12
+                + (long) f15 * g11;
+        long p1_11 = (long) f12 * g15 + (long) f13 * g14 + (long) f14 * g13 + (long) f15 * g12;
+        long p1_12 = (long) f13 * g15 + (long) f14 * g14 + (long) f15 * g13;
+        long p1_13 = (long) f14 * g15 + (long) f15 * g14;
+        long p1_14 = (long) f15 * g15;
+        long p2_0 = (long) s0 * t0;
+        long p2_1 = (long) s0 * t1 + (long) s1 * t0;
+        long p2_2 = (long) s0 * t2 + (long) s1 * t1 + (long) s2 * t0;
+        long p2_3 = (long) s0 * t3 + (long) s1 * t2 + (long) s2 * t1 + (long) s3 * t0;
+        long p2_4 = (long) s0 * t4 + (long) s1 * t3 + (long) s2 * t2 + (long) s3 * t1 + (long) s4 * t0;
+        long p2_5 = (long) s0 * t5 + (long) s1 * t4 + (long) s2 * t3 + (long) s3 * t2 + (long) s4 * t1
+                + (long) s5 * t0;
+        long p2_6 = (long) s0 * t6 + (long) s1 * t5 + (long) s2 * t4 + (long) s3 * t3 + (long) s4 * t2
+                + (long) s5 * t1 + (long) s6 * t0;
+        long p2_7 = (long) s0 * t7 + (long) s1 * t6 + (long) s2 * t5 + (long) s3 * t4 + (long) s4 * t3
+                + (long) s5 * t2 + (long) s6 * t1 + (long) s7 * t0;
+        long p2_8 = (long) s1 * t7 + (long) s2 * t6 + (long) s3 * t5 + (long) s4 * t4 + (long) s5 * t3
+                + (long) s6 * t2 + (long) s7 * t1;
+        long p2_9 = (long) s2 * t7 + (long) s3 * t6 + (long) s4 * t5 + (long) s5 * t4 + (long) s6 * t3
+                + (long) s7 * t2;
+        long p2_10 = (long) s3 * t7 + (long) s4 * t6 + (long) s5 * t5 + (long) s6 * t4 + (long) s7 * t3;
+        long p2_11 = (long) s4 * t7 + (long) s5 * t6 + (long) s6 * t5 + (long) s7 * t4;
+        long p2_12 = (long) s5 * t7 + (long) s6 * t6 + (long) s7 * t5;
+        long p2_13 = (long) s6 * t7 + (long) s7 * t6;
+        long p2_14 = (long) s7 * t7;
+
+        carry(h,
+                p0_0 + p1_0 + p2_8 - p0_8,
+                p0_1 + p1_1 + p2_9 - p0_9,
+                p0_2 + p1_2 + p2_10 - p0_10,
+                p0_3 + p1_3 + p2_11 - p0_11,
+                p0_4 + p1_4 + p2_12 - p0_12,
+                p0_5 + p1_5 + p2_13 - p0_13,
+                p0_6 + p1_6 + p2_14 - p0_14,
+                p0_7 + p1_7,
+                p1_8 + p2_8 + p2_0 - p0_0,
+                p1_9 + p2_9 + p2_1 - p0_1,
+                p1_10 + p2_10 + p2_2 - p0_2,
+                p1_11 + p2_11 + p2_3 - p0_3,
+                p1_12 + p2_12 + p2_4 - p0_4,
+                p1_13 + p2_13 + p2_5 - p0_5,
+                p1_14 + p2_14 + p2_6 - p0_6,
+                p2_7 - p0_7);
+    }
+
+    /**
+     * Multiply by a small non-negative integer, which is much cheaper than {@link #mul(int[], int[], int[])}.
+     *
+     * @param h result.
+     * @param f field element.
+     * @param g integer less than 2^20.
+     */
+    static void mulSmall(int[] h, int[] f, int g) {
+        carry(h,
+                (long) f[0] * g,
+                (long) f[1] * g,
+                (long) f[2] * g,
+                (long) f[3] * g,
+                (long) f[4] * g,
+                (long) f[5] * g,
+                (long) f[6] * g,
+                (long) f[7] * g,
+                (long) f[8] * g,
+                (long) f[9] * g,
+                (long) f[10] * g,
+                (long) f[11] * g,
+                (long) f[12] * g,
+                (long) f[13] * g,
+                (long) f[14] * g,
+                (long) f[15] * g);
+    }
+
+    static void square(int[] h, int[] f) {
+        assert isBounded(f);
+        int f0 = f[0];
+        int f1 = f[1];
+        int f2 = f[2];
+        int f3 = f[3];
+        int f4 = f[4];
+        int f5 = f[5];
+        int f6 = f[6];
+        int f7 = f[7];
+        int f8 = f[8];
+        int f9 = f[9];
+        int f10 = f[10];
+        int f11 = f[11];
+        int f12 = f[12];
+        int f13 = f[13];
+        int f14 = f[14];
+        int f15 = f[15];
+
+        int s0 = f0 + f8;
+        int s1 = f1 + f9;
+        int s2 = f2 + f10;
+        int s3 = f3 + f11;
+        int s4 = f4 + f12;
+        int s5 = f5 + f13;
+        int s6 = f6 + f14;
+        int s7 = f7 + f15;
+        int f0_2 = 2 * f0;
+        int f1_2 = 2 * f1;
+        int f2_2 = 2 * f2;
+        int f3_2 = 2 * f3;
+        int f4_2 = 2 * f4;
+        int f5_2 = 2 * f5;
+        int f6_2 = 2 * f6;
+        int f8_2 = 2 * f8;
+        int f9_2 = 2 * f9;
+        int f10_2 = 2 * f10;
+        int f11_2 = 2 * f11;
+        int f12_2 = 2 * f12;
+        int f13_2 = 2 * f13;
+        int f14_2 = 2 * f14;
+        int s0_2 = 2 * s0;
+        int s1_2 = 2 * s1;
+        int s2_2 = 2 * s2;
+        int s3_2 = 2 * s3;
+        int s4_2 = 2 * s4;
+        int s5_2 = 2 * s5;
+        int s6_2 = 2 * s6;
+
+        long p0_0 = (long) f0 * f0;
+        long p0_1 = (long) f0_2 * f1;
+        long p0_2 = (long) f0_2 * f2 + (long) f1 * f1;
+        long p0_3 = (long) f0_2 * f3 + (long) f1_2 * f2;
+        long p0_4 = (long) f0_2 * f4 + (long) f1_2 * f3 + (long) f2 * f2;
+        long p0_5 = (long) f0_2 * f5 + (long) f1_2 * f4 + (long) f2_2 * f3;
+        long p0_6 = (long) f0_2 * f6 + (long) f1_2 * f5 + (long) f2_2 * f4 + (long) f3 * f3;
+        long p0_7 = (long) f0_2 * f7 + (long) f1_2 * f6 + (long) f2_2 * f5 + (long) f3_2 * f4;
+        long p0_8 = (long) f1_2 * f7 + (long) f2_2 * f6 + (long) f3_2 * f5 + (long) f4 * f4;
+        long p0_9 = (long) f2_2 * f7 + (long) f3_2 * f6 + (long) f4_2 * f5;
+        long p0_10 = (long) f3_2 * f7 + (long) f4_2 * f6 + (long) f5 * f5;
+        long p0_11 = (long) f4_2 * f7 + (long) f5_2 * f6;
+        long p0_12 = (long) f5_2 * f7 + (long) f6 * f6;
+        long p0_13 = (long) f6_2 * f7;
+        long p0_14 = (long) f7 * f7;
+        long p1_0 = (long) f8 * f8;
+        long p1_1 = (long) f8_2 * f9;
+        long p1_2 = (long) f8_2 * f10 + (long) f9 * f9;
+        long p1_3 = (long) f8_2 * f11 + (long) f9_2 * f10;
+        long p1_4 = (long) f8_2 * f12 + (long) f9_2 * f11 + (long) f10 * f10;
+        long p1_5 = (long) f8_2 * f13 + (long) f9_2 * f12 + (long) f10_2 * f11;
+        long p1_6 = (long) f8_2 * f14 + (long) f9_2 * f13 + (long) f10_2 * f12 + (long) f11 * f11;
+        long p1_7 = (long) f8_2 * f15 + (long) f9_2 * f14 + (long) f10_2 * f13 + (long) f11_2 * f12;
+        long p1_8 = (long) f9_2 * f15 + (long) f10_2 * f14 + (long) f11_2 * f13 + (long) f12 * f12;
+        long p1_9 = (long) f10_2 * f15 + (long) f11_2 * f14 + (long) f12_2 * f13;
+        long p1_10 = (long) f11_2 * f15 + (long) f12_2 * f14 + (long) f13 * f13;
+        long p1_11 = (long) f12_2 * f15 + (long) f13_2 * f14;
+        long p1_12 = (long) f13_2 * f15 + (long) f14 * f14;
+        long p1_13 = (long) f14_2 * f15;
+        long p1_14 = (long) f15 * f15;
+        long p2_0 = (long) s0 * s0;
+        long p2_1 = (long) s0_2 * s1;
+        long p2_2 = (long) s0_2 * s2 + (long) s1 * s1;
+        long p2_3 = (long) s0_2 * s3 + (long) s1_2 * s2;
+        long p2_4 = (long) s0_2 * s4 + (long) s1_2 * s3 + (long) s2 * s2;
+        long p2_5 = (long) s0_2 * s5 + (long) s1_2 * s4 + (long) s2_2 * s3;
+        long p2_6 = (long) s0_2 * s6 + (long) s1_2 * s5 + (long) s2_2 * s4 + (long) s3 * s3;
+        long p2_7 = (long) s0_2 * s7 + (long) s1_2 * s6 + (long) s2_2 * s5 + (long) s3_2 * s4;
+        long p2_8 = (long) s1_2 * s7 + (long) s2_2 * s6 + (long) s3_2 * s5 + (long) s4 * s4;
+        long p2_9 = (long) s2_2 * s7 + (long) s3_2 * s6 + (long) s4_2 * s5;
+        long p2_10 = (long) s3_2 * s7 + (long) s4_2 * s6 + (long) s5 * s5;
+        long p2_11 = (long) s4_2 * s7 + (long) s5_2 * s6;
+        long p2_12 = (long) s5_2 * s7 + (long) s6 * s6;
+        long p2_13 = (long) s6_2 * s7;
+        long p2_14 = (long) s7 * s7;
+
+        carry(h,
+                p0_0 + p1_0 + p2_8 - p0_8,
+                p0_1 + p1_1 + p2_9 - p0_9,
+                p0_2 + p1_2 + p2_10 - p0_10,
+                p0_3 + p1_3 + p2_11 - p0_11,
+                p0_4 + p1_4 + p2_12 - p0_12,
+                p0_5 + p1_5 + p2_13 - p0_13,
+                p0_6 + p1_6 + p2_14 - p0_14,
+                p0_7 + p1_7,
+                p1_8 + p2_8 + p2_0 - p0_0,
+                p1_9 + p2_9 + p2_1 - p0_1,
+                p1_10 + p2_10 + p2_2 - p0_2,
+                p1_11 + p2_11 + p2_3 - p0_3,
+                p1_12 + p2_12 + p2_4 - p0_4,
+                p1_13 + p2_13 + p2_5 - p0_5,
+                p1_14 + p2_14 + p2_6 - p0_6,
+                p2_7 - p0_7);
+    }
+
+    /**
+     * Compute {@code 1 / f} as {@code f^(p - 2)} = {@code (f^((p - 3) / 4))^4 * f}.
+     * The inverse of zero is zero.
+     *
+     * @param h result.
+     * @param f field element.
+     */
+    static void invert(int[] h, int[] f) {
+        int[] t = create();
+        powPm3d4(t, f);
+        squareN(t, t, 2);
+        mul(h, t, f);
+    }
+
+    /**
+     * Compute the square root of {@code u / v} with a single exponentiation,
+     * {@code x = u^3 * v * (u^5 * v^3)^((p - 3) / 4)}.
+     *
+     * @param h result, the square root if it exists.
+     * @param u numerator.
+     * @param v denominator, must not be zero.
+     * @return true if {@code u / v} is a square.
+     * @see <a href="https://tools.ietf.org/html/rfc8032#section-5.2.3">RFC 8032 5.2.3</a>
+     */
+    static boolean sqrtRatio(int[] h, int[] u, int[] v) {
+        int[] u2v = create();
+        int[] x = create();
+        int[] check = create();
+
+        // u2v = u^2 * v, x = u^5 * v^3 = u * (u^2 * v)^2 * v
+        square(u2v, u);
+        mul(u2v, u2v, v);
+        square(x, u2v);
+        mul(x, x, u);
+        mul(x, x, v);
+
+        powPm3d4(x, x);
+        // x = u^3 * v * (u^5 * v^3)^((p - 3) / 4)
+        mul(x, x, u2v);
+        mul(x, x, u);
+
+        // check = v * x^2, which must be u
+        square(check, x);
+        mul(check, check, v);
+
+        copy(h, x);
+        return isEqual(check, u);
+    }
+
+    /**
+     * Invert all elements of {@code f} with a single inversion by Montgomery's trick.
+     * All elements must be non-zero.
+     *
+     * @param h results, may be the same array as {@code f}.
+     * @param f field elements.
+     */
+    static void batchInvert(int[][] h, int[][] f) {
+        int n = f.length;
+        if (n == 0) {
+            return;
+        }
+        // acc[i] = f[0] * f[1] * ... * f[i]
+        int[][] acc = new int[n][];
+        acc[0] = create();
+        copy(acc[0], f[0]);
+        for (int i = 1; i < n; i++) {
+            acc[i] = create();
+            mul(acc[i], acc[i - 1], f[i]);
+        }
+
+        int[] inverse = create();
+        int[] tmp = create();
+        invert(inverse, acc[n - 1]);
+        for (int i = n - 1; i > 0; i--) {
+            // tmp = 1 / f[i], inverse = 1 / (f[0] * ... * f[i - 1])
+            mul(tmp, inverse, acc[i - 1]);
+            mul(inverse, inverse, f[i]);
+            copy(h[i], tmp);
+        }
+        copy(h[0], inverse);
+    }
+
+    /**
+     * Return whether the canonical form of {@code f} is odd, in other words, whether
+     * {@code f} is "negative" in RFC 8032.
+     *
+     * @param f field element.
+     * @return 1 if odd, 0 otherwise.
+     */
+    static int isNegative(int[] f) {
+        return toBytes(f)[0] & 1;
+    }
+
+    static boolean isZero(int[] f) {
+        byte[] s = toBytes(f);
+        int result = 0;
+        for (byte b : s) {
+            result |= b;
+        }
+        return result == 0;
+    }
+
+    static boolean isEqual(int[] f, int[] g) {
+        byte[] s = toBytes(f);
+        byte[] t = toBytes(g);
+        int result = 0;
+        for (int i = 0; i < s.length; i++) {
+            result |= s[i] ^ t[i];
+        }
+        return result == 0;
+    }
+
+    /**
+     * Compute {@code f^((p - 3) / 4)} = {@code f^(2^446 - 2^222 - 1)}. In binary, the
+     * exponent is 223 ones, a zero and 222 ones, so 445 squarings and 12 multiplications
+     * are needed.
+     */
+    private static void powPm3d4(int[] h, int[] f) {
+        int[] x3 = create();
+        int[] x6 = create();
+        int[] x24 = create();
+        int[] x30 = create();
+        int[] t = create();
+
+        // x_n = f^(2^n - 1)
+        square(t, f);
+        mul(t, t, f);
+        square(x3, t);
+        mul(x3, x3, f);
+        squareN(x6, x3, 3);
+        mul(x6, x6, x3);
+        squareN(t, x6, 6);
+        // t = x12
+        mul(t, t, x6);
+        squareN(x24, t, 12);
+        mul(x24, x24, t);
+        squareN(x30, x24, 6);
+        mul(x30, x30, x6);
+        squareN(t, x24, 24);
+        // t = x48
+        mul(t, t, x24);
+        squareN(x24, t, 48);
+        // x24 = x96
+        mul(x24, x24, t);
+        squareN(t, x24, 96);
+        // t = x192
+        mul(t, t, x24);
+        squareN(t, t, 30);
+        // t = x222
+        mul(t, t, x30);
+        square(x3, t);
+        // x3 = x223
+        mul(x3, x3, f);
+        squareN(x3, x3, 223);
+        mul(h, x3, t);
+    }
+
+    /**
+     * Compute {@code f^(2^n)} by n successive squarings.
+     */
+    private static void squareN(int[] h, int[] f, int n) {
+        square(h, f);
+        for (int i = 1; i < n; i++) {
+            square(h, h);
+        }
+    }
+
+    /**
+     * Fully reduce {@code f} into {@code [0, p)}.
+     */
+    private static void reduce(int[] h, int[] f) {
+        // after three passes all limbs are less than 2^28 and the value is less than 2^448.
+        copy(h, f);
+        for (int pass = 0; pass < 3; pass++) {
+            long c = 0;
+            for (int i = 0; i < LIMBS; i++) {
+                c += h[i];
+                h[i] = (int) c & M;
+                c >>= 28;
+            }
+            h[0] += (int) c;
+            h[8] += (int) c;
+        }
+
+        // value + 2^224 + 1 overflows 2^448 if and only if value >= p.
+        int[] r = new int[LIMBS];
+        long c = 1;
+        for (int i = 0; i < LIMBS; i++) {
+            c += h[i];
+            if (i == 8) {
+                c += 1;
+            }
+            r[i] = (int) c & M;
+            c >>= 28;
+        }
+        int mask = (int) -c;
+        for (int i = 0; i < LIMBS; i++) {
+            h[i] ^= (h[i] ^ r[i]) & mask;
+        }
+    }
+
+    /**
+     * Return true if every limb of f is between 0 and 1.5 * 2^28, with which no column of
+     * multiplication exceeds 2^63.
+     */
+    private static boolean isBounded(int[] f) {
+        for (int i = 0; i < LIMBS; i++) {
+            if (f[i] < 0 || f[i] >= 0x18000000) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void carry(int[] h, long h0, long h1, long h2, long h3, long h4, long h5, long h6, long h7, long h8, long h9, long h10, long h11, long h12, long h13, long h14, long h15) {
+        h1 += h0 >> 28; h0 &= M;
+        h2 += h1 >> 28; h1 &= M;
+        h3 += h2 >> 28; h2 &= M;
+        h4 += h3 >> 28; h3 &= M;
+        h5 += h4 >> 28; h4 &= M;
+        h6 += h5 >> 28; h5 &= M;
+        h7 += h6 >> 28; h6 &= M;
+        h8 += h7 >> 28; h7 &= M;
+        h9 += h8 >> 28; h8 &= M;
+        h10 += h9 >> 28; h9 &= M;
+        h11 += h10 >> 28; h10 &= M;
+        h12 += h11 >> 28; h11 &= M;
+        h13 += h12 >> 28; h12 &= M;
+        h14 += h13 >> 28; h13 &= M;
+        h15 += h14 >> 28; h14 &= M;
+
+        // 2^448 = 2^224 + 1
+        long top = h15 >> 28;
+        h15 &= M;
+        h0 += top;
+        h8 += top;
+        h1 += h0 >> 28; h0 &= M;
+        h9 += h8 >> 28; h8 &= M;
+
+        h[0] = (int) h0;
+        h[1] = (int) h1;
+        h[2] = (int) h2;
+        h[3] = (int) h3;
+        h[4] = (int) h4;
+        h[5] = (int) h5;
+        h[6] = (int) h6;
+        h[7] = (int) h7;
+        h[8] = (int) h8;
+        h[9] = (int) h9;
+        h[10] = (int) h10;
+        h[11] = (int) h11;
+        h[12] = (int) h12;
+        h[13] = (int) h13;
+        h[14] = (int) h14;
+        h[15] = (int) h15;
+    }
+
+    private static long load4(byte[] s, int offset) {
+        return ((long) (s[offset] & 0xFF))
+                | (s[offset + 1] & 0xFF) << 8
+                | (s[offset + 2] & 0xFF) << 16
+                | ((long) (s[offset + 3] & 0xFF)) << 24;
+    }
+}
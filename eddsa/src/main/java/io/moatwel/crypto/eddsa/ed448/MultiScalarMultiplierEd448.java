@@ -0,0 +1,206 @@
+package io.moatwel.crypto.eddsa.ed448;
+
+import io.moatwel.crypto.eddsa.MultiScalarMultiplier;
+import io.moatwel.crypto.eddsa.Point;
+import io.moatwel.util.ArrayUtils;
+
+import java.math.BigInteger;
+
+/**
+ * Multi-scalar multiplication on Curve448.
+ *
+ * <p>
+ * Points are converted into affine form with a single simultaneous inversion, so that
+ * every addition of a point is a mixed addition.
+ *
+ * @author Yasunori Horii.
+ * @see io.moatwel.crypto.eddsa.ed25519.MultiScalarMultiplierEd448
+ */
+final class MultiScalarMultiplierEd448 extends MultiScalarMultiplier {
+
+    MultiScalarMultiplierEd448(int strausWidth, int pippengerWindow, int strausThreshold) {
+        super(strausWidth, pippengerWindow, strausThreshold);
+    }
+
+    @Override
+    public PrecomputedPoints precompute(Point[] points) {
+        MutablePointEd448[] mutablePoints = new MutablePointEd448[points.length];
+        for (int i = 0; i < points.length; i++) {
+            mutablePoints[i] = new MutablePointEd448();
+            PointEd448.from(points[i]).copyTo(mutablePoints[i]);
+        }
+        return new PrecomputedPointsEd448(toAffine(mutablePoints));
+    }
+
+    /**
+     * Convert points into affine form, with a simultaneous inversion of all Z.
+     */
+    private static AffinePointEd448[] toAffine(MutablePointEd448[] points) {
+        int[][] zInverse = new int[points.length][];
+        for (int i = 0; i < points.length; i++) {
+            zInverse[i] = Field448.create();
+            Field448.copy(zInverse[i], points[i].Z);
+        }
+        Field448.batchInvert(zInverse, zInverse);
+
+        AffinePointEd448[] affine = new AffinePointEd448[points.length];
+        int[] x = Field448.create();
+        int[] y = Field448.create();
+        for (int i = 0; i < points.length; i++) {
+            Field448.mul(x, points[i].X, zInverse[i]);
+            Field448.mul(y, points[i].Y, zInverse[i]);
+            affine[i] = new AffinePointEd448();
+            affine[i].set(x, y);
+        }
+        return affine;
+    }
+
+    private final class PrecomputedPointsEd448 extends PrecomputedPoints {
+
+        private final AffinePointEd448[] points;
+
+        // odd multiples P, 3P, 5P, ... of each point for Straus' method, computed lazily
+        private volatile AffinePointEd448[][] oddMultiples;
+
+        private PrecomputedPointsEd448(AffinePointEd448[] points) {
+            this.points = points;
+        }
+
+        @Override
+        public int size() {
+            return points.length;
+        }
+
+        @Override
+        public Point multiplyStraus(BigInteger[] scalars) {
+            checkLength(scalars);
+            AffinePointEd448[][] tables = oddMultiples();
+            ScratchEd448 scratch = ScratchEd448.get();
+
+            byte[][] nafs = new byte[scalars.length][];
+            int top = -1;
+            for (int j = 0; j < scalars.length; j++) {
+                nafs[j] = ArrayUtils.toWindowedNonAdjacentForm(scalars[j].abs(), getStrausWidth());
+                top = Math.max(top, nafs[j].length - 1);
+            }
+
+            MutablePointEd448 h = new MutablePointEd448();
+            for (int i = top; i >= 0; i--) {
+                h.doubling(h, scratch);
+                for (int j = 0; j < nafs.length; j++) {
+                    int digit = i < nafs[j].length ? nafs[j][i] : 0;
+                    if (scalars[j].signum() < 0) {
+                        digit = -digit;
+                    }
+                    if (digit > 0) {
+                        h.addAffine(h, tables[j][digit >> 1], scratch);
+                    } else if (digit < 0) {
+                        h.subAffine(h, tables[j][-digit >> 1], scratch);
+                    }
+                }
+            }
+            return new PointEd448(h);
+        }
+
+        @Override
+        public Point multiplyPippenger(BigInteger[] scalars) {
+            checkLength(scalars);
+            ScratchEd448 scratch = ScratchEd448.get();
+
+            int bitLength = 0;
+            for (BigInteger scalar : scalars) {
+                bitLength = Math.max(bitLength, scalar.bitLength());
+            }
+            int window = windowOf(scalars.length, bitLength);
+
+            int[][] digits = new int[scalars.length][];
+            for (int j = 0; j < scalars.length; j++) {
+                digits[j] = ArrayUtils.toSignedRadixForm(scalars[j].abs(), window);
+            }
+            int windows = bitLength / window + 1;
+
+            // buckets[b] has the sum of points whose digit is b + 1
+            MutablePointEd448[] buckets = new MutablePointEd448[1 << (window - 1)];
+            for (int b = 0; b < buckets.length; b++) {
+                buckets[b] = new MutablePointEd448();
+            }
+            boolean[] isUsed = new boolean[buckets.length];
+            MutablePointEd448 runningSum = new MutablePointEd448();
+            MutablePointEd448 windowSum = new MutablePointEd448();
+
+            MutablePointEd448 h = new MutablePointEd448();
+            for (int i = windows - 1; i >= 0; i--) {
+                for (int k = 0; k < window; k++) {
+                    h.doubling(h, scratch);
+                }
+
+                int top = -1;
+                for (int j = 0; j < digits.length; j++) {
+                    int digit = i < digits[j].length ? digits[j][i] : 0;
+                    if (scalars[j].signum() < 0) {
+                        digit = -digit;
+                    }
+                    if (digit == 0) {
+                        continue;
+                    }
+                    int b = Math.abs(digit) - 1;
+                    if (!isUsed[b]) {
+                        buckets[b].setIdentity();
+                        isUsed[b] = true;
+                        top = Math.max(top, b);
+                    }
+                    if (digit > 0) {
+                        buckets[b].addAffine(buckets[b], points[j], scratch);
+                    } else {
+                        buckets[b].subAffine(buckets[b], points[j], scratch);
+                    }
+                }
+
+                // sum((b + 1) * buckets[b]) = sum of running sums from the top bucket
+                runningSum.setIdentity();
+                windowSum.setIdentity();
+                for (int b = top; b >= 0; b--) {
+                    if (isUsed[b]) {
+                        runningSum.add(runningSum, buckets[b], scratch);
+                        isUsed[b] = false;
+                    }
+                    windowSum.add(windowSum, runningSum, scratch);
+                }
+                h.add(h, windowSum, scratch);
+            }
+            return new PointEd448(h);
+        }
+
+        private AffinePointEd448[][] oddMultiples() {
+            AffinePointEd448[][] tables = oddMultiples;
+            if (tables != null) {
+                return tables;
+            }
+
+            ScratchEd448 scratch = ScratchEd448.get();
+            int count = 1 << (getStrausWidth() - 2);
+            MutablePointEd448[] multiples = new MutablePointEd448[points.length * count];
+            MutablePointEd448 point = new MutablePointEd448();
+            MutablePointEd448 twice = new MutablePointEd448();
+            for (int j = 0; j < points.length; j++) {
+                point.setIdentity();
+                point.addAffine(point, points[j], scratch);
+                twice.doubling(point, scratch);
+                multiples[j * count] = new MutablePointEd448();
+                multiples[j * count].set(point);
+                for (int m = 1; m < count; m++) {
+                    multiples[j * count + m] = new MutablePointEd448();
+                    multiples[j * count + m].add(multiples[j * count + m - 1], twice, scratch);
+                }
+            }
+
+            AffinePointEd448[] affine = toAffine(multiples);
+            tables = new AffinePointEd448[points.length][count];
+            for (int j = 0; j < points.length; j++) {
+                System.arraycopy(affine, j * count, tables[j], 0, count);
+            }
+            oddMultiples = tables;
+            return tables;
+        }
+    }
+}
@@ -0,0 +1,362 @@
+package io.moatwel.crypto.eddsa.ed448;
+
+import java.math.BigInteger;
+
+/**
+ * Mutable point on Curve448 in projective coordinates (X : Y : Z).
+ *
+ * <p>
+ * Every operation writes the result into this point, and this point may be the same
+ * object as one of operands. Temporaries are taken from {@link ScratchEd448}, so that
+ * no object is allocated during operations. {@link PointEd448} is the immutable facade
+ * of this class.
+ *
+ * <p>
+ * T is kept only for {@link PointEd448#getT()}, addition and doubling set it to zero. Scalar
+ * multiplication is done on the 4-isogenous twisted curve, see {@link TwistedPointEd448}.
+ *
+ * @author Yasunori Horii.
+ */
+final class MutablePointEd448 {
+
+    // bits of scalars which scalarMultiply processes in a fixed number of operations
+    private static final int SCALAR_BITS = 448;
+
+    static final int[] D = Field448.create(Curve448.getInstance().getD().getInteger());
+
+    final int[] X = Field448.create();
+    final int[] Y = Field448.create();
+    final int[] Z = Field448.create();
+    final int[] T = Field448.create();
+
+    /**
+     * Create the neutral element.
+     */
+    MutablePointEd448() {
+        setIdentity();
+    }
+
+    void setIdentity() {
+        Field448.zero(X);
+        Field448.one(Y);
+        Field448.one(Z);
+        Field448.zero(T);
+    }
+
+    void set(MutablePointEd448 p) {
+        set(p.X, p.Y, p.Z, p.T);
+    }
+
+    void set(int[] x, int[] y, int[] z, int[] t) {
+        Field448.copy(X, x);
+        Field448.copy(Y, y);
+        Field448.copy(Z, z);
+        Field448.copy(T, t);
+    }
+
+    /**
+     * Replace this point with {@code p} if {@code b} is 1, without any branch on {@code b}.
+     *
+     * @param p point
+     * @param b 0 or 1
+     */
+    void cmov(MutablePointEd448 p, int b) {
+        Field448.cmov(X, p.X, b);
+        Field448.cmov(Y, p.Y, b);
+        Field448.cmov(Z, p.Z, b);
+        Field448.cmov(T, p.T, b);
+    }
+
+    /**
+     * this = p + q
+     *
+     * @param p       point
+     * @param q       point
+     * @param scratch scratch of the current thread
+     * @see <a href="https://tools.ietf.org/html/rfc8032#section-5.2.4">RFC 8032 5.2.4</a>
+     */
+    void add(MutablePointEd448 p, MutablePointEd448 q, ScratchEd448 scratch) {
+        int[] A = scratch.t0;
+        int[] B = scratch.t1;
+        int[] C = scratch.t2;
+        int[] D = scratch.t3;
+        int[] E = scratch.t4;
+        int[] H = scratch.t5;
+        int[] tmp = scratch.t6;
+
+        Field448.mul(A, p.Z, q.Z);
+        Field448.square(B, A);
+        Field448.mul(C, p.X, q.X);
+        Field448.mul(D, p.Y, q.Y);
+        Field448.mul(E, C, D);
+        Field448.mul(E, E, MutablePointEd448.D);
+        Field448.addLazy(H, p.X, p.Y);
+        Field448.addLazy(tmp, q.X, q.Y);
+        Field448.mul(H, H, tmp);
+
+        int[] F = tmp;
+        Field448.subLazy(F, B, E);
+        int[] G = B;
+        Field448.addLazy(G, B, E);
+
+        // X3 = A * F * (H - C - D)
+        Field448.subLazy(H, H, C);
+        Field448.subLazy(H, H, D);
+        Field448.mul(X, A, F);
+        Field448.mul(X, X, H);
+        // Y3 = A * G * (D - C)
+        Field448.subLazy(D, D, C);
+        Field448.mul(Y, A, G);
+        Field448.mul(Y, Y, D);
+        // Z3 = F * G
+        Field448.mul(Z, F, G);
+        Field448.zero(T);
+    }
+
+    /**
+     * this = p - q
+     *
+     * @param p       point
+     * @param q       point
+     * @param scratch scratch of the current thread
+     */
+    void sub(MutablePointEd448 p, MutablePointEd448 q, ScratchEd448 scratch) {
+        MutablePointEd448 negated = scratch.negated;
+        negated.negate(q);
+        add(p, negated, scratch);
+    }
+
+    /**
+     * this = p + q, where q is a precomputed affine point. Same as
+     * {@link #add(MutablePointEd448, MutablePointEd448, ScratchEd448)} with Z2 = 1.
+     *
+     * @param p       point
+     * @param q       affine point
+     * @param scratch scratch of the current thread
+     */
+    void addAffine(MutablePointEd448 p, AffinePointEd448 q, ScratchEd448 scratch) {
+        int[] A = scratch.t0;
+        int[] B = scratch.t1;
+        int[] C = scratch.t2;
+        int[] D = scratch.t3;
+        int[] E = scratch.t4;
+        int[] H = scratch.t5;
+        int[] tmp = scratch.t6;
+
+        Field448.copy(A, p.Z);
+        Field448.square(B, A);
+        Field448.mul(C, p.X, q.x);
+        Field448.mul(D, p.Y, q.y);
+        Field448.mul(E, C, D);
+        Field448.mul(E, E, MutablePointEd448.D);
+        Field448.addLazy(H, p.X, p.Y);
+        Field448.addLazy(tmp, q.x, q.y);
+        Field448.mul(H, H, tmp);
+
+        int[] F = tmp;
+        Field448.subLazy(F, B, E);
+        int[] G = B;
+        Field448.addLazy(G, B, E);
+
+        // X3 = A * F * (H - C - D)
+        Field448.subLazy(H, H, C);
+        Field448.subLazy(H, H, D);
+        Field448.mul(X, A, F);
+        Field448.mul(X, X, H);
+        // Y3 = A * G * (D - C)
+        Field448.subLazy(D, D, C);
+        Field448.mul(Y, A, G);
+        Field448.mul(Y, Y, D);
+        // Z3 = F * G
+        Field448.mul(Z, F, G);
+        Field448.zero(T);
+    }
+
+    /**
+     * this = p - q, where q is a precomputed affine point.
+     *
+     * @param p       point
+     * @param q       affine point
+     * @param scratch scratch of the current thread
+     */
+    void subAffine(MutablePointEd448 p, AffinePointEd448 q, ScratchEd448 scratch) {
+        AffinePointEd448 negated = scratch.affine;
+        negated.set(q.x, q.y);
+        negated.cneg(1, scratch.t0);
+        addAffine(p, negated, scratch);
+    }
+
+    /**
+     * this = 2 * p
+     *
+     * @param p       point
+     * @param scratch scratch of the current thread
+     * @see <a href="https://tools.ietf.org/html/rfc8032#section-5.2.4">RFC 8032 5.2.4</a>
+     */
+    void doubling(MutablePointEd448 p, ScratchEd448 scratch) {
+        int[] B = scratch.t0;
+        int[] C = scratch.t1;
+        int[] D = scratch.t2;
+        int[] E = scratch.t3;
+        int[] H = scratch.t4;
+
+        Field448.addLazy(B, p.X, p.Y);
+        Field448.square(B, B);
+        Field448.square(C, p.X);
+        Field448.square(D, p.Y);
+        Field448.addLazy(E, C, D);
+        Field448.square(H, p.Z);
+
+        int[] J = H;
+        Field448.addLazy(J, H, H);
+        Field448.subLazy(J, E, J);
+
+        // X3 = (B - E) * J
+        Field448.subLazy(B, B, E);
+        Field448.mul(X, B, J);
+        // Y3 = E * (C - D)
+        Field448.subLazy(C, C, D);
+        Field448.mul(Y, E, C);
+        // Z3 = E * J
+        Field448.mul(Z, E, J);
+        Field448.zero(T);
+    }
+
+    /**
+     * this = k * p. {@code |k|} is written as {@code 4 * q + r} with {@code 0 <= r < 4}, and
+     * {@code 4 * q * p} is computed as the dual isogeny of {@code q} times the isogeny of p, on the
+     * twisted curve with signed radix-16 fixed window. Then {@code r * p} is selected from
+     * {@code 0, p, 2p, 3p} with conditional moves and added. Neither branch nor memory access
+     * depends on the digits, and the number of operations is fixed for scalars up to
+     * {@value #SCALAR_BITS} bits, which depends only on the bit length for larger ones.
+     *
+     * @param p       point
+     * @param k       scalar
+     * @param scratch scratch of the current thread
+     */
+    void scalarMultiply(MutablePointEd448 p, BigInteger k, ScratchEd448 scratch) {
+        boolean negative = k.signum() < 0;
+        BigInteger abs = k.abs();
+        byte[] e = toSignedDigits(abs.shiftRight(2));
+
+        // table[j] = (j + 1) * p
+        MutablePointEd448[] table = scratch.remainders;
+        table[0].set(p);
+        table[1].doubling(p, scratch);
+        table[2].add(table[1], p, scratch);
+        MutablePointEd448 remainder = scratch.base;
+        remainder.select(table, (byte) (abs.intValue() & 3), scratch.t0);
+
+        TwistedPointEd448 twisted = scratch.twisted;
+        twisted.isogeny(p, scratch);
+        twisted.scalarMultiply(twisted, e, scratch);
+        dualIsogeny(twisted, scratch);
+        add(this, remainder, scratch);
+
+        // zero gives the neutral element (0 : 1 : 1 : 0) itself, not a multiple of it
+        remainder.setIdentity();
+        cmov(remainder, k.signum() == 0 ? 1 : 0);
+
+        if (negative) {
+            negate(this);
+        }
+    }
+
+    /**
+     * this = dualIsogeny(p), that is {@code (2xy / (y^2 + x^2), (y^2 - x^2) / (2 - y^2 + x^2))}.
+     * Both denominators are never zero on the subgroup of order L of the twisted curve, and the
+     * result is {@code 4 * P} if p is the isogeny of P. T of p is not read.
+     *
+     * @param p       point on the twisted curve
+     * @param scratch scratch of the current thread
+     * @see TwistedPointEd448#isogeny(MutablePointEd448, ScratchEd448)
+     */
+    void dualIsogeny(TwistedPointEd448 p, ScratchEd448 scratch) {
+        int[] A = scratch.t0;
+        int[] B = scratch.t1;
+        int[] C = scratch.t2;
+        int[] E = scratch.t3;
+        int[] H = scratch.t4;
+
+        Field448.square(A, p.X);
+        Field448.square(B, p.Y);
+        Field448.square(C, p.Z);
+        Field448.addLazy(C, C, C);
+        Field448.addLazy(E, p.X, p.Y);
+        Field448.square(E, E);
+
+        // H = y^2 + x^2, G = y^2 - x^2, E = 2xy, C = 2 - y^2 + x^2
+        Field448.addLazy(H, B, A);
+        int[] G = B;
+        Field448.subLazy(G, B, A);
+        Field448.subLazy(E, E, H);
+        Field448.subLazy(C, C, G);
+
+        Field448.mul(X, E, C);
+        Field448.mul(Y, G, H);
+        Field448.mul(T, E, G);
+        Field448.mul(Z, H, C);
+    }
+
+    /**
+     * this = b * p, where {@code table[j] = (j + 1) * p}, without any branch or memory access
+     * depending on {@code b}.
+     *
+     * @param table multiples {@code p, 2p, ...}
+     * @param b     digit whose absolute value is at most {@code table.length}
+     * @param tmp   temporary
+     */
+    void select(MutablePointEd448[] table, byte b, int[] tmp) {
+        int negative = (b >> 7) & 1;
+        int abs = b - ((-negative & b) << 1);
+
+        setIdentity();
+        for (int j = 0; j < table.length; j++) {
+            cmov(table[j], ((abs ^ (j + 1)) - 1) >>> 31);
+        }
+        Field448.neg(tmp, X);
+        Field448.cmov(X, tmp, negative);
+        Field448.neg(tmp, T);
+        Field448.cmov(T, tmp, negative);
+    }
+
+    /**
+     * this = -p, that is (-X : Y : Z : -T).
+     *
+     * @param p point
+     */
+    void negate(MutablePointEd448 p) {
+        Field448.neg(X, p.X);
+        Field448.copy(Y, p.Y);
+        Field448.copy(Z, p.Z);
+        Field448.neg(T, p.T);
+    }
+
+    /**
+     * Return signed radix-16 digits of a non-negative integer, each of which is between -8 and 8.
+     * The number of digits is {@code SCALAR_BITS / 4 + 1} for integers up to
+     * {@value #SCALAR_BITS} bits.
+     */
+    private static byte[] toSignedDigits(BigInteger k) {
+        byte[] a = k.toByteArray();
+        int length = (Math.max(SCALAR_BITS, k.bitLength()) + 3) / 4 + 1;
+        byte[] e = new byte[length];
+        for (int i = 0; i < (length + 1) / 2; i++) {
+            int b = i < a.length ? a[a.length - 1 - i] & 0xFF : 0;
+            e[2 * i] = (byte) (b & 15);
+            if (2 * i + 1 < length) {
+                e[2 * i + 1] = (byte) ((b >> 4) & 15);
+            }
+        }
+
+        // the last digit is 0 before the carry, so it is 0 or 1 after that.
+        int carry = 0;
+        for (int i = 0; i < length - 1; i++) {
+            e[i] += carry;
+            carry = (e[i] + 8) >> 4;
+            e[i] -= carry << 4;
+        }
+        e[length - 1] += carry;
+        return e;
+    }
+}
@@ -1,42 +1,111 @@
 package io.moatwel.crypto.eddsa.ed448;
 
 import io.moatwel.crypto.eddsa.Coordinate;
-import io.moatwel.crypto.eddsa.Curve;
 import io.moatwel.crypto.eddsa.EncodedPoint;
 import io.moatwel.crypto.eddsa.Point;
 import io.moatwel.util.ArrayUtils;
-import io.moatwel.util.ByteUtils;
 
 import java.math.BigInteger;
 
 /**
  * Represent Point on Curve448 of Edwards-curve.
  *
+ * <p>
+ * This point keeps projective coordinates (X : Y : Z) as {@link Field448} limbs, and
+ * {@link Coordinate}s are created only when they are requested. This class is the immutable
+ * facade of {@link MutablePointEd448}, each operation creates only the resulting point.
+ *
  * @author Yasunori Horii.
  */
 class PointEd448 extends Point {
 
-    static final PointEd448 O = new PointEd448(CoordinateEd448.ZERO, CoordinateEd448.ONE, CoordinateEd448.ONE, CoordinateEd448.ZERO);
-    private static final Coordinate DEFAULT_Z = CoordinateEd448.ONE;
-    private static final Curve curve = Curve448.getInstance();
+    static final PointEd448 O = new PointEd448(new MutablePointEd448());
+
+    // width of wNAF of the scalar of a point which has odd multiples.
+    static final int PRECOMPUTED_WIDTH = 7;
+
+    // never modified after construction.
+    private final MutablePointEd448 point;
+
+    // odd multiples P', 3P', ..., 63P' of the isogeny P' of this point, or null if they are not computed.
+    private final TwistedNielsPointEd448[] oddMultiples;
 
     /**
      * constructor of Point
      *
      * @param x x-coordinate
      * @param y y-coordinate
+     * @param z z-coordinate
+     * @param t t-coordinate
      */
     PointEd448(Coordinate x, Coordinate y, Coordinate z, Coordinate t) {
-        super(x, y, z, t);
+        this(Field448.create(x.getInteger()),
+                Field448.create(y.getInteger()),
+                Field448.create(z.getInteger()),
+                Field448.create(t.getInteger()));
+    }
+
+    private PointEd448(int[] x, int[] y, int[] z, int[] t) {
+        this(new MutablePointEd448());
+        point.set(x, y, z, t);
+    }
+
+    PointEd448(MutablePointEd448 point) {
+        this(point, null);
+    }
+
+    private PointEd448(MutablePointEd448 point, TwistedNielsPointEd448[] oddMultiples) {
+        super();
+        this.point = point;
+        this.oddMultiples = oddMultiples;
     }
 
     public static PointEd448 fromAffine(Coordinate x, Coordinate y) {
-        return new PointEd448(
-                x.multiply(DEFAULT_Z).mod(),
-                y.multiply(DEFAULT_Z).mod(),
-                DEFAULT_Z,
-                x.multiply(y).multiply(DEFAULT_Z).mod()
-        );
+        return fromAffine(Field448.create(x.getInteger()), Field448.create(y.getInteger()));
+    }
+
+    static PointEd448 fromAffine(int[] x, int[] y) {
+        MutablePointEd448 p = new MutablePointEd448();
+        Field448.copy(p.X, x);
+        Field448.copy(p.Y, y);
+        Field448.mul(p.T, x, y);
+        return new PointEd448(p);
+    }
+
+    @Override
+    public Coordinate getX() {
+        return new CoordinateEd448(Field448.toBigInteger(point.X));
+    }
+
+    @Override
+    public Coordinate getY() {
+        return new CoordinateEd448(Field448.toBigInteger(point.Y));
+    }
+
+    @Override
+    public Coordinate getZ() {
+        return new CoordinateEd448(Field448.toBigInteger(point.Z));
+    }
+
+    @Override
+    public Coordinate getT() {
+        return new CoordinateEd448(Field448.toBigInteger(point.T));
+    }
+
+    @Override
+    public Coordinate getAffineX() {
+        int[] x = Field448.create();
+        Field448.invert(x, point.Z);
+        Field448.mul(x, point.X, x);
+        return new CoordinateEd448(Field448.toBigInteger(x));
+    }
+
+    @Override
+    public Coordinate getAffineY() {
+        int[] y = Field448.create();
+        Field448.invert(y, point.Z);
+        Field448.mul(y, point.Y, y);
+        return new CoordinateEd448(Field448.toBigInteger(y));
     }
 
     /**
@@ -44,76 +113,87 @@ class PointEd448 extends Point {
      */
     @Override
     public Point add(Point point) {
-        Coordinate x1 = this.x;
-        Coordinate y1 = this.y;
-        Coordinate z1 = this.z;
-        Coordinate x2 = point.getX();
-        Coordinate y2 = point.getY();
-        Coordinate z2 = point.getZ();
-
-        Coordinate A = z1.multiply(z2).mod();
-        Coordinate B = A.multiply(A).mod();
-        Coordinate C = x1.multiply(x2).mod();
-        Coordinate D = y1.multiply(y2).mod();
-
-        Coordinate E = curve.getD().multiply(C).multiply(D).mod();
-        Coordinate F = B.subtract(E).mod();
-        Coordinate G = B.add(E);
-        Coordinate H = (x1.add(y1)).multiply(x2.add(y2)).mod();
-        Coordinate X3 = A.multiply(F).multiply(H.subtract(C).subtract(D)).mod();
-        Coordinate Y3 = A.multiply(G).multiply(D.subtract(C)).mod();
-        Coordinate Z3 = F.multiply(G).mod();
-
-        // arg t is unnecessary on scalar multiplication indeed, so set ZERO as arg t.
-        return new PointEd448(X3, Y3, Z3, CoordinateEd448.ZERO);
+        MutablePointEd448 result = new MutablePointEd448();
+        result.add(this.point, from(point).point, ScratchEd448.get());
+        return new PointEd448(result);
     }
 
     @Override
     public Point doubling() {
-        Coordinate x1 = this.x;
-        Coordinate y1 = this.y;
-        Coordinate z1 = this.z;
-
-        Coordinate B = (x1.add(y1)).multiply(x1.add(y1)).mod();
-        Coordinate C = x1.multiply(x1).mod();
-        Coordinate D = y1.multiply(y1).mod();
-        Coordinate E = C.add(D).mod();
-        Coordinate H = z1.multiply(z1).mod();
-        Coordinate J = E.subtract(new CoordinateEd448(BigInteger.ONE.shiftLeft(1)).multiply(H)).mod();
+        MutablePointEd448 result = new MutablePointEd448();
+        result.doubling(point, ScratchEd448.get());
+        return new PointEd448(result);
+    }
 
-        Coordinate X3 = (B.subtract(E)).multiply(J).mod();
-        Coordinate Y3 = E.multiply(C.subtract(D)).mod();
-        Coordinate Z3 = E.multiply(J);
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Point scalarMultiply(BigInteger integer) {
+        MutablePointEd448 result = new MutablePointEd448();
+        result.scalarMultiply(point, integer, ScratchEd448.get());
+        return new PointEd448(result);
+    }
 
-        // arg t is unnecessary on scalar multiplication indeed, so set ZERO as arg t.
-        return new PointEd448(X3, Y3, Z3, CoordinateEd448.ZERO);
+    /**
+     * {@inheritDoc}
+     * <p>
+     * If this point has odd multiples computed by {@link #precompute()}, they are used with
+     * wNAF of width {@link #PRECOMPUTED_WIDTH}.
+     */
+    @Override
+    public Point scalarMultiplyVariableTime(BigInteger integer) {
+        return scalarMultiplyVariableTime(integer, oddMultiples != null ? PRECOMPUTED_WIDTH : DEFAULT_WNAF_WIDTH);
     }
 
     /**
      * {@inheritDoc}
+     * <p>
+     * {@code |integer|} is written as {@code 4 * q + r} with {@code 0 <= r < 4}, and {@code q} is
+     * multiplied on the twisted curve, see {@link TwistedPointEd448}.
      */
     @Override
-    public Point scalarMultiply(BigInteger integer) {
-        if (integer.equals(BigInteger.ZERO)) {
-            return PointEd448.O;
-        }
+    public Point scalarMultiplyVariableTime(BigInteger integer, int width) {
+        BigInteger abs = integer.abs();
+        byte[] naf = ArrayUtils.toWindowedNonAdjacentForm(abs.shiftRight(2), width);
+        ScratchEd448 scratch = ScratchEd448.get();
+        TwistedPointEd448 twisted = scratch.twisted;
 
-        Point[] qs = new Point[]{O, O};
-        Point[] rs = new Point[]{this, this, negateY()};
+        if (oddMultiples != null && width == PRECOMPUTED_WIDTH) {
+            twisted.multiplyNaf(naf, oddMultiples, scratch);
+        } else {
+            TwistedCachedPointEd448[] table = scratch.oddMultiples;
+            if (table.length != 1 << (width - 2)) {
+                table = new TwistedCachedPointEd448[1 << (width - 2)];
+                for (int i = 0; i < table.length; i++) {
+                    table[i] = new TwistedCachedPointEd448();
+                }
+            }
+            TwistedPointEd448 base = scratch.twistedBase;
+            base.isogeny(point, scratch);
+            TwistedPointEd448.oddMultiples(table, base, scratch);
+            twisted.multiplyNaf(naf, table, scratch);
+        }
 
-        int[] signedBin = ArrayUtils.toMutualOppositeForm(integer);
+        MutablePointEd448 result = new MutablePointEd448();
+        result.dualIsogeny(twisted, scratch);
+        for (int r = abs.intValue() & 3; r > 0; r--) {
+            result.add(result, point, scratch);
+        }
 
-        for (int aSignedBin : signedBin) {
-            qs[0] = qs[0].doubling();
-            qs[1] = qs[0].add(rs[1 - aSignedBin]).negate();
-            qs[0] = qs[(aSignedBin ^ (aSignedBin >> 31)) - (aSignedBin >> 31)];
+        if (integer.signum() < 0) {
+            result.negate(result);
         }
-        return qs[0];
+        return new PointEd448(result);
     }
 
     @Override
     public Point negateY() {
-        return new PointEd448(x, y.negate(), z, t.negate());
+        MutablePointEd448 result = new MutablePointEd448();
+        result.set(point);
+        Field448.neg(result.Y, point.Y);
+        Field448.neg(result.T, point.T);
+        return new PointEd448(result);
     }
 
     /**
@@ -121,25 +201,141 @@ class PointEd448 extends Point {
      */
     @Override
     public EncodedPoint encode() {
-        byte[] reversedY = ByteUtils.reverse(ArrayUtils.toByteArray(getAffineY().getInteger(), 57));
-        reversedY = ByteUtils.paddingZeroOnTail(reversedY, 57);
-        byte[] byteX = ArrayUtils.toByteArray(getAffineX().getInteger(), 57);
-        int lengthX = byteX.length;
-        int lengthY = reversedY.length;
-        int writeBit = byteX[lengthX - 1] & 0b00000001;
-
-        if (writeBit == 1) {
-            reversedY[lengthY - 1] |= 1 << 7;
-        } else {
-            writeBit = ~(1 << 7);
-            reversedY[lengthY - 1] &= writeBit;
+        ScratchEd448 scratch = ScratchEd448.get();
+        int[] zInverse = scratch.t0;
+        Field448.invert(zInverse, point.Z);
+
+        byte[] encoded = new byte[57];
+        encode(encoded, point, zInverse, scratch);
+        return new EncodedPointEd448(encoded);
+    }
+
+    /**
+     * Encode points into {@code output} from {@code offset}, 57 bytes each, with a single
+     * simultaneous inversion of all Z.
+     *
+     * @param points points on Curve448
+     * @param output buffer of the encoded points
+     * @param offset index of {@code output} where the first encoded point is written
+     */
+    static void encodeAll(Point[] points, byte[] output, int offset) {
+        MutablePointEd448[] mutablePoints = new MutablePointEd448[points.length];
+        int[][] zInverse = new int[points.length][];
+        for (int i = 0; i < points.length; i++) {
+            mutablePoints[i] = from(points[i]).point;
+            zInverse[i] = Field448.create();
+            Field448.copy(zInverse[i], mutablePoints[i].Z);
         }
+        Field448.batchInvert(zInverse, zInverse);
 
-        return new EncodedPointEd448(reversedY);
+        ScratchEd448 scratch = ScratchEd448.get();
+        byte[] encoded = new byte[57];
+        for (int i = 0; i < points.length; i++) {
+            encode(encoded, mutablePoints[i], zInverse[i], scratch);
+            System.arraycopy(encoded, 0, output, offset + 57 * i, 57);
+        }
+    }
+
+    /**
+     * Write the encoding of {@code p} into 57 bytes {@code s}, where {@code zInverse} is the
+     * inverse of Z of {@code p}.
+     */
+    private static void encode(byte[] s, MutablePointEd448 p, int[] zInverse, ScratchEd448 scratch) {
+        int[] x = scratch.t1;
+        int[] y = scratch.t2;
+        Field448.mul(x, p.X, zInverse);
+        Field448.mul(y, p.Y, zInverse);
+
+        Field448.toBytes(s, y);
+        s[56] = (byte) (Field448.isNegative(x) << 7);
     }
 
     @Override
     public Point negate() {
-        return new PointEd448(x.negate(), y.negate(), z, t);
+        MutablePointEd448 result = new MutablePointEd448();
+        result.set(point);
+        Field448.neg(result.X, point.X);
+        Field448.neg(result.Y, point.Y);
+        return new PointEd448(result);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Compare on the projective coordinate, {@code X1 * Z2 = X2 * Z1} and {@code Y1 * Z2 = Y2 * Z1},
+     * so that no inversion is needed.
+     */
+    @Override
+    public boolean isEqual(Point point) {
+        if (!(point instanceof PointEd448)) {
+            return super.isEqual(point);
+        }
+        MutablePointEd448 that = ((PointEd448) point).point;
+
+        ScratchEd448 scratch = ScratchEd448.get();
+        int[] lhs = scratch.t0;
+        int[] rhs = scratch.t1;
+        Field448.mul(lhs, this.point.X, that.Z);
+        Field448.mul(rhs, that.X, this.point.Z);
+        if (!Field448.isEqual(lhs, rhs)) {
+            return false;
+        }
+        Field448.mul(lhs, this.point.Y, that.Z);
+        Field448.mul(rhs, that.Y, this.point.Z);
+        return Field448.isEqual(lhs, rhs);
+    }
+
+    /**
+     * Return the same point with odd multiples {@code P', 3P', ..., 63P'} of the isogeny P' of this
+     * point in Niels form, which are used by double-scalar multiplication instead of computing odd
+     * multiples on every call.
+     *
+     * @return PointEd448 instance which has odd multiples
+     * @see TwistedPointEd448
+     */
+    PointEd448 precompute() {
+        if (oddMultiples != null) {
+            return this;
+        }
+        ScratchEd448 scratch = ScratchEd448.get();
+
+        TwistedPointEd448[] odd = new TwistedPointEd448[1 << (PRECOMPUTED_WIDTH - 2)];
+        for (int i = 0; i < odd.length; i++) {
+            odd[i] = new TwistedPointEd448();
+        }
+        TwistedPointEd448 base = new TwistedPointEd448();
+        base.isogeny(point, scratch);
+        TwistedPointEd448.oddMultiples(odd, base, scratch);
+        return new PointEd448(point, TwistedNielsPointEd448.fromExtended(odd));
+    }
+
+    /**
+     * @return odd multiples {@code P', 3P', ..., 63P'}, or null if they are not computed
+     * @see #precompute()
+     */
+    TwistedNielsPointEd448[] getOddMultiples() {
+        return oddMultiples;
+    }
+
+    /**
+     * Copy this point into {@code dst}.
+     *
+     * @param dst destination
+     */
+    void copyTo(MutablePointEd448 dst) {
+        dst.set(point);
+    }
+
+    /**
+     * Return {@code point} itself if it is a PointEd448, otherwise convert it.
+     *
+     * @param point point on this curve
+     * @return PointEd448 instance
+     */
+    static PointEd448 from(Point point) {
+        if (point instanceof PointEd448) {
+            return (PointEd448) point;
+        }
+        return new PointEd448(point.getX(), point.getY(), point.getZ(), point.getT());
     }
 }
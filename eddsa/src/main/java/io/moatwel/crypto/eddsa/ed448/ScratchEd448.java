@@ -0,0 +1,78 @@
+package io.moatwel.crypto.eddsa.ed448;
+
+/**
+ * Reusable working storage of point operations on Curve448.
+ *
+ * <p>
+ * One instance is kept per thread, so that point operations on {@link MutablePointEd448}
+ * do not allocate any object in steady state. Temporaries are only valid during a single
+ * operation, and an operation must not be called while another operation using the same
+ * scratch is running.
+ *
+ * @author Yasunori Horii.
+ */
+final class ScratchEd448 {
+
+    private static final ThreadLocal<ScratchEd448> LOCAL = new ThreadLocal<ScratchEd448>() {
+        @Override
+        protected ScratchEd448 initialValue() {
+            return new ScratchEd448();
+        }
+    };
+
+    // temporaries of addition and doubling
+    final int[] t0 = Field448.create();
+    final int[] t1 = Field448.create();
+    final int[] t2 = Field448.create();
+    final int[] t3 = Field448.create();
+    final int[] t4 = Field448.create();
+    final int[] t5 = Field448.create();
+    final int[] t6 = Field448.create();
+
+    // points of scalar multiplication
+    final MutablePointEd448 base = new MutablePointEd448();
+    final MutablePointEd448 negated = new MutablePointEd448();
+
+    // multiples P, 2P, 3P for the remainder of the scalar divided by 4
+    final MutablePointEd448[] remainders = new MutablePointEd448[3];
+
+    // points on the twisted curve, see TwistedPointEd448
+    final TwistedPointEd448 twisted = new TwistedPointEd448();
+    final TwistedPointEd448 twistedBase = new TwistedPointEd448();
+    final TwistedPointEd448 twistedSum = new TwistedPointEd448();
+
+    // odd multiples P, 3P, ..., 15P of variable-base wNAF multiplication
+    final TwistedCachedPointEd448[] oddMultiples = new TwistedCachedPointEd448[8];
+
+    // multiples P, 2P, ..., 8P of variable-base fixed-window multiplication, and selected entry
+    final TwistedCachedPointEd448[] cachedMultiples = new TwistedCachedPointEd448[8];
+    final TwistedCachedPointEd448 cached = new TwistedCachedPointEd448();
+
+    // selected entry and signed radix-16 digits of fixed-base multiplication
+    final TwistedNielsPointEd448 niels = new TwistedNielsPointEd448();
+    final byte[] digits = new byte[112];
+
+    // entry of multi-scalar multiplication, which is done on Curve448
+    final AffinePointEd448 affine = new AffinePointEd448();
+
+    private ScratchEd448() {
+        for (int i = 0; i < remainders.length; i++) {
+            remainders[i] = new MutablePointEd448();
+        }
+        for (int i = 0; i < oddMultiples.length; i++) {
+            oddMultiples[i] = new TwistedCachedPointEd448();
+        }
+        for (int i = 0; i < cachedMultiples.length; i++) {
+            cachedMultiples[i] = new TwistedCachedPointEd448();
+        }
+    }
+
+    /**
+     * Return the scratch of the current thread.
+     *
+     * @return scratch
+     */
+    static ScratchEd448 get() {
+        return LOCAL.get();
+    }
+}
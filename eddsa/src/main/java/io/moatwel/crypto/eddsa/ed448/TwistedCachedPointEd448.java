@@ -0,0 +1,79 @@
+package io.moatwel.crypto.eddsa.ed448;
+
+/**
+ * Point on the twisted curve of Curve448 in cached form (Y + X, Y - X, 2 * Z, 2 * d' * T).
+ * {@code 2 * d' * T} and {@code 2 * Z} are computed once when the point is cached, so adding
+ * this form to a {@link TwistedPointEd448} needs one multiplication less than adding two
+ * extended points.
+ *
+ * @author Yasunori Horii.
+ * @see TwistedPointEd448#addCached(TwistedPointEd448, TwistedCachedPointEd448, ScratchEd448)
+ */
+final class TwistedCachedPointEd448 {
+
+    final int[] yPlusX = Field448.create();
+    final int[] yMinusX = Field448.create();
+    final int[] z2 = Field448.create();
+    final int[] t2d = Field448.create();
+
+    /**
+     * Create the neutral element.
+     */
+    TwistedCachedPointEd448() {
+        setIdentity();
+    }
+
+    void setIdentity() {
+        Field448.one(yPlusX);
+        Field448.one(yMinusX);
+        Field448.one(z2);
+        Field448.add(z2, z2, z2);
+        Field448.zero(t2d);
+    }
+
+    /**
+     * Set the cached form of an extended point.
+     *
+     * @param p point, whose T must be valid
+     */
+    void set(TwistedPointEd448 p) {
+        Field448.add(yPlusX, p.Y, p.X);
+        Field448.sub(yMinusX, p.Y, p.X);
+        Field448.add(z2, p.Z, p.Z);
+        Field448.mul(t2d, p.T, TwistedPointEd448.D2);
+    }
+
+    /**
+     * Replace this point with {@code p} if {@code b} is 1, without any branch on {@code b}.
+     *
+     * @param p point
+     * @param b 0 or 1
+     */
+    void cmov(TwistedCachedPointEd448 p, int b) {
+        Field448.cmov(yPlusX, p.yPlusX, b);
+        Field448.cmov(yMinusX, p.yMinusX, b);
+        Field448.cmov(z2, p.z2, b);
+        Field448.cmov(t2d, p.t2d, b);
+    }
+
+    /**
+     * this = b * p, where {@code table[j] = (j + 1) * p}, without any branch or memory access
+     * depending on {@code b}.
+     *
+     * @param table multiples {@code p, 2p, ..., 8p}
+     * @param b     digit between -8 and 8
+     * @param tmp   temporary
+     */
+    void select(TwistedCachedPointEd448[] table, byte b, int[] tmp) {
+        int negative = (b >> 7) & 1;
+        int abs = b - ((-negative & b) << 1);
+
+        setIdentity();
+        for (int j = 0; j < table.length; j++) {
+            cmov(table[j], ((abs ^ (j + 1)) - 1) >>> 31);
+        }
+        Field448.cswap(yPlusX, yMinusX, negative);
+        Field448.neg(tmp, t2d);
+        Field448.cmov(t2d, tmp, negative);
+    }
+}
@@ -0,0 +1,93 @@
+package io.moatwel.crypto.eddsa.ed448;
+
+/**
+ * Affine point on the twisted curve of Curve448 in Niels form (y + x, y - x, 2 * d' * x * y),
+ * which is the form of precomputed points. Adding this form to a {@link TwistedPointEd448}
+ * needs one multiplication less than adding two extended points.
+ *
+ * @author Yasunori Horii.
+ * @see TwistedPointEd448#addNiels(TwistedPointEd448, TwistedNielsPointEd448, ScratchEd448)
+ */
+final class TwistedNielsPointEd448 {
+
+    final int[] yPlusX = Field448.create();
+    final int[] yMinusX = Field448.create();
+    final int[] xy2d = Field448.create();
+
+    /**
+     * Create the neutral element.
+     */
+    TwistedNielsPointEd448() {
+        setIdentity();
+    }
+
+    void setIdentity() {
+        Field448.one(yPlusX);
+        Field448.one(yMinusX);
+        Field448.zero(xy2d);
+    }
+
+    /**
+     * Set the affine point (x, y).
+     *
+     * @param x affine x
+     * @param y affine y
+     */
+    void set(int[] x, int[] y) {
+        Field448.add(yPlusX, y, x);
+        Field448.sub(yMinusX, y, x);
+        Field448.mul(xy2d, x, y);
+        Field448.mul(xy2d, xy2d, TwistedPointEd448.D2);
+    }
+
+    /**
+     * Replace this point with {@code p} if {@code b} is 1, without any branch on {@code b}.
+     *
+     * @param p point
+     * @param b 0 or 1
+     */
+    void cmov(TwistedNielsPointEd448 p, int b) {
+        Field448.cmov(yPlusX, p.yPlusX, b);
+        Field448.cmov(yMinusX, p.yMinusX, b);
+        Field448.cmov(xy2d, p.xy2d, b);
+    }
+
+    /**
+     * Negate this point if {@code b} is 1, without any branch on {@code b}.
+     * The negation of (x, y) is (-x, y), so y + x and y - x are swapped.
+     *
+     * @param b   0 or 1
+     * @param tmp temporary
+     */
+    void cneg(int b, int[] tmp) {
+        Field448.cswap(yPlusX, yMinusX, b);
+        Field448.neg(tmp, xy2d);
+        Field448.cmov(xy2d, tmp, b);
+    }
+
+    /**
+     * Convert extended points into Niels form, with a simultaneous inversion of all Z.
+     *
+     * @param points points
+     * @return points in Niels form
+     */
+    static TwistedNielsPointEd448[] fromExtended(TwistedPointEd448[] points) {
+        int[][] zInverse = new int[points.length][];
+        for (int i = 0; i < points.length; i++) {
+            zInverse[i] = Field448.create();
+            Field448.copy(zInverse[i], points[i].Z);
+        }
+        Field448.batchInvert(zInverse, zInverse);
+
+        int[] x = Field448.create();
+        int[] y = Field448.create();
+        TwistedNielsPointEd448[] niels = new TwistedNielsPointEd448[points.length];
+        for (int i = 0; i < points.length; i++) {
+            Field448.mul(x, points[i].X, zInverse[i]);
+            Field448.mul(y, points[i].Y, zInverse[i]);
+            niels[i] = new TwistedNielsPointEd448();
+            niels[i].set(x, y);
+        }
+        return niels;
+    }
+}
@@ -0,0 +1,409 @@
+package io.moatwel.crypto.eddsa.ed448;
+
+import java.math.BigInteger;
+
+/**
+ * Mutable point in extended coordinates (X : Y : Z : T) on the twisted Edwards curve
+ * {@code -x^2 + y^2 = 1 + d' * x^2 * y^2} with {@code d' = d - 1}, which is 4-isogenous to
+ * Curve448.
+ *
+ * <p>
+ * Curve448 has {@code a = 1}, whose formulas need T to be zero or one more multiplication.
+ * The isogeny {@link #isogeny(MutablePointEd448, ScratchEd448)} moves a point of Curve448 to
+ * this curve, where the formulas of {@code a = -1} are available, and the dual isogeny
+ * {@link MutablePointEd448#dualIsogeny(TwistedPointEd448, ScratchEd448)} moves it back. The
+ * composition of them is the multiplication by 4, so {@code k * P} is computed as
+ * {@code dualIsogeny((k / 4) * isogeny(P)) + (k mod 4) * P}. The image of the isogeny is the
+ * subgroup of order L, on which the formulas have no exception.
+ *
+ * <p>
+ * Each addition and doubling computes E, F, G and H first, and then converts them with 4
+ * multiplications. As on Curve25519, {@link #doublingProjective(TwistedPointEd448, ScratchEd448)}
+ * skips T when the result is only doubled again. Sums and differences are computed with
+ * {@link Field448#addLazy(int[], int[], int[])} and {@link Field448#subLazy(int[], int[], int[])},
+ * which carry only once.
+ *
+ * @author Yasunori Horii.
+ * @see <a href="https://eprint.iacr.org/2014/027">Twisting Edwards curves with isogenies</a>
+ */
+final class TwistedPointEd448 {
+
+    // 2 * d' = 2 * (d - 1)
+    static final int[] D2 = Field448.create(
+            Curve448.getInstance().getD().getInteger().subtract(BigInteger.ONE).shiftLeft(1));
+
+    final int[] X = Field448.create();
+    final int[] Y = Field448.create();
+    final int[] Z = Field448.create();
+    final int[] T = Field448.create();
+
+    /**
+     * Create the neutral element.
+     */
+    TwistedPointEd448() {
+        setIdentity();
+    }
+
+    void setIdentity() {
+        Field448.zero(X);
+        Field448.one(Y);
+        Field448.one(Z);
+        Field448.zero(T);
+    }
+
+    void set(TwistedPointEd448 p) {
+        Field448.copy(X, p.X);
+        Field448.copy(Y, p.Y);
+        Field448.copy(Z, p.Z);
+        Field448.copy(T, p.T);
+    }
+
+    /**
+     * this = isogeny(p), that is {@code (2xy / (y^2 - x^2), (y^2 + x^2) / (2 - y^2 - x^2))}.
+     * Both denominators are never zero on Curve448, and T of p is not read.
+     *
+     * @param p       point on Curve448
+     * @param scratch scratch of the current thread
+     */
+    void isogeny(MutablePointEd448 p, ScratchEd448 scratch) {
+        int[] A = scratch.t0;
+        int[] B = scratch.t1;
+        int[] C = scratch.t2;
+        int[] E = scratch.t3;
+        int[] H = scratch.t4;
+
+        Field448.square(A, p.X);
+        Field448.square(B, p.Y);
+        Field448.square(C, p.Z);
+        Field448.addLazy(C, C, C);
+        Field448.addLazy(E, p.X, p.Y);
+        Field448.square(E, E);
+
+        // H = y^2 + x^2, G = y^2 - x^2, E = 2xy, C = 2 - y^2 - x^2
+        Field448.addLazy(H, B, A);
+        int[] G = B;
+        Field448.subLazy(G, B, A);
+        Field448.subLazy(E, E, H);
+        Field448.subLazy(C, C, H);
+
+        Field448.mul(X, E, C);
+        Field448.mul(Y, H, G);
+        Field448.mul(T, E, H);
+        Field448.mul(Z, G, C);
+    }
+
+    /**
+     * this = p + q, where q is in cached form, with "add-2008-hwcd-3" formula.
+     *
+     * @param p       point
+     * @param q       point in cached form
+     * @param scratch scratch of the current thread
+     */
+    void addCached(TwistedPointEd448 p, TwistedCachedPointEd448 q, ScratchEd448 scratch) {
+        int[] A = scratch.t0;
+        int[] B = scratch.t1;
+        int[] C = scratch.t2;
+        int[] D = scratch.t3;
+        int[] E = scratch.t4;
+
+        Field448.subLazy(A, p.Y, p.X);
+        Field448.mul(A, A, q.yMinusX);
+        Field448.addLazy(B, p.Y, p.X);
+        Field448.mul(B, B, q.yPlusX);
+        Field448.mul(C, p.T, q.t2d);
+        Field448.mul(D, p.Z, q.z2);
+
+        Field448.subLazy(E, B, A);
+        int[] H = B;
+        Field448.addLazy(H, B, A);
+        int[] F = A;
+        Field448.subLazy(F, D, C);
+        int[] G = C;
+        Field448.addLazy(G, D, C);
+
+        setEFGH(E, F, G, H);
+    }
+
+    /**
+     * this = p - q, where q is in cached form.
+     *
+     * @param p       point
+     * @param q       point in cached form
+     * @param scratch scratch of the current thread
+     */
+    void subCached(TwistedPointEd448 p, TwistedCachedPointEd448 q, ScratchEd448 scratch) {
+        int[] A = scratch.t0;
+        int[] B = scratch.t1;
+        int[] C = scratch.t2;
+        int[] D = scratch.t3;
+        int[] E = scratch.t4;
+
+        Field448.subLazy(A, p.Y, p.X);
+        Field448.mul(A, A, q.yPlusX);
+        Field448.addLazy(B, p.Y, p.X);
+        Field448.mul(B, B, q.yMinusX);
+        Field448.mul(C, p.T, q.t2d);
+        Field448.mul(D, p.Z, q.z2);
+
+        Field448.subLazy(E, B, A);
+        int[] H = B;
+        Field448.addLazy(H, B, A);
+        int[] F = A;
+        Field448.addLazy(F, D, C);
+        int[] G = C;
+        Field448.subLazy(G, D, C);
+
+        setEFGH(E, F, G, H);
+    }
+
+    /**
+     * this = p + q, where q is a precomputed affine point, with "madd-2008-hwcd-3" formula.
+     *
+     * @param p       point
+     * @param q       affine point in Niels form
+     * @param scratch scratch of the current thread
+     */
+    void addNiels(TwistedPointEd448 p, TwistedNielsPointEd448 q, ScratchEd448 scratch) {
+        int[] A = scratch.t0;
+        int[] B = scratch.t1;
+        int[] C = scratch.t2;
+        int[] D = scratch.t3;
+        int[] E = scratch.t4;
+
+        Field448.subLazy(A, p.Y, p.X);
+        Field448.mul(A, A, q.yMinusX);
+        Field448.addLazy(B, p.Y, p.X);
+        Field448.mul(B, B, q.yPlusX);
+        Field448.mul(C, p.T, q.xy2d);
+        Field448.addLazy(D, p.Z, p.Z);
+
+        Field448.subLazy(E, B, A);
+        int[] H = B;
+        Field448.addLazy(H, B, A);
+        int[] F = A;
+        Field448.subLazy(F, D, C);
+        int[] G = C;
+        Field448.addLazy(G, D, C);
+
+        setEFGH(E, F, G, H);
+    }
+
+    /**
+     * this = p - q, where q is a precomputed affine point.
+     *
+     * @param p       point
+     * @param q       affine point in Niels form
+     * @param scratch scratch of the current thread
+     */
+    void subNiels(TwistedPointEd448 p, TwistedNielsPointEd448 q, ScratchEd448 scratch) {
+        int[] A = scratch.t0;
+        int[] B = scratch.t1;
+        int[] C = scratch.t2;
+        int[] D = scratch.t3;
+        int[] E = scratch.t4;
+
+        Field448.subLazy(A, p.Y, p.X);
+        Field448.mul(A, A, q.yPlusX);
+        Field448.addLazy(B, p.Y, p.X);
+        Field448.mul(B, B, q.yMinusX);
+        Field448.mul(C, p.T, q.xy2d);
+        Field448.addLazy(D, p.Z, p.Z);
+
+        Field448.subLazy(E, B, A);
+        int[] H = B;
+        Field448.addLazy(H, B, A);
+        int[] F = A;
+        Field448.addLazy(F, D, C);
+        int[] G = C;
+        Field448.subLazy(G, D, C);
+
+        setEFGH(E, F, G, H);
+    }
+
+    /**
+     * this = 2 * p, with "dbl-2008-hwcd" formula.
+     *
+     * @param p       point, whose T is not read
+     * @param scratch scratch of the current thread
+     */
+    void doubling(TwistedPointEd448 p, ScratchEd448 scratch) {
+        doublingEFGH(p, scratch);
+        setEFGH(scratch.t3, scratch.t2, scratch.t1, scratch.t4);
+    }
+
+    /**
+     * this = 2 * p in projective coordinates (X : Y : Z). T of the result is not valid, so
+     * the result must be doubled again before it is added to any point.
+     *
+     * @param p       point, whose T is not read
+     * @param scratch scratch of the current thread
+     */
+    void doublingProjective(TwistedPointEd448 p, ScratchEd448 scratch) {
+        doublingEFGH(p, scratch);
+        Field448.mul(X, scratch.t3, scratch.t2);
+        Field448.mul(Y, scratch.t1, scratch.t4);
+        Field448.mul(Z, scratch.t2, scratch.t1);
+    }
+
+    /**
+     * Compute E, F, G and H of 2 * p into t3, t2, t1 and t4 of scratch.
+     */
+    private static void doublingEFGH(TwistedPointEd448 p, ScratchEd448 scratch) {
+        int[] A = scratch.t0;
+        int[] B = scratch.t1;
+        int[] C = scratch.t2;
+        int[] E = scratch.t3;
+        int[] H = scratch.t4;
+
+        Field448.square(A, p.X);
+        Field448.square(B, p.Y);
+        Field448.square(C, p.Z);
+        Field448.addLazy(C, C, C);
+        Field448.addLazy(E, p.X, p.Y);
+        Field448.square(E, E);
+
+        Field448.addLazy(H, A, B);
+        Field448.subLazy(E, H, E);
+        int[] G = B;
+        Field448.subLazy(G, A, B);
+        int[] F = C;
+        Field448.addLazy(F, C, G);
+    }
+
+    /**
+     * this = k * p with signed radix-16 fixed window, where {@code e} has the digits of k from the
+     * least significant one, each of which is between -8 and 8. Each {@code e[i] * p} is selected
+     * from {@code p, 2p, ..., 8p} with conditional moves, so that neither branch nor memory access
+     * depends on the digits.
+     *
+     * @param p       point
+     * @param e       signed radix-16 digits
+     * @param scratch scratch of the current thread
+     */
+    void scalarMultiply(TwistedPointEd448 p, byte[] e, ScratchEd448 scratch) {
+        // table[j] = (j + 1) * p in cached form
+        TwistedCachedPointEd448[] table = scratch.cachedMultiples;
+        TwistedPointEd448 multiple = scratch.twistedSum;
+        multiple.set(p);
+        table[0].set(multiple);
+        for (int j = 1; j < table.length; j++) {
+            multiple.addCached(multiple, table[0], scratch);
+            table[j].set(multiple);
+        }
+
+        TwistedCachedPointEd448 selected = scratch.cached;
+        setIdentity();
+        for (int i = e.length - 1; i >= 0; i--) {
+            doublingProjective(this, scratch);
+            doublingProjective(this, scratch);
+            doublingProjective(this, scratch);
+            doubling(this, scratch);
+            selected.select(table, e[i], scratch.t0);
+            addCached(this, selected, scratch);
+        }
+    }
+
+    /**
+     * this = naf * p, where {@code table} has odd multiples {@code p, 3p, 5p, ...} of p in
+     * cached form and each digit of {@code naf} is zero or odd less than {@code 2 * table.length}
+     * in absolute value. This runs in variable time, so it must be used only with public scalars.
+     *
+     * @param naf     digits of wNAF from the least significant one
+     * @param table   odd multiples of p
+     * @param scratch scratch of the current thread
+     */
+    void multiplyNaf(byte[] naf, TwistedCachedPointEd448[] table, ScratchEd448 scratch) {
+        int i = naf.length - 1;
+        while (i >= 0 && naf[i] == 0) {
+            i--;
+        }
+
+        setIdentity();
+        for (; i >= 0; i--) {
+            // T is needed only if a point is added next
+            if (naf[i] == 0 && i > 0) {
+                doublingProjective(this, scratch);
+                continue;
+            }
+            doubling(this, scratch);
+            if (naf[i] > 0) {
+                addCached(this, table[naf[i] >> 1], scratch);
+            } else if (naf[i] < 0) {
+                subCached(this, table[-naf[i] >> 1], scratch);
+            }
+        }
+    }
+
+    /**
+     * this = naf * p, where {@code table} has odd multiples of p in Niels form.
+     *
+     * @param naf     digits of wNAF from the least significant one
+     * @param table   odd multiples of p
+     * @param scratch scratch of the current thread
+     * @see #multiplyNaf(byte[], TwistedCachedPointEd448[], ScratchEd448)
+     */
+    void multiplyNaf(byte[] naf, TwistedNielsPointEd448[] table, ScratchEd448 scratch) {
+        int i = naf.length - 1;
+        while (i >= 0 && naf[i] == 0) {
+            i--;
+        }
+
+        setIdentity();
+        for (; i >= 0; i--) {
+            if (naf[i] == 0 && i > 0) {
+                doublingProjective(this, scratch);
+                continue;
+            }
+            doubling(this, scratch);
+            if (naf[i] > 0) {
+                addNiels(this, table[naf[i] >> 1], scratch);
+            } else if (naf[i] < 0) {
+                subNiels(this, table[-naf[i] >> 1], scratch);
+            }
+        }
+    }
+
+    /**
+     * Compute odd multiples {@code p, 3p, 5p, ...} into {@code table}.
+     *
+     * @param table   results, {@code table[i] = (2i + 1) * p}
+     * @param p       point
+     * @param scratch scratch of the current thread
+     */
+    static void oddMultiples(TwistedPointEd448[] table, TwistedPointEd448 p, ScratchEd448 scratch) {
+        TwistedCachedPointEd448 twice = scratch.cached;
+        scratch.twistedSum.doubling(p, scratch);
+        twice.set(scratch.twistedSum);
+        table[0].set(p);
+        for (int i = 1; i < table.length; i++) {
+            table[i].addCached(table[i - 1], twice, scratch);
+        }
+    }
+
+    /**
+     * Compute odd multiples {@code p, 3p, 5p, ...} into {@code table} in cached form.
+     *
+     * @param table   results, {@code table[i] = (2i + 1) * p}
+     * @param p       point
+     * @param scratch scratch of the current thread
+     */
+    static void oddMultiples(TwistedCachedPointEd448[] table, TwistedPointEd448 p, ScratchEd448 scratch) {
+        TwistedCachedPointEd448 twice = scratch.cached;
+        TwistedPointEd448 multiple = scratch.twistedSum;
+        multiple.doubling(p, scratch);
+        twice.set(multiple);
+        multiple.set(p);
+        table[0].set(multiple);
+        for (int i = 1; i < table.length; i++) {
+            multiple.addCached(multiple, twice, scratch);
+            table[i].set(multiple);
+        }
+    }
+
+    private void setEFGH(int[] E, int[] F, int[] G, int[] H) {
+        Field448.mul(X, E, F);
+        Field448.mul(Y, G, H);
+        Field448.mul(T, E, H);
+        Field448.mul(Z, F, G);
+    }
+}
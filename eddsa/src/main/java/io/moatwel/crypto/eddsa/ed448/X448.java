@@ -0,0 +1,186 @@
+package io.moatwel.crypto.eddsa.ed448;
+
+import io.moatwel.crypto.PrivateKey;
+import io.moatwel.crypto.PublicKey;
+import io.moatwel.crypto.eddsa.HashDelegate;
+
+import java.math.BigInteger;
+
+/**
+ * X448 key agreement of RFC 7748, a Diffie-Hellman function on the Montgomery curve
+ * {@code v^2 = u^3 + 156326 * u^2 + u} which is 4-isogenous to Ed448.
+ *
+ * <p>
+ * Only the u-coordinate is used, and the scalar multiplication is done with the Montgomery
+ * ladder, which needs 5 multiplications and 4 squarings per bit and a single inversion at the
+ * end. The sequence of operations does not depend on the scalar.
+ *
+ * <p>
+ * Keys of Ed448 can be converted with {@link #toMontgomery(PrivateKey, HashDelegate)} and
+ * {@link #toMontgomery(PublicKey)}, so that they can be used for key agreement as well. The
+ * result of key agreement with converted keys is the u-coordinate of the point computed by
+ * {@link io.moatwel.util.SharedKeyHelper#generateSharedKeySeed}.
+ *
+ * @author halu5071 (Yasunori Horii)
+ * @see <a href="https://tools.ietf.org/html/rfc7748">RFC 7748 Elliptic Curves for Security</a>
+ */
+public final class X448 {
+
+    public static final int KEY_LENGTH = 56;
+
+    private static final int BITS = 448;
+
+    // (156326 - 2) / 4
+    private static final int A24 = 39081;
+
+    private static final int[] D = Field448.create(Field448.P.subtract(BigInteger.valueOf(39081)));
+
+    private static final byte[] BASE_U = new byte[KEY_LENGTH];
+
+    static {
+        BASE_U[0] = 5;
+    }
+
+    private X448() {
+    }
+
+    /**
+     * X448(k, u) of RFC 7748. The scalar is clamped, and u is reduced by modulo p.
+     *
+     * @param scalar 56 byte little-endian scalar
+     * @param u      56 byte little-endian u-coordinate
+     * @return 56 byte u-coordinate of {@code scalar * u}, which is all zero if u is of small order
+     * @throws IllegalArgumentException if the length of any argument is not 56 bytes
+     */
+    public static byte[] scalarMultiply(byte[] scalar, byte[] u) {
+        checkLength(scalar, "scalar");
+        checkLength(u, "u");
+
+        byte[] k = clamp(scalar);
+        int[] x1 = Field448.create();
+        Field448.fromBytes(x1, u);
+        int[] x2 = Field448.create();
+        int[] z2 = Field448.create();
+        int[] x3 = Field448.create();
+        int[] z3 = Field448.create();
+        int[] a = Field448.create();
+        int[] aa = Field448.create();
+        int[] b = Field448.create();
+        int[] bb = Field448.create();
+        int[] e = Field448.create();
+        int[] c = Field448.create();
+        int[] d = Field448.create();
+
+        Field448.one(x2);
+        Field448.copy(x3, x1);
+        Field448.one(z3);
+        int swap = 0;
+        for (int t = BITS - 1; t >= 0; t--) {
+            int bit = (k[t >>> 3] >>> (t & 7)) & 1;
+            swap ^= bit;
+            Field448.cswap(x2, x3, swap);
+            Field448.cswap(z2, z3, swap);
+            swap = bit;
+
+            Field448.addLazy(a, x2, z2);
+            Field448.square(aa, a);
+            Field448.subLazy(b, x2, z2);
+            Field448.square(bb, b);
+            Field448.subLazy(e, aa, bb);
+            Field448.addLazy(c, x3, z3);
+            Field448.subLazy(d, x3, z3);
+            // d = DA, c = CB
+            Field448.mul(d, d, a);
+            Field448.mul(c, c, b);
+            Field448.addLazy(x3, d, c);
+            Field448.square(x3, x3);
+            Field448.subLazy(z3, d, c);
+            Field448.square(z3, z3);
+            Field448.mul(z3, z3, x1);
+            Field448.mul(x2, aa, bb);
+            Field448.mulSmall(z2, e, A24);
+            Field448.addLazy(z2, z2, aa);
+            Field448.mul(z2, z2, e);
+        }
+        Field448.cswap(x2, x3, swap);
+        Field448.cswap(z2, z3, swap);
+
+        Field448.invert(z2, z2);
+        Field448.mul(x2, x2, z2);
+        return Field448.toBytes(x2);
+    }
+
+    /**
+     * X448(k, 5), the public key of a scalar.
+     *
+     * @param scalar 56 byte little-endian scalar
+     * @return 56 byte u-coordinate of {@code scalar * 5}
+     */
+    public static byte[] scalarMultiplyBase(byte[] scalar) {
+        return scalarMultiply(scalar, BASE_U);
+    }
+
+    /**
+     * Convert a private key of Ed448 into a scalar of X448, which is the clamped secret
+     * scalar of the private key.
+     *
+     * @param privateKey   private key of Ed448
+     * @param hashDelegate hash function of the scheme of the key
+     * @return 56 byte little-endian scalar
+     */
+    public static byte[] toMontgomery(PrivateKey privateKey, HashDelegate hashDelegate) {
+        BigInteger scalar = privateKey.getScalarSeed(hashDelegate);
+        byte[] k = new byte[KEY_LENGTH];
+        for (int i = 0; i < KEY_LENGTH; i++) {
+            k[i] = (byte) scalar.shiftRight(8 * i).intValue();
+        }
+        return k;
+    }
+
+    /**
+     * Convert a public key of Ed448 into a u-coordinate with the 4-isogeny of RFC 7748,
+     * {@code u = y^2 / x^2}, computed as {@code u = y^2 * (d * y^2 - 1) / (y^2 - 1)} from
+     * {@code x^2 = (y^2 - 1) / (d * y^2 - 1)}. Only y is read, so the key is not checked to be
+     * on Ed448. Any u is safe for X448, since both the curve and its twist have large
+     * prime-order subgroups.
+     *
+     * @param publicKey public key of Ed448
+     * @return 56 byte little-endian u-coordinate
+     * @throws IllegalArgumentException if the length of the key is not 57 bytes
+     */
+    public static byte[] toMontgomery(PublicKey publicKey) {
+        byte[] raw = publicKey.getRaw();
+        if (raw.length != KEY_LENGTH + 1) {
+            throw new IllegalArgumentException("public key must be " + (KEY_LENGTH + 1) + " bytes.");
+        }
+
+        // the last byte has only the sign of x
+        int[] y = Field448.create();
+        Field448.fromBytes(y, raw);
+        Field448.square(y, y);
+        int[] one = Field448.create();
+        Field448.one(one);
+        int[] numerator = Field448.create();
+        int[] denominator = Field448.create();
+        Field448.mul(numerator, D, y);
+        Field448.sub(numerator, numerator, one);
+        Field448.mul(numerator, numerator, y);
+        Field448.sub(denominator, y, one);
+        Field448.invert(denominator, denominator);
+        Field448.mul(numerator, numerator, denominator);
+        return Field448.toBytes(numerator);
+    }
+
+    private static byte[] clamp(byte[] scalar) {
+        byte[] k = scalar.clone();
+        k[0] &= (byte) 252;
+        k[55] |= (byte) 128;
+        return k;
+    }
+
+    private static void checkLength(byte[] value, String name) {
+        if (value.length != KEY_LENGTH) {
+            throw new IllegalArgumentException(name + " must be " + KEY_LENGTH + " bytes.");
+        }
+    }
+}
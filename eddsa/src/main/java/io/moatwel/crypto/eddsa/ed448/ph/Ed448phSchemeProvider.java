@@ -4,11 +4,11 @@ import io.moatwel.crypto.EdDsaSigner;
 import io.moatwel.crypto.HashAlgorithm;
 import io.moatwel.crypto.Hashes;
 import io.moatwel.crypto.PrivateKey;
+import io.moatwel.crypto.eddsa.ArithmeticBackend;
 import io.moatwel.crypto.eddsa.PublicKeyDelegate;
 import io.moatwel.crypto.eddsa.SchemeProvider;
 import io.moatwel.crypto.eddsa.ed448.Curve448;
 import io.moatwel.crypto.eddsa.ed448.Ed448PublicKeyDelegate;
-import io.moatwel.crypto.eddsa.ed448.Ed448Signer;
 import io.moatwel.util.ByteUtils;
 
 import java.security.SecureRandom;
@@ -18,7 +18,18 @@ public class Ed448phSchemeProvider extends SchemeProvider {
     private final HashAlgorithm algorithm;
 
     public Ed448phSchemeProvider(HashAlgorithm algorithm) {
-        super(Curve448.getInstance());
+        this(algorithm, null);
+    }
+
+    /**
+     * Create Ed448phSchemeProvider on the backend of arithmetic.
+     *
+     * @param algorithm hash algorithm you use.
+     * @param backend   {@link ArithmeticBackend}, or null to use the default backend.
+     * @throws IllegalArgumentException if {@code backend} does not support Curve448.
+     */
+    public Ed448phSchemeProvider(HashAlgorithm algorithm, ArithmeticBackend backend) {
+        super(Curve448.getInstance(), backend);
 
         if (algorithm == null) {
             throw new IllegalArgumentException("argument HashAlgorithm must not be null.");
@@ -28,7 +39,7 @@ public class Ed448phSchemeProvider extends SchemeProvider {
 
     @Override
     public EdDsaSigner getSigner() {
-        return new Ed448Signer(algorithm, this);
+        return getBackendSigner(algorithm);
     }
 
     @Override
@@ -0,0 +1,52 @@
+package io.moatwel.crypto.eddsa.reference;
+
+import io.moatwel.crypto.EdDsaSigner;
+import io.moatwel.crypto.HashAlgorithm;
+import io.moatwel.crypto.eddsa.ArithmeticBackend;
+import io.moatwel.crypto.eddsa.Curve;
+import io.moatwel.crypto.eddsa.SchemeProvider;
+import io.moatwel.crypto.eddsa.ed25519.Curve25519;
+import io.moatwel.crypto.eddsa.ed448.Curve448;
+
+/**
+ * Backend of Curve25519 and Curve448 on {@link java.math.BigInteger}, written directly from
+ * RFC 8032. It is much slower than other backends and runs in variable time, so it has the
+ * lowest priority and is used only if it is selected by name.
+ *
+ * <p>
+ * Points are decoded strictly as RFC 8032 says, so an encoding of y which is not less than p,
+ * or of x = 0 with the sign bit 1, is rejected on both curves.
+ *
+ * @author halu5071 (Yasunori Horii)
+ * @see ArithmeticBackend
+ */
+public final class ReferenceBackend extends ArithmeticBackend {
+
+    public static final String NAME = "reference";
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public int getPriority() {
+        return 0;
+    }
+
+    @Override
+    public Curve getCurve(Curve curve) {
+        if (isSameCurve(curve, Curve25519.getInstance())) {
+            return ReferenceCurve.ED25519;
+        }
+        if (isSameCurve(curve, Curve448.getInstance())) {
+            return ReferenceCurve.ED448;
+        }
+        return null;
+    }
+
+    @Override
+    public EdDsaSigner getSigner(SchemeProvider schemeProvider, HashAlgorithm algorithm) {
+        return new ReferenceSigner(schemeProvider, algorithm, (ReferenceCurve) schemeProvider.getCurve());
+    }
+}
@@ -0,0 +1,104 @@
+package io.moatwel.crypto.eddsa.reference;
+
+import io.moatwel.crypto.eddsa.Coordinate;
+import io.moatwel.crypto.eddsa.EncodedCoordinate;
+import io.moatwel.util.ByteUtils;
+
+import java.math.BigInteger;
+
+/**
+ * Coordinate of the reference backend, which is always reduced by modulo p.
+ *
+ * @author halu5071 (Yasunori Horii)
+ */
+final class ReferenceCoordinate extends Coordinate {
+
+    private final BigInteger p;
+
+    ReferenceCoordinate(BigInteger value, BigInteger p) {
+        super(value.mod(p));
+        this.p = p;
+    }
+
+    @Override
+    public Coordinate add(Coordinate val) {
+        return new ReferenceCoordinate(value.add(val.getInteger()), p);
+    }
+
+    @Override
+    public Coordinate divide(Coordinate val) {
+        return multiply(val.inverse());
+    }
+
+    @Override
+    public Coordinate multiply(Coordinate val) {
+        return new ReferenceCoordinate(value.multiply(val.getInteger()), p);
+    }
+
+    @Override
+    public Coordinate subtract(Coordinate val) {
+        return new ReferenceCoordinate(value.subtract(val.getInteger()), p);
+    }
+
+    @Override
+    public Coordinate mod() {
+        return this;
+    }
+
+    @Override
+    public Coordinate inverse() {
+        return new ReferenceCoordinate(value.modInverse(p), p);
+    }
+
+    @Override
+    public Coordinate powerMod(BigInteger exponent) {
+        return new ReferenceCoordinate(value.modPow(exponent, p), p);
+    }
+
+    @Override
+    public Coordinate negate() {
+        return new ReferenceCoordinate(value.negate(), p);
+    }
+
+    /**
+     * Encode the value in little-endian, in the same length as p.
+     */
+    @Override
+    public EncodedCoordinate encode() {
+        return new EncodedReferenceCoordinate(encode(value, (p.bitLength() + 7) / 8), p);
+    }
+
+    /**
+     * Return {@code value} in little-endian of {@code length} bytes.
+     */
+    static byte[] encode(BigInteger value, int length) {
+        byte[] bigEndian = value.toByteArray();
+        byte[] result = new byte[length];
+        for (int i = 0; i < length && i < bigEndian.length; i++) {
+            result[i] = bigEndian[bigEndian.length - 1 - i];
+        }
+        return result;
+    }
+
+    /**
+     * Return the unsigned integer of {@code value} in little-endian.
+     */
+    static BigInteger decode(byte[] value) {
+        return new BigInteger(1, ByteUtils.reverse(value));
+    }
+
+    private static final class EncodedReferenceCoordinate extends EncodedCoordinate {
+
+        private final BigInteger p;
+
+        private EncodedReferenceCoordinate(byte[] value, BigInteger p) {
+            super(value);
+            this.p = p;
+        }
+
+        @Override
+        public Coordinate decode() {
+            return new ReferenceCoordinate(ReferenceCoordinate.decode(value), p);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package io.moatwel.crypto.eddsa.reference;
+
+import io.moatwel.crypto.eddsa.Coordinate;
+import io.moatwel.crypto.eddsa.Curve;
+import io.moatwel.crypto.eddsa.MultiScalarMultiplier;
+import io.moatwel.crypto.eddsa.Point;
+import io.moatwel.crypto.eddsa.ed25519.Curve25519;
+import io.moatwel.crypto.eddsa.ed448.Curve448;
+
+import java.math.BigInteger;
+
+/**
+ * Curve of the reference backend, whose parameters are those of RFC 8032 in {@link BigInteger}.
+ *
+ * @author halu5071 (Yasunori Horii)
+ * @see <a href="https://tools.ietf.org/html/rfc8032#section-5">RFC 8032</a>
+ */
+final class ReferenceCurve extends Curve {
+
+    static final ReferenceCurve ED25519 = new ReferenceCurve(Curve25519.getInstance(), BigInteger.ONE.negate(),
+            new BigInteger("15112221349535400772501151409588531511454012693041857206046113283949847762202"),
+            new BigInteger("46316835694926478169428394003475163141307993866256225615783033603165251855960"),
+            0, 8);
+
+    static final ReferenceCurve ED448 = new ReferenceCurve(Curve448.getInstance(), BigInteger.ONE,
+            new BigInteger("224580040295924300187604334099896036246789641632564134246125461686950415467406032909029192869357953282578032075146446173674602635247710"),
+            new BigInteger("298819210078481492676017930443930673437544040154080242095928241372331506189835876003536878655418784733982303233503462500531545062832660"),
+            114, 4);
+
+    private final int byteLength;
+    private final int hashByteLength;
+    private final BigInteger cofactor;
+    private final BigInteger p;
+    private final BigInteger l;
+    private final BigInteger a;
+    private final ReferenceCoordinate d;
+    private final ReferencePoint base;
+
+    /**
+     * @param curve          curve of the limbs backend, which has the same p, L and d
+     * @param a              a of the curve
+     * @param baseX          x of BasePoint
+     * @param baseY          y of BasePoint
+     * @param hashByteLength output length of the hash of the scheme, or 0 for the default length
+     * @param cofactor       cofactor of the curve
+     */
+    private ReferenceCurve(Curve curve, BigInteger a, BigInteger baseX, BigInteger baseY, int hashByteLength,
+                           int cofactor) {
+        this.byteLength = curve.getPublicKeyByteLength();
+        this.hashByteLength = hashByteLength;
+        this.cofactor = BigInteger.valueOf(cofactor);
+        this.p = curve.getPrimePowerP();
+        this.l = curve.getPrimeL();
+        this.a = a;
+        this.d = coordinate(curve.getD().getInteger());
+        this.base = ReferencePoint.fromAffine(this, coordinate(baseX), coordinate(baseY));
+    }
+
+    /**
+     * Return the coordinate of {@code value} modulo p.
+     */
+    ReferenceCoordinate coordinate(BigInteger value) {
+        return new ReferenceCoordinate(value, p);
+    }
+
+    /**
+     * Return the output length of the hash of the scheme, 0 for the default length.
+     */
+    int getHashByteLength() {
+        return hashByteLength;
+    }
+
+    /**
+     * Return the cofactor of the curve, 8 on Curve25519 and 4 on Curve448.
+     */
+    BigInteger getCofactor() {
+        return cofactor;
+    }
+
+    @Override
+    public int getPublicKeyByteLength() {
+        return byteLength;
+    }
+
+    @Override
+    public Point getBasePoint() {
+        return base;
+    }
+
+    @Override
+    public MultiScalarMultiplier getMultiScalarMultiplier(int strausWidth, int pippengerWindow,
+                                                          int strausThreshold) {
+        return new ReferenceMultiScalarMultiplier(this, strausWidth, pippengerWindow, strausThreshold);
+    }
+
+    @Override
+    public BigInteger getPrimeL() {
+        return l;
+    }
+
+    @Override
+    public BigInteger getPrimePowerP() {
+        return p;
+    }
+
+    @Override
+    public Coordinate getD() {
+        return d;
+    }
+
+    @Override
+    public BigInteger getA() {
+        return a;
+    }
+}
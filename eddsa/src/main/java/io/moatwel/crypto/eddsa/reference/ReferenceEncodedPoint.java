@@ -0,0 +1,93 @@
+package io.moatwel.crypto.eddsa.reference;
+
+import io.moatwel.crypto.eddsa.Coordinate;
+import io.moatwel.crypto.eddsa.DecodeException;
+import io.moatwel.crypto.eddsa.EncodedPoint;
+import io.moatwel.crypto.eddsa.Point;
+
+import java.math.BigInteger;
+
+/**
+ * Encoded point of the reference backend, which is decoded strictly as RFC 8032 says.
+ *
+ * @author halu5071 (Yasunori Horii)
+ * @see <a href="https://tools.ietf.org/html/rfc8032#section-5.1.3">RFC 8032 5.1.3</a>
+ * @see <a href="https://tools.ietf.org/html/rfc8032#section-5.2.3">RFC 8032 5.2.3</a>
+ */
+final class ReferenceEncodedPoint extends EncodedPoint {
+
+    private static final BigInteger TWO = BigInteger.valueOf(2);
+    private static final BigInteger THREE = BigInteger.valueOf(3);
+    private static final BigInteger FOUR = BigInteger.valueOf(4);
+    private static final BigInteger EIGHT = BigInteger.valueOf(8);
+
+    private final ReferenceCurve curve;
+
+    ReferenceEncodedPoint(ReferenceCurve curve, byte[] value) {
+        super(value);
+        this.curve = curve;
+    }
+
+    /**
+     * Decode the point. y must be less than p, and x of the sign bit 1 must not be 0.
+     *
+     * @return {@link Point} instance
+     * @throws DecodeException if the value is not an encoding of a point on the curve
+     */
+    @Override
+    public Point decode() throws DecodeException {
+        int length = curve.getPublicKeyByteLength();
+        if (value.length != length) {
+            throw new DecodeException("Encoded point must have " + length + " byte length.");
+        }
+        BigInteger p = curve.getPrimePowerP();
+        BigInteger yValue = ReferenceCoordinate.decode(value);
+        boolean sign = yValue.testBit(8 * length - 1);
+        yValue = yValue.clearBit(8 * length - 1);
+        if (yValue.compareTo(p) >= 0) {
+            throw new DecodeException("y must be less than p.");
+        }
+
+        // x^2 = (y^2 - 1) / (d * y^2 - a)
+        Coordinate y = curve.coordinate(yValue);
+        Coordinate one = curve.coordinate(BigInteger.ONE);
+        Coordinate ySquare = y.multiply(y);
+        Coordinate u = ySquare.subtract(one);
+        Coordinate v = curve.getD().multiply(ySquare).subtract(curve.coordinate(curve.getA()));
+        if (v.getInteger().signum() == 0) {
+            throw new DecodeException("Point is not on the curve.");
+        }
+        Coordinate xSquare = u.divide(v);
+        Coordinate x = squareRoot(xSquare);
+        if (x == null) {
+            throw new DecodeException("Point is not on the curve.");
+        }
+
+        if (x.getInteger().signum() == 0 && sign) {
+            throw new DecodeException("x must not be 0 if the sign bit is 1.");
+        }
+        if (x.getInteger().testBit(0) != sign) {
+            x = x.negate();
+        }
+        return ReferencePoint.fromAffine(curve, x, y);
+    }
+
+    /**
+     * Return a square root of {@code w}, or null if {@code w} is not a square.
+     */
+    private Coordinate squareRoot(Coordinate w) {
+        BigInteger p = curve.getPrimePowerP();
+        Coordinate x;
+        if (p.testBit(1)) {
+            // p = 3 (mod 4)
+            x = w.powerMod(p.add(BigInteger.ONE).divide(FOUR));
+        } else {
+            // p = 5 (mod 8), multiply by a square root of -1 if x^2 = -w
+            x = w.powerMod(p.add(THREE).divide(EIGHT));
+            if (!x.multiply(x).isEqual(w)) {
+                x = x.multiply(curve.coordinate(TWO.modPow(p.subtract(BigInteger.ONE).divide(FOUR), p)));
+            }
+        }
+        return x.multiply(x).isEqual(w) ? x : null;
+    }
+}
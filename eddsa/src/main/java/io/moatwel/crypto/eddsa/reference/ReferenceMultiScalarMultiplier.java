@@ -0,0 +1,66 @@
+package io.moatwel.crypto.eddsa.reference;
+
+import io.moatwel.crypto.eddsa.MultiScalarMultiplier;
+import io.moatwel.crypto.eddsa.Point;
+
+import java.math.BigInteger;
+
+/**
+ * Multi-scalar multiplication of the reference backend, which multiplies points one by one and
+ * adds them up. Both Straus' method and Pippenger's method are computed in the same way, so that
+ * other backends can be compared with the plain sum.
+ *
+ * @author halu5071 (Yasunori Horii)
+ */
+final class ReferenceMultiScalarMultiplier extends MultiScalarMultiplier {
+
+    private final ReferenceCurve curve;
+
+    ReferenceMultiScalarMultiplier(ReferenceCurve curve, int strausWidth, int pippengerWindow, int strausThreshold) {
+        super(strausWidth, pippengerWindow, strausThreshold);
+        this.curve = curve;
+    }
+
+    @Override
+    public PrecomputedPoints precompute(Point[] points) {
+        for (Point point : points) {
+            if (!(point instanceof ReferencePoint)) {
+                throw new IllegalArgumentException("Points must be on the reference backend.");
+            }
+        }
+        return new ReferencePrecomputedPoints(points.clone());
+    }
+
+    private final class ReferencePrecomputedPoints extends PrecomputedPoints {
+
+        private final Point[] points;
+
+        private ReferencePrecomputedPoints(Point[] points) {
+            this.points = points;
+        }
+
+        @Override
+        public int size() {
+            return points.length;
+        }
+
+        @Override
+        public Point multiplyStraus(BigInteger[] scalars) {
+            return sum(scalars);
+        }
+
+        @Override
+        public Point multiplyPippenger(BigInteger[] scalars) {
+            return sum(scalars);
+        }
+
+        private Point sum(BigInteger[] scalars) {
+            checkLength(scalars);
+            Point result = ReferencePoint.identity(curve);
+            for (int i = 0; i < points.length; i++) {
+                result = result.add(points[i].scalarMultiply(scalars[i]));
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package io.moatwel.crypto.eddsa.reference;
+
+import io.moatwel.crypto.eddsa.Coordinate;
+import io.moatwel.crypto.eddsa.EncodedPoint;
+import io.moatwel.crypto.eddsa.Point;
+
+import java.math.BigInteger;
+
+/**
+ * Point of the reference backend in extended coordinates (X : Y : Z : T), where x = X / Z,
+ * y = Y / Z and x * y = T / Z.
+ *
+ * <p>
+ * Every operation is written directly from the formulas of RFC 8032 on {@link BigInteger}, and
+ * nothing is precomputed. It runs in variable time.
+ *
+ * @author halu5071 (Yasunori Horii)
+ * @see <a href="https://tools.ietf.org/html/rfc8032#section-5.1.4">RFC 8032 5.1.4</a>
+ */
+final class ReferencePoint extends Point {
+
+    private final ReferenceCurve curve;
+
+    ReferencePoint(ReferenceCurve curve, Coordinate x, Coordinate y, Coordinate z, Coordinate t) {
+        super(x, y, z, t);
+        this.curve = curve;
+    }
+
+    /**
+     * Return the point of affine coordinates (x, y).
+     */
+    static ReferencePoint fromAffine(ReferenceCurve curve, Coordinate x, Coordinate y) {
+        return new ReferencePoint(curve, x, y, curve.coordinate(BigInteger.ONE), x.multiply(y));
+    }
+
+    /**
+     * Return the neutral element (0, 1).
+     */
+    static ReferencePoint identity(ReferenceCurve curve) {
+        return fromAffine(curve, curve.coordinate(BigInteger.ZERO), curve.coordinate(BigInteger.ONE));
+    }
+
+    /**
+     * Unified addition of RFC 8032 generalized to any a, which is also used for doubling.
+     */
+    @Override
+    public Point add(Point point) {
+        Coordinate a = x.multiply(point.getX());
+        Coordinate b = y.multiply(point.getY());
+        Coordinate c = t.multiply(curve.getD()).multiply(point.getT());
+        Coordinate d = z.multiply(point.getZ());
+        Coordinate e = x.add(y).multiply(point.getX().add(point.getY())).subtract(a).subtract(b);
+        Coordinate f = d.subtract(c);
+        Coordinate g = d.add(c);
+        Coordinate h = b.subtract(a.multiply(curve.coordinate(curve.getA())));
+        return new ReferencePoint(curve, e.multiply(f), g.multiply(h), f.multiply(g), e.multiply(h));
+    }
+
+    @Override
+    public Point doubling() {
+        return add(this);
+    }
+
+    /**
+     * Double-and-add from the most significant bit. A negative scalar multiplies the inverse
+     * (-x, y) of this point.
+     *
+     * <p>
+     * This runs in variable time: it branches on each bit of {@code integer} and on its bit
+     * length, so it must not be used with secret scalars where timing can be observed.
+     */
+    @Override
+    public Point scalarMultiply(BigInteger integer) {
+        Point base = this;
+        if (integer.signum() < 0) {
+            base = new ReferencePoint(curve, x.negate(), y, z, t.negate());
+            integer = integer.negate();
+        }
+        Point result = identity(curve);
+        for (int i = integer.bitLength() - 1; i >= 0; i--) {
+            result = result.doubling();
+            if (integer.testBit(i)) {
+                result = result.add(base);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Return (x, -y), the same as other backends.
+     */
+    @Override
+    public Point negateY() {
+        return new ReferencePoint(curve, x, y.negate(), z, t.negate());
+    }
+
+    /**
+     * Return (-x, -y), the same as other backends.
+     */
+    @Override
+    public Point negate() {
+        return new ReferencePoint(curve, x.negate(), y.negate(), z, t);
+    }
+
+    /**
+     * Encode y in little-endian, and put the least significant bit of x on the most significant
+     * bit of the last byte.
+     */
+    @Override
+    public EncodedPoint encode() {
+        int length = curve.getPublicKeyByteLength();
+        byte[] value = ReferenceCoordinate.encode(getAffineY().getInteger(), length);
+        if (getAffineX().getInteger().testBit(0)) {
+            value[length - 1] |= (byte) 0x80;
+        }
+        return new ReferenceEncodedPoint(curve, value);
+    }
+}
@@ -0,0 +1,15 @@
+package io.moatwel.crypto.eddsa.reference;
+
+import io.moatwel.crypto.Signature;
+
+/**
+ * Signature of the reference backend, whose R and s have the same length as the public key.
+ *
+ * @author halu5071 (Yasunori Horii)
+ */
+final class ReferenceSignature extends Signature {
+
+    ReferenceSignature(byte[] byteR, byte[] byteS) {
+        super(byteR, byteS);
+    }
+}
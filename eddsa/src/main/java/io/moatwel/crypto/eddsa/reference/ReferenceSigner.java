@@ -0,0 +1,203 @@
+package io.moatwel.crypto.eddsa.reference;
+
+import io.moatwel.crypto.EdDsaSigner;
+import io.moatwel.crypto.ExpandedPrivateKey;
+import io.moatwel.crypto.HashAlgorithm;
+import io.moatwel.crypto.Hashes;
+import io.moatwel.crypto.KeyPair;
+import io.moatwel.crypto.PreparedPublicKey;
+import io.moatwel.crypto.PublicKey;
+import io.moatwel.crypto.Signature;
+import io.moatwel.crypto.VerificationItem;
+import io.moatwel.crypto.eddsa.DecodeException;
+import io.moatwel.crypto.eddsa.EdDsaKeyGenerator;
+import io.moatwel.crypto.eddsa.Point;
+import io.moatwel.crypto.eddsa.SchemeProvider;
+
+import java.math.BigInteger;
+import java.util.List;
+
+/**
+ * A signer of the reference backend, which signs and verifies as RFC 8032 says on
+ * {@link BigInteger}.
+ *
+ * <p>
+ * Signatures are verified with the equation {@code s * B = R + k * A} without the cofactor as
+ * the other backends. {@link #verifyBatch(List)} checks the equation of each item multiplied by
+ * the cofactor c, and if any of them does not hold, falls back to the equation without it, which
+ * gives the same results as the combined equation of the other backends. It runs in variable
+ * time, so it must not be used with secret keys on production.
+ *
+ * @author halu5071 (Yasunori Horii)
+ * @see <a href="https://tools.ietf.org/html/rfc8032#section-5.1.6">RFC 8032 5.1.6</a>
+ * @see <a href="https://tools.ietf.org/html/rfc8032#section-5.1.7">RFC 8032 5.1.7</a>
+ */
+final class ReferenceSigner implements EdDsaSigner {
+
+    // results of check(), DECODED if A, R and s are decoded
+    private static final int DECODED = 1;
+    private static final int HOLDS_COFACTORED = 2;
+    private static final int HOLDS = 4;
+
+    private final SchemeProvider scheme;
+    private final HashAlgorithm algorithm;
+    private final ReferenceCurve curve;
+
+    ReferenceSigner(SchemeProvider scheme, HashAlgorithm algorithm, ReferenceCurve curve) {
+        this.scheme = scheme;
+        this.algorithm = algorithm;
+        this.curve = curve;
+    }
+
+    @Override
+    public Signature sign(KeyPair keyPair, byte[] data, byte[] context) {
+        return sign(new EdDsaKeyGenerator(scheme).expandPrivateKey(keyPair), data, context);
+    }
+
+    @Override
+    public Signature sign(ExpandedPrivateKey expandedPrivateKey, byte[] data, byte[] context) {
+        context = beNonNullContext(context);
+        checkContextLength(context);
+
+        BigInteger l = curve.getPrimeL();
+        byte[] dom = scheme.dom(context);
+        byte[] ph = scheme.preHash(data);
+
+        BigInteger r = hashToScalar(dom, expandedPrivateKey.getPrefix(), ph);
+        byte[] encodedR = curve.getBasePoint().scalarMultiply(r).encode().getValue();
+        BigInteger k = hashToScalar(dom, encodedR, expandedPrivateKey.getPublicKey().getRaw(), ph);
+        BigInteger s = r.add(k.multiply(expandedPrivateKey.getScalar())).mod(l);
+
+        return new ReferenceSignature(encodedR, ReferenceCoordinate.encode(s, curve.getPublicKeyByteLength()));
+    }
+
+    @Deprecated
+    @Override
+    public boolean verify(KeyPair keyPair, byte[] data, byte[] context, Signature signature) {
+        return verify(keyPair.getPublicKey(), data, context, signature);
+    }
+
+    @Override
+    public boolean verify(PublicKey publicKey, byte[] data, byte[] context, Signature signature) {
+        checkContextLength(beNonNullContext(context));
+        Point a;
+        try {
+            a = new ReferenceEncodedPoint(curve, publicKey.getRaw()).decode();
+        } catch (DecodeException e) {
+            return false;
+        }
+        return (check(a, publicKey.getRaw(), data, context, signature) & HOLDS) != 0;
+    }
+
+    @Override
+    public boolean verify(PreparedPublicKey preparedPublicKey, byte[] data, byte[] context, Signature signature) {
+        if (!(preparedPublicKey.getPoint() instanceof ReferencePoint)) {
+            // prepared by another backend, or on another curve
+            return verify(preparedPublicKey.getPublicKey(), data, context, signature);
+        }
+        return (check(preparedPublicKey.getPoint(), preparedPublicKey.getEncoded(), data, context, signature) & HOLDS) != 0;
+    }
+
+    /**
+     * The reference backend has no precomputation, so {@code precompute} is ignored.
+     */
+    @Override
+    public PreparedPublicKey prepare(PublicKey publicKey, boolean precompute) throws DecodeException {
+        Point a = new ReferenceEncodedPoint(curve, publicKey.getRaw()).decode();
+        return new PreparedPublicKey(publicKey, a, a.encode().getValue());
+    }
+
+    @Override
+    public boolean[] verifyBatch(List<VerificationItem> items) {
+        for (VerificationItem item : items) {
+            checkContextLength(beNonNullContext(item.getContext()));
+        }
+        int[] checks = new int[items.size()];
+        boolean isValid = true;
+        for (int i = 0; i < checks.length; i++) {
+            VerificationItem item = items.get(i);
+            Point a;
+            try {
+                a = new ReferenceEncodedPoint(curve, item.getPublicKey().getRaw()).decode();
+            } catch (DecodeException e) {
+                continue;
+            }
+            checks[i] = check(a, item.getPublicKey().getRaw(), item.getData(), item.getContext(), item.getSignature());
+            if (checks[i] == DECODED) {
+                isValid = false;
+            }
+        }
+
+        // items which cannot be decoded are left out of the combined equation
+        boolean[] results = new boolean[checks.length];
+        for (int i = 0; i < checks.length; i++) {
+            results[i] = (checks[i] & DECODED) != 0 && (isValid || (checks[i] & HOLDS) != 0);
+        }
+        return results;
+    }
+
+    /**
+     * Decode R and s, and check {@code s * B = R + k * A} with and without the cofactor c.
+     *
+     * @param a        decoded public key
+     * @param encodedA encoding of {@code a} which is hashed into k
+     * @return 0 if R or s cannot be decoded, otherwise {@link #DECODED} with {@link #HOLDS} and
+     *         {@link #HOLDS_COFACTORED} if the equations hold
+     */
+    private int check(Point a, byte[] encodedA, byte[] data, byte[] context, Signature signature) {
+        context = beNonNullContext(context);
+        checkContextLength(context);
+
+        int length = curve.getPublicKeyByteLength();
+        byte[] encodedR = signature.getR();
+        byte[] encodedS = signature.getS();
+        if (encodedR.length != length || encodedS.length != length) {
+            return 0;
+        }
+        BigInteger s = ReferenceCoordinate.decode(encodedS);
+        if (s.compareTo(curve.getPrimeL()) >= 0) {
+            return 0;
+        }
+        Point r;
+        try {
+            r = new ReferenceEncodedPoint(curve, encodedR).decode();
+        } catch (DecodeException e) {
+            return 0;
+        }
+
+        byte[] dom = scheme.dom(context);
+        byte[] ph = scheme.preHash(data);
+        BigInteger k = hashToScalar(dom, encodedR, encodedA, ph);
+
+        Point left = curve.getBasePoint().scalarMultiply(s);
+        Point right = r.add(a.scalarMultiply(k));
+        int result = DECODED;
+        if (left.isEqual(right)) {
+            result |= HOLDS;
+        }
+        if (left.scalarMultiply(curve.getCofactor()).isEqual(right.scalarMultiply(curve.getCofactor()))) {
+            result |= HOLDS_COFACTORED;
+        }
+        return result;
+    }
+
+    /**
+     * Return the hash of {@code inputs} as a little-endian integer modulo L.
+     */
+    private BigInteger hashToScalar(byte[]... inputs) {
+        byte[] hash = curve.getHashByteLength() == 0
+                ? Hashes.hash(algorithm, inputs)
+                : Hashes.hash(algorithm, curve.getHashByteLength(), inputs);
+        return ReferenceCoordinate.decode(hash).mod(curve.getPrimeL());
+    }
+
+    private byte[] beNonNullContext(byte[] context) {
+        if (context == null) context = new byte[0];
+        return context;
+    }
+
+    private void checkContextLength(byte[] context) {
+        if (context.length > 255)
+            throw new IllegalStateException("context length in byte must be less than 256 bytes.");
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * This package for the reference backend on edwards elliptic curve, written directly from RFC 8032.
+ */
+package io.moatwel.crypto.eddsa.reference;
@@ -73,6 +73,14 @@ public class ArrayUtils {
         return result;
     }
 
+    /**
+     * Return the mutual opposite form of an integer, which is no longer used for scalar
+     * multiplication.
+     *
+     * @deprecated use {@link #toWindowedNonAdjacentForm(BigInteger, int)}, whose digits are
+     *             non-zero less often.
+     */
+    @Deprecated
     public static int[] toMutualOppositeForm(BigInteger integer) {
         int[] binaryArray = toBinaryArray(integer);
         int binaryLength = binaryArray.length;
@@ -89,4 +97,145 @@ public class ArrayUtils {
 
         return ternaryArray;
     }
+
+    /**
+     * Return width-w non-adjacent form (wNAF) of a non-negative integer, from the least significant
+     * digit. Each digit is zero or odd between {@code -2^(w-1)} and {@code 2^(w-1)}, and at most one
+     * of any w consecutive digits is non-zero.
+     *
+     * @param integer non-negative integer
+     * @param width   window width, between 2 and 8
+     * @return digits whose length is {@code integer.bitLength() + 1}
+     */
+    public static byte[] toWindowedNonAdjacentForm(BigInteger integer, int width) {
+        if (integer.signum() < 0) {
+            throw new IllegalArgumentException("integer must not be negative");
+        }
+        if (width < 2 || 8 < width) {
+            throw new IllegalArgumentException("width must be between 2 and 8");
+        }
+
+        byte[] naf = new byte[integer.bitLength() + 1];
+        int window = 1 << width;
+        int carry = 0;
+        int position = 0;
+        while (position < naf.length) {
+            int value = carry;
+            for (int i = 0; i < width; i++) {
+                if (integer.testBit(position + i)) {
+                    value += 1 << i;
+                }
+            }
+
+            if ((value & 1) == 0) {
+                // the digit is zero, and the carry, if any, moves to the next position.
+                position++;
+                continue;
+            }
+
+            if (value < window / 2) {
+                carry = 0;
+                naf[position] = (byte) value;
+            } else {
+                carry = 1;
+                naf[position] = (byte) (value - window);
+            }
+            position += width;
+        }
+        return naf;
+    }
+
+    /**
+     * Return width-w non-adjacent form (wNAF) of a non-negative integer given as unsigned 32-bit
+     * words from the least significant one, which is the same as
+     * {@link #toWindowedNonAdjacentForm(BigInteger, int)} but needs no {@link BigInteger}.
+     *
+     * @param words non-negative integer in little-endian 32-bit words
+     * @param width window width, between 2 and 8
+     * @return digits whose length is {@code 32 * words.length + 1}
+     */
+    public static byte[] toWindowedNonAdjacentForm(int[] words, int width) {
+        if (width < 2 || 8 < width) {
+            throw new IllegalArgumentException("width must be between 2 and 8");
+        }
+
+        int bits = 32 * words.length;
+        byte[] naf = new byte[bits + 1];
+        int window = 1 << width;
+        int carry = 0;
+        int position = 0;
+        while (position < naf.length) {
+            int value = carry + (bitsAt(words, position, bits) & (window - 1));
+
+            if ((value & 1) == 0) {
+                position++;
+                continue;
+            }
+
+            if (value < window / 2) {
+                carry = 0;
+                naf[position] = (byte) value;
+            } else {
+                carry = 1;
+                naf[position] = (byte) (value - window);
+            }
+            position += width;
+        }
+        return naf;
+    }
+
+    /**
+     * Return bits of {@code words} from {@code position}, at least 8 bits of which are valid.
+     */
+    private static int bitsAt(int[] words, int position, int bits) {
+        if (position >= bits) {
+            return 0;
+        }
+        int index = position >>> 5;
+        int shift = position & 31;
+        long value = words[index] & 0xFFFFFFFFL;
+        if (index + 1 < words.length) {
+            value |= (words[index + 1] & 0xFFFFFFFFL) << 32;
+        }
+        return (int) (value >>> shift);
+    }
+
+    /**
+     * Return signed radix {@code 2^w} form of a non-negative integer, from the least significant
+     * digit. {@code integer = sum(e[i] * 2^(w * i))}, and each digit is between
+     * {@code -2^(w-1) + 1} and {@code 2^(w-1)}.
+     *
+     * @param integer non-negative integer
+     * @param width   window width, between 1 and 24
+     * @return digits whose length is {@code integer.bitLength() / width + 1}
+     */
+    public static int[] toSignedRadixForm(BigInteger integer, int width) {
+        if (integer.signum() < 0) {
+            throw new IllegalArgumentException("integer must not be negative");
+        }
+        if (width < 1 || 24 < width) {
+            throw new IllegalArgumentException("width must be between 1 and 24");
+        }
+
+        int[] digits = new int[integer.bitLength() / width + 1];
+        int half = 1 << (width - 1);
+        int carry = 0;
+        for (int i = 0; i < digits.length; i++) {
+            int value = carry;
+            for (int j = 0; j < width; j++) {
+                if (integer.testBit(i * width + j)) {
+                    value += 1 << j;
+                }
+            }
+
+            if (value <= half) {
+                carry = 0;
+                digits[i] = value;
+            } else {
+                carry = 1;
+                digits[i] = value - (1 << width);
+            }
+        }
+        return digits;
+    }
 }
@@ -6,6 +6,8 @@ import io.moatwel.crypto.eddsa.DecodeException;
 import io.moatwel.crypto.eddsa.EncodedPoint;
 import io.moatwel.crypto.eddsa.HashDelegate;
 import io.moatwel.crypto.eddsa.Point;
+import io.moatwel.crypto.eddsa.ed25519.X25519;
+import io.moatwel.crypto.eddsa.ed448.X448;
 
 import java.math.BigInteger;
 
@@ -18,8 +20,43 @@ public class SharedKeyHelper {
         Point point = EncodedPoint.from(publicKey.getRaw()).decode();
         BigInteger scalarSeed = privateKey.getScalarSeed(hashDelegate);
 
+        // scalarSeed is secret, so this must not use scalarMultiplyVariableTime
         Point result = point.scalarMultiply(scalarSeed);
 
         return result.encode().getValue();
     }
+
+    /**
+     * Compute a shared secret with X25519 or X448 of RFC 7748 from keys of Ed25519 or Ed448,
+     * which are converted into the Montgomery form. This needs only the Montgomery ladder and
+     * a single inversion, so it is much faster than {@link #generateSharedKeySeed}. The result
+     * is the u-coordinate of the point of {@link #generateSharedKeySeed}, not the Edwards
+     * encoding of it.
+     *
+     * @param publicKey    public key of the other party
+     * @param privateKey   own private key
+     * @param hashDelegate hash function of the scheme of the keys
+     * @return 32 bytes on Ed25519 and 56 bytes on Ed448
+     * @throws DecodeException if the public key is of small order, so the result is all zero
+     */
+    public static byte[] generateSharedSecret(
+            PublicKey publicKey,
+            PrivateKey privateKey,
+            HashDelegate hashDelegate) throws DecodeException {
+        byte[] secret;
+        if (publicKey.getRaw().length == X25519.KEY_LENGTH) {
+            secret = X25519.scalarMultiply(X25519.toMontgomery(privateKey, hashDelegate), X25519.toMontgomery(publicKey));
+        } else {
+            secret = X448.scalarMultiply(X448.toMontgomery(privateKey, hashDelegate), X448.toMontgomery(publicKey));
+        }
+
+        int bits = 0;
+        for (byte b : secret) {
+            bits |= b;
+        }
+        if (bits == 0) {
+            throw new DecodeException("public key must not be of small order.");
+        }
+        return secret;
+    }
 }
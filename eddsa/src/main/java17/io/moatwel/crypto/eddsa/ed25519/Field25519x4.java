@@ -0,0 +1,162 @@
+package io.moatwel.crypto.eddsa.ed25519;
+
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Arithmetic of four elements of GF(2^255 - 19) at once, one in each lane of 256-bit vectors.
+ *
+ * <p>
+ * Four elements are represented by {@code long[40]}, in which limb i of lane j is at
+ * {@code 4 * i + j}. Limbs are those of {@link Field25519}, so that the same formulas give the
+ * same limbs in each lane, and every product of limbs fits in a lane of 64 bits. As in
+ * {@link Field25519}, {@link #addLazy(long[], long[], long[])} and
+ * {@link #subLazy(long[], long[], long[])} do not carry, and their results may be passed only to
+ * multiplication.
+ *
+ * @author halu5071 (Yasunori Horii)
+ */
+final class Field25519x4 {
+
+    static final int LANES = 4;
+
+    static final int LENGTH = Field25519.LIMBS * LANES;
+
+    static final VectorSpecies<Long> SPECIES = LongVector.SPECIES_256;
+
+    private Field25519x4() {
+    }
+
+    static long[] create() {
+        return new long[LENGTH];
+    }
+
+    /**
+     * Copy a carried element into lane {@code lane} of h.
+     */
+    static void set(long[] h, int lane, int[] f) {
+        for (int i = 0; i < Field25519.LIMBS; i++) {
+            h[LANES * i + lane] = f[i];
+        }
+    }
+
+    /**
+     * Copy lane {@code lane} of a carried h into f.
+     */
+    static void get(int[] f, long[] h, int lane) {
+        for (int i = 0; i < Field25519.LIMBS; i++) {
+            f[i] = (int) h[LANES * i + lane];
+        }
+    }
+
+    /**
+     * Set lane {@code lane} of h to a small non-negative integer.
+     */
+    static void setSmall(long[] h, int lane, int value) {
+        for (int i = 0; i < Field25519.LIMBS; i++) {
+            h[LANES * i + lane] = 0;
+        }
+        h[lane] = value;
+    }
+
+    static void addLazy(long[] h, long[] f, long[] g) {
+        for (int i = 0; i < LENGTH; i += LANES) {
+            LongVector.fromArray(SPECIES, f, i).add(LongVector.fromArray(SPECIES, g, i)).intoArray(h, i);
+        }
+    }
+
+    static void subLazy(long[] h, long[] f, long[] g) {
+        for (int i = 0; i < LENGTH; i += LANES) {
+            LongVector.fromArray(SPECIES, f, i).sub(LongVector.fromArray(SPECIES, g, i)).intoArray(h, i);
+        }
+    }
+
+    /**
+     * h = f * g in each lane, which is {@link Field25519#mul(int[], int[], int[])} on vectors.
+     */
+    static void mul(long[] h, long[] f, long[] g) {
+        LongVector f0 = LongVector.fromArray(SPECIES, f, 0);
+        LongVector f1 = LongVector.fromArray(SPECIES, f, 4);
+        LongVector f2 = LongVector.fromArray(SPECIES, f, 8);
+        LongVector f3 = LongVector.fromArray(SPECIES, f, 12);
+        LongVector f4 = LongVector.fromArray(SPECIES, f, 16);
+        LongVector f5 = LongVector.fromArray(SPECIES, f, 20);
+        LongVector f6 = LongVector.fromArray(SPECIES, f, 24);
+        LongVector f7 = LongVector.fromArray(SPECIES, f, 28);
+        LongVector f8 = LongVector.fromArray(SPECIES, f, 32);
+        LongVector f9 = LongVector.fromArray(SPECIES, f, 36);
+        LongVector g0 = LongVector.fromArray(SPECIES, g, 0);
+        LongVector g1 = LongVector.fromArray(SPECIES, g, 4);
+        LongVector g2 = LongVector.fromArray(SPECIES, g, 8);
+        LongVector g3 = LongVector.fromArray(SPECIES, g, 12);
+        LongVector g4 = LongVector.fromArray(SPECIES, g, 16);
+        LongVector g5 = LongVector.fromArray(SPECIES, g, 20);
+        LongVector g6 = LongVector.fromArray(SPECIES, g, 24);
+        LongVector g7 = LongVector.fromArray(SPECIES, g, 28);
+        LongVector g8 = LongVector.fromArray(SPECIES, g, 32);
+        LongVector g9 = LongVector.fromArray(SPECIES, g, 36);
+
+        // 2^255 = 19 mod p, and products of two odd limbs carry one more bit.
+        LongVector g1_19 = g1.mul(19);
+        LongVector g2_19 = g2.mul(19);
+        LongVector g3_19 = g3.mul(19);
+        LongVector g4_19 = g4.mul(19);
+        LongVector g5_19 = g5.mul(19);
+        LongVector g6_19 = g6.mul(19);
+        LongVector g7_19 = g7.mul(19);
+        LongVector g8_19 = g8.mul(19);
+        LongVector g9_19 = g9.mul(19);
+        LongVector f1_2 = f1.add(f1);
+        LongVector f3_2 = f3.add(f3);
+        LongVector f5_2 = f5.add(f5);
+        LongVector f7_2 = f7.add(f7);
+        LongVector f9_2 = f9.add(f9);
+
+        LongVector h0 = f0.mul(g0).add(f1_2.mul(g9_19)).add(f2.mul(g8_19)).add(f3_2.mul(g7_19)).add(f4.mul(g6_19))
+                .add(f5_2.mul(g5_19)).add(f6.mul(g4_19)).add(f7_2.mul(g3_19)).add(f8.mul(g2_19)).add(f9_2.mul(g1_19));
+        LongVector h1 = f0.mul(g1).add(f1.mul(g0)).add(f2.mul(g9_19)).add(f3.mul(g8_19)).add(f4.mul(g7_19))
+                .add(f5.mul(g6_19)).add(f6.mul(g5_19)).add(f7.mul(g4_19)).add(f8.mul(g3_19)).add(f9.mul(g2_19));
+        LongVector h2 = f0.mul(g2).add(f1_2.mul(g1)).add(f2.mul(g0)).add(f3_2.mul(g9_19)).add(f4.mul(g8_19))
+                .add(f5_2.mul(g7_19)).add(f6.mul(g6_19)).add(f7_2.mul(g5_19)).add(f8.mul(g4_19)).add(f9_2.mul(g3_19));
+        LongVector h3 = f0.mul(g3).add(f1.mul(g2)).add(f2.mul(g1)).add(f3.mul(g0)).add(f4.mul(g9_19))
+                .add(f5.mul(g8_19)).add(f6.mul(g7_19)).add(f7.mul(g6_19)).add(f8.mul(g5_19)).add(f9.mul(g4_19));
+        LongVector h4 = f0.mul(g4).add(f1_2.mul(g3)).add(f2.mul(g2)).add(f3_2.mul(g1)).add(f4.mul(g0))
+                .add(f5_2.mul(g9_19)).add(f6.mul(g8_19)).add(f7_2.mul(g7_19)).add(f8.mul(g6_19)).add(f9_2.mul(g5_19));
+        LongVector h5 = f0.mul(g5).add(f1.mul(g4)).add(f2.mul(g3)).add(f3.mul(g2)).add(f4.mul(g1))
+                .add(f5.mul(g0)).add(f6.mul(g9_19)).add(f7.mul(g8_19)).add(f8.mul(g7_19)).add(f9.mul(g6_19));
+        LongVector h6 = f0.mul(g6).add(f1_2.mul(g5)).add(f2.mul(g4)).add(f3_2.mul(g3)).add(f4.mul(g2))
+                .add(f5_2.mul(g1)).add(f6.mul(g0)).add(f7_2.mul(g9_19)).add(f8.mul(g8_19)).add(f9_2.mul(g7_19));
+        LongVector h7 = f0.mul(g7).add(f1.mul(g6)).add(f2.mul(g5)).add(f3.mul(g4)).add(f4.mul(g3))
+                .add(f5.mul(g2)).add(f6.mul(g1)).add(f7.mul(g0)).add(f8.mul(g9_19)).add(f9.mul(g8_19));
+        LongVector h8 = f0.mul(g8).add(f1_2.mul(g7)).add(f2.mul(g6)).add(f3_2.mul(g5)).add(f4.mul(g4))
+                .add(f5_2.mul(g3)).add(f6.mul(g2)).add(f7_2.mul(g1)).add(f8.mul(g0)).add(f9_2.mul(g9_19));
+        LongVector h9 = f0.mul(g9).add(f1.mul(g8)).add(f2.mul(g7)).add(f3.mul(g6)).add(f4.mul(g5))
+                .add(f5.mul(g4)).add(f6.mul(g3)).add(f7.mul(g2)).add(f8.mul(g1)).add(f9.mul(g0));
+
+        LongVector carry;
+        carry = h0.add(1L << 25).lanewise(VectorOperators.ASHR, 26); h1 = h1.add(carry); h0 = h0.sub(carry.lanewise(VectorOperators.LSHL, 26));
+        carry = h4.add(1L << 25).lanewise(VectorOperators.ASHR, 26); h5 = h5.add(carry); h4 = h4.sub(carry.lanewise(VectorOperators.LSHL, 26));
+        carry = h1.add(1L << 24).lanewise(VectorOperators.ASHR, 25); h2 = h2.add(carry); h1 = h1.sub(carry.lanewise(VectorOperators.LSHL, 25));
+        carry = h5.add(1L << 24).lanewise(VectorOperators.ASHR, 25); h6 = h6.add(carry); h5 = h5.sub(carry.lanewise(VectorOperators.LSHL, 25));
+        carry = h2.add(1L << 25).lanewise(VectorOperators.ASHR, 26); h3 = h3.add(carry); h2 = h2.sub(carry.lanewise(VectorOperators.LSHL, 26));
+        carry = h6.add(1L << 25).lanewise(VectorOperators.ASHR, 26); h7 = h7.add(carry); h6 = h6.sub(carry.lanewise(VectorOperators.LSHL, 26));
+        carry = h3.add(1L << 24).lanewise(VectorOperators.ASHR, 25); h4 = h4.add(carry); h3 = h3.sub(carry.lanewise(VectorOperators.LSHL, 25));
+        carry = h7.add(1L << 24).lanewise(VectorOperators.ASHR, 25); h8 = h8.add(carry); h7 = h7.sub(carry.lanewise(VectorOperators.LSHL, 25));
+        carry = h4.add(1L << 25).lanewise(VectorOperators.ASHR, 26); h5 = h5.add(carry); h4 = h4.sub(carry.lanewise(VectorOperators.LSHL, 26));
+        carry = h8.add(1L << 25).lanewise(VectorOperators.ASHR, 26); h9 = h9.add(carry); h8 = h8.sub(carry.lanewise(VectorOperators.LSHL, 26));
+        carry = h9.add(1L << 24).lanewise(VectorOperators.ASHR, 25); h0 = h0.add(carry.mul(19)); h9 = h9.sub(carry.lanewise(VectorOperators.LSHL, 25));
+        carry = h0.add(1L << 25).lanewise(VectorOperators.ASHR, 26); h1 = h1.add(carry); h0 = h0.sub(carry.lanewise(VectorOperators.LSHL, 26));
+
+        h0.intoArray(h, 0);
+        h1.intoArray(h, 4);
+        h2.intoArray(h, 8);
+        h3.intoArray(h, 12);
+        h4.intoArray(h, 16);
+        h5.intoArray(h, 20);
+        h6.intoArray(h, 24);
+        h7.intoArray(h, 28);
+        h8.intoArray(h, 32);
+        h9.intoArray(h, 36);
+    }
+}
@@ -0,0 +1,202 @@
+package io.moatwel.crypto.eddsa.ed25519;
+
+import jdk.incubator.vector.LongVector;
+
+import java.util.Arrays;
+
+/**
+ * Buckets on vectors, which add four points to four buckets at once with {@link Field25519x4}.
+ *
+ * <p>
+ * Points are queued for each bucket when they are given, and added when a sum is got. Each lane
+ * of the vectors takes a bucket and adds the points of its queue one by one, and takes the next
+ * bucket when the queue is empty, so that all lanes are busy until the last four buckets.
+ * Additions are those of {@link MutablePointEd25519#addNiels(MutablePointEd25519,
+ * NielsPointEd25519, ScratchEd25519)} in each lane.
+ *
+ * <p>
+ * This class is in the {@code META-INF/versions/17} directory of the multi-release jar, and is
+ * loaded by {@link BucketsEd25519#create(int)} only if it is available.
+ *
+ * @author halu5071 (Yasunori Horii)
+ */
+final class VectorBucketsEd25519 extends BucketsEd25519 {
+
+    private static final int LANES = Field25519x4.LANES;
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    private final MutablePointEd25519[] sums;
+
+    // points given to each bucket and not added yet
+    private final NielsPointEd25519[][] queues;
+    private final boolean[][] negatives;
+    private final int[] lengths;
+    private boolean isPending;
+
+    // buckets in the lanes, and the next point of each of them
+    private final int[] laneBuckets = new int[LANES];
+    private final int[] lanePositions = new int[LANES];
+
+    private final long[] X = Field25519x4.create();
+    private final long[] Y = Field25519x4.create();
+    private final long[] Z = Field25519x4.create();
+    private final long[] T = Field25519x4.create();
+    private final long[] yPlusX = Field25519x4.create();
+    private final long[] yMinusX = Field25519x4.create();
+    private final long[] xy2d = Field25519x4.create();
+    private final long[] A = Field25519x4.create();
+    private final long[] B = Field25519x4.create();
+    private final long[] C = Field25519x4.create();
+    private final long[] D = Field25519x4.create();
+    private final long[] E = Field25519x4.create();
+    private final int[] negated = Field25519.create();
+
+    VectorBucketsEd25519(int count) {
+        if (LongVector.SPECIES_PREFERRED.vectorBitSize() < Field25519x4.SPECIES.vectorBitSize()) {
+            throw new UnsupportedOperationException("256-bit vectors are not supported on this platform.");
+        }
+        sums = new MutablePointEd25519[count];
+        queues = new NielsPointEd25519[count][];
+        negatives = new boolean[count][];
+        lengths = new int[count];
+        for (int b = 0; b < count; b++) {
+            sums[b] = new MutablePointEd25519();
+        }
+    }
+
+    @Override
+    void clear() {
+        for (int b = 0; b < sums.length; b++) {
+            sums[b].setIdentity();
+            lengths[b] = 0;
+        }
+        isPending = false;
+    }
+
+    @Override
+    void add(int b, NielsPointEd25519 q, boolean negative, ScratchEd25519 scratch) {
+        if (queues[b] == null) {
+            queues[b] = new NielsPointEd25519[INITIAL_CAPACITY];
+            negatives[b] = new boolean[INITIAL_CAPACITY];
+        } else if (lengths[b] == queues[b].length) {
+            queues[b] = Arrays.copyOf(queues[b], 2 * lengths[b]);
+            negatives[b] = Arrays.copyOf(negatives[b], 2 * lengths[b]);
+        }
+        queues[b][lengths[b]] = q;
+        negatives[b][lengths[b]] = negative;
+        lengths[b]++;
+        isPending = true;
+    }
+
+    @Override
+    MutablePointEd25519 get(int b, ScratchEd25519 scratch) {
+        if (isPending) {
+            addQueued();
+            isPending = false;
+        }
+        return sums[b];
+    }
+
+    /**
+     * Add all queued points to the sums, four at a time.
+     */
+    private void addQueued() {
+        int next = 0;
+        for (int lane = 0; lane < LANES; lane++) {
+            laneBuckets[lane] = -1;
+        }
+
+        while (true) {
+            boolean isActive = false;
+            for (int lane = 0; lane < LANES; lane++) {
+                int b = laneBuckets[lane];
+                if (b >= 0 && lanePositions[lane] == lengths[b]) {
+                    store(lane, sums[b]);
+                    lengths[b] = 0;
+                    b = -1;
+                }
+                if (b < 0) {
+                    while (next < lengths.length && lengths[next] == 0) {
+                        next++;
+                    }
+                    if (next < lengths.length) {
+                        b = next++;
+                        load(lane, sums[b]);
+                        lanePositions[lane] = 0;
+                    }
+                    laneBuckets[lane] = b;
+                }
+
+                if (b < 0) {
+                    // an idle lane adds the neutral element
+                    Field25519x4.setSmall(yPlusX, lane, 1);
+                    Field25519x4.setSmall(yMinusX, lane, 1);
+                    Field25519x4.setSmall(xy2d, lane, 0);
+                } else {
+                    int position = lanePositions[lane]++;
+                    setNiels(lane, queues[b][position], negatives[b][position]);
+                    queues[b][position] = null;
+                    isActive = true;
+                }
+            }
+            if (!isActive) {
+                return;
+            }
+            addNiels();
+        }
+    }
+
+    /**
+     * (X : Y : Z : T) = (X : Y : Z : T) + (yPlusX, yMinusX, xy2d) in each lane.
+     */
+    private void addNiels() {
+        Field25519x4.subLazy(A, Y, X);
+        Field25519x4.mul(A, A, yMinusX);
+        Field25519x4.addLazy(B, Y, X);
+        Field25519x4.mul(B, B, yPlusX);
+        Field25519x4.mul(C, T, xy2d);
+        Field25519x4.addLazy(D, Z, Z);
+
+        long[] H = yPlusX;
+        Field25519x4.addLazy(H, B, A);
+        Field25519x4.subLazy(E, B, A);
+        long[] F = A;
+        Field25519x4.subLazy(F, D, C);
+        long[] G = B;
+        Field25519x4.addLazy(G, D, C);
+
+        Field25519x4.mul(X, E, F);
+        Field25519x4.mul(Y, G, H);
+        Field25519x4.mul(T, E, H);
+        Field25519x4.mul(Z, F, G);
+    }
+
+    private void setNiels(int lane, NielsPointEd25519 q, boolean negative) {
+        if (negative) {
+            // -(x, y) = (-x, y), whose y + x and y - x are swapped
+            Field25519x4.set(yPlusX, lane, q.yMinusX);
+            Field25519x4.set(yMinusX, lane, q.yPlusX);
+            Field25519.neg(negated, q.xy2d);
+            Field25519x4.set(xy2d, lane, negated);
+        } else {
+            Field25519x4.set(yPlusX, lane, q.yPlusX);
+            Field25519x4.set(yMinusX, lane, q.yMinusX);
+            Field25519x4.set(xy2d, lane, q.xy2d);
+        }
+    }
+
+    private void load(int lane, MutablePointEd25519 p) {
+        Field25519x4.set(X, lane, p.X);
+        Field25519x4.set(Y, lane, p.Y);
+        Field25519x4.set(Z, lane, p.Z);
+        Field25519x4.set(T, lane, p.T);
+    }
+
+    private void store(int lane, MutablePointEd25519 p) {
+        Field25519x4.get(p.X, X, lane);
+        Field25519x4.get(p.Y, Y, lane);
+        Field25519x4.get(p.Z, Z, lane);
+        Field25519x4.get(p.T, T, lane);
+    }
+}
@@ -0,0 +1,232 @@
+package io.moatwel.crypto.eddsa.ed25519;
+
+/**
+ * Multiplication and squaring of {@link Field25519} for Java 9 or later, which is in
+ * {@code META-INF/versions/9} of the multi-release jar and replaces the kernel of ref10.
+ *
+ * <p>
+ * Each pair of limbs is joined into a limb of radix 2^51, so that an element has 5 limbs of
+ * {@code long} and a multiplication needs 25 products instead of 100. Products are of 128 bits,
+ * whose upper halves are computed with {@code Math.multiplyHigh}, an intrinsic of a single
+ * instruction on 64-bit platforms. The lower 51 bits and the rest of each product are summed up
+ * separately, so that no sum needs 128 bits. The result is split into limbs of radix 2^25.5 and
+ * carried in the same way as the kernel of ref10.
+ *
+ * <p>
+ * Limbs of operands are less than 1.65 times 2^26 or 2^25, so joined limbs are less than 2^52
+ * and products are less than 2^109 even if they are multiplied by 19.
+ *
+ * @author halu5071 (Yasunori Horii)
+ */
+final class Field25519Kernel {
+
+    private static final long MASK = (1L << 51) - 1;
+
+    private static final long MASK_26 = (1L << 26) - 1;
+
+    private Field25519Kernel() {
+    }
+
+    static void mul(int[] h, int[] f, int[] g) {
+        long f0 = f[0] + ((long) f[1] << 26);
+        long f1 = f[2] + ((long) f[3] << 26);
+        long f2 = f[4] + ((long) f[5] << 26);
+        long f3 = f[6] + ((long) f[7] << 26);
+        long f4 = f[8] + ((long) f[9] << 26);
+        long g0 = g[0] + ((long) g[1] << 26);
+        long g1 = g[2] + ((long) g[3] << 26);
+        long g2 = g[4] + ((long) g[5] << 26);
+        long g3 = g[6] + ((long) g[7] << 26);
+        long g4 = g[8] + ((long) g[9] << 26);
+
+        // 2^255 = 19 mod p
+        long g1_19 = 19 * g1;
+        long g2_19 = 19 * g2;
+        long g3_19 = 19 * g3;
+        long g4_19 = 19 * g4;
+
+        // column i is l_i + u_i * 2^51, where l_i has the lower 51 bits of products
+        long l0 = 0;
+        long l1 = 0;
+        long l2 = 0;
+        long l3 = 0;
+        long l4 = 0;
+        long u0 = 0;
+        long u1 = 0;
+        long u2 = 0;
+        long u3 = 0;
+        long u4 = 0;
+        long lo;
+        lo = f0 * g0;
+        l0 += lo & MASK;
+        u0 += (Math.multiplyHigh(f0, g0) << 13) | (lo >>> 51);
+        lo = f1 * g4_19;
+        l0 += lo & MASK;
+        u0 += (Math.multiplyHigh(f1, g4_19) << 13) | (lo >>> 51);
+        lo = f2 * g3_19;
+        l0 += lo & MASK;
+        u0 += (Math.multiplyHigh(f2, g3_19) << 13) | (lo >>> 51);
+        lo = f3 * g2_19;
+        l0 += lo & MASK;
+        u0 += (Math.multiplyHigh(f3, g2_19) << 13) | (lo >>> 51);
+        lo = f4 * g1_19;
+        l0 += lo & MASK;
+        u0 += (Math.multiplyHigh(f4, g1_19) << 13) | (lo >>> 51);
+
+        lo = f0 * g1;
+        l1 += lo & MASK;
+        u1 += (Math.multiplyHigh(f0, g1) << 13) | (lo >>> 51);
+        lo = f1 * g0;
+        l1 += lo & MASK;
+        u1 += (Math.multiplyHigh(f1, g0) << 13) | (lo >>> 51);
+        lo = f2 * g4_19;
+        l1 += lo & MASK;
+        u1 += (Math.multiplyHigh(f2, g4_19) << 13) | (lo >>> 51);
+        lo = f3 * g3_19;
+        l1 += lo & MASK;
+        u1 += (Math.multiplyHigh(f3, g3_19) << 13) | (lo >>> 51);
+        lo = f4 * g2_19;
+        l1 += lo & MASK;
+        u1 += (Math.multiplyHigh(f4, g2_19) << 13) | (lo >>> 51);
+
+        lo = f0 * g2;
+        l2 += lo & MASK;
+        u2 += (Math.multiplyHigh(f0, g2) << 13) | (lo >>> 51);
+        lo = f1 * g1;
+        l2 += lo & MASK;
+        u2 += (Math.multiplyHigh(f1, g1) << 13) | (lo >>> 51);
+        lo = f2 * g0;
+        l2 += lo & MASK;
+        u2 += (Math.multiplyHigh(f2, g0) << 13) | (lo >>> 51);
+        lo = f3 * g4_19;
+        l2 += lo & MASK;
+        u2 += (Math.multiplyHigh(f3, g4_19) << 13) | (lo >>> 51);
+        lo = f4 * g3_19;
+        l2 += lo & MASK;
+        u2 += (Math.multiplyHigh(f4, g3_19) << 13) | (lo >>> 51);
+
+        lo = f0 * g3;
+        l3 += lo & MASK;
+        u3 += (Math.multiplyHigh(f0, g3) << 13) | (lo >>> 51);
+        lo = f1 * g2;
+        l3 += lo & MASK;
+        u3 += (Math.multiplyHigh(f1, g2) << 13) | (lo >>> 51);
+        lo = f2 * g1;
+        l3 += lo & MASK;
+        u3 += (Math.multiplyHigh(f2, g1) << 13) | (lo >>> 51);
+        lo = f3 * g0;
+        l3 += lo & MASK;
+        u3 += (Math.multiplyHigh(f3, g0) << 13) | (lo >>> 51);
+        lo = f4 * g4_19;
+        l3 += lo & MASK;
+        u3 += (Math.multiplyHigh(f4, g4_19) << 13) | (lo >>> 51);
+
+        lo = f0 * g4;
+        l4 += lo & MASK;
+        u4 += (Math.multiplyHigh(f0, g4) << 13) | (lo >>> 51);
+        lo = f1 * g3;
+        l4 += lo & MASK;
+        u4 += (Math.multiplyHigh(f1, g3) << 13) | (lo >>> 51);
+        lo = f2 * g2;
+        l4 += lo & MASK;
+        u4 += (Math.multiplyHigh(f2, g2) << 13) | (lo >>> 51);
+        lo = f3 * g1;
+        l4 += lo & MASK;
+        u4 += (Math.multiplyHigh(f3, g1) << 13) | (lo >>> 51);
+        lo = f4 * g0;
+        l4 += lo & MASK;
+        u4 += (Math.multiplyHigh(f4, g0) << 13) | (lo >>> 51);
+
+        reduce(h, l0, l1, l2, l3, l4, u0, u1, u2, u3, u4);
+    }
+
+    static void square(int[] h, int[] f) {
+        long f0 = f[0] + ((long) f[1] << 26);
+        long f1 = f[2] + ((long) f[3] << 26);
+        long f2 = f[4] + ((long) f[5] << 26);
+        long f3 = f[6] + ((long) f[7] << 26);
+        long f4 = f[8] + ((long) f[9] << 26);
+
+        long f0_2 = 2 * f0;
+        long f1_2 = 2 * f1;
+        long f2_2 = 2 * f2;
+        long f3_2 = 2 * f3;
+        long f3_19 = 19 * f3;
+        long f4_19 = 19 * f4;
+
+        long l0 = 0;
+        long l1 = 0;
+        long l2 = 0;
+        long l3 = 0;
+        long l4 = 0;
+        long u0 = 0;
+        long u1 = 0;
+        long u2 = 0;
+        long u3 = 0;
+        long u4 = 0;
+        long lo;
+        lo = f0 * f0;
+        l0 += lo & MASK;
+        u0 += (Math.multiplyHigh(f0, f0) << 13) | (lo >>> 51);
+        lo = f1_2 * f4_19;
+        l0 += lo & MASK;
+        u0 += (Math.multiplyHigh(f1_2, f4_19) << 13) | (lo >>> 51);
+        lo = f2_2 * f3_19;
+        l0 += lo & MASK;
+        u0 += (Math.multiplyHigh(f2_2, f3_19) << 13) | (lo >>> 51);
+
+        lo = f0_2 * f1;
+        l1 += lo & MASK;
+        u1 += (Math.multiplyHigh(f0_2, f1) << 13) | (lo >>> 51);
+        lo = f2_2 * f4_19;
+        l1 += lo & MASK;
+        u1 += (Math.multiplyHigh(f2_2, f4_19) << 13) | (lo >>> 51);
+        lo = f3 * f3_19;
+        l1 += lo & MASK;
+        u1 += (Math.multiplyHigh(f3, f3_19) << 13) | (lo >>> 51);
+
+        lo = f0_2 * f2;
+        l2 += lo & MASK;
+        u2 += (Math.multiplyHigh(f0_2, f2) << 13) | (lo >>> 51);
+        lo = f1 * f1;
+        l2 += lo & MASK;
+        u2 += (Math.multiplyHigh(f1, f1) << 13) | (lo >>> 51);
+        lo = f3_2 * f4_19;
+        l2 += lo & MASK;
+        u2 += (Math.multiplyHigh(f3_2, f4_19) << 13) | (lo >>> 51);
+
+        lo = f0_2 * f3;
+        l3 += lo & MASK;
+        u3 += (Math.multiplyHigh(f0_2, f3) << 13) | (lo >>> 51);
+        lo = f1_2 * f2;
+        l3 += lo & MASK;
+        u3 += (Math.multiplyHigh(f1_2, f2) << 13) | (lo >>> 51);
+        lo = f4 * f4_19;
+        l3 += lo & MASK;
+        u3 += (Math.multiplyHigh(f4, f4_19) << 13) | (lo >>> 51);
+
+        lo = f0_2 * f4;
+        l4 += lo & MASK;
+        u4 += (Math.multiplyHigh(f0_2, f4) << 13) | (lo >>> 51);
+        lo = f1_2 * f3;
+        l4 += lo & MASK;
+        u4 += (Math.multiplyHigh(f1_2, f3) << 13) | (lo >>> 51);
+        lo = f2 * f2;
+        l4 += lo & MASK;
+        u4 += (Math.multiplyHigh(f2, f2) << 13) | (lo >>> 51);
+
+        reduce(h, l0, l1, l2, l3, l4, u0, u1, u2, u3, u4);
+    }
+
+    private static void reduce(int[] h, long l0, long l1, long l2, long l3, long l4,
+                               long u0, long u1, long u2, long u3, long u4) {
+        long r0 = l0 + 19 * u4;
+        long r1 = l1 + u0;
+        long r2 = l2 + u1;
+        long r3 = l3 + u2;
+        long r4 = l4 + u3;
+        Field25519.carry(h,
+                r0 & MASK_26, r0 >> 26, r1 & MASK_26, r1 >> 26, r2 & MASK_26,
+                r2 >> 26, r3 & MASK_26, r3 >> 26, r4 & MASK_26, r4 >> 26);
+    }
+}
@@ -0,0 +1,116 @@
+package io.moatwel.crypto;
+
+import io.moatwel.crypto.eddsa.Edwards;
+import io.moatwel.crypto.eddsa.ed25519.Ed25519PublicKeyDelegate;
+import io.moatwel.crypto.eddsa.ed25519.ctx.Ed25519ctxSchemeProvider;
+import io.moatwel.crypto.eddsa.ed25519.nem.NemV1PublicKeyDelegate;
+import io.moatwel.crypto.eddsa.ed25519.nem.NemV1SchemeProvider;
+import io.moatwel.crypto.eddsa.ed448.Ed448SchemeProvider;
+import io.moatwel.crypto.eddsa.ed448.ph.Ed448phSchemeProvider;
+import io.moatwel.util.ByteUtils;
+import io.moatwel.util.HexEncoder;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class ExpandedPrivateKeyTest {
+
+    @Test
+    public void success_Sign_Ed25519_RFC8032() {
+        Edwards edwards = new Edwards(HashAlgorithm.SHA_512);
+        PrivateKey privateKey = PrivateKey.newInstance("9d61b19deffd5a60ba844af492ec2cc44449c5697b326919703bac031cae7f60");
+
+        ExpandedPrivateKey expandedPrivateKey = edwards.expandPrivateKey(privateKey);
+        Signature signature = edwards.sign(expandedPrivateKey, new byte[0]);
+
+        assertThat(expandedPrivateKey.getPublicKey().getHexString(), is("d75a980182b10ab7d54bfed3c964073a0ee172f3daa62325af021a68f707511a"));
+        assertThat(signature.asString(), is("e5564300c360ac729086e2cc806e828a84877f1eb8e5d974d873e065224901555fb8821590a33bacc61e39701cf9b46bd25bf5f0595bbe24655141438e7a100b"));
+    }
+
+    @Test
+    public void success_Sign_same_as_KeyPair() {
+        Edwards[] schemes = new Edwards[]{
+                new Edwards(HashAlgorithm.SHA_512),
+                new Edwards(new Ed25519ctxSchemeProvider(HashAlgorithm.SHA_512)),
+                new Edwards(new NemV1SchemeProvider()),
+                new Edwards(new Ed448SchemeProvider(HashAlgorithm.SHAKE_256)),
+                new Edwards(new Ed448phSchemeProvider(HashAlgorithm.SHAKE_256))
+        };
+        for (Edwards edwards : schemes) {
+            KeyPair keyPair = edwards.generateKeyPair();
+            ExpandedPrivateKey expandedPrivateKey = edwards.expandPrivateKey(keyPair.getPrivateKey());
+            byte[] context = "context".getBytes();
+
+            assertThat(expandedPrivateKey.getPublicKey().getRaw(), is(keyPair.getPublicKey().getRaw()));
+            for (int i = 0; i < 3; i++) {
+                byte[] data = ("message " + i).getBytes();
+                Signature expected = edwards.sign(keyPair, data, context);
+                Signature signature = edwards.sign(expandedPrivateKey, data, context);
+
+                assertThat(signature.getSignature(), is(expected.getSignature()));
+                assertThat(edwards.verify(keyPair.getPublicKey(), data, context, signature), is(true));
+            }
+        }
+    }
+
+    @Test
+    public void success_Scalar_and_Prefix() {
+        Edwards edwards = new Edwards(new NemV1SchemeProvider());
+        PrivateKey privateKey = PrivateKey.newInstance("a958255dbd7d642fa4fac6c775f2ee667340f5d005b1459f74c7d1c186ddc46a");
+
+        ExpandedPrivateKey expandedPrivateKey = edwards.expandPrivateKey(privateKey);
+
+        NemV1PublicKeyDelegate delegate = new NemV1PublicKeyDelegate();
+        assertThat(expandedPrivateKey.getScalar(), is(privateKey.getScalarSeed(delegate)));
+        assertThat(expandedPrivateKey.getPrefix(), is(ByteUtils.split(delegate.hashPrivateKey(privateKey), 32)[1]));
+    }
+
+    @Test
+    public void success_Export_and_Import_Ed25519() {
+        Edwards edwards = new Edwards(HashAlgorithm.SHA_512);
+        KeyPair keyPair = edwards.generateKeyPair();
+        ExpandedPrivateKey expandedPrivateKey = edwards.expandPrivateKey(keyPair);
+
+        byte[] raw = expandedPrivateKey.getRaw();
+        assertThat(raw.length, is(64));
+        assertThat(raw, is(ByteUtils.join(keyPair.getPrivateKey().getRaw(), keyPair.getPublicKey().getRaw())));
+        assertThat(expandedPrivateKey.getHexString(), is(HexEncoder.getString(raw)));
+
+        ExpandedPrivateKey imported = edwards.expandPrivateKey(raw);
+        assertThat(imported.getPrivateKey(), is(keyPair.getPrivateKey()));
+        assertThat(imported.getPublicKey().getRaw(), is(keyPair.getPublicKey().getRaw()));
+        assertThat(imported.getScalar(), is(keyPair.getPrivateKey().getScalarSeed(new Ed25519PublicKeyDelegate(HashAlgorithm.SHA_512))));
+        assertThat(imported.getPrefix(), is(expandedPrivateKey.getPrefix()));
+    }
+
+    @Test
+    public void success_Export_and_Import_Ed448() {
+        Edwards edwards = new Edwards(new Ed448SchemeProvider(HashAlgorithm.SHAKE_256));
+        KeyPair keyPair = edwards.generateKeyPair();
+        ExpandedPrivateKey expandedPrivateKey = edwards.expandPrivateKey(keyPair);
+
+        byte[] raw = expandedPrivateKey.getRaw();
+        assertThat(raw.length, is(114));
+
+        ExpandedPrivateKey imported = edwards.expandPrivateKey(raw);
+        Signature signature = edwards.sign(imported, "hoge".getBytes());
+        assertThat(signature.getSignature(), is(edwards.sign(keyPair, "hoge".getBytes()).getSignature()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void failure_Import_wrong_length() {
+        new Edwards(HashAlgorithm.SHA_512).expandPrivateKey(new byte[57]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void failure_Expand_wrong_curve() {
+        new Edwards(HashAlgorithm.SHA_512).expandPrivateKey(PrivateKey.newInstance(new byte[57]));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void failure_Expand_null() {
+        PrivateKey privateKey = null;
+        new Edwards(HashAlgorithm.SHA_512).expandPrivateKey(privateKey);
+    }
+}
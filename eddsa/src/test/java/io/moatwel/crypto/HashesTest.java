@@ -3,8 +3,19 @@ package io.moatwel.crypto;
 import io.moatwel.util.ByteUtils;
 import io.moatwel.util.HexEncoder;
 import org.junit.Test;
+import org.spongycastle.crypto.Digest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.junit.Assert.assertThat;
 
 public class HashesTest {
@@ -146,4 +157,77 @@ public class HashesTest {
 
         Hashes.hash(HashAlgorithm.KECCAK_512, 65, seed1.getBytes());
     }
+
+    @Test
+    public void success_GetDigest_reset_and_reuse() {
+        Digest digest = Hashes.getDigest(HashAlgorithm.SHA_512);
+        digest.update(new byte[]{1, 2, 3}, 0, 3);
+
+        assertThat(Hashes.getDigest(HashAlgorithm.SHA_512), is(sameInstance(digest)));
+        assertThat(HexEncoder.getString(Hashes.hash(HashAlgorithm.SHA_512, "demo".getBytes())),
+                is("26c669cd0814ac40e5328752b21c4aa6450d16295e4eec30356a06a911c23983aaebe12d5da38eeebfc1b213be650498df8419194d5a26c7e0a50af156853c79"));
+    }
+
+    @Test
+    public void success_NewDigest() {
+        byte[] data = "fjadklfasdufopadsf089q2ohiasjdlkfary80p oiajfdklf".getBytes();
+        for (HashAlgorithm algorithm : HashAlgorithm.values()) {
+            Digest digest = Hashes.newDigest(algorithm);
+            digest.update(data, 0, data.length);
+            byte[] result = new byte[digest.getDigestSize()];
+            digest.doFinal(result, 0);
+
+            assertThat(digest, is(not(sameInstance(Hashes.getDigest(algorithm)))));
+            assertThat(result, is(Hashes.hash(algorithm, digest.getDigestSize(), data)));
+        }
+    }
+
+    @Test
+    public void success_Hash_after_failure() {
+        try {
+            Hashes.hash(HashAlgorithm.KECCAK_256, new byte[]{1}, null);
+        } catch (NullPointerException e) {
+            // digest is left with the first input
+        }
+
+        assertThat(HexEncoder.getString(Hashes.hash(HashAlgorithm.KECCAK_256, "demo".getBytes())),
+                is("3a784687a2b2ff9a2c72e22b001d33d9f2e2155a7858ff663b0990d35f14745d"));
+    }
+
+    @Test
+    public void success_Hash_multi_thread() throws Exception {
+        final byte[] data = new byte[100];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) i;
+        }
+        final HashAlgorithm[] algorithms = HashAlgorithm.values();
+        final byte[][] expected = new byte[algorithms.length][];
+        for (int i = 0; i < algorithms.length; i++) {
+            expected[i] = Hashes.hash(algorithms[i], data);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (int t = 0; t < 16; t++) {
+                futures.add(executor.submit(new Callable<Boolean>() {
+                    @Override
+                    public Boolean call() {
+                        for (int n = 0; n < 200; n++) {
+                            int i = n % algorithms.length;
+                            if (!Arrays.equals(Hashes.hash(algorithms[i], data), expected[i])) {
+                                return false;
+                            }
+                        }
+                        return true;
+                    }
+                }));
+            }
+            for (Future<Boolean> future : futures) {
+                assertThat(future.get(), is(true));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
 }
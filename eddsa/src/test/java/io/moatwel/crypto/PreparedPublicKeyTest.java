@@ -0,0 +1,129 @@
+package io.moatwel.crypto;
+
+import io.moatwel.crypto.eddsa.DecodeException;
+import io.moatwel.crypto.eddsa.EdDsaKeyGenerator;
+import io.moatwel.crypto.eddsa.Edwards;
+import io.moatwel.crypto.eddsa.SchemeProvider;
+import io.moatwel.crypto.eddsa.ed25519.Ed25519SchemeProvider;
+import io.moatwel.crypto.eddsa.ed25519.ctx.Ed25519ctxSchemeProvider;
+import io.moatwel.crypto.eddsa.ed25519.nem.NemV1SchemeProvider;
+import io.moatwel.crypto.eddsa.ed448.Ed448SchemeProvider;
+import io.moatwel.crypto.eddsa.ed448.ph.Ed448phSchemeProvider;
+import io.moatwel.crypto.eddsa.reference.ReferenceBackend;
+import io.moatwel.util.ByteUtils;
+import io.moatwel.util.HexEncoder;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class PreparedPublicKeyTest {
+
+    @Test
+    public void success_Verify_Ed25519_RFC8032() throws Exception {
+        Edwards edwards = new Edwards(HashAlgorithm.SHA_512);
+        PublicKey publicKey = PublicKey.fromHexString("d75a980182b10ab7d54bfed3c964073a0ee172f3daa62325af021a68f707511a");
+        Signature signature = newSignature(HexEncoder.getBytes("e5564300c360ac729086e2cc806e828a84877f1eb8e5d974d873e065224901555fb8821590a33bacc61e39701cf9b46bd25bf5f0595bbe24655141438e7a100b"), 32);
+
+        PreparedPublicKey preparedPublicKey = edwards.prepare(publicKey);
+
+        assertThat(preparedPublicKey.getPublicKey(), is(publicKey));
+        assertThat(preparedPublicKey.getEncoded(), is(publicKey.getRaw()));
+        assertThat(preparedPublicKey.getHexString(), is(publicKey.getHexString()));
+        assertThat(edwards.verify(preparedPublicKey, new byte[0], signature), is(true));
+        assertThat(edwards.verify(preparedPublicKey, new byte[1], signature), is(false));
+    }
+
+    @Test
+    public void success_Verify_same_as_PublicKey() throws Exception {
+        Edwards[] schemes = new Edwards[]{
+                new Edwards(HashAlgorithm.SHA_512),
+                new Edwards(new Ed25519ctxSchemeProvider(HashAlgorithm.SHA_512)),
+                new Edwards(new NemV1SchemeProvider()),
+                new Edwards(new Ed448SchemeProvider(HashAlgorithm.SHAKE_256)),
+                new Edwards(new Ed448phSchemeProvider(HashAlgorithm.SHAKE_256))
+        };
+        for (Edwards edwards : schemes) {
+            KeyPair keyPair = edwards.generateKeyPair();
+            KeyPair other = edwards.generateKeyPair();
+            byte[] context = "context".getBytes();
+            PreparedPublicKey[] preparedPublicKeys = new PreparedPublicKey[]{
+                    edwards.prepare(keyPair.getPublicKey()),
+                    edwards.prepare(keyPair.getPublicKey(), false)
+            };
+
+            for (PreparedPublicKey preparedPublicKey : preparedPublicKeys) {
+                for (int i = 0; i < 3; i++) {
+                    byte[] data = ("message " + i).getBytes();
+                    Signature signature = edwards.sign(keyPair, data, context);
+                    Signature otherSignature = edwards.sign(other, data, context);
+
+                    assertThat(edwards.verify(preparedPublicKey, data, context, signature), is(true));
+                    assertThat(edwards.verify(preparedPublicKey, "other".getBytes(), context, signature), is(false));
+                    assertThat(edwards.verify(preparedPublicKey, data, context, otherSignature), is(false));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void success_Verify_tampered_signature() throws Exception {
+        Edwards edwards = new Edwards(new Ed448SchemeProvider(HashAlgorithm.SHAKE_256));
+        KeyPair keyPair = edwards.generateKeyPair();
+        byte[] data = "hoge".getBytes();
+        byte[] signature = edwards.sign(keyPair, data).getSignature();
+        signature[0] ^= 1;
+
+        PreparedPublicKey preparedPublicKey = edwards.prepare(keyPair.getPublicKey());
+
+        assertThat(edwards.verify(preparedPublicKey, data, newSignature(signature, 57)), is(false));
+    }
+
+    @Test(expected = DecodeException.class)
+    public void failure_Prepare_not_on_curve() throws Exception {
+        // y = 2 is not on Ed25519
+        byte[] raw = new byte[32];
+        raw[0] = 2;
+
+        new Edwards(HashAlgorithm.SHA_512).prepare(new PublicKey(raw));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void failure_Verify_wrong_curve() throws Exception {
+        Edwards edwards = new Edwards(HashAlgorithm.SHA_512);
+        Edwards edwards448 = new Edwards(new Ed448SchemeProvider(HashAlgorithm.SHAKE_256));
+        KeyPair keyPair = edwards448.generateKeyPair();
+
+        PreparedPublicKey preparedPublicKey = edwards448.prepare(keyPair.getPublicKey());
+
+        edwards.verify(preparedPublicKey, new byte[0], edwards.sign(edwards.generateKeyPair(), new byte[0]));
+    }
+
+    @Test
+    public void success_Verify_prepared_on_other_backend() throws Exception {
+        SchemeProvider[] schemes = new SchemeProvider[]{
+                new Ed25519SchemeProvider(HashAlgorithm.SHA_512),
+                new Ed25519SchemeProvider(HashAlgorithm.SHA_512, new ReferenceBackend()),
+                new Ed448SchemeProvider(HashAlgorithm.SHAKE_256),
+                new Ed448SchemeProvider(HashAlgorithm.SHAKE_256, new ReferenceBackend())
+        };
+        for (int i = 0; i < schemes.length; i += 2) {
+            KeyPair keyPair = new EdDsaKeyGenerator(schemes[i]).generateKeyPair();
+            byte[] data = "hoge".getBytes();
+            Signature signature = schemes[i].getSigner().sign(keyPair, data, null);
+
+            for (int j = i; j < i + 2; j++) {
+                PreparedPublicKey preparedPublicKey = schemes[j].getSigner().prepare(keyPair.getPublicKey(), true);
+                EdDsaSigner other = schemes[2 * i + 1 - j].getSigner();
+
+                assertThat(other.verify(preparedPublicKey, data, null, signature), is(true));
+                assertThat(other.verify(preparedPublicKey, "fuga".getBytes(), null, signature), is(false));
+            }
+        }
+    }
+
+    private static Signature newSignature(byte[] signature, int length) {
+        return new Signature(ByteUtils.split(signature, length)[0], ByteUtils.split(signature, length)[1]) {
+        };
+    }
+}
@@ -1,6 +1,9 @@
 package io.moatwel.crypto;
 
+import io.moatwel.crypto.eddsa.HashDelegate;
+import io.moatwel.crypto.eddsa.ed25519.Ed25519PublicKeyDelegate;
 import io.moatwel.crypto.eddsa.ed25519.PrivateKeyEd25519;
+import io.moatwel.crypto.eddsa.ed448.Ed448PublicKeyDelegate;
 import io.moatwel.crypto.eddsa.ed448.PrivateKeyEd448;
 import io.moatwel.util.HexEncoder;
 import org.junit.Before;
@@ -86,4 +89,32 @@ public class PrivateKeyTest {
 
         assertNotEquals(privateKey1.hashCode(), privateKey2.hashCode());
     }
+
+    @Test
+    public void success_GetScalarSeed_hash_result() {
+        HashDelegate[] delegates = {new Ed25519PublicKeyDelegate(HashAlgorithm.SHA_512),
+                new Ed448PublicKeyDelegate(HashAlgorithm.SHAKE_256)};
+        PrivateKey[] privateKeys = {PrivateKey.newInstance(seed1), PrivateKey.newInstance(seed2)};
+
+        for (int i = 0; i < privateKeys.length; i++) {
+            byte[] hashResult = delegates[i].hashPrivateKey(privateKeys[i]);
+            byte[] copy = hashResult.clone();
+
+            assertThat(privateKeys[i].getScalarSeed(hashResult), is(privateKeys[i].getScalarSeed(delegates[i])));
+            assertThat(hashResult, is(copy));
+        }
+    }
+
+    @Test
+    public void success_GetScalarSeed_hash_result_subclass() {
+        // a subclass which overrides only getScalarSeed(HashDelegate)
+        PrivateKey privateKey = new PrivateKey(seed1) {
+            @Override
+            public BigInteger getScalarSeed(HashDelegate hashDelegate) {
+                return new BigInteger(1, hashDelegate.hashPrivateKey(this));
+            }
+        };
+
+        assertThat(privateKey.getScalarSeed(new byte[]{1, 2}), is(BigInteger.valueOf(0x0102)));
+    }
 }
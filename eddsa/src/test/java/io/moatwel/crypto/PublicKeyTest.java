@@ -6,6 +6,7 @@ import org.junit.Test;
 import java.math.BigInteger;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertThat;
 
 public class PublicKeyTest {
@@ -42,4 +43,37 @@ public class PublicKeyTest {
 
         assertThat(publicKey.getRaw(), is(integer.toByteArray()));
     }
+
+    @Test
+    public void success_equals() {
+        PublicKey publicKey1 = PublicKey.fromHexString("abcdef1234");
+        PublicKey publicKey2 = PublicKey.fromHexString("abcdef1234");
+        PublicKey publicKey3 = PublicKey.fromHexString("abcdef1235");
+        PrivateKey privateKey = PrivateKey.newInstance(new byte[32]);
+
+        assertThat(publicKey1.equals(publicKey2), is(true));
+        assertThat(publicKey1.equals(publicKey3), is(false));
+        assertThat(publicKey1.equals(privateKey), is(false));
+        assertThat(publicKey1.hashCode(), is(publicKey2.hashCode()));
+    }
+
+    @Test
+    public void success_hashCode() {
+        PublicKey publicKey1 = PublicKey.fromHexString("ab4195d4123f0594e5341c45134c5938cc5913d34aa951234c5938cc2a6eb487");
+        PublicKey publicKey2 = PublicKey.fromHexString("ab4195d4123f0594e5341c45134c5938cc5913d34aa951234c5938cc2a6eb486");
+
+        assertNotEquals(publicKey1.hashCode(), publicKey2.hashCode());
+    }
+
+    @Test
+    public void success_GeneratePublicKey_copy_input() {
+        byte[] bytes = HexEncoder.getBytes("abcdef1234");
+        PublicKey publicKey = new PublicKey(bytes);
+        int hashCode = publicKey.hashCode();
+
+        bytes[0] = 0;
+
+        assertThat(publicKey.getHexString(), is("abcdef1234"));
+        assertThat(publicKey.hashCode(), is(hashCode));
+    }
 }
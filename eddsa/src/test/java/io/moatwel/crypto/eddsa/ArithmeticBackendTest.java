@@ -0,0 +1,182 @@
+package io.moatwel.crypto.eddsa;
+
+import io.moatwel.crypto.EdDsaSigner;
+import io.moatwel.crypto.HashAlgorithm;
+import io.moatwel.crypto.PrivateKey;
+import io.moatwel.crypto.eddsa.ed25519.Curve25519;
+import io.moatwel.crypto.eddsa.ed25519.Ed25519LimbsBackend;
+import io.moatwel.crypto.eddsa.ed25519.Ed25519SchemeProvider;
+import io.moatwel.crypto.eddsa.ed25519.Ed25519VectorBackend;
+import io.moatwel.crypto.eddsa.ed448.Curve448;
+import io.moatwel.crypto.eddsa.ed448.Ed448LimbsBackend;
+import io.moatwel.crypto.eddsa.ed448.Ed448SchemeProvider;
+import io.moatwel.crypto.eddsa.reference.ReferenceBackend;
+import org.junit.After;
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class ArithmeticBackendTest {
+
+    @After
+    public void tearDown() {
+        System.clearProperty(ArithmeticBackend.PROPERTY);
+    }
+
+    @Test
+    public void success_GetBackends() {
+        List<String> names = new ArrayList<>();
+        int priority = Integer.MAX_VALUE;
+        for (ArithmeticBackend backend : ArithmeticBackend.getBackends()) {
+            names.add(backend.getClass().getSimpleName());
+            assertThat(backend.getPriority() <= priority, is(true));
+            priority = backend.getPriority();
+        }
+
+        assertThat(names.contains("ReferenceBackend"), is(true));
+        assertThat(names.contains("Ed25519LimbsBackend"), is(true));
+        assertThat(names.contains("Ed448LimbsBackend"), is(true));
+        assertThat(names.contains("Ed25519VectorBackend"), is(new Ed25519VectorBackend().isAvailable()));
+    }
+
+    @Test
+    public void success_GetDefault() {
+        ArithmeticBackend ed25519 = ArithmeticBackend.getDefault(Curve25519.getInstance());
+        ArithmeticBackend ed448 = ArithmeticBackend.getDefault(Curve448.getInstance());
+
+        assertThat(ed25519.getName(), is(new Ed25519VectorBackend().isAvailable()
+                ? Ed25519VectorBackend.NAME : Ed25519LimbsBackend.NAME));
+        assertThat(ed448 instanceof Ed448LimbsBackend, is(true));
+    }
+
+    @Test
+    public void success_GetDefault_property() {
+        System.setProperty(ArithmeticBackend.PROPERTY, ReferenceBackend.NAME);
+
+        assertThat(ArithmeticBackend.getDefault(Curve25519.getInstance()).getName(), is(ReferenceBackend.NAME));
+        assertThat(new Ed448SchemeProvider(HashAlgorithm.SHAKE_256).getBackend().getName(), is(ReferenceBackend.NAME));
+    }
+
+    @Test
+    public void success_GetDefault_property_not_supported() {
+        // the vector backend does not support Curve448, so the default one is used
+        System.setProperty(ArithmeticBackend.PROPERTY, Ed25519VectorBackend.NAME);
+
+        assertThat(ArithmeticBackend.getDefault(Curve448.getInstance()) instanceof Ed448LimbsBackend, is(true));
+    }
+
+    @Test
+    public void success_GetBackend() {
+        ArithmeticBackend ed25519 = ArithmeticBackend.getBackend(Ed25519LimbsBackend.NAME, Curve25519.getInstance());
+        ArithmeticBackend ed448 = ArithmeticBackend.getBackend(Ed448LimbsBackend.NAME, Curve448.getInstance());
+
+        assertThat(ed25519 instanceof Ed25519LimbsBackend, is(true));
+        assertThat(ed448 instanceof Ed448LimbsBackend, is(true));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void failure_GetBackend_unknown_name() {
+        ArithmeticBackend.getBackend("unknown", Curve25519.getInstance());
+    }
+
+    @Test
+    public void success_SchemeProvider_backend() {
+        SchemeProvider provider = new Ed25519SchemeProvider(HashAlgorithm.SHA_512, new ReferenceBackend());
+
+        assertThat(provider.getBackend().getName(), is(ReferenceBackend.NAME));
+        assertThat(provider.getCurve().getPrimePowerP(), is(Curve25519.getInstance().getPrimePowerP()));
+        assertThat(provider.getCurve() instanceof Curve25519, is(false));
+    }
+
+    @Test
+    public void success_SchemeProvider_default_curve() {
+        SchemeProvider provider = new Ed25519SchemeProvider(HashAlgorithm.SHA_512);
+
+        assertThat(provider.getCurve(), is(sameInstance((Curve) Curve25519.getInstance())));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void failure_SchemeProvider_backend_of_other_curve() {
+        new Ed448SchemeProvider(HashAlgorithm.SHAKE_256, new Ed25519LimbsBackend());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void failure_SchemeProvider_no_backend() {
+        SchemeProvider provider = new UnknownSchemeProvider();
+
+        assertThat(provider.getBackend(), is(nullValue()));
+        provider.getSigner();
+    }
+
+    /**
+     * A scheme on a curve which no backend supports.
+     */
+    private static class UnknownSchemeProvider extends SchemeProvider {
+
+        private UnknownSchemeProvider() {
+            super(new Curve() {
+                @Override
+                public int getPublicKeyByteLength() {
+                    return 32;
+                }
+
+                @Override
+                public Point getBasePoint() {
+                    return Curve25519.getInstance().getBasePoint();
+                }
+
+                @Override
+                public BigInteger getPrimeL() {
+                    return BigInteger.valueOf(7);
+                }
+
+                @Override
+                public BigInteger getPrimePowerP() {
+                    return BigInteger.valueOf(13);
+                }
+
+                @Override
+                public Coordinate getD() {
+                    return Curve25519.getInstance().getD();
+                }
+
+                @Override
+                public BigInteger getA() {
+                    return BigInteger.ONE;
+                }
+            });
+        }
+
+        @Override
+        public EdDsaSigner getSigner() {
+            return getBackendSigner(HashAlgorithm.SHA_512);
+        }
+
+        @Override
+        public PublicKeyDelegate getPublicKeyDelegate() {
+            return null;
+        }
+
+        @Override
+        public PrivateKey generatePrivateKey() {
+            return null;
+        }
+
+        @Override
+        public byte[] preHash(byte[] input) {
+            return input;
+        }
+
+        @Override
+        public byte[] dom(byte[] context) {
+            return new byte[0];
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package io.moatwel.crypto.eddsa;
+
+import io.moatwel.crypto.eddsa.ed25519.Curve25519;
+import org.junit.Test;
+
+import java.math.BigInteger;
+
+public class CurveTest {
+
+    /**
+     * A curve outside of this library, which overrides only the abstract methods.
+     */
+    private final Curve curve = new Curve() {
+        @Override
+        public int getPublicKeyByteLength() {
+            return 32;
+        }
+
+        @Override
+        public Point getBasePoint() {
+            return Curve25519.getInstance().getBasePoint();
+        }
+
+        @Override
+        public BigInteger getPrimeL() {
+            return Curve25519.getInstance().getPrimeL();
+        }
+
+        @Override
+        public BigInteger getPrimePowerP() {
+            return Curve25519.getInstance().getPrimePowerP();
+        }
+
+        @Override
+        public Coordinate getD() {
+            return Curve25519.getInstance().getD();
+        }
+
+        @Override
+        public BigInteger getA() {
+            return Curve25519.getInstance().getA();
+        }
+    };
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void failure_GetMultiScalarMultiplier_not_supported() {
+        curve.getMultiScalarMultiplier();
+    }
+}
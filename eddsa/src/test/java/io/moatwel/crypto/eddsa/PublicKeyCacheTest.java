@@ -0,0 +1,179 @@
+package io.moatwel.crypto.eddsa;
+
+import io.moatwel.crypto.HashAlgorithm;
+import io.moatwel.crypto.KeyPair;
+import io.moatwel.crypto.PreparedPublicKey;
+import io.moatwel.crypto.PublicKey;
+import io.moatwel.crypto.Signature;
+import io.moatwel.crypto.eddsa.ed25519.Ed25519SchemeProvider;
+import io.moatwel.crypto.eddsa.ed448.Ed448SchemeProvider;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class PublicKeyCacheTest {
+
+    private Edwards edwards = new Edwards(new Ed25519SchemeProvider(HashAlgorithm.SHA_512), new PublicKeyCache(4));
+
+    @Test
+    public void success_Verify_with_cache() {
+        PublicKeyCache cache = edwards.getPublicKeyCache();
+        KeyPair keyPair = edwards.generateKeyPair();
+        byte[] data = "hoge".getBytes();
+        Signature signature = edwards.sign(keyPair, data);
+
+        assertThat(edwards.verify(keyPair.getPublicKey(), data, signature), is(true));
+        assertThat(edwards.verify(new PublicKey(keyPair.getPublicKey().getRaw()), data, signature), is(true));
+        assertThat(edwards.verify(keyPair.getPublicKey(), "fuga".getBytes(), signature), is(false));
+
+        assertThat(cache.size(), is(1));
+        assertThat(cache.getMissCount(), is(1L));
+        assertThat(cache.getHitCount(), is(2L));
+        assertThat(cache.getEvictionCount(), is(0L));
+    }
+
+    @Test
+    public void success_Evict_least_recently_used() throws Exception {
+        PublicKeyCache cache = new PublicKeyCache(2, 1, false);
+        Edwards edwards = new Edwards(new Ed25519SchemeProvider(HashAlgorithm.SHA_512), cache);
+        PublicKey[] publicKeys = new PublicKey[3];
+        for (int i = 0; i < publicKeys.length; i++) {
+            publicKeys[i] = edwards.generateKeyPair().getPublicKey();
+        }
+
+        PreparedPublicKey first = cache.get(publicKeys[0], edwards.getDsaSigner());
+        cache.get(publicKeys[1], edwards.getDsaSigner());
+        assertThat(cache.get(publicKeys[0], edwards.getDsaSigner()), is(sameInstance(first)));
+        cache.get(publicKeys[2], edwards.getDsaSigner());
+
+        assertThat(cache.size(), is(2));
+        assertThat(cache.getIfPresent(publicKeys[0]), is(sameInstance(first)));
+        assertThat(cache.getIfPresent(publicKeys[1]), is(nullValue()));
+        assertThat(cache.getEvictionCount(), is(1L));
+        assertThat(cache.getHitCount(), is(1L));
+        assertThat(cache.getMissCount(), is(3L));
+
+        cache.clear();
+        assertThat(cache.size(), is(0));
+    }
+
+    @Test
+    public void success_Evict_only_when_full() throws Exception {
+        // one key per segment on average, so some segments hold several keys
+        PublicKeyCache cache = new PublicKeyCache(8, 8, false);
+        Edwards edwards = new Edwards(new Ed25519SchemeProvider(HashAlgorithm.SHA_512), cache);
+        PublicKey[] publicKeys = new PublicKey[9];
+        for (int i = 0; i < publicKeys.length; i++) {
+            publicKeys[i] = edwards.generateKeyPair().getPublicKey();
+        }
+
+        for (int i = 0; i < 8; i++) {
+            cache.get(publicKeys[i], edwards.getDsaSigner());
+        }
+        assertThat(cache.size(), is(8));
+        assertThat(cache.getEvictionCount(), is(0L));
+        for (int i = 0; i < 8; i++) {
+            assertThat(cache.getIfPresent(publicKeys[i]) == null, is(false));
+        }
+
+        cache.get(publicKeys[8], edwards.getDsaSigner());
+        assertThat(cache.size(), is(8));
+        assertThat(cache.getEvictionCount(), is(1L));
+        assertThat(cache.getIfPresent(publicKeys[8]) == null, is(false));
+    }
+
+    @Test
+    public void success_Verify_not_on_curve() {
+        // y = 2 is not on Ed25519
+        byte[] raw = new byte[32];
+        raw[0] = 2;
+        KeyPair keyPair = edwards.generateKeyPair();
+        Signature signature = edwards.sign(keyPair, new byte[0]);
+
+        assertThat(edwards.verify(new PublicKey(raw), new byte[0], signature), is(false));
+        assertThat(edwards.getPublicKeyCache().size(), is(0));
+    }
+
+    @Test
+    public void success_Share_cache_between_curves() {
+        PublicKeyCache cache = new PublicKeyCache(16);
+        Edwards edwards25519 = new Edwards(new Ed25519SchemeProvider(HashAlgorithm.SHA_512), cache);
+        Edwards edwards448 = new Edwards(new Ed448SchemeProvider(HashAlgorithm.SHAKE_256), cache);
+        KeyPair keyPair25519 = edwards25519.generateKeyPair();
+        KeyPair keyPair448 = edwards448.generateKeyPair();
+
+        for (int i = 0; i < 2; i++) {
+            assertThat(edwards25519.verify(keyPair25519.getPublicKey(), new byte[0], edwards25519.sign(keyPair25519, new byte[0])), is(true));
+            assertThat(edwards448.verify(keyPair448.getPublicKey(), new byte[0], edwards448.sign(keyPair448, new byte[0])), is(true));
+        }
+        assertThat(cache.size(), is(2));
+        assertThat(cache.getHitCount(), is(2L));
+    }
+
+    @Test
+    public void success_Verify_multi_thread() throws Exception {
+        final Edwards edwards = new Edwards(new Ed25519SchemeProvider(HashAlgorithm.SHA_512), new PublicKeyCache(8, 4, true));
+        final KeyPair[] keyPairs = new KeyPair[16];
+        final Signature[] signatures = new Signature[keyPairs.length];
+        for (int i = 0; i < keyPairs.length; i++) {
+            keyPairs[i] = edwards.generateKeyPair();
+            signatures[i] = edwards.sign(keyPairs[i], new byte[]{(byte) i});
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                final int offset = t;
+                futures.add(executor.submit(new Callable<Boolean>() {
+                    @Override
+                    public Boolean call() {
+                        for (int n = 0; n < 32; n++) {
+                            int i = (n * 7 + offset) % keyPairs.length;
+                            int j = (i + 1) % keyPairs.length;
+                            if (!edwards.verify(keyPairs[i].getPublicKey(), new byte[]{(byte) i}, signatures[i])
+                                    || edwards.verify(keyPairs[j].getPublicKey(), new byte[]{(byte) i}, signatures[i])) {
+                                return false;
+                            }
+                        }
+                        return true;
+                    }
+                }));
+            }
+            for (Future<Boolean> future : futures) {
+                assertThat(future.get(), is(true));
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        PublicKeyCache cache = edwards.getPublicKeyCache();
+        assertThat(cache.size() <= 8, is(true));
+        assertThat(cache.getHitCount() + cache.getMissCount(), is(8L * 32 * 2));
+    }
+
+    @Test
+    public void success_Edwards_without_cache() {
+        assertThat(new Edwards(HashAlgorithm.SHA_512).getPublicKeyCache(), is(nullValue()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void failure_MaximumSize() {
+        new PublicKeyCache(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void failure_ConcurrencyLevel() {
+        new PublicKeyCache(16, 0, true);
+    }
+}
@@ -0,0 +1,99 @@
+package io.moatwel.crypto.eddsa.ed25519;
+
+import io.moatwel.crypto.eddsa.Point;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class BucketsEd25519Test {
+
+    private static final int COUNT = 16;
+
+    private final ScratchEd25519 scratch = ScratchEd25519.get();
+    private Random random;
+    private NielsPointEd25519[] points;
+
+    @Before
+    public void setup() {
+        random = new Random(25519);
+        points = new NielsPointEd25519[32];
+        for (int i = 0; i < points.length; i++) {
+            Point point = Curve25519.getInstance().multiplyBase(BigInteger.valueOf(i + 1));
+            points[i] = new NielsPointEd25519();
+            points[i].set(Field25519.create(point.getAffineX().getInteger()),
+                    Field25519.create(point.getAffineY().getInteger()), MutablePointEd25519.D2);
+        }
+    }
+
+    @Test
+    public void success_Add_Get() {
+        BucketsEd25519 buckets = BucketsEd25519.create(COUNT);
+        BucketsEd25519 expected = new ScalarBucketsEd25519(COUNT);
+
+        addRandomPoints(buckets, expected, 200);
+
+        assertEquals(buckets, expected);
+    }
+
+    @Test
+    public void success_Add_after_Get() {
+        BucketsEd25519 buckets = BucketsEd25519.create(COUNT);
+        BucketsEd25519 expected = new ScalarBucketsEd25519(COUNT);
+
+        addRandomPoints(buckets, expected, 50);
+        assertEquals(buckets, expected);
+        addRandomPoints(buckets, expected, 7);
+
+        assertEquals(buckets, expected);
+    }
+
+    @Test
+    public void success_Clear() {
+        BucketsEd25519 buckets = BucketsEd25519.create(COUNT);
+
+        addRandomPoints(buckets, new ScalarBucketsEd25519(COUNT), 50);
+        buckets.clear();
+        buckets.add(3, points[0], false, scratch);
+
+        for (int b = 0; b < COUNT; b++) {
+            Point expected = b == 3 ? Curve25519.getInstance().getBasePoint() : PointEd25519.O;
+            assertThat(new PointEd25519(buckets.get(b, scratch)).isEqual(expected), is(true));
+        }
+    }
+
+    @Test
+    public void success_Add_single_bucket() {
+        BucketsEd25519 buckets = BucketsEd25519.create(1);
+
+        for (int i = 0; i < 10; i++) {
+            buckets.add(0, points[i], i % 3 == 0, scratch);
+        }
+
+        // (2 + 3 + 5 + 6 + 8 + 9) - (1 + 4 + 7 + 10) = 11
+        Point expected = Curve25519.getInstance().multiplyBase(BigInteger.valueOf(11));
+        assertThat(new PointEd25519(buckets.get(0, scratch)).isEqual(expected), is(true));
+    }
+
+    private void addRandomPoints(BucketsEd25519 buckets, BucketsEd25519 expected, int n) {
+        for (int i = 0; i < n; i++) {
+            // some buckets are left empty
+            int b = random.nextInt(COUNT - 3);
+            NielsPointEd25519 q = points[random.nextInt(points.length)];
+            boolean negative = random.nextBoolean();
+            buckets.add(b, q, negative, scratch);
+            expected.add(b, q, negative, scratch);
+        }
+    }
+
+    private void assertEquals(BucketsEd25519 buckets, BucketsEd25519 expected) {
+        for (int b = 0; b < COUNT; b++) {
+            Point actual = new PointEd25519(buckets.get(b, scratch));
+            assertThat(actual.isEqual(new PointEd25519(expected.get(b, scratch))), is(true));
+        }
+    }
+}
@@ -1,18 +1,21 @@
 package io.moatwel.crypto.eddsa.ed25519;
 
-import io.moatwel.crypto.eddsa.Curve;
 import io.moatwel.crypto.eddsa.EncodedPoint;
+import io.moatwel.crypto.eddsa.Point;
 import org.junit.Before;
 import org.junit.Test;
 
 import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Random;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.junit.Assert.assertThat;
 
 public class Ed25519CurveTest {
 
-    private Curve curve;
+    private Curve25519 curve;
 
     @Before
     public void setup() {
@@ -43,4 +46,128 @@ public class Ed25519CurveTest {
         String str = integer.toString();
         assertThat(str, is("-1"));
     }
+
+    @Test
+    public void success_MultiplyBase() {
+        Random random = new Random(25519);
+        for (int i = 0; i < 20; i++) {
+            BigInteger scalar = new BigInteger(256, random);
+            Point expected = curve.getBasePoint().scalarMultiply(scalar);
+
+            assertThat(curve.multiplyBase(scalar).isEqual(expected), is(true));
+        }
+    }
+
+    @Test
+    public void success_MultiplyBase_not_reduced() {
+        BigInteger scalar = curve.getPrimeL().multiply(BigInteger.TEN).add(new BigInteger("47218412417289471"));
+        Point expected = curve.getBasePoint().scalarMultiply(new BigInteger("47218412417289471"));
+
+        assertThat(curve.multiplyBase(scalar).isEqual(expected), is(true));
+    }
+
+    @Test
+    public void success_MultiplyBase_negative() {
+        Point expected = curve.getBasePoint().scalarMultiply(curve.getPrimeL().subtract(BigInteger.TEN));
+
+        assertThat(curve.multiplyBase(BigInteger.TEN.negate()).isEqual(expected), is(true));
+    }
+
+    @Test
+    public void success_MultiplyBase_zero() {
+        Point result = curve.multiplyBase(BigInteger.ZERO);
+
+        assertThat(result.getAffineX().getInteger(), is(BigInteger.ZERO));
+        assertThat(result.getAffineY().getInteger(), is(BigInteger.ONE));
+        assertThat(curve.multiplyBase(curve.getPrimeL()).isEqual(result), is(true));
+    }
+
+    @Test
+    public void success_MultiplyBase_max_digits() {
+        // 0x888...8, a carry is propagated over all signed radix-16 digits
+        BigInteger scalar = BigInteger.ZERO;
+        for (int i = 0; i < 63; i++) {
+            scalar = scalar.shiftLeft(4).add(BigInteger.valueOf(8));
+        }
+        Point expected = curve.getBasePoint().scalarMultiply(scalar);
+
+        assertThat(curve.multiplyBase(scalar).isEqual(expected), is(true));
+    }
+
+    @Test
+    public void success_MultiplyBaseMinus() {
+        Random random = new Random(2551);
+        for (int i = 0; i < 20; i++) {
+            BigInteger x = new BigInteger(256, random);
+            BigInteger s = new BigInteger(256, random);
+            BigInteger k = new BigInteger(512, random);
+            Point a = curve.multiplyBase(x);
+
+            Point expected = curve.multiplyBase(s.subtract(k.multiply(x)));
+
+            assertThat(curve.multiplyBaseMinus(s, a, k).isEqual(expected), is(true));
+        }
+    }
+
+    @Test
+    public void success_MultiplyBaseMinus_zero() {
+        Point a = curve.multiplyBase(BigInteger.TEN);
+
+        assertThat(curve.multiplyBaseMinus(BigInteger.ZERO, a, BigInteger.ZERO).isEqual(curve.multiplyBase(BigInteger.ZERO)), is(true));
+        assertThat(curve.multiplyBaseMinus(BigInteger.ONE, a, BigInteger.ZERO).isEqual(curve.getBasePoint()), is(true));
+        assertThat(curve.multiplyBaseMinus(BigInteger.ZERO, a, BigInteger.ONE).isEqual(curve.multiplyBase(BigInteger.TEN.negate())), is(true));
+    }
+
+    @Test
+    public void success_MultiplyBaseMinus_precomputed() {
+        Random random = new Random(2552);
+        for (int i = 0; i < 20; i++) {
+            BigInteger x = new BigInteger(256, random);
+            BigInteger s = new BigInteger(256, random);
+            BigInteger k = new BigInteger(512, random);
+            PointEd25519 a = PointEd25519.from(curve.multiplyBase(x)).precompute();
+
+            Point expected = curve.multiplyBase(s.subtract(k.multiply(x)));
+
+            assertThat(a.getOddMultiples().length, is(32));
+            assertThat(a.precompute(), is(sameInstance(a)));
+            assertThat(curve.multiplyBaseMinus(s, a, k).isEqual(expected), is(true));
+        }
+    }
+
+    @Test
+    public void success_EncodeBatch() {
+        Random random = new Random(2551);
+        Point[] points = new Point[10];
+        for (int i = 0; i < points.length; i++) {
+            // includes the neutral element
+            points[i] = curve.multiplyBase(new BigInteger(400, random).multiply(BigInteger.valueOf(i)));
+        }
+
+        byte[] encoded = curve.encodeBatch(points);
+
+        assertThat(encoded.length, is(32 * points.length));
+        for (int i = 0; i < points.length; i++) {
+            assertThat(Arrays.copyOfRange(encoded, 32 * i, 32 * (i + 1)), is(points[i].encode().getValue()));
+        }
+    }
+
+    @Test
+    public void success_EncodeBatch_offset() {
+        Point[] points = new Point[]{curve.getBasePoint(), curve.multiplyBase(BigInteger.TEN)};
+        byte[] output = new byte[3 + 32 * points.length + 1];
+
+        curve.encodeBatch(points, output, 3);
+
+        assertThat(Arrays.copyOfRange(output, 3, 3 + 32), is(points[0].encode().getValue()));
+        assertThat(Arrays.copyOfRange(output, 3 + 32, 3 + 2 * 32), is(points[1].encode().getValue()));
+        assertThat(output[0], is((byte) 0));
+        assertThat(output[output.length - 1], is((byte) 0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void failure_EncodeBatch_short_output() {
+        Point[] points = new Point[]{curve.getBasePoint(), curve.multiplyBase(BigInteger.TEN)};
+        curve.encodeBatch(points, new byte[2 * 32], 1);
+    }
 }
@@ -2,18 +2,27 @@ package io.moatwel.crypto.eddsa.ed25519;
 
 import io.moatwel.crypto.EdDsaSigner;
 import io.moatwel.crypto.HashAlgorithm;
+import io.moatwel.crypto.Hashes;
 import io.moatwel.crypto.KeyGenerator;
 import io.moatwel.crypto.KeyPair;
 import io.moatwel.crypto.PrivateKey;
 import io.moatwel.crypto.PublicKey;
 import io.moatwel.crypto.Signature;
+import io.moatwel.crypto.VerificationItem;
+import io.moatwel.crypto.eddsa.DecodeException;
 import io.moatwel.crypto.eddsa.EdDsaKeyGenerator;
 import io.moatwel.crypto.eddsa.EdKeyAnalyzer;
 import io.moatwel.crypto.eddsa.Edwards;
+import io.moatwel.crypto.eddsa.Point;
+import io.moatwel.util.ByteUtils;
+import io.moatwel.util.HexEncoder;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.math.BigInteger;
 import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
@@ -312,4 +321,157 @@ public class Ed25519VerifyTest {
         PublicKey receiverPublicKey = pair.getPublicKey();
         signer.verify(receiverPublicKey, "doctor".getBytes(), context, signature);
     }
+
+    @Test
+    public void failure_VerifySignature_not_canonical_s() {
+        Signature signature = signer.sign(pair, "demo".getBytes(), null);
+        BigInteger s = new BigInteger(1, ByteUtils.reverse(signature.getS()));
+        byte[] sPlusL = ByteUtils.reverse(ByteUtils.paddingZeroOnHead(
+                s.add(Curve25519.getInstance().getPrimeL()).toByteArray(), 32));
+        Signature malleable = new SignatureEd25519(signature.getR(), sPlusL);
+
+        assertThat(signer.verify(pair.getPublicKey(), "demo".getBytes(), null, malleable), is(false));
+    }
+
+    @Test
+    public void failure_VerifySignature_not_canonical_R() {
+        // s * B - k * A is the neutral element (0, 1), which is encoded as 1. The x of it is zero,
+        // so the same encoding with the sign bit of x is not canonical.
+        byte[] data = "demo".getBytes();
+        BigInteger a = pair.getPrivateKey().getScalarSeed(new Ed25519PublicKeyDelegate(HashAlgorithm.SHA_512));
+        BigInteger l = Curve25519.getInstance().getPrimeL();
+
+        byte[] canonicalR = new byte[32];
+        canonicalR[0] = 1;
+        byte[] negativeZeroR = canonicalR.clone();
+        negativeZeroR[31] = (byte) 0x80;
+
+        assertThat(signer.verify(pair.getPublicKey(), data, null, identitySignature(canonicalR, a, l, data)), is(true));
+        assertThat(signer.verify(pair.getPublicKey(), data, null, identitySignature(negativeZeroR, a, l, data)), is(false));
+    }
+
+    private Signature identitySignature(byte[] r, BigInteger a, BigInteger l, byte[] data) {
+        byte[] kSeed = Hashes.hash(HashAlgorithm.SHA_512, r, pair.getPublicKey().getRaw(), data);
+        BigInteger k = new BigInteger(1, ByteUtils.reverse(kSeed)).mod(l);
+        BigInteger s = k.multiply(a).mod(l);
+        return new SignatureEd25519(r, ByteUtils.reverse(ByteUtils.paddingZeroOnHead(s.toByteArray(), 32)));
+    }
+
+    @Test
+    public void success_VerifyBatch_small_order_component() throws DecodeException {
+        // T of order 8, which 8 * T eliminates
+        Point t = new EncodedPointEd25519(HexEncoder.getBytes(
+                "c7176a703d4dd84fba3c0b760d10670f2a2053fa2c39ccc64ec7fd7792ac037a")).decode();
+        assertThat(t.scalarMultiply(BigInteger.valueOf(4)).isEqual(PointEd25519.O), is(false));
+        assertThat(t.scalarMultiply(BigInteger.valueOf(8)).isEqual(PointEd25519.O), is(true));
+
+        byte[] data = "demo".getBytes();
+        BigInteger a = pair.getPrivateKey().getScalarSeed(new Ed25519PublicKeyDelegate(HashAlgorithm.SHA_512));
+        Point pointA = Curve25519.getInstance().multiplyBase(a);
+        PublicKey smallOrderA = new PublicKey(pointA.add(t).encode().getValue());
+
+        // R = r * B + T
+        Signature smallOrderR = smallOrderSignature(pair.getPublicKey(), a, t, data);
+        // A + T as the public key, where s * B - k * A = R - k * T
+        Signature withSmallOrderA = smallOrderSignature(smallOrderA, a, null, data);
+        Signature wrongS = new SignatureEd25519(smallOrderR.getR(), withSmallOrderA.getS());
+
+        List<VerificationItem> items = new ArrayList<>();
+        items.add(new VerificationItem(pair.getPublicKey(), data, smallOrderR));
+        items.add(new VerificationItem(smallOrderA, data, withSmallOrderA));
+        items.add(new VerificationItem(pair.getPublicKey(), data, signer.sign(pair, data, null)));
+
+        // verify() is cofactorless, and the combined equation of verifyBatch() is cofactored
+        assertThat(signer.verify(pair.getPublicKey(), data, null, smallOrderR), is(false));
+        assertThat(signer.verify(smallOrderA, data, null, withSmallOrderA), is(false));
+        assertThat(signer.verifyBatch(items), is(new boolean[]{true, true, true}));
+
+        // if the combined equation does not hold, items are verified without the cofactor
+        items.add(new VerificationItem(pair.getPublicKey(), data, wrongS));
+        assertThat(signer.verifyBatch(items), is(new boolean[]{false, false, true, false}));
+    }
+
+    /**
+     * Sign with R = r * B + t, and s = r + k * a, where k is not a multiple of the cofactor, or
+     * else k * T vanishes for a public key A + T.
+     */
+    private Signature smallOrderSignature(PublicKey publicKey, BigInteger a, Point t, byte[] data) {
+        BigInteger l = Curve25519.getInstance().getPrimeL();
+        BigInteger r;
+        byte[] encodedR;
+        BigInteger k;
+        do {
+            r = new BigInteger(250, new SecureRandom());
+            Point pointR = Curve25519.getInstance().multiplyBase(r);
+            if (t != null) {
+                pointR = pointR.add(t);
+            }
+            encodedR = pointR.encode().getValue();
+            byte[] kSeed = Hashes.hash(HashAlgorithm.SHA_512, encodedR, publicKey.getRaw(), data);
+            k = new BigInteger(1, ByteUtils.reverse(kSeed)).mod(l);
+        } while (k.mod(BigInteger.valueOf(8)).signum() == 0);
+        BigInteger s = r.add(k.multiply(a)).mod(l);
+        return new SignatureEd25519(encodedR, ByteUtils.reverse(ByteUtils.paddingZeroOnHead(s.toByteArray(), 32)));
+    }
+
+    @Test
+    public void failure_VerifyBatch_non_canonical_R() {
+        // A = R = identity, so that s = 0 satisfies the equation on any message
+        byte[] identity = new byte[32];
+        identity[0] = 1;
+        // the identity with the sign bit of x = 0, which is not canonical
+        byte[] nonCanonical = identity.clone();
+        nonCanonical[31] = (byte) 0x80;
+        PublicKey identityA = new PublicKey(identity);
+        byte[] data = "demo".getBytes();
+
+        List<VerificationItem> items = new ArrayList<>();
+        items.add(new VerificationItem(identityA, data, new SignatureEd25519(nonCanonical, new byte[32])));
+        items.add(new VerificationItem(identityA, data, new SignatureEd25519(identity, new byte[32])));
+        items.add(new VerificationItem(pair.getPublicKey(), data, signer.sign(pair, data, null)));
+
+        boolean[] results = signer.verifyBatch(items);
+
+        assertThat(results, is(new boolean[]{false, true, true}));
+        for (int i = 0; i < items.size(); i++) {
+            VerificationItem item = items.get(i);
+            assertThat(signer.verify(item.getPublicKey(), data, null, item.getSignature()), is(results[i]));
+        }
+    }
+
+    @Test
+    public void success_VerifyBatch() {
+        List<VerificationItem> items = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            KeyPair keyPair = edwards.generateKeyPair();
+            byte[] data = ("batch verification " + i).getBytes();
+            byte[] context = ("context " + i).getBytes();
+            items.add(new VerificationItem(keyPair.getPublicKey(), data, context, edwards.sign(keyPair, data, context)));
+        }
+
+        boolean[] results = edwards.verifyBatch(items);
+
+        assertThat(results, is(new boolean[]{true, true, true, true, true, true, true, true}));
+    }
+
+    @Test
+    public void failure_VerifyBatch() {
+        List<VerificationItem> items = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            KeyPair keyPair = edwards.generateKeyPair();
+            byte[] data = ("batch verification " + i).getBytes();
+            Signature signature = edwards.sign(keyPair, data, null);
+            if (i == 2) {
+                data = "tampered".getBytes();
+            }
+            if (i == 4) {
+                signature = edwards.sign(keyPair, "another".getBytes(), null);
+            }
+            items.add(new VerificationItem(keyPair.getPublicKey(), data, signature));
+        }
+
+        boolean[] results = edwards.verifyBatch(items);
+
+        assertThat(results, is(new boolean[]{true, true, false, true, false, true}));
+    }
 }
@@ -7,8 +7,10 @@ import io.moatwel.util.HexEncoder;
 import org.junit.Test;
 
 import java.math.BigInteger;
+import java.util.Arrays;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.junit.Assert.assertThat;
 
 public class EncodedPointEd25519Test {
@@ -240,4 +242,91 @@ public class EncodedPointEd25519Test {
         EncodedPoint encodedPoint = new EncodedPointEd25519(value);
         encodedPoint.decode();
     }
+
+    @Test
+    public void success_DecodeAll() throws DecodeException {
+        byte[][] values = new byte[100][];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = Curve25519.getInstance().multiplyBase(BigInteger.valueOf(7 * i + 1)).encode().getValue();
+        }
+
+        Point[] points = EncodedPointEd25519.decodeAll(values, 4);
+
+        assertThat(points.length, is(values.length));
+        for (int i = 0; i < values.length; i++) {
+            Point expected = new EncodedPointEd25519(values[i]).decode();
+            assertThat(points[i].getX().getInteger(), is(expected.getX().getInteger()));
+            assertThat(points[i].getY().getInteger(), is(expected.getY().getInteger()));
+        }
+    }
+
+    @Test
+    public void success_DecodeAll_failures() {
+        byte[] valid = Curve25519.getInstance().multiplyBase(BigInteger.TEN).encode().getValue();
+        byte[] notOnCurve = new byte[32];
+        Arrays.fill(notOnCurve, (byte) -1);
+        byte[][] values = new byte[][]{valid, notOnCurve, new byte[33], null, valid};
+
+        Point[] points = EncodedPointEd25519.decodeAll(values, 2);
+
+        assertThat(Arrays.equals(points[0].encode().getValue(), valid), is(true));
+        assertThat(points[1], is(nullValue()));
+        assertThat(points[2], is(nullValue()));
+        assertThat(points[3], is(nullValue()));
+        assertThat(Arrays.equals(points[4].encode().getValue(), valid), is(true));
+    }
+
+    @Test
+    public void success_DecodeAll_more_threads_than_points() {
+        Point base = Curve25519.getInstance().multiplyBase(BigInteger.ONE);
+        byte[][] values = new byte[][]{base.encode().getValue()};
+
+        assertThat(EncodedPointEd25519.decodeAll(values, 8)[0].isEqual(base), is(true));
+        assertThat(EncodedPointEd25519.decodeAll(new byte[0][], 8).length, is(0));
+    }
+
+    @Test(expected = DecodeException.class)
+    public void failure_IllegalDecode_negative_zero() throws DecodeException {
+        // y = 1 and x = 0 with the sign bit 1
+        new EncodedPointEd25519(negativeZero()).decode();
+    }
+
+    @Test(expected = DecodeException.class)
+    public void failure_IllegalDecode_y_equals_p() throws DecodeException {
+        new EncodedPointEd25519(yEqualsP()).decode();
+    }
+
+    @Test
+    public void success_DecodeAll_non_canonical() {
+        byte[][] values = new byte[][]{negativeZero(), yEqualsP()};
+
+        Point[] points = EncodedPointEd25519.decodeAll(values, 2);
+
+        assertThat(points[0], is(nullValue()));
+        assertThat(points[1], is(nullValue()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void failure_DecodeAll_no_thread() {
+        EncodedPointEd25519.decodeAll(new byte[1][], 0);
+    }
+
+    private static byte[] negativeZero() {
+        byte[] value = new byte[32];
+        value[0] = 1;
+        value[31] = (byte) 0x80;
+        return value;
+    }
+
+    /**
+     * y = p, which is on the curve if it is read as y = 0.
+     */
+    private static byte[] yEqualsP() {
+        byte[] value = new byte[32];
+        byte[] p = Curve25519.getInstance().getPrimePowerP().toByteArray();
+        for (int i = 0; i < p.length && i < value.length; i++) {
+            value[i] = p[p.length - 1 - i];
+        }
+        return value;
+    }
 }
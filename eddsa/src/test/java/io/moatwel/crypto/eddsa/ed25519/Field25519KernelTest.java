@@ -0,0 +1,85 @@
+package io.moatwel.crypto.eddsa.ed25519;
+
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class Field25519KernelTest {
+
+    private static final BigInteger P = Curve25519.getInstance().getPrimePowerP();
+
+    private final Random random = new Random(25519);
+
+    @Test
+    public void success_Mul_Square_random_limbs() {
+        int[] h = Field25519.create();
+        for (int i = 0; i < 1000; i++) {
+            int[] f = randomLimbs(false);
+            int[] g = randomLimbs(false);
+
+            Field25519Kernel.mul(h, f, g);
+            assertThat(Field25519.toBigInteger(h), is(valueOf(f).multiply(valueOf(g)).mod(P)));
+            Field25519Kernel.square(h, f);
+            assertThat(Field25519.toBigInteger(h), is(valueOf(f).pow(2).mod(P)));
+        }
+    }
+
+    @Test
+    public void success_Mul_Square_largest_limbs() {
+        int[] h = Field25519.create();
+        for (int i = 0; i < 1000; i++) {
+            int[] f = randomLimbs(true);
+            int[] g = randomLimbs(true);
+
+            Field25519Kernel.mul(h, f, g);
+            assertThat(Field25519.toBigInteger(h), is(valueOf(f).multiply(valueOf(g)).mod(P)));
+            Field25519Kernel.square(h, f);
+            assertThat(Field25519.toBigInteger(h), is(valueOf(f).pow(2).mod(P)));
+        }
+    }
+
+    @Test
+    public void success_Mul_result_is_carried() {
+        int[] f = randomLimbs(true);
+        int[] h = Field25519.create();
+
+        Field25519Kernel.mul(h, f, f);
+
+        // a carried element can be added twice without carry and multiplied again
+        BigInteger a = valueOf(h);
+        Field25519.addLazy(f, h, h);
+        Field25519.addLazy(f, f, h);
+        Field25519Kernel.square(h, f);
+        assertThat(Field25519.toBigInteger(h), is(a.multiply(BigInteger.valueOf(3)).pow(2).mod(P)));
+    }
+
+    /**
+     * Limbs up to 1.65 times 2^26 or 2^25 with random signs, which are the largest limbs of
+     * operands. If {@code largest} is true, every limb is the largest.
+     */
+    private int[] randomLimbs(boolean largest) {
+        int[] f = Field25519.create();
+        for (int i = 0; i < f.length; i++) {
+            int bound = (int) ((165L << (26 - (i & 1))) / 100);
+            f[i] = largest ? bound : random.nextInt(bound + 1);
+            if (random.nextBoolean()) {
+                f[i] = -f[i];
+            }
+        }
+        return f;
+    }
+
+    private static BigInteger valueOf(int[] f) {
+        BigInteger value = BigInteger.ZERO;
+        int shift = 0;
+        for (int i = 0; i < f.length; i++) {
+            value = value.add(BigInteger.valueOf(f[i]).shiftLeft(shift));
+            shift += 26 - (i & 1);
+        }
+        return value;
+    }
+}
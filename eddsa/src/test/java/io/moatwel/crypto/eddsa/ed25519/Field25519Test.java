@@ -0,0 +1,267 @@
+package io.moatwel.crypto.eddsa.ed25519;
+
+import io.moatwel.util.ByteUtils;
+import io.moatwel.util.HexEncoder;
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class Field25519Test {
+
+    private static final BigInteger P = Curve25519.getInstance().getPrimePowerP();
+
+    private final Random random = new Random(25519);
+
+    @Test
+    public void success_FromBigInteger_ToBigInteger() {
+        for (int i = 0; i < 1000; i++) {
+            BigInteger value = randomElement();
+            assertThat(Field25519.toBigInteger(Field25519.create(value)), is(value));
+        }
+    }
+
+    @Test
+    public void success_FromBigInteger_reduce() {
+        assertThat(Field25519.toBigInteger(Field25519.create(P)), is(BigInteger.ZERO));
+        assertThat(Field25519.toBigInteger(Field25519.create(P.add(BigInteger.TEN))), is(BigInteger.TEN));
+        assertThat(Field25519.toBigInteger(Field25519.create(BigInteger.ONE.negate())), is(P.subtract(BigInteger.ONE)));
+    }
+
+    @Test
+    public void success_ToBytes() {
+        int[] h = Field25519.create(new BigInteger("46316835694926478169428394003475163141307993866256225615783033603165251855960"));
+
+        assertThat(HexEncoder.getString(Field25519.toBytes(h)), is("5866666666666666666666666666666666666666666666666666666666666666"));
+    }
+
+    @Test
+    public void success_FromBytes_ToBytes() {
+        for (int i = 0; i < 1000; i++) {
+            byte[] bytes = ByteUtils.reverse(ByteUtils.paddingZeroOnHead(toUnsignedBytes(randomElement()), 32));
+            int[] h = Field25519.create();
+            Field25519.fromBytes(h, bytes);
+            assertThat(Field25519.toBytes(h), is(bytes));
+        }
+    }
+
+    @Test
+    public void success_IsCanonical() {
+        byte[] pMinusOne = ByteUtils.reverse(toUnsignedBytes(P.subtract(BigInteger.ONE)));
+        byte[] p = ByteUtils.reverse(toUnsignedBytes(P));
+
+        assertThat(Field25519.isCanonical(pMinusOne), is(true));
+        assertThat(Field25519.isCanonical(p), is(false));
+    }
+
+    @Test
+    public void success_Add_Sub_Mul_Square() {
+        int[] h = Field25519.create();
+        for (int i = 0; i < 1000; i++) {
+            BigInteger a = randomElement();
+            BigInteger b = randomElement();
+            int[] f = Field25519.create(a);
+            int[] g = Field25519.create(b);
+
+            Field25519.add(h, f, g);
+            assertThat(Field25519.toBigInteger(h), is(a.add(b).mod(P)));
+            Field25519.sub(h, f, g);
+            assertThat(Field25519.toBigInteger(h), is(a.subtract(b).mod(P)));
+            Field25519.mul(h, f, g);
+            assertThat(Field25519.toBigInteger(h), is(a.multiply(b).mod(P)));
+            Field25519.square(h, f);
+            assertThat(Field25519.toBigInteger(h), is(a.multiply(a).mod(P)));
+            Field25519.neg(h, f);
+            assertThat(Field25519.toBigInteger(h), is(a.negate().mod(P)));
+        }
+    }
+
+    @Test
+    public void success_AddLazy_SubLazy() {
+        int[] h = Field25519.create();
+        for (int i = 0; i < 1000; i++) {
+            BigInteger a = randomElement();
+            BigInteger b = randomElement();
+            BigInteger c = randomElement();
+            int[] f = Field25519.create(a);
+            int[] g = Field25519.create(b);
+            int[] k = Field25519.create(c);
+
+            Field25519.addLazy(h, f, g);
+            Field25519.subLazy(h, h, k);
+            Field25519.mul(h, h, f);
+            assertThat(Field25519.toBigInteger(h), is(a.add(b).subtract(c).multiply(a).mod(P)));
+            Field25519.subLazy(h, f, g);
+            Field25519.square(h, h);
+            assertThat(Field25519.toBigInteger(h), is(a.subtract(b).pow(2).mod(P)));
+        }
+    }
+
+    @Test
+    public void success_AddLazy_extreme() {
+        // the largest limbs of carried elements, 2^25 and 2^24
+        int[] f = new int[Field25519.LIMBS];
+        for (int i = 0; i < f.length; i++) {
+            f[i] = 1 << (25 - (i & 1));
+        }
+        int[] g = Field25519.create();
+        Field25519.neg(g, f);
+        BigInteger a = Field25519.toBigInteger(f);
+        int[] h = Field25519.create();
+
+        Field25519.addLazy(h, f, f);
+        Field25519.subLazy(h, h, g);
+        Field25519.mul(h, h, h);
+
+        assertThat(Field25519.toBigInteger(h), is(a.multiply(BigInteger.valueOf(3)).pow(2).mod(P)));
+    }
+
+    @Test
+    public void success_Mul_aliasing() {
+        BigInteger a = randomElement();
+        BigInteger b = randomElement();
+        int[] f = Field25519.create(a);
+        int[] g = Field25519.create(b);
+
+        Field25519.mul(f, f, g);
+        Field25519.mul(g, f, g);
+
+        assertThat(Field25519.toBigInteger(f), is(a.multiply(b).mod(P)));
+        assertThat(Field25519.toBigInteger(g), is(a.multiply(b).multiply(b).mod(P)));
+    }
+
+    @Test
+    public void success_Mul_extreme() {
+        BigInteger max = P.subtract(BigInteger.ONE);
+        int[] f = Field25519.create(max);
+        int[] h = Field25519.create();
+
+        for (int i = 0; i < 100; i++) {
+            Field25519.sub(f, f, Field25519.create(max));
+            Field25519.add(f, f, Field25519.create(max));
+            Field25519.mul(h, f, f);
+        }
+
+        assertThat(Field25519.toBigInteger(h), is(BigInteger.ONE));
+    }
+
+    @Test
+    public void success_Invert() {
+        int[] h = Field25519.create();
+        for (int i = 0; i < 100; i++) {
+            BigInteger a = randomElement();
+            Field25519.invert(h, Field25519.create(a));
+            assertThat(Field25519.toBigInteger(h), is(a.modInverse(P)));
+        }
+    }
+
+    @Test
+    public void success_Invert_zero() {
+        int[] h = Field25519.create();
+        Field25519.invert(h, Field25519.create(BigInteger.ZERO));
+        assertThat(Field25519.isZero(h), is(true));
+    }
+
+    @Test
+    public void success_Pow22523() {
+        BigInteger exponent = P.subtract(new BigInteger("5")).shiftRight(3);
+        int[] h = Field25519.create();
+        for (int i = 0; i < 20; i++) {
+            BigInteger a = randomElement();
+            Field25519.pow22523(h, Field25519.create(a));
+            assertThat(Field25519.toBigInteger(h), is(a.modPow(exponent, P)));
+        }
+    }
+
+    @Test
+    public void success_SqrtRatio() {
+        int[] h = Field25519.create();
+        for (int i = 0; i < 100; i++) {
+            BigInteger x = randomElement();
+            BigInteger v = randomElement().max(BigInteger.ONE);
+            BigInteger u = x.multiply(x).multiply(v).mod(P);
+
+            assertThat(Field25519.sqrtRatio(h, Field25519.create(u), Field25519.create(v)), is(true));
+
+            BigInteger root = Field25519.toBigInteger(h);
+            assertThat(root.equals(x) || root.equals(P.subtract(x).mod(P)), is(true));
+        }
+    }
+
+    @Test
+    public void success_SqrtRatio_zero() {
+        int[] h = Field25519.create(BigInteger.TEN);
+        assertThat(Field25519.sqrtRatio(h, Field25519.create(BigInteger.ZERO), Field25519.create(BigInteger.TEN)), is(true));
+        assertThat(Field25519.isZero(h), is(true));
+    }
+
+    @Test
+    public void failure_SqrtRatio_not_square() {
+        int[] h = Field25519.create();
+        int count = 0;
+        for (int i = 0; i < 100; i++) {
+            BigInteger u = randomElement();
+            BigInteger v = randomElement().max(BigInteger.ONE);
+            // Euler's criterion
+            boolean square = u.multiply(v).modPow(P.shiftRight(1), P).compareTo(BigInteger.ONE) <= 0;
+            assertThat(Field25519.sqrtRatio(h, Field25519.create(u), Field25519.create(v)), is(square));
+            if (!square) {
+                count++;
+            }
+        }
+        assertThat(count > 0, is(true));
+    }
+
+    @Test
+    public void success_BatchInvert() {
+        BigInteger[] values = new BigInteger[10];
+        int[][] h = new int[values.length][];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = randomElement().max(BigInteger.ONE);
+            h[i] = Field25519.create(values[i]);
+        }
+
+        Field25519.batchInvert(h, h);
+
+        for (int i = 0; i < values.length; i++) {
+            assertThat(Field25519.toBigInteger(h[i]), is(values[i].modInverse(P)));
+        }
+    }
+
+    @Test
+    public void success_IsNegative_IsZero() {
+        assertThat(Field25519.isNegative(Field25519.create(BigInteger.ONE)), is(1));
+        assertThat(Field25519.isNegative(Field25519.create(BigInteger.ONE.negate())), is(0));
+        assertThat(Field25519.isZero(Field25519.create(P)), is(true));
+        assertThat(Field25519.isZero(Field25519.create(BigInteger.ONE)), is(false));
+    }
+
+    @Test
+    public void success_Cmov() {
+        BigInteger a = randomElement();
+        BigInteger b = randomElement();
+        int[] h = Field25519.create(a);
+        int[] f = Field25519.create(b);
+
+        Field25519.cmov(h, f, 0);
+        assertThat(Field25519.toBigInteger(h), is(a));
+
+        Field25519.cmov(h, f, 1);
+        assertThat(Field25519.toBigInteger(h), is(b));
+    }
+
+    private BigInteger randomElement() {
+        return new BigInteger(255, random).mod(P);
+    }
+
+    private static byte[] toUnsignedBytes(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        if (bytes[0] == 0 && bytes.length > 1) {
+            return ByteUtils.split(bytes, 1)[1];
+        }
+        return bytes;
+    }
+}
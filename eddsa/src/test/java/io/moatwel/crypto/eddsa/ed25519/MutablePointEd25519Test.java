@@ -0,0 +1,199 @@
+package io.moatwel.crypto.eddsa.ed25519;
+
+import io.moatwel.crypto.eddsa.Curve;
+import io.moatwel.crypto.eddsa.Point;
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class MutablePointEd25519Test {
+
+    private Curve curve = Curve25519.getInstance();
+
+    private ScratchEd25519 scratch = ScratchEd25519.get();
+
+    @Test
+    public void success_Add() {
+        MutablePointEd25519 base = basePoint();
+        MutablePointEd25519 result = new MutablePointEd25519();
+        result.add(base, base, scratch);
+
+        Point expected = curve.getBasePoint().add(curve.getBasePoint());
+
+        assertThat(new PointEd25519(result).isEqual(expected), is(true));
+    }
+
+    @Test
+    public void success_Add_same_object() {
+        MutablePointEd25519 base = basePoint();
+        MutablePointEd25519 result = basePoint();
+        result.add(result, result, scratch);
+        result.add(result, base, scratch);
+
+        Point expected = curve.getBasePoint().scalarMultiply(new BigInteger("3"));
+
+        assertThat(new PointEd25519(result).isEqual(expected), is(true));
+    }
+
+    @Test
+    public void success_Doubling_same_object() {
+        MutablePointEd25519 result = basePoint();
+        result.doubling(result, scratch);
+        result.doubling(result, scratch);
+
+        Point expected = curve.getBasePoint().scalarMultiply(new BigInteger("4"));
+
+        assertThat(new PointEd25519(result).isEqual(expected), is(true));
+    }
+
+    @Test
+    public void success_ScalarMultiply() {
+        MutablePointEd25519 base = basePoint();
+        MutablePointEd25519 result = new MutablePointEd25519();
+        result.scalarMultiply(base, new BigInteger("7"), scratch);
+
+        Point expected = curve.getBasePoint();
+        for (int i = 0; i < 6; i++) {
+            expected = expected.add(curve.getBasePoint());
+        }
+
+        assertThat(new PointEd25519(result).isEqual(expected), is(true));
+    }
+
+    @Test
+    public void success_ScalarMultiply_same_object() {
+        MutablePointEd25519 result = basePoint();
+        result.scalarMultiply(result, new BigInteger("47218412417289471"), scratch);
+
+        Point expected = curve.getBasePoint().scalarMultiply(new BigInteger("47218412417289471"));
+
+        assertThat(new PointEd25519(result).isEqual(expected), is(true));
+    }
+
+    @Test
+    public void success_ScalarMultiply_order() {
+        MutablePointEd25519 result = new MutablePointEd25519();
+        result.scalarMultiply(basePoint(), curve.getPrimeL(), scratch);
+
+        assertThat(new PointEd25519(result).isEqual(PointEd25519.O), is(true));
+    }
+
+    @Test
+    public void success_ScalarMultiply_negative() {
+        MutablePointEd25519 result = new MutablePointEd25519();
+        result.scalarMultiply(basePoint(), new BigInteger("-10"), scratch);
+
+        Point expected = curve.getBasePoint().scalarMultiply(BigInteger.TEN).negate().negateY();
+
+        assertThat(new PointEd25519(result).isEqual(expected), is(true));
+    }
+
+    @Test
+    public void success_Cmov() {
+        MutablePointEd25519 result = new MutablePointEd25519();
+        result.cmov(basePoint(), 0);
+        assertThat(new PointEd25519(result).isEqual(PointEd25519.O), is(true));
+
+        result.cmov(basePoint(), 1);
+        assertThat(new PointEd25519(result).isEqual(curve.getBasePoint()), is(true));
+    }
+
+    @Test
+    public void success_ScalarMultiply_random() {
+        Random random = new Random(2554);
+        for (int i = 0; i < 10; i++) {
+            // includes scalars longer than the fixed number of digits
+            BigInteger k = new BigInteger(256 + i * 8 - 40, random);
+            MutablePointEd25519 result = new MutablePointEd25519();
+            result.scalarMultiply(basePoint(), k, scratch);
+
+            Point expected = curve.getBasePoint().scalarMultiplyVariableTime(k);
+
+            assertThat(new PointEd25519(result).isEqual(expected), is(true));
+        }
+    }
+
+    @Test
+    public void success_ScalarMultiply_zero() {
+        MutablePointEd25519 result = basePoint();
+        result.scalarMultiply(result, BigInteger.ZERO, scratch);
+
+        assertThat(Field25519.toBigInteger(result.X), is(BigInteger.ZERO));
+        assertThat(Field25519.toBigInteger(result.Y), is(BigInteger.ONE));
+        assertThat(Field25519.toBigInteger(result.Z), is(BigInteger.ONE));
+    }
+
+    @Test
+    public void success_Select() {
+        CachedPointEd25519[] table = new CachedPointEd25519[8];
+        MutablePointEd25519 multiple = new MutablePointEd25519();
+        for (int j = 0; j < table.length; j++) {
+            multiple.scalarMultiply(basePoint(), BigInteger.valueOf(j + 1), scratch);
+            table[j] = new CachedPointEd25519();
+            table[j].set(multiple);
+        }
+
+        CachedPointEd25519 selected = new CachedPointEd25519();
+        int[] tmp = Field25519.create();
+        for (int b = -8; b <= 8; b++) {
+            selected.select(table, (byte) b, tmp);
+            MutablePointEd25519 result = new MutablePointEd25519();
+            result.addCached(result, selected, scratch);
+
+            Point expected = curve.getBasePoint().scalarMultiplyVariableTime(BigInteger.valueOf(b));
+
+            assertThat(new PointEd25519(result).isEqual(expected), is(true));
+        }
+    }
+
+    @Test
+    public void success_AddCached_and_SubCached() {
+        MutablePointEd25519 base = basePoint();
+        CachedPointEd25519 cached = new CachedPointEd25519();
+        MutablePointEd25519 result = new MutablePointEd25519();
+        result.scalarMultiply(base, BigInteger.TEN, scratch);
+        cached.set(result);
+        result.addCached(result, cached, scratch);
+        result.addCached(result, cached, scratch);
+
+        assertThat(new PointEd25519(result).isEqual(curve.getBasePoint().scalarMultiply(BigInteger.valueOf(30))), is(true));
+
+        cached.set(base);
+        result.subCached(result, cached, scratch);
+
+        assertThat(new PointEd25519(result).isEqual(curve.getBasePoint().scalarMultiply(BigInteger.valueOf(29))), is(true));
+    }
+
+    @Test
+    public void success_AddCached_identity() {
+        MutablePointEd25519 result = basePoint();
+        result.addCached(result, new CachedPointEd25519(), scratch);
+
+        assertThat(new PointEd25519(result).isEqual(curve.getBasePoint()), is(true));
+    }
+
+    @Test
+    public void success_DoublingProjective() {
+        MutablePointEd25519 result = basePoint();
+        result.doublingProjective(result, scratch);
+        result.doublingProjective(result, scratch);
+        result.doubling(result, scratch);
+        result.add(result, basePoint(), scratch);
+
+        assertThat(new PointEd25519(result).isEqual(curve.getBasePoint().scalarMultiply(BigInteger.valueOf(9))), is(true));
+    }
+
+    private MutablePointEd25519 basePoint() {
+        Point base = curve.getBasePoint();
+        MutablePointEd25519 point = new MutablePointEd25519();
+        point.set(Field25519.create(base.getX().getInteger()),
+                Field25519.create(base.getY().getInteger()),
+                Field25519.create(base.getZ().getInteger()),
+                Field25519.create(base.getT().getInteger()));
+        return point;
+    }
+}
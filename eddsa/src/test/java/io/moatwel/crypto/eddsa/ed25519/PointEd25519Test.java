@@ -6,6 +6,7 @@ import io.moatwel.util.HexEncoder;
 import org.junit.Test;
 
 import java.math.BigInteger;
+import java.util.Random;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
@@ -696,4 +697,57 @@ public class PointEd25519Test {
 
         assertThat(point1.isEqual(point2), is(false));
     }
+
+    @Test
+    public void success_ScalarMultiplyVariableTime() {
+        Random random = new Random(2553);
+        for (int i = 0; i < 10; i++) {
+            Point point = curve.getBasePoint().scalarMultiply(new BigInteger(256, random));
+            BigInteger integer = new BigInteger(256 + i * 16, random);
+            Point expected = point.scalarMultiply(integer);
+
+            assertThat(point.scalarMultiplyVariableTime(integer).isEqual(expected), is(true));
+            for (int width = 2; width <= 8; width++) {
+                assertThat(point.scalarMultiplyVariableTime(integer, width).isEqual(expected), is(true));
+            }
+        }
+    }
+
+    @Test
+    public void success_ScalarMultiplyVariableTime_negative_and_zero() {
+        Point point = curve.getBasePoint();
+
+        assertThat(point.scalarMultiplyVariableTime(BigInteger.ZERO).isEqual(PointEd25519.O), is(true));
+        assertThat(point.scalarMultiplyVariableTime(BigInteger.ONE).isEqual(point), is(true));
+        assertThat(point.scalarMultiplyVariableTime(BigInteger.TEN.negate()).isEqual(point.scalarMultiply(BigInteger.TEN.negate())), is(true));
+        assertThat(point.scalarMultiplyVariableTime(curve.getPrimeL()).isEqual(PointEd25519.O), is(true));
+    }
+
+    @Test
+    public void success_ScalarMultiplyVariableTime_small_order_component() {
+        // (0, -1) has order 2, so the scalar must not be reduced by L
+        Point point = curve.getBasePoint().add(PointEd25519.fromAffine(new CoordinateEd25519(BigInteger.ZERO),
+                new CoordinateEd25519(curve.getPrimePowerP().subtract(BigInteger.ONE))));
+        BigInteger integer = curve.getPrimeL().add(BigInteger.TEN);
+
+        assertThat(point.scalarMultiplyVariableTime(integer).isEqual(point.scalarMultiply(integer)), is(true));
+    }
+
+    @Test
+    public void success_ScalarMultiplyVariableTime_precomputed() {
+        Random random = new Random(2554);
+        PointEd25519 point = PointEd25519.from(curve.getBasePoint().scalarMultiply(new BigInteger(256, random))).precompute();
+        for (int i = 0; i < 5; i++) {
+            BigInteger integer = new BigInteger(256, random);
+            Point expected = point.scalarMultiply(integer);
+
+            assertThat(point.scalarMultiplyVariableTime(integer).isEqual(expected), is(true));
+            assertThat(point.scalarMultiplyVariableTime(integer.negate(), PointEd25519.PRECOMPUTED_WIDTH).isEqual(expected.negate().negateY()), is(true));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void failure_ScalarMultiplyVariableTime_width() {
+        curve.getBasePoint().scalarMultiplyVariableTime(BigInteger.TEN, 9);
+    }
 }
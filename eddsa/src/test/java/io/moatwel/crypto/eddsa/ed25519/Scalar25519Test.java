@@ -0,0 +1,127 @@
+package io.moatwel.crypto.eddsa.ed25519;
+
+import io.moatwel.util.ByteUtils;
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class Scalar25519Test {
+
+    private static final BigInteger L = Curve25519.getInstance().getPrimeL();
+
+    private Random random = new Random(25515);
+
+    @Test
+    public void success_Reduce_hash() {
+        for (int i = 0; i < 100; i++) {
+            byte[] hash = new byte[64];
+            random.nextBytes(hash);
+            int[] r = Scalar25519.create();
+            Scalar25519.reduce(r, hash);
+
+            assertThat(Scalar25519.toBigInteger(r), is(littleEndian(hash).mod(L)));
+        }
+    }
+
+    @Test
+    public void success_Reduce_any_length() {
+        for (int length = 0; length <= 3 * 64; length += 7) {
+            byte[] bytes = new byte[length];
+            random.nextBytes(bytes);
+            int[] r = Scalar25519.create();
+            Scalar25519.reduce(r, bytes);
+
+            assertThat(Scalar25519.toBigInteger(r), is(littleEndian(bytes).mod(L)));
+        }
+    }
+
+    @Test
+    public void success_Reduce_edge() {
+        BigInteger[] values = new BigInteger[]{
+                BigInteger.ZERO,
+                L.subtract(BigInteger.ONE),
+                L,
+                L.add(BigInteger.ONE),
+                L.shiftLeft(1),
+                L.multiply(BigInteger.valueOf(3)).subtract(BigInteger.ONE),
+                L.multiply(L),
+                BigInteger.ONE.shiftLeft(64 * 8).subtract(BigInteger.ONE)
+        };
+        for (BigInteger value : values) {
+            int[] r = Scalar25519.create();
+            Scalar25519.reduce(r, toLittleEndian(value, 64));
+
+            assertThat(Scalar25519.toBigInteger(r), is(value.mod(L)));
+        }
+    }
+
+    @Test
+    public void success_MulAdd() {
+        for (int i = 0; i < 100; i++) {
+            BigInteger a = new BigInteger(32 * Scalar25519.WORDS, random);
+            BigInteger b = new BigInteger(32 * Scalar25519.WORDS, random);
+            BigInteger c = i == 0 ? BigInteger.ONE.shiftLeft(32 * Scalar25519.WORDS).subtract(BigInteger.ONE) : new BigInteger(32 * Scalar25519.WORDS, random);
+            int[] r = Scalar25519.create();
+            Scalar25519.mulAdd(r, Scalar25519.create(a), Scalar25519.create(b), Scalar25519.create(c));
+
+            assertThat(Scalar25519.toBigInteger(r), is(a.multiply(b).add(c).mod(L)));
+        }
+    }
+
+    @Test
+    public void success_MulAdd_same_array() {
+        BigInteger a = new BigInteger(256, random).mod(L);
+        int[] r = Scalar25519.create(a);
+        Scalar25519.mulAdd(r, r, r, r);
+
+        assertThat(Scalar25519.toBigInteger(r), is(a.multiply(a).add(a).mod(L)));
+    }
+
+    @Test
+    public void success_Decode_and_Encode() {
+        BigInteger value = new BigInteger(256, random).mod(L);
+        byte[] bytes = toLittleEndian(value, Scalar25519.BYTES);
+        int[] r = Scalar25519.create();
+
+        assertThat(Scalar25519.decode(r, bytes), is(true));
+        assertThat(Scalar25519.toBigInteger(r), is(value));
+        assertThat(Scalar25519.encode(r), is(bytes));
+    }
+
+    @Test
+    public void success_Decode_not_canonical() {
+        int[] r = Scalar25519.create();
+
+        assertThat(Scalar25519.decode(r, toLittleEndian(L.subtract(BigInteger.ONE), Scalar25519.BYTES)), is(true));
+        assertThat(Scalar25519.decode(r, toLittleEndian(L, Scalar25519.BYTES)), is(false));
+        assertThat(Scalar25519.decode(r, toLittleEndian(L.add(BigInteger.ONE), Scalar25519.BYTES)), is(false));
+        assertThat(Scalar25519.decode(r, toLittleEndian(BigInteger.ONE.shiftLeft(8 * Scalar25519.BYTES - 1), Scalar25519.BYTES)), is(false));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void failure_Decode_wrong_length() {
+        Scalar25519.decode(Scalar25519.create(), new byte[Scalar25519.BYTES + 1]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void failure_Create_too_large() {
+        Scalar25519.create(BigInteger.ONE.shiftLeft(32 * Scalar25519.WORDS));
+    }
+
+    private static BigInteger littleEndian(byte[] bytes) {
+        return new BigInteger(1, ByteUtils.reverse(bytes));
+    }
+
+    private static byte[] toLittleEndian(BigInteger value, int length) {
+        byte[] bigEndian = value.toByteArray();
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length && i < bigEndian.length; i++) {
+            bytes[i] = bigEndian[bigEndian.length - 1 - i];
+        }
+        return bytes;
+    }
+}
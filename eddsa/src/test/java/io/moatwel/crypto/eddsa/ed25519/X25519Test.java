@@ -0,0 +1,114 @@
+package io.moatwel.crypto.eddsa.ed25519;
+
+import io.moatwel.crypto.HashAlgorithm;
+import io.moatwel.crypto.KeyPair;
+import io.moatwel.crypto.PublicKey;
+import io.moatwel.crypto.eddsa.DecodeException;
+import io.moatwel.crypto.eddsa.Edwards;
+import io.moatwel.crypto.eddsa.PublicKeyDelegate;
+import io.moatwel.util.HexEncoder;
+import io.moatwel.util.SharedKeyHelper;
+import org.junit.Test;
+
+import java.math.BigInteger;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class X25519Test {
+
+    private Edwards edwards = new Edwards(HashAlgorithm.SHA_512);
+
+    @Test
+    public void success_ScalarMultiply_RFC7748_1() {
+        byte[] result = X25519.scalarMultiply(
+                HexEncoder.getBytes("a546e36bf0527c9d3b16154b82465edd62144c0ac1fc5a18506a2244ba449ac4"),
+                HexEncoder.getBytes("e6db6867583030db3594c1a424b15f7c726624ec26b3353b10a903a6d0ab1c4c"));
+
+        assertThat(HexEncoder.getString(result), is("c3da55379de9c6908e94ea4df28d084f32eccf03491c71f754b4075577a28552"));
+    }
+
+    @Test
+    public void success_ScalarMultiply_RFC7748_2() {
+        byte[] result = X25519.scalarMultiply(
+                HexEncoder.getBytes("4b66e9d4d1b4673c5ad22691957d6af5c11b6421e0ea01d42ca4169e7918ba0d"),
+                HexEncoder.getBytes("e5210f12786811d3f4b7959d0538ae2c31dbe7106fc03c3efc4cd549c715a493"));
+
+        assertThat(HexEncoder.getString(result), is("95cbde9476e8907d7aade45cb4b873f88b595a68799fa152e6f8f7647aac7957"));
+    }
+
+    @Test
+    public void success_ScalarMultiply_RFC7748_iteration() {
+        byte[] k = new byte[X25519.KEY_LENGTH];
+        k[0] = 9;
+        byte[] u = k.clone();
+        for (int i = 1; i <= 1000; i++) {
+            byte[] result = X25519.scalarMultiply(k, u);
+            u = k;
+            k = result;
+            if (i == 1) {
+                assertThat(HexEncoder.getString(k), is("422c8e7a6227d7bca1350b3e2bb7279f7897b87bb6854b783c60e80311ae3079"));
+            }
+        }
+
+        assertThat(HexEncoder.getString(k), is("684cf59ba83309552800ef566f2f4d3c1c3887c49360e3875f2eb94d99532c51"));
+    }
+
+    @Test
+    public void success_ScalarMultiplyBase_RFC7748_Diffie_Hellman() {
+        byte[] alicePrivate = HexEncoder.getBytes("77076d0a7318a57d3c16c17251b26645df4c2f87ebc0992ab177fba51db92c2a");
+        byte[] bobPrivate = HexEncoder.getBytes("5dab087e624a8a4b79e17f8b83800ee66f3bb1292618b6fd1c2f8b27ff88e0eb");
+        byte[] alicePublic = X25519.scalarMultiplyBase(alicePrivate);
+        byte[] bobPublic = X25519.scalarMultiplyBase(bobPrivate);
+
+        assertThat(HexEncoder.getString(alicePublic), is("8520f0098930a754748b7ddcb43ef75a0dbf3a0d26381af4eba4a98eaa9b4e6a"));
+        assertThat(HexEncoder.getString(bobPublic), is("de9edb7d7b7dc1b4d35b61c2ece435373f8343c85b78674dadfc7e146f882b4f"));
+        assertThat(HexEncoder.getString(X25519.scalarMultiply(alicePrivate, bobPublic)), is("4a5d9d5ba4ce2de1728e3bf480350f25e07e21c947d19e3376f09b3c1e161742"));
+        assertThat(HexEncoder.getString(X25519.scalarMultiply(bobPrivate, alicePublic)), is("4a5d9d5ba4ce2de1728e3bf480350f25e07e21c947d19e3376f09b3c1e161742"));
+    }
+
+    @Test
+    public void success_ToMontgomery() {
+        PublicKeyDelegate delegate = edwards.getSchemeProvider().getPublicKeyDelegate();
+        for (int i = 0; i < 10; i++) {
+            KeyPair keyPair = edwards.generateKeyPair();
+
+            byte[] scalar = X25519.toMontgomery(keyPair.getPrivateKey(), delegate);
+            assertThat(scalar.length, is(X25519.KEY_LENGTH));
+            assertThat(X25519.toMontgomery(keyPair.getPublicKey()), is(X25519.scalarMultiplyBase(scalar)));
+        }
+    }
+
+    @Test
+    public void success_ToMontgomery_shared_key() throws DecodeException {
+        PublicKeyDelegate delegate = edwards.getSchemeProvider().getPublicKeyDelegate();
+        KeyPair keyPair1 = edwards.generateKeyPair();
+        KeyPair keyPair2 = edwards.generateKeyPair();
+
+        byte[] secret1 = SharedKeyHelper.generateSharedSecret(keyPair1.getPublicKey(), keyPair2.getPrivateKey(), delegate);
+        byte[] secret2 = SharedKeyHelper.generateSharedSecret(keyPair2.getPublicKey(), keyPair1.getPrivateKey(), delegate);
+        byte[] seed = SharedKeyHelper.generateSharedKeySeed(keyPair1.getPublicKey(), keyPair2.getPrivateKey(), delegate);
+
+        assertThat(secret1.length, is(X25519.KEY_LENGTH));
+        assertThat(secret1, is(secret2));
+        assertThat(secret1, is(X25519.toMontgomery(new PublicKey(seed))));
+    }
+
+    @Test(expected = DecodeException.class)
+    public void failure_GenerateSharedSecret_small_order() throws DecodeException {
+        KeyPair keyPair = edwards.generateKeyPair();
+        PublicKey identity = new PublicKey(Curve25519.getInstance().getBasePoint().scalarMultiply(BigInteger.ZERO).encode().getValue());
+
+        SharedKeyHelper.generateSharedSecret(identity, keyPair.getPrivateKey(), edwards.getSchemeProvider().getPublicKeyDelegate());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void failure_ScalarMultiply_wrong_length() {
+        X25519.scalarMultiply(new byte[X25519.KEY_LENGTH + 1], new byte[X25519.KEY_LENGTH]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void failure_ToMontgomery_wrong_length() {
+        X25519.toMontgomery(new PublicKey(new byte[X25519.KEY_LENGTH - 1]));
+    }
+}
@@ -5,12 +5,16 @@ import io.moatwel.crypto.HashAlgorithm;
 import io.moatwel.crypto.KeyPair;
 import io.moatwel.crypto.PrivateKey;
 import io.moatwel.crypto.Signature;
+import io.moatwel.crypto.VerificationItem;
 import io.moatwel.crypto.eddsa.Edwards;
 import io.moatwel.crypto.eddsa.ed25519.Ed25519Signer;
 import io.moatwel.util.HexEncoder;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
 
@@ -70,4 +74,24 @@ public class Ed25519ctxVerifyTest {
 
         assertThat(isVerified, is(false));
     }
+
+    @Test
+    public void success_VerifyBatch_with_contexts() {
+        byte[] data = "demo".getBytes();
+        byte[] context = HexEncoder.getBytes("ab");
+        List<VerificationItem> items = new ArrayList<>();
+        items.add(new VerificationItem(pair.getPublicKey(), data, context, signer.sign(pair, data, context)));
+        items.add(new VerificationItem(pair.getPublicKey(), data, signer.sign(pair, data, null)));
+        // signed with another context
+        items.add(new VerificationItem(pair.getPublicKey(), data, context, signer.sign(pair, data, null)));
+        items.add(new VerificationItem(pair.getPublicKey(), data, HexEncoder.getBytes("cd"), signer.sign(pair, data, context)));
+
+        boolean[] results = signer.verifyBatch(items);
+
+        assertThat(results, is(new boolean[]{true, true, false, false}));
+        for (int i = 0; i < items.size(); i++) {
+            VerificationItem item = items.get(i);
+            assertThat(results[i], is(signer.verify(item.getPublicKey(), item.getData(), item.getContext(), item.getSignature())));
+        }
+    }
 }
@@ -3,11 +3,14 @@ package io.moatwel.crypto.eddsa.ed25519.nem;
 import io.moatwel.crypto.KeyPair;
 import io.moatwel.crypto.PrivateKey;
 import io.moatwel.crypto.Signature;
+import io.moatwel.crypto.VerificationItem;
 import io.moatwel.crypto.eddsa.Edwards;
 import org.junit.Before;
 import org.junit.Test;
 
 import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
@@ -258,4 +261,20 @@ public class NemV1VerifyTest {
         Signature signature = edwards.sign(pair, "doctor".getBytes(), null);
         edwards.verify(pair.getPublicKey(), "doctor".getBytes(), context, signature);
     }
+
+    @Test
+    public void success_VerifyBatch() {
+        List<VerificationItem> items = new ArrayList<>();
+        items.add(new VerificationItem(pair.getPublicKey(), "demo".getBytes(), edwards.sign(pair, "demo".getBytes(), null)));
+        items.add(new VerificationItem(pair.getPublicKey(), "This is it.".getBytes(), edwards.sign(pair, "This is it.".getBytes(), null)));
+        items.add(new VerificationItem(pair.getPublicKey(), "klf;ajdfa98d".getBytes(), edwards.sign(pair, "klf;ajdfa98".getBytes(), null)));
+
+        boolean[] results = edwards.verifyBatch(items);
+
+        assertThat(results, is(new boolean[]{true, true, false}));
+        for (int i = 0; i < items.size(); i++) {
+            VerificationItem item = items.get(i);
+            assertThat(results[i], is(edwards.verify(item.getPublicKey(), item.getData(), item.getContext(), item.getSignature())));
+        }
+    }
 }
@@ -1,19 +1,29 @@
 package io.moatwel.crypto.eddsa.ed448;
 
 import io.moatwel.crypto.HashAlgorithm;
+import io.moatwel.crypto.Hashes;
 import io.moatwel.crypto.KeyGenerator;
 import io.moatwel.crypto.KeyPair;
 import io.moatwel.crypto.PrivateKey;
 import io.moatwel.crypto.PublicKey;
 import io.moatwel.crypto.Signature;
+import io.moatwel.crypto.VerificationItem;
+import io.moatwel.crypto.eddsa.DecodeException;
 import io.moatwel.crypto.eddsa.EdDsaKeyGenerator;
 import io.moatwel.crypto.eddsa.EdKeyAnalyzer;
 import io.moatwel.crypto.eddsa.Edwards;
+import io.moatwel.crypto.eddsa.Point;
 import io.moatwel.crypto.eddsa.SchemeProvider;
+import io.moatwel.util.ByteUtils;
 import io.moatwel.util.HexEncoder;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.math.BigInteger;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
 
@@ -588,4 +598,125 @@ public class Ed448VerifyTest {
         Signature signature = scheme.getSigner().sign(pair, "hoge".getBytes(), null);
         scheme.getSigner().verify(pair.getPublicKey(), "hoge".getBytes(), context, signature);
     }
+
+    @Test
+    public void success_VerifyBatch_small_order_component() throws DecodeException {
+        // T = (1, 0) of order 4, which 4 * T eliminates
+        byte[] encodedT = new byte[57];
+        encodedT[56] = (byte) 0x80;
+        Point t = new EncodedPointEd448(encodedT).decode();
+        assertThat(t.scalarMultiply(BigInteger.valueOf(2)).isEqual(PointEd448.O), is(false));
+        assertThat(t.scalarMultiply(BigInteger.valueOf(4)).isEqual(PointEd448.O), is(true));
+
+        KeyPair pair = generator.generateKeyPair();
+        byte[] data = "demo".getBytes();
+        BigInteger a = pair.getPrivateKey().getScalarSeed(new Ed448PublicKeyDelegate(HashAlgorithm.SHAKE_256));
+        Point pointA = Curve448.getInstance().multiplyBase(a);
+        PublicKey smallOrderA = new PublicKey(pointA.add(t).encode().getValue());
+
+        // R = r * B + T
+        Signature smallOrderR = smallOrderSignature(pair.getPublicKey(), a, t, data);
+        // A + T as the public key, where s * B - k * A = R - k * T
+        Signature withSmallOrderA = smallOrderSignature(smallOrderA, a, null, data);
+        Signature wrongS = new SignatureEd448(smallOrderR.getR(), withSmallOrderA.getS());
+
+        List<VerificationItem> items = new ArrayList<>();
+        items.add(new VerificationItem(pair.getPublicKey(), data, smallOrderR));
+        items.add(new VerificationItem(smallOrderA, data, withSmallOrderA));
+        items.add(new VerificationItem(pair.getPublicKey(), data, scheme.getSigner().sign(pair, data, null)));
+
+        // verify() is cofactorless, and the combined equation of verifyBatch() is cofactored
+        assertThat(scheme.getSigner().verify(pair.getPublicKey(), data, null, smallOrderR), is(false));
+        assertThat(scheme.getSigner().verify(smallOrderA, data, null, withSmallOrderA), is(false));
+        assertThat(scheme.getSigner().verifyBatch(items), is(new boolean[]{true, true, true}));
+
+        // if the combined equation does not hold, items are verified without the cofactor
+        items.add(new VerificationItem(pair.getPublicKey(), data, wrongS));
+        assertThat(scheme.getSigner().verifyBatch(items), is(new boolean[]{false, false, true, false}));
+    }
+
+    /**
+     * Sign with R = r * B + t, and s = r + k * a, where k is not a multiple of the cofactor, or
+     * else k * T vanishes for a public key A + T.
+     */
+    private Signature smallOrderSignature(PublicKey publicKey, BigInteger a, Point t, byte[] data) {
+        BigInteger l = Curve448.getInstance().getPrimeL();
+        BigInteger r;
+        byte[] encodedR;
+        BigInteger k;
+        do {
+            r = new BigInteger(440, new SecureRandom());
+            Point pointR = Curve448.getInstance().multiplyBase(r);
+            if (t != null) {
+                pointR = pointR.add(t);
+            }
+            encodedR = pointR.encode().getValue();
+            byte[] kSeed = Hashes.hash(HashAlgorithm.SHAKE_256, 114, scheme.dom(new byte[0]), encodedR, publicKey.getRaw(), data);
+            k = new BigInteger(1, ByteUtils.reverse(kSeed)).mod(l);
+        } while (k.mod(BigInteger.valueOf(4)).signum() == 0);
+        BigInteger s = r.add(k.multiply(a)).mod(l);
+        return new SignatureEd448(encodedR, ByteUtils.reverse(ByteUtils.paddingZeroOnHead(s.toByteArray(), 57)));
+    }
+
+    @Test
+    public void failure_VerifyBatch_non_canonical_R() {
+        // A = R = identity, so that s = 0 satisfies the equation on any message
+        byte[] identity = new byte[57];
+        identity[0] = 1;
+        // the identity with the sign bit of x = 0, which is not canonical
+        byte[] nonCanonical = identity.clone();
+        nonCanonical[56] = (byte) 0x80;
+        PublicKey identityA = new PublicKey(identity);
+        byte[] data = "demo".getBytes();
+        KeyPair pair = generator.generateKeyPair();
+
+        List<VerificationItem> items = new ArrayList<>();
+        items.add(new VerificationItem(identityA, data, new SignatureEd448(nonCanonical, new byte[57])));
+        items.add(new VerificationItem(identityA, data, new SignatureEd448(identity, new byte[57])));
+        items.add(new VerificationItem(pair.getPublicKey(), data, scheme.getSigner().sign(pair, data, null)));
+
+        boolean[] results = scheme.getSigner().verifyBatch(items);
+
+        assertThat(results, is(new boolean[]{false, true, true}));
+        for (int i = 0; i < items.size(); i++) {
+            VerificationItem item = items.get(i);
+            assertThat(scheme.getSigner().verify(item.getPublicKey(), data, null, item.getSignature()), is(results[i]));
+        }
+    }
+
+    @Test
+    public void success_VerifyBatch() {
+        List<VerificationItem> items = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            KeyPair keyPair = edwards.generateKeyPair();
+            byte[] data = ("batch verification " + i).getBytes();
+            byte[] context = ("context " + i).getBytes();
+            items.add(new VerificationItem(keyPair.getPublicKey(), data, context, edwards.sign(keyPair, data, context)));
+        }
+
+        boolean[] results = edwards.verifyBatch(items);
+
+        assertThat(results, is(new boolean[]{true, true, true, true, true, true, true, true}));
+    }
+
+    @Test
+    public void failure_VerifyBatch() {
+        List<VerificationItem> items = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            KeyPair keyPair = edwards.generateKeyPair();
+            byte[] data = ("batch verification " + i).getBytes();
+            Signature signature = edwards.sign(keyPair, data, null);
+            if (i == 2) {
+                data = "tampered".getBytes();
+            }
+            if (i == 4) {
+                signature = edwards.sign(keyPair, "another".getBytes(), null);
+            }
+            items.add(new VerificationItem(keyPair.getPublicKey(), data, signature));
+        }
+
+        boolean[] results = edwards.verifyBatch(items);
+
+        assertThat(results, is(new boolean[]{true, true, false, true, false, true}));
+    }
 }
@@ -0,0 +1,268 @@
+package io.moatwel.crypto.eddsa.ed448;
+
+import io.moatwel.util.ByteUtils;
+import io.moatwel.util.HexEncoder;
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class Field448Test {
+
+    private static final BigInteger P = Curve448.getInstance().getPrimePowerP();
+
+    private final Random random = new Random(448);
+
+    @Test
+    public void success_FromBigInteger_ToBigInteger() {
+        for (int i = 0; i < 1000; i++) {
+            BigInteger value = randomElement();
+            assertThat(Field448.toBigInteger(Field448.create(value)), is(value));
+        }
+    }
+
+    @Test
+    public void success_FromBigInteger_reduce() {
+        assertThat(Field448.toBigInteger(Field448.create(P)), is(BigInteger.ZERO));
+        assertThat(Field448.toBigInteger(Field448.create(P.add(BigInteger.TEN))), is(BigInteger.TEN));
+        assertThat(Field448.toBigInteger(Field448.create(BigInteger.ONE.negate())), is(P.subtract(BigInteger.ONE)));
+    }
+
+    @Test
+    public void success_ToBytes() {
+        int[] h = Field448.create(new BigInteger("298819210078481492676017930443930673437544040154080242095928241372331506189835876003536878655418784733982303233503462500531545062832660"));
+
+        assertThat(HexEncoder.getString(Field448.toBytes(h)), is("14fa30f25b790898adc8d74e2c13bdfdc4397ce61cffd33ad7c2a0051e9c78874098a36c7373ea4b62c7c9563720768824bcb66e71463f69"));
+    }
+
+    @Test
+    public void success_ToBigInteger_unreduced_limbs() {
+        int[] h = Field448.create();
+        for (int i = 0; i < h.length; i++) {
+            h[i] = 0x0FFFFFFF;
+        }
+
+        // 2^448 - 1 = 2^224 (mod p)
+        assertThat(Field448.toBigInteger(h), is(BigInteger.ONE.shiftLeft(224)));
+    }
+
+    @Test
+    public void success_FromBytes_ToBytes() {
+        for (int i = 0; i < 1000; i++) {
+            byte[] bytes = ByteUtils.reverse(ByteUtils.paddingZeroOnHead(toUnsignedBytes(randomElement()), 56));
+            int[] h = Field448.create();
+            Field448.fromBytes(h, bytes);
+            assertThat(Field448.toBytes(h), is(bytes));
+        }
+    }
+
+    @Test
+    public void success_IsCanonical() {
+        byte[] pMinusOne = ByteUtils.reverse(toUnsignedBytes(P.subtract(BigInteger.ONE)));
+        byte[] p = ByteUtils.reverse(toUnsignedBytes(P));
+
+        assertThat(Field448.isCanonical(pMinusOne), is(true));
+        assertThat(Field448.isCanonical(p), is(false));
+        assertThat(Field448.isCanonical(ByteUtils.join(pMinusOne, new byte[]{1})), is(false));
+    }
+
+    @Test
+    public void success_Add_Sub_Mul_Square() {
+        int[] h = Field448.create();
+        for (int i = 0; i < 1000; i++) {
+            BigInteger a = randomElement();
+            BigInteger b = randomElement();
+            int[] f = Field448.create(a);
+            int[] g = Field448.create(b);
+
+            Field448.add(h, f, g);
+            assertThat(Field448.toBigInteger(h), is(a.add(b).mod(P)));
+            Field448.sub(h, f, g);
+            assertThat(Field448.toBigInteger(h), is(a.subtract(b).mod(P)));
+            Field448.mul(h, f, g);
+            assertThat(Field448.toBigInteger(h), is(a.multiply(b).mod(P)));
+            Field448.square(h, f);
+            assertThat(Field448.toBigInteger(h), is(a.multiply(a).mod(P)));
+            Field448.neg(h, f);
+            assertThat(Field448.toBigInteger(h), is(a.negate().mod(P)));
+        }
+    }
+
+    @Test
+    public void success_AddLazy_SubLazy() {
+        int[] h = Field448.create();
+        for (int i = 0; i < 1000; i++) {
+            BigInteger a = randomElement();
+            BigInteger b = randomElement();
+            int[] f = Field448.create(a);
+            int[] g = Field448.create(b);
+
+            Field448.addLazy(h, f, g);
+            assertThat(Field448.toBigInteger(h), is(a.add(b).mod(P)));
+            Field448.subLazy(h, f, g);
+            assertThat(Field448.toBigInteger(h), is(a.subtract(b).mod(P)));
+            Field448.mul(h, h, f);
+            assertThat(Field448.toBigInteger(h), is(a.subtract(b).multiply(a).mod(P)));
+        }
+    }
+
+    @Test
+    public void success_AddLazy_extreme() {
+        int[] f = new int[Field448.LIMBS];
+        for (int i = 0; i < f.length; i++) {
+            f[i] = 0x0FFFFFFF;
+        }
+        BigInteger a = Field448.toBigInteger(f);
+        int[] h = Field448.create();
+        Field448.copy(h, f);
+
+        // results of lazy operations are passed to them again
+        for (int i = 0; i < 100; i++) {
+            Field448.addLazy(h, h, f);
+            Field448.subLazy(h, h, h);
+            Field448.addLazy(h, h, f);
+        }
+        Field448.addLazy(h, h, h);
+        Field448.square(h, h);
+
+        assertThat(Field448.toBigInteger(h), is(a.shiftLeft(1).pow(2).mod(P)));
+    }
+
+    @Test
+    public void success_Mul_aliasing() {
+        BigInteger a = randomElement();
+        BigInteger b = randomElement();
+        int[] f = Field448.create(a);
+        int[] g = Field448.create(b);
+
+        Field448.mul(f, f, g);
+        Field448.mul(g, f, g);
+
+        assertThat(Field448.toBigInteger(f), is(a.multiply(b).mod(P)));
+        assertThat(Field448.toBigInteger(g), is(a.multiply(b).multiply(b).mod(P)));
+    }
+
+    @Test
+    public void success_Mul_extreme() {
+        BigInteger max = P.subtract(BigInteger.ONE);
+        int[] f = Field448.create(max);
+        int[] h = Field448.create();
+
+        for (int i = 0; i < 100; i++) {
+            Field448.sub(f, f, Field448.create(max));
+            Field448.add(f, f, Field448.create(max));
+            Field448.mul(h, f, f);
+        }
+
+        assertThat(Field448.toBigInteger(h), is(BigInteger.ONE));
+    }
+
+    @Test
+    public void success_Invert() {
+        int[] h = Field448.create();
+        for (int i = 0; i < 100; i++) {
+            BigInteger a = randomElement();
+            Field448.invert(h, Field448.create(a));
+            assertThat(Field448.toBigInteger(h), is(a.modInverse(P)));
+        }
+    }
+
+    @Test
+    public void success_Invert_zero() {
+        int[] h = Field448.create();
+        Field448.invert(h, Field448.create(BigInteger.ZERO));
+        assertThat(Field448.isZero(h), is(true));
+    }
+
+    @Test
+    public void success_SqrtRatio() {
+        int[] h = Field448.create();
+        for (int i = 0; i < 100; i++) {
+            BigInteger x = randomElement();
+            BigInteger v = randomElement().max(BigInteger.ONE);
+            BigInteger u = x.multiply(x).multiply(v).mod(P);
+
+            assertThat(Field448.sqrtRatio(h, Field448.create(u), Field448.create(v)), is(true));
+
+            BigInteger root = Field448.toBigInteger(h);
+            assertThat(root.equals(x) || root.equals(P.subtract(x).mod(P)), is(true));
+        }
+    }
+
+    @Test
+    public void success_SqrtRatio_zero() {
+        int[] h = Field448.create(BigInteger.TEN);
+        assertThat(Field448.sqrtRatio(h, Field448.create(BigInteger.ZERO), Field448.create(BigInteger.TEN)), is(true));
+        assertThat(Field448.isZero(h), is(true));
+    }
+
+    @Test
+    public void failure_SqrtRatio_not_square() {
+        int[] h = Field448.create();
+        int count = 0;
+        for (int i = 0; i < 100; i++) {
+            BigInteger u = randomElement();
+            BigInteger v = randomElement().max(BigInteger.ONE);
+            // Euler's criterion
+            boolean square = u.multiply(v).modPow(P.shiftRight(1), P).compareTo(BigInteger.ONE) <= 0;
+            assertThat(Field448.sqrtRatio(h, Field448.create(u), Field448.create(v)), is(square));
+            if (!square) {
+                count++;
+            }
+        }
+        assertThat(count > 0, is(true));
+    }
+
+    @Test
+    public void success_BatchInvert() {
+        BigInteger[] values = new BigInteger[10];
+        int[][] h = new int[values.length][];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = randomElement().max(BigInteger.ONE);
+            h[i] = Field448.create(values[i]);
+        }
+
+        Field448.batchInvert(h, h);
+
+        for (int i = 0; i < values.length; i++) {
+            assertThat(Field448.toBigInteger(h[i]), is(values[i].modInverse(P)));
+        }
+    }
+
+    @Test
+    public void success_IsNegative_IsZero() {
+        assertThat(Field448.isNegative(Field448.create(BigInteger.ONE)), is(1));
+        assertThat(Field448.isNegative(Field448.create(BigInteger.ONE.negate())), is(0));
+        assertThat(Field448.isZero(Field448.create(P)), is(true));
+        assertThat(Field448.isZero(Field448.create(BigInteger.ONE)), is(false));
+    }
+
+    @Test
+    public void success_Cmov() {
+        BigInteger a = randomElement();
+        BigInteger b = randomElement();
+        int[] h = Field448.create(a);
+        int[] f = Field448.create(b);
+
+        Field448.cmov(h, f, 0);
+        assertThat(Field448.toBigInteger(h), is(a));
+
+        Field448.cmov(h, f, 1);
+        assertThat(Field448.toBigInteger(h), is(b));
+    }
+
+    private BigInteger randomElement() {
+        return new BigInteger(448, random).mod(P);
+    }
+
+    private static byte[] toUnsignedBytes(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        if (bytes[0] == 0 && bytes.length > 1) {
+            return ByteUtils.split(bytes, 1)[1];
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,174 @@
+package io.moatwel.crypto.eddsa.ed448;
+
+import io.moatwel.crypto.eddsa.MultiScalarMultiplier;
+import io.moatwel.crypto.eddsa.Point;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class MultiScalarMultiplierEd448Test {
+
+    private Curve448 curve = Curve448.getInstance();
+    private Random random;
+
+    @Before
+    public void setup() {
+        random = new Random(448);
+    }
+
+    @Test
+    public void success_MultiplyStraus() {
+        MultiScalarMultiplier multiplier = curve.getMultiScalarMultiplier();
+        for (int n = 1; n <= 8; n++) {
+            Point[] points = randomPoints(n);
+            BigInteger[] scalars = randomScalars(n, 448);
+
+            assertThat(multiplier.multiplyStraus(points, scalars).isEqual(naive(points, scalars)), is(true));
+        }
+    }
+
+    @Test
+    public void success_MultiplyStraus_all_widths() {
+        Point[] points = randomPoints(5);
+        BigInteger[] scalars = randomScalars(5, 448);
+        Point expected = naive(points, scalars);
+        for (int width = 2; width <= 8; width++) {
+            MultiScalarMultiplier multiplier = curve.getMultiScalarMultiplier(width, MultiScalarMultiplier.AUTO_WINDOW, 0);
+
+            assertThat(multiplier.multiplyStraus(points, scalars).isEqual(expected), is(true));
+        }
+    }
+
+    @Test
+    public void success_MultiplyPippenger() {
+        MultiScalarMultiplier multiplier = curve.getMultiScalarMultiplier();
+        for (int n = 1; n <= 40; n += 13) {
+            Point[] points = randomPoints(n);
+            BigInteger[] scalars = randomScalars(n, 448);
+
+            assertThat(multiplier.multiplyPippenger(points, scalars).isEqual(naive(points, scalars)), is(true));
+        }
+    }
+
+    @Test
+    public void success_MultiplyPippenger_all_windows() {
+        Point[] points = randomPoints(6);
+        BigInteger[] scalars = randomScalars(6, 448);
+        Point expected = naive(points, scalars);
+        for (int window = 1; window <= 12; window++) {
+            MultiScalarMultiplier multiplier = curve.getMultiScalarMultiplier(5, window, 0);
+
+            assertThat(multiplier.multiplyPippenger(points, scalars).isEqual(expected), is(true));
+        }
+    }
+
+    @Test
+    public void success_Multiply_negative_zero_and_large_scalars() {
+        Point[] points = randomPoints(4);
+        BigInteger[] scalars = new BigInteger[]{
+                BigInteger.ZERO,
+                new BigInteger(448, random).negate(),
+                curve.getPrimeL().multiply(BigInteger.TEN).add(BigInteger.ONE),
+                new BigInteger(900, random)
+        };
+        Point expected = naive(points, scalars);
+        MultiScalarMultiplier multiplier = curve.getMultiScalarMultiplier();
+
+        assertThat(multiplier.multiplyStraus(points, scalars).isEqual(expected), is(true));
+        assertThat(multiplier.multiplyPippenger(points, scalars).isEqual(expected), is(true));
+    }
+
+    @Test
+    public void success_Multiply_same_points() {
+        Point point = curve.multiplyBase(BigInteger.TEN);
+        Point[] points = new Point[]{point, point, point.negate().negateY()};
+        BigInteger[] scalars = new BigInteger[]{BigInteger.ONE, BigInteger.TEN, BigInteger.valueOf(11)};
+        MultiScalarMultiplier multiplier = curve.getMultiScalarMultiplier();
+
+        assertThat(multiplier.multiplyStraus(points, scalars).isEqual(PointEd448.O), is(true));
+        assertThat(multiplier.multiplyPippenger(points, scalars).isEqual(PointEd448.O), is(true));
+    }
+
+    @Test
+    public void success_Multiply_empty() {
+        Point result = curve.getMultiScalarMultiplier().multiply(new Point[0], new BigInteger[0]);
+
+        assertThat(result.isEqual(PointEd448.O), is(true));
+    }
+
+    @Test
+    public void success_Multiply_threshold() {
+        Point[] points = randomPoints(10);
+        BigInteger[] scalars = randomScalars(10, 448);
+        Point expected = naive(points, scalars);
+
+        assertThat(curve.getMultiScalarMultiplier(5, MultiScalarMultiplier.AUTO_WINDOW, 11).multiply(points, scalars).isEqual(expected), is(true));
+        assertThat(curve.getMultiScalarMultiplier(5, MultiScalarMultiplier.AUTO_WINDOW, 10).multiply(points, scalars).isEqual(expected), is(true));
+        assertThat(curve.getMultiScalarMultiplier().multiply(Arrays.asList(points), Arrays.asList(scalars)).isEqual(expected), is(true));
+    }
+
+    @Test
+    public void success_Precompute_reuse() {
+        Point[] points = randomPoints(6);
+        MultiScalarMultiplier.PrecomputedPoints precomputed = curve.getMultiScalarMultiplier().precompute(points);
+
+        assertThat(precomputed.size(), is(6));
+        for (int i = 0; i < 3; i++) {
+            BigInteger[] scalars = randomScalars(6, 448);
+            Point expected = naive(points, scalars);
+
+            assertThat(precomputed.multiplyStraus(scalars).isEqual(expected), is(true));
+            assertThat(precomputed.multiplyPippenger(scalars).isEqual(expected), is(true));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void failure_Multiply_different_length() {
+        curve.getMultiScalarMultiplier().multiply(randomPoints(3), randomScalars(2, 448));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void failure_StrausWidth() {
+        curve.getMultiScalarMultiplier(9, MultiScalarMultiplier.AUTO_WINDOW, 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void failure_PippengerWindow() {
+        curve.getMultiScalarMultiplier(5, 21, 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void failure_StrausThreshold() {
+        curve.getMultiScalarMultiplier(5, MultiScalarMultiplier.AUTO_WINDOW, -1);
+    }
+
+    private Point[] randomPoints(int n) {
+        Point[] points = new Point[n];
+        for (int i = 0; i < n; i++) {
+            points[i] = curve.multiplyBase(new BigInteger(448, random));
+        }
+        return points;
+    }
+
+    private BigInteger[] randomScalars(int n, int bitLength) {
+        BigInteger[] scalars = new BigInteger[n];
+        for (int i = 0; i < n; i++) {
+            scalars[i] = new BigInteger(bitLength, random);
+        }
+        return scalars;
+    }
+
+    private static Point naive(Point[] points, BigInteger[] scalars) {
+        Point sum = PointEd448.O;
+        for (int i = 0; i < points.length; i++) {
+            sum = sum.add(points[i].scalarMultiply(scalars[i]));
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,217 @@
+package io.moatwel.crypto.eddsa.ed448;
+
+import io.moatwel.crypto.eddsa.Curve;
+import io.moatwel.crypto.eddsa.Point;
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class MutablePointEd448Test {
+
+    private Curve curve = Curve448.getInstance();
+
+    private ScratchEd448 scratch = ScratchEd448.get();
+
+    @Test
+    public void success_Add() {
+        MutablePointEd448 base = basePoint();
+        MutablePointEd448 result = new MutablePointEd448();
+        result.add(base, base, scratch);
+
+        Point expected = curve.getBasePoint().add(curve.getBasePoint());
+
+        assertThat(new PointEd448(result).isEqual(expected), is(true));
+    }
+
+    @Test
+    public void success_Add_same_object() {
+        MutablePointEd448 base = basePoint();
+        MutablePointEd448 result = basePoint();
+        result.add(result, result, scratch);
+        result.add(result, base, scratch);
+
+        Point expected = curve.getBasePoint().scalarMultiply(new BigInteger("3"));
+
+        assertThat(new PointEd448(result).isEqual(expected), is(true));
+    }
+
+    @Test
+    public void success_Doubling_same_object() {
+        MutablePointEd448 result = basePoint();
+        result.doubling(result, scratch);
+        result.doubling(result, scratch);
+
+        Point expected = curve.getBasePoint().scalarMultiply(new BigInteger("4"));
+
+        assertThat(new PointEd448(result).isEqual(expected), is(true));
+    }
+
+    @Test
+    public void success_ScalarMultiply() {
+        MutablePointEd448 base = basePoint();
+        MutablePointEd448 result = new MutablePointEd448();
+        result.scalarMultiply(base, new BigInteger("7"), scratch);
+
+        Point expected = curve.getBasePoint();
+        for (int i = 0; i < 6; i++) {
+            expected = expected.add(curve.getBasePoint());
+        }
+
+        assertThat(new PointEd448(result).isEqual(expected), is(true));
+    }
+
+    @Test
+    public void success_ScalarMultiply_same_object() {
+        MutablePointEd448 result = basePoint();
+        result.scalarMultiply(result, new BigInteger("47218412417289471"), scratch);
+
+        Point expected = curve.getBasePoint().scalarMultiply(new BigInteger("47218412417289471"));
+
+        assertThat(new PointEd448(result).isEqual(expected), is(true));
+    }
+
+    @Test
+    public void success_ScalarMultiply_order() {
+        MutablePointEd448 result = new MutablePointEd448();
+        result.scalarMultiply(basePoint(), curve.getPrimeL(), scratch);
+
+        assertThat(new PointEd448(result).isEqual(PointEd448.O), is(true));
+    }
+
+    @Test
+    public void success_ScalarMultiply_negative() {
+        MutablePointEd448 result = new MutablePointEd448();
+        result.scalarMultiply(basePoint(), new BigInteger("-10"), scratch);
+
+        Point expected = curve.getBasePoint().scalarMultiply(BigInteger.TEN).negate().negateY();
+
+        assertThat(new PointEd448(result).isEqual(expected), is(true));
+    }
+
+    @Test
+    public void success_Cmov() {
+        MutablePointEd448 result = new MutablePointEd448();
+        result.cmov(basePoint(), 0);
+        assertThat(new PointEd448(result).isEqual(PointEd448.O), is(true));
+
+        result.cmov(basePoint(), 1);
+        assertThat(new PointEd448(result).isEqual(curve.getBasePoint()), is(true));
+    }
+
+    @Test
+    public void success_ScalarMultiply_random() {
+        Random random = new Random(4484);
+        for (int i = 0; i < 10; i++) {
+            // includes scalars longer than the fixed number of digits
+            BigInteger k = new BigInteger(448 + i * 8 - 40, random);
+            MutablePointEd448 result = new MutablePointEd448();
+            result.scalarMultiply(basePoint(), k, scratch);
+
+            Point expected = curve.getBasePoint().scalarMultiplyVariableTime(k);
+
+            assertThat(new PointEd448(result).isEqual(expected), is(true));
+        }
+    }
+
+    @Test
+    public void success_ScalarMultiply_zero() {
+        MutablePointEd448 result = basePoint();
+        result.scalarMultiply(result, BigInteger.ZERO, scratch);
+
+        assertThat(Field448.toBigInteger(result.X), is(BigInteger.ZERO));
+        assertThat(Field448.toBigInteger(result.Y), is(BigInteger.ONE));
+        assertThat(Field448.toBigInteger(result.Z), is(BigInteger.ONE));
+    }
+
+    @Test
+    public void success_Select() {
+        MutablePointEd448[] table = new MutablePointEd448[8];
+        for (int j = 0; j < table.length; j++) {
+            table[j] = new MutablePointEd448();
+            table[j].scalarMultiply(basePoint(), BigInteger.valueOf(j + 1), scratch);
+        }
+
+        MutablePointEd448 result = new MutablePointEd448();
+        int[] tmp = Field448.create();
+        for (int b = -8; b <= 8; b++) {
+            result.select(table, (byte) b, tmp);
+
+            Point expected = curve.getBasePoint().scalarMultiplyVariableTime(BigInteger.valueOf(b));
+
+            assertThat(new PointEd448(result).isEqual(expected), is(true));
+        }
+    }
+
+    @Test
+    public void success_DualIsogeny_of_Isogeny() {
+        TwistedPointEd448 twisted = new TwistedPointEd448();
+        twisted.isogeny(basePoint(), scratch);
+        MutablePointEd448 result = new MutablePointEd448();
+        result.dualIsogeny(twisted, scratch);
+
+        Point expected = curve.getBasePoint().scalarMultiply(new BigInteger("4"));
+
+        assertThat(new PointEd448(result).isEqual(expected), is(true));
+    }
+
+    @Test
+    public void success_Twisted_AddCached_and_SubCached() {
+        TwistedPointEd448 twisted = new TwistedPointEd448();
+        twisted.isogeny(basePoint(), scratch);
+        TwistedCachedPointEd448 cached = new TwistedCachedPointEd448();
+        cached.set(twisted);
+
+        // 4 * B' + B' - B' - B' = 3 * B'
+        TwistedPointEd448 sum = new TwistedPointEd448();
+        sum.doublingProjective(twisted, scratch);
+        sum.doubling(sum, scratch);
+        sum.addCached(sum, cached, scratch);
+        sum.subCached(sum, cached, scratch);
+        sum.subCached(sum, cached, scratch);
+        MutablePointEd448 result = new MutablePointEd448();
+        result.dualIsogeny(sum, scratch);
+
+        Point expected = curve.getBasePoint().scalarMultiply(new BigInteger("12"));
+
+        assertThat(new PointEd448(result).isEqual(expected), is(true));
+    }
+
+    @Test
+    public void success_ScalarMultiply_small_order_component() {
+        // (1, 0) is of order 4, so (B + (1, 0)) * k = k * B + (k mod 4) * (1, 0)
+        MutablePointEd448 point = basePoint();
+        MutablePointEd448 torsion = new MutablePointEd448();
+        Field448.one(torsion.X);
+        Field448.zero(torsion.Y);
+        point.add(point, torsion, scratch);
+
+        Random random = new Random(4485);
+        for (int i = 0; i < 8; i++) {
+            BigInteger k = new BigInteger(448, random).add(BigInteger.valueOf(i));
+            MutablePointEd448 result = new MutablePointEd448();
+            result.scalarMultiply(point, k, scratch);
+
+            Point expected = curve.getBasePoint().scalarMultiply(k);
+            for (int j = 0; j < k.mod(BigInteger.valueOf(4)).intValue(); j++) {
+                expected = expected.add(new PointEd448(torsion));
+            }
+
+            assertThat(new PointEd448(result).isEqual(expected), is(true));
+            assertThat(new PointEd448(point).scalarMultiplyVariableTime(k).isEqual(expected), is(true));
+        }
+    }
+
+    private MutablePointEd448 basePoint() {
+        Point base = curve.getBasePoint();
+        MutablePointEd448 point = new MutablePointEd448();
+        point.set(Field448.create(base.getX().getInteger()),
+                Field448.create(base.getY().getInteger()),
+                Field448.create(base.getZ().getInteger()),
+                Field448.create(base.getT().getInteger()));
+        return point;
+    }
+}
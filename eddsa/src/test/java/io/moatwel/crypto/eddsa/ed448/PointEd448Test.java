@@ -7,6 +7,7 @@ import io.moatwel.util.HexEncoder;
 import org.junit.Test;
 
 import java.math.BigInteger;
+import java.util.Random;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertNotNull;
@@ -273,4 +274,57 @@ public class PointEd448Test {
         assertNotNull(key);
         assertThat(key.getRaw().length, is(57));
     }
+
+    @Test
+    public void success_ScalarMultiplyVariableTime() {
+        Random random = new Random(4483);
+        for (int i = 0; i < 10; i++) {
+            Point point = curve.getBasePoint().scalarMultiply(new BigInteger(456, random));
+            BigInteger integer = new BigInteger(456 + i * 16, random);
+            Point expected = point.scalarMultiply(integer);
+
+            assertThat(point.scalarMultiplyVariableTime(integer).isEqual(expected), is(true));
+            for (int width = 2; width <= 8; width++) {
+                assertThat(point.scalarMultiplyVariableTime(integer, width).isEqual(expected), is(true));
+            }
+        }
+    }
+
+    @Test
+    public void success_ScalarMultiplyVariableTime_negative_and_zero() {
+        Point point = curve.getBasePoint();
+
+        assertThat(point.scalarMultiplyVariableTime(BigInteger.ZERO).isEqual(PointEd448.O), is(true));
+        assertThat(point.scalarMultiplyVariableTime(BigInteger.ONE).isEqual(point), is(true));
+        assertThat(point.scalarMultiplyVariableTime(BigInteger.TEN.negate()).isEqual(point.scalarMultiply(BigInteger.TEN.negate())), is(true));
+        assertThat(point.scalarMultiplyVariableTime(curve.getPrimeL()).isEqual(PointEd448.O), is(true));
+    }
+
+    @Test
+    public void success_ScalarMultiplyVariableTime_small_order_component() {
+        // (0, -1) has order 2, so the scalar must not be reduced by L
+        Point point = curve.getBasePoint().add(PointEd448.fromAffine(new CoordinateEd448(BigInteger.ZERO),
+                new CoordinateEd448(curve.getPrimePowerP().subtract(BigInteger.ONE))));
+        BigInteger integer = curve.getPrimeL().add(BigInteger.TEN);
+
+        assertThat(point.scalarMultiplyVariableTime(integer).isEqual(point.scalarMultiply(integer)), is(true));
+    }
+
+    @Test
+    public void success_ScalarMultiplyVariableTime_precomputed() {
+        Random random = new Random(4484);
+        PointEd448 point = PointEd448.from(curve.getBasePoint().scalarMultiply(new BigInteger(456, random))).precompute();
+        for (int i = 0; i < 5; i++) {
+            BigInteger integer = new BigInteger(456, random);
+            Point expected = point.scalarMultiply(integer);
+
+            assertThat(point.scalarMultiplyVariableTime(integer).isEqual(expected), is(true));
+            assertThat(point.scalarMultiplyVariableTime(integer.negate(), PointEd448.PRECOMPUTED_WIDTH).isEqual(expected.negate().negateY()), is(true));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void failure_ScalarMultiplyVariableTime_width() {
+        curve.getBasePoint().scalarMultiplyVariableTime(BigInteger.TEN, 9);
+    }
 }
@@ -0,0 +1,127 @@
+package io.moatwel.crypto.eddsa.ed448;
+
+import io.moatwel.util.ByteUtils;
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class Scalar448Test {
+
+    private static final BigInteger L = Curve448.getInstance().getPrimeL();
+
+    private Random random = new Random(4485);
+
+    @Test
+    public void success_Reduce_hash() {
+        for (int i = 0; i < 100; i++) {
+            byte[] hash = new byte[114];
+            random.nextBytes(hash);
+            int[] r = Scalar448.create();
+            Scalar448.reduce(r, hash);
+
+            assertThat(Scalar448.toBigInteger(r), is(littleEndian(hash).mod(L)));
+        }
+    }
+
+    @Test
+    public void success_Reduce_any_length() {
+        for (int length = 0; length <= 3 * 114; length += 7) {
+            byte[] bytes = new byte[length];
+            random.nextBytes(bytes);
+            int[] r = Scalar448.create();
+            Scalar448.reduce(r, bytes);
+
+            assertThat(Scalar448.toBigInteger(r), is(littleEndian(bytes).mod(L)));
+        }
+    }
+
+    @Test
+    public void success_Reduce_edge() {
+        BigInteger[] values = new BigInteger[]{
+                BigInteger.ZERO,
+                L.subtract(BigInteger.ONE),
+                L,
+                L.add(BigInteger.ONE),
+                L.shiftLeft(1),
+                L.multiply(BigInteger.valueOf(3)).subtract(BigInteger.ONE),
+                L.multiply(L),
+                BigInteger.ONE.shiftLeft(114 * 8).subtract(BigInteger.ONE)
+        };
+        for (BigInteger value : values) {
+            int[] r = Scalar448.create();
+            Scalar448.reduce(r, toLittleEndian(value, 114));
+
+            assertThat(Scalar448.toBigInteger(r), is(value.mod(L)));
+        }
+    }
+
+    @Test
+    public void success_MulAdd() {
+        for (int i = 0; i < 100; i++) {
+            BigInteger a = new BigInteger(32 * Scalar448.WORDS, random);
+            BigInteger b = new BigInteger(32 * Scalar448.WORDS, random);
+            BigInteger c = i == 0 ? BigInteger.ONE.shiftLeft(32 * Scalar448.WORDS).subtract(BigInteger.ONE) : new BigInteger(32 * Scalar448.WORDS, random);
+            int[] r = Scalar448.create();
+            Scalar448.mulAdd(r, Scalar448.create(a), Scalar448.create(b), Scalar448.create(c));
+
+            assertThat(Scalar448.toBigInteger(r), is(a.multiply(b).add(c).mod(L)));
+        }
+    }
+
+    @Test
+    public void success_MulAdd_same_array() {
+        BigInteger a = new BigInteger(448, random).mod(L);
+        int[] r = Scalar448.create(a);
+        Scalar448.mulAdd(r, r, r, r);
+
+        assertThat(Scalar448.toBigInteger(r), is(a.multiply(a).add(a).mod(L)));
+    }
+
+    @Test
+    public void success_Decode_and_Encode() {
+        BigInteger value = new BigInteger(448, random).mod(L);
+        byte[] bytes = toLittleEndian(value, Scalar448.BYTES);
+        int[] r = Scalar448.create();
+
+        assertThat(Scalar448.decode(r, bytes), is(true));
+        assertThat(Scalar448.toBigInteger(r), is(value));
+        assertThat(Scalar448.encode(r), is(bytes));
+    }
+
+    @Test
+    public void success_Decode_not_canonical() {
+        int[] r = Scalar448.create();
+
+        assertThat(Scalar448.decode(r, toLittleEndian(L.subtract(BigInteger.ONE), Scalar448.BYTES)), is(true));
+        assertThat(Scalar448.decode(r, toLittleEndian(L, Scalar448.BYTES)), is(false));
+        assertThat(Scalar448.decode(r, toLittleEndian(L.add(BigInteger.ONE), Scalar448.BYTES)), is(false));
+        assertThat(Scalar448.decode(r, toLittleEndian(BigInteger.ONE.shiftLeft(8 * Scalar448.BYTES - 1), Scalar448.BYTES)), is(false));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void failure_Decode_wrong_length() {
+        Scalar448.decode(Scalar448.create(), new byte[Scalar448.BYTES + 1]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void failure_Create_too_large() {
+        Scalar448.create(BigInteger.ONE.shiftLeft(32 * Scalar448.WORDS));
+    }
+
+    private static BigInteger littleEndian(byte[] bytes) {
+        return new BigInteger(1, ByteUtils.reverse(bytes));
+    }
+
+    private static byte[] toLittleEndian(BigInteger value, int length) {
+        byte[] bigEndian = value.toByteArray();
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length && i < bigEndian.length; i++) {
+            bytes[i] = bigEndian[bigEndian.length - 1 - i];
+        }
+        return bytes;
+    }
+}
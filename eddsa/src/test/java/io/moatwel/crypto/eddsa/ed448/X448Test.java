@@ -0,0 +1,114 @@
+package io.moatwel.crypto.eddsa.ed448;
+
+import io.moatwel.crypto.HashAlgorithm;
+import io.moatwel.crypto.KeyPair;
+import io.moatwel.crypto.PublicKey;
+import io.moatwel.crypto.eddsa.DecodeException;
+import io.moatwel.crypto.eddsa.Edwards;
+import io.moatwel.crypto.eddsa.PublicKeyDelegate;
+import io.moatwel.util.HexEncoder;
+import io.moatwel.util.SharedKeyHelper;
+import org.junit.Test;
+
+import java.math.BigInteger;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class X448Test {
+
+    private Edwards edwards = new Edwards(new Ed448SchemeProvider(HashAlgorithm.SHAKE_256));
+
+    @Test
+    public void success_ScalarMultiply_RFC7748_1() {
+        byte[] result = X448.scalarMultiply(
+                HexEncoder.getBytes("3d262fddf9ec8e88495266fea19a34d28882acef045104d0d1aae121700a779c984c24f8cdd78fbff44943eba368f54b29259a4f1c600ad3"),
+                HexEncoder.getBytes("06fce640fa3487bfda5f6cf2d5263f8aad88334cbd07437f020f08f9814dc031ddbdc38c19c6da2583fa5429db94ada18aa7a7fb4ef8a086"));
+
+        assertThat(HexEncoder.getString(result), is("ce3e4ff95a60dc6697da1db1d85e6afbdf79b50a2412d7546d5f239fe14fbaadeb445fc66a01b0779d98223961111e21766282f73dd96b6f"));
+    }
+
+    @Test
+    public void success_ScalarMultiply_RFC7748_2() {
+        byte[] result = X448.scalarMultiply(
+                HexEncoder.getBytes("203d494428b8399352665ddca42f9de8fef600908e0d461cb021f8c538345dd77c3e4806e25f46d3315c44e0a5b4371282dd2c8d5be3095f"),
+                HexEncoder.getBytes("0fbcc2f993cd56d3305b0b7d9e55d4c1a8fb5dbb52f8e9a1e9b6201b165d015894e56c4d3570bee52fe205e28a78b91cdfbde71ce8d157db"));
+
+        assertThat(HexEncoder.getString(result), is("884a02576239ff7a2f2f63b2db6a9ff37047ac13568e1e30fe63c4a7ad1b3ee3a5700df34321d62077e63633c575c1c954514e99da7c179d"));
+    }
+
+    @Test
+    public void success_ScalarMultiply_RFC7748_iteration() {
+        byte[] k = new byte[X448.KEY_LENGTH];
+        k[0] = 5;
+        byte[] u = k.clone();
+        for (int i = 1; i <= 1000; i++) {
+            byte[] result = X448.scalarMultiply(k, u);
+            u = k;
+            k = result;
+            if (i == 1) {
+                assertThat(HexEncoder.getString(k), is("3f482c8a9f19b01e6c46ee9711d9dc14fd4bf67af30765c2ae2b846a4d23a8cd0db897086239492caf350b51f833868b9bc2b3bca9cf4113"));
+            }
+        }
+
+        assertThat(HexEncoder.getString(k), is("aa3b4749d55b9daf1e5b00288826c467274ce3ebbdd5c17b975e09d4af6c67cf10d087202db88286e2b79fceea3ec353ef54faa26e219f38"));
+    }
+
+    @Test
+    public void success_ScalarMultiplyBase_RFC7748_Diffie_Hellman() {
+        byte[] alicePrivate = HexEncoder.getBytes("9a8f4925d1519f5775cf46b04b5800d4ee9ee8bae8bc5565d498c28dd9c9baf574a9419744897391006382a6f127ab1d9ac2d8c0a598726b");
+        byte[] bobPrivate = HexEncoder.getBytes("1c306a7ac2a0e2e0990b294470cba339e6453772b075811d8fad0d1d6927c120bb5ee8972b0d3e21374c9c921b09d1b0366f10b65173992d");
+        byte[] alicePublic = X448.scalarMultiplyBase(alicePrivate);
+        byte[] bobPublic = X448.scalarMultiplyBase(bobPrivate);
+
+        assertThat(HexEncoder.getString(alicePublic), is("9b08f7cc31b7e3e67d22d5aea121074a273bd2b83de09c63faa73d2c22c5d9bbc836647241d953d40c5b12da88120d53177f80e532c41fa0"));
+        assertThat(HexEncoder.getString(bobPublic), is("3eb7a829b0cd20f5bcfc0b599b6feccf6da4627107bdb0d4f345b43027d8b972fc3e34fb4232a13ca706dcb57aec3dae07bdc1c67bf33609"));
+        assertThat(HexEncoder.getString(X448.scalarMultiply(alicePrivate, bobPublic)), is("07fff4181ac6cc95ec1c16a94a0f74d12da232ce40a77552281d282bb60c0b56fd2464c335543936521c24403085d59a449a5037514a879d"));
+        assertThat(HexEncoder.getString(X448.scalarMultiply(bobPrivate, alicePublic)), is("07fff4181ac6cc95ec1c16a94a0f74d12da232ce40a77552281d282bb60c0b56fd2464c335543936521c24403085d59a449a5037514a879d"));
+    }
+
+    @Test
+    public void success_ToMontgomery() {
+        PublicKeyDelegate delegate = edwards.getSchemeProvider().getPublicKeyDelegate();
+        for (int i = 0; i < 10; i++) {
+            KeyPair keyPair = edwards.generateKeyPair();
+
+            byte[] scalar = X448.toMontgomery(keyPair.getPrivateKey(), delegate);
+            assertThat(scalar.length, is(X448.KEY_LENGTH));
+            assertThat(X448.toMontgomery(keyPair.getPublicKey()), is(X448.scalarMultiplyBase(scalar)));
+        }
+    }
+
+    @Test
+    public void success_ToMontgomery_shared_key() throws DecodeException {
+        PublicKeyDelegate delegate = edwards.getSchemeProvider().getPublicKeyDelegate();
+        KeyPair keyPair1 = edwards.generateKeyPair();
+        KeyPair keyPair2 = edwards.generateKeyPair();
+
+        byte[] secret1 = SharedKeyHelper.generateSharedSecret(keyPair1.getPublicKey(), keyPair2.getPrivateKey(), delegate);
+        byte[] secret2 = SharedKeyHelper.generateSharedSecret(keyPair2.getPublicKey(), keyPair1.getPrivateKey(), delegate);
+        byte[] seed = SharedKeyHelper.generateSharedKeySeed(keyPair1.getPublicKey(), keyPair2.getPrivateKey(), delegate);
+
+        assertThat(secret1.length, is(X448.KEY_LENGTH));
+        assertThat(secret1, is(secret2));
+        assertThat(secret1, is(X448.toMontgomery(new PublicKey(seed))));
+    }
+
+    @Test(expected = DecodeException.class)
+    public void failure_GenerateSharedSecret_small_order() throws DecodeException {
+        KeyPair keyPair = edwards.generateKeyPair();
+        PublicKey identity = new PublicKey(Curve448.getInstance().getBasePoint().scalarMultiply(BigInteger.ZERO).encode().getValue());
+
+        SharedKeyHelper.generateSharedSecret(identity, keyPair.getPrivateKey(), edwards.getSchemeProvider().getPublicKeyDelegate());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void failure_ScalarMultiply_wrong_length() {
+        X448.scalarMultiply(new byte[X448.KEY_LENGTH + 1], new byte[X448.KEY_LENGTH]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void failure_ToMontgomery_wrong_length() {
+        X448.toMontgomery(new PublicKey(new byte[X448.KEY_LENGTH - 1]));
+    }
+}
@@ -5,12 +5,16 @@ import io.moatwel.crypto.HashAlgorithm;
 import io.moatwel.crypto.KeyPair;
 import io.moatwel.crypto.PrivateKey;
 import io.moatwel.crypto.Signature;
+import io.moatwel.crypto.VerificationItem;
 import io.moatwel.crypto.eddsa.Edwards;
 import io.moatwel.crypto.eddsa.ed448.Ed448Signer;
 import io.moatwel.util.HexEncoder;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
 
@@ -74,4 +78,25 @@ public class Ed448phVerifyTest {
 
         assertThat(isVerified, is(false));
     }
+
+    @Test
+    public void success_VerifyBatch_with_pre_hash() {
+        byte[] data = "falkdjflasdjl ko3ii;afd".getBytes();
+        byte[] longData = new byte[1000];
+        byte[] context = HexEncoder.getBytes("ab");
+        List<VerificationItem> items = new ArrayList<>();
+        items.add(new VerificationItem(pair.getPublicKey(), data, signer.sign(pair, data, null)));
+        items.add(new VerificationItem(pair.getPublicKey(), longData, context, signer.sign(pair, longData, context)));
+        // the pre-hash of another message
+        items.add(new VerificationItem(pair.getPublicKey(), "falkdjflasdjl ko3ii;afd.".getBytes(), signer.sign(pair, data, null)));
+        items.add(new VerificationItem(pair.getPublicKey(), longData, signer.sign(pair, longData, context)));
+
+        boolean[] results = signer.verifyBatch(items);
+
+        assertThat(results, is(new boolean[]{true, true, false, false}));
+        for (int i = 0; i < items.size(); i++) {
+            VerificationItem item = items.get(i);
+            assertThat(results[i], is(signer.verify(item.getPublicKey(), item.getData(), item.getContext(), item.getSignature())));
+        }
+    }
 }
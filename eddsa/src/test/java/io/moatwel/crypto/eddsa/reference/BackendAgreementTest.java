@@ -0,0 +1,163 @@
+package io.moatwel.crypto.eddsa.reference;
+
+import io.moatwel.crypto.EdDsaSigner;
+import io.moatwel.crypto.HashAlgorithm;
+import io.moatwel.crypto.Hashes;
+import io.moatwel.crypto.PublicKey;
+import io.moatwel.crypto.Signature;
+import io.moatwel.crypto.VerificationItem;
+import io.moatwel.crypto.eddsa.ArithmeticBackend;
+import io.moatwel.crypto.eddsa.DecodeException;
+import io.moatwel.crypto.eddsa.Point;
+import io.moatwel.crypto.eddsa.SchemeProvider;
+import io.moatwel.crypto.eddsa.ed25519.Curve25519;
+import io.moatwel.crypto.eddsa.ed25519.Ed25519SchemeProvider;
+import io.moatwel.crypto.eddsa.ed448.Curve448;
+import io.moatwel.crypto.eddsa.ed448.Ed448SchemeProvider;
+import io.moatwel.util.HexEncoder;
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * All backends must decode and verify the same way, also on edge cases which RFC 8032 leaves
+ * to implementations: non-canonical encodings and components of small order.
+ */
+public class BackendAgreementTest {
+
+    private static final byte[] DATA = "agreement".getBytes();
+
+    // results of verify(), where the first four items hold with the cofactor
+    private static final boolean[] EXPECTED = new boolean[]{true, false, false, true, false, false, false, false, false};
+
+    private final Random random = new Random(25519);
+
+    @Test
+    public void success_Verify_same_on_backends_Ed25519() throws DecodeException {
+        // T of order 8
+        Point t = new ReferenceEncodedPoint(ReferenceCurve.ED25519, HexEncoder.getBytes(
+                "c7176a703d4dd84fba3c0b760d10670f2a2053fa2c39ccc64ec7fd7792ac037a")).decode();
+        List<VerificationItem> items = edgeCases(ReferenceCurve.ED25519,
+                new Ed25519SchemeProvider(HashAlgorithm.SHA_512, new ReferenceBackend()), HashAlgorithm.SHA_512, t);
+
+        int backends = 0;
+        for (ArithmeticBackend backend : ArithmeticBackend.getBackends()) {
+            if (backend.supports(Curve25519.getInstance())) {
+                assertVerify(new Ed25519SchemeProvider(HashAlgorithm.SHA_512, backend), items);
+                backends++;
+            }
+        }
+        assertThat(backends >= 2, is(true));
+    }
+
+    @Test
+    public void success_Verify_same_on_backends_Ed448() throws DecodeException {
+        // T = (1, 0) of order 4
+        byte[] encodedT = new byte[57];
+        encodedT[56] = (byte) 0x80;
+        Point t = new ReferenceEncodedPoint(ReferenceCurve.ED448, encodedT).decode();
+        List<VerificationItem> items = edgeCases(ReferenceCurve.ED448,
+                new Ed448SchemeProvider(HashAlgorithm.SHAKE_256, new ReferenceBackend()), HashAlgorithm.SHAKE_256, t);
+
+        int backends = 0;
+        for (ArithmeticBackend backend : ArithmeticBackend.getBackends()) {
+            if (backend.supports(Curve448.getInstance())) {
+                assertVerify(new Ed448SchemeProvider(HashAlgorithm.SHAKE_256, backend), items);
+                backends++;
+            }
+        }
+        assertThat(backends >= 2, is(true));
+    }
+
+    private void assertVerify(SchemeProvider scheme, List<VerificationItem> items) {
+        EdDsaSigner signer = scheme.getSigner();
+        for (int i = 0; i < items.size(); i++) {
+            VerificationItem item = items.get(i);
+            assertThat(scheme.getBackend().getName() + " item " + i,
+                    signer.verify(item.getPublicKey(), item.getData(), null, item.getSignature()), is(EXPECTED[i]));
+        }
+        // undecodable items are left out, and the combined equation of the others is cofactored
+        assertThat(signer.verifyBatch(items),
+                is(new boolean[]{true, true, true, true, false, false, false, false, false}));
+        // if the combined equation does not hold, each item is verified without the cofactor
+        List<VerificationItem> tampered = new ArrayList<>(items.subList(0, 4));
+        VerificationItem honest = items.get(0);
+        tampered.add(new VerificationItem(honest.getPublicKey(), "tampered".getBytes(), honest.getSignature()));
+        assertThat(signer.verifyBatch(tampered), is(new boolean[]{true, false, false, true, false}));
+    }
+
+    /**
+     * Items in the order of {@link #EXPECTED}.
+     *
+     * @param t point of small order
+     */
+    private List<VerificationItem> edgeCases(ReferenceCurve curve, SchemeProvider scheme, HashAlgorithm algorithm,
+                                             Point t) {
+        int length = curve.getPublicKeyByteLength();
+        BigInteger a = new BigInteger(length * 8 - 16, random);
+        Point pointA = curve.getBasePoint().scalarMultiply(a);
+        byte[] encodedA = pointA.encode().getValue();
+        byte[] encodedSmallOrderA = pointA.add(t).encode().getValue();
+
+        byte[] identity = new byte[length];
+        identity[0] = 1;
+        // y = p + 1, which is 1 if it is reduced
+        byte[] nonCanonicalY = ReferenceCoordinate.encode(curve.getPrimePowerP().add(BigInteger.ONE), length);
+        // x = 0 with the sign bit 1
+        byte[] nonCanonicalX = identity.clone();
+        nonCanonicalX[length - 1] = (byte) 0x80;
+        byte[] zero = new byte[length];
+
+        Signature honest = sign(curve, scheme, algorithm, a, encodedA, null);
+        byte[] sPlusL = ReferenceCoordinate.encode(ReferenceCoordinate.decode(honest.getS()).add(curve.getPrimeL()), length);
+
+        List<VerificationItem> items = new ArrayList<>();
+        items.add(new VerificationItem(new PublicKey(encodedA), DATA, honest));
+        // R = r * B + T
+        items.add(new VerificationItem(new PublicKey(encodedA), DATA, sign(curve, scheme, algorithm, a, encodedA, t)));
+        // A + T, where s * B - k * (A + T) = R - k * T
+        items.add(new VerificationItem(new PublicKey(encodedSmallOrderA), DATA,
+                sign(curve, scheme, algorithm, a, encodedSmallOrderA, null)));
+        // A = R = identity and s = 0
+        items.add(new VerificationItem(new PublicKey(identity), DATA, new ReferenceSignature(identity, zero)));
+        items.add(new VerificationItem(new PublicKey(identity), DATA, new ReferenceSignature(nonCanonicalY, zero)));
+        items.add(new VerificationItem(new PublicKey(identity), DATA, new ReferenceSignature(nonCanonicalX, zero)));
+        items.add(new VerificationItem(new PublicKey(nonCanonicalY), DATA, new ReferenceSignature(identity, zero)));
+        items.add(new VerificationItem(new PublicKey(nonCanonicalX), DATA, new ReferenceSignature(identity, zero)));
+        items.add(new VerificationItem(new PublicKey(encodedA), DATA, new ReferenceSignature(honest.getR(), sPlusL)));
+        return items;
+    }
+
+    /**
+     * Sign with R = r * B + t, and s = r + k * a, where k is not a multiple of the cofactor, or
+     * else k * T vanishes for a public key A + T.
+     */
+    private Signature sign(ReferenceCurve curve, SchemeProvider scheme, HashAlgorithm algorithm, BigInteger a,
+                           byte[] encodedA, Point t) {
+        int length = curve.getPublicKeyByteLength();
+        BigInteger r;
+        byte[] encodedR;
+        BigInteger k;
+        do {
+            r = new BigInteger(length * 8 - 16, random);
+            Point pointR = curve.getBasePoint().scalarMultiply(r);
+            if (t != null) {
+                pointR = pointR.add(t);
+            }
+            encodedR = pointR.encode().getValue();
+            byte[][] inputs = {scheme.dom(new byte[0]), encodedR, encodedA, scheme.preHash(DATA)};
+            byte[] hash = curve.getHashByteLength() == 0
+                    ? Hashes.hash(algorithm, inputs)
+                    : Hashes.hash(algorithm, curve.getHashByteLength(), inputs);
+            k = ReferenceCoordinate.decode(hash).mod(curve.getPrimeL());
+        } while (k.mod(curve.getCofactor()).signum() == 0);
+        BigInteger s = r.add(k.multiply(a)).mod(curve.getPrimeL());
+        return new ReferenceSignature(encodedR, ReferenceCoordinate.encode(s, length));
+    }
+}
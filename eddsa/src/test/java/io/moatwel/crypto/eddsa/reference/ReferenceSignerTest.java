@@ -0,0 +1,169 @@
+package io.moatwel.crypto.eddsa.reference;
+
+import io.moatwel.crypto.EdDsaSigner;
+import io.moatwel.crypto.HashAlgorithm;
+import io.moatwel.crypto.KeyPair;
+import io.moatwel.crypto.PrivateKey;
+import io.moatwel.crypto.Signature;
+import io.moatwel.crypto.VerificationItem;
+import io.moatwel.crypto.eddsa.DecodeException;
+import io.moatwel.crypto.eddsa.EdDsaKeyGenerator;
+import io.moatwel.crypto.eddsa.MultiScalarMultiplier;
+import io.moatwel.crypto.eddsa.Point;
+import io.moatwel.crypto.eddsa.SchemeProvider;
+import io.moatwel.crypto.eddsa.ed25519.Ed25519SchemeProvider;
+import io.moatwel.crypto.eddsa.ed25519.ctx.Ed25519ctxSchemeProvider;
+import io.moatwel.crypto.eddsa.ed25519.ph.Ed25519phSchemeProvider;
+import io.moatwel.crypto.eddsa.ed448.Ed448SchemeProvider;
+import io.moatwel.util.HexEncoder;
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class ReferenceSignerTest {
+
+    private static final ReferenceBackend BACKEND = new ReferenceBackend();
+
+    private final Random random = new Random(8032);
+
+    @Test
+    public void success_Sign_Ed25519_RFC8032() {
+        SchemeProvider scheme = new Ed25519SchemeProvider(HashAlgorithm.SHA_512, BACKEND);
+        KeyPair pair = new EdDsaKeyGenerator(scheme).generateKeyPair(PrivateKey.newInstance(
+                "9d61b19deffd5a60ba844af492ec2cc44449c5697b326919703bac031cae7f60"));
+        Signature signature = scheme.getSigner().sign(pair, new byte[0], new byte[0]);
+
+        assertThat(pair.getPublicKey().getHexString(),
+                is("d75a980182b10ab7d54bfed3c964073a0ee172f3daa62325af021a68f707511a"));
+        assertThat(HexEncoder.getString(signature.getSignature()), is(
+                "e5564300c360ac729086e2cc806e828a84877f1eb8e5d974d873e065224901555fb8821590a33bac" +
+                        "c61e39701cf9b46bd25bf5f0595bbe24655141438e7a100b"));
+        assertThat(scheme.getSigner().verify(pair.getPublicKey(), new byte[0], new byte[0], signature), is(true));
+    }
+
+    @Test
+    public void success_Sign_Ed448_RFC8032() {
+        SchemeProvider scheme = new Ed448SchemeProvider(HashAlgorithm.SHAKE_256, BACKEND);
+        KeyPair pair = new EdDsaKeyGenerator(scheme).generateKeyPair(PrivateKey.newInstance(
+                "6c82a562cb808d10d632be89c8513ebf6c929f34ddfa8c9f63c9960ef6e348a3" +
+                        "528c8a3fcc2f044e39a3fc5b94492f8f032e7549a20098f95b"));
+        Signature signature = scheme.getSigner().sign(pair, new byte[0], new byte[0]);
+
+        assertThat(HexEncoder.getString(signature.getSignature()), is(
+                "533a37f6bbe457251f023c0d88f976ae2dfb504a843e34d2074fd823d41a591f2b233f034f628281" +
+                        "f2fd7a22ddd47d7828c59bd0a21bfd3980ff0d2028d4b18a9df63e006c5d1c2d345b925d8dc00b41" +
+                        "04852db99ac5c7cdda8530a113a0f4dbb61149f05a7363268c71d95808ff2e652600"));
+        assertThat(scheme.getSigner().verify(pair.getPublicKey(), new byte[0], new byte[0], signature), is(true));
+    }
+
+    @Test
+    public void success_Sign_same_as_limbs_Ed25519() {
+        assertSameAsLimbs(new Ed25519SchemeProvider(HashAlgorithm.SHA_512, BACKEND),
+                new Ed25519SchemeProvider(HashAlgorithm.SHA_512));
+        assertSameAsLimbs(new Ed25519ctxSchemeProvider(HashAlgorithm.SHA_512, BACKEND),
+                new Ed25519ctxSchemeProvider(HashAlgorithm.SHA_512));
+        assertSameAsLimbs(new Ed25519phSchemeProvider(HashAlgorithm.SHA_512, BACKEND),
+                new Ed25519phSchemeProvider(HashAlgorithm.SHA_512));
+    }
+
+    @Test
+    public void success_Sign_same_as_limbs_Ed448() {
+        assertSameAsLimbs(new Ed448SchemeProvider(HashAlgorithm.SHAKE_256, BACKEND),
+                new Ed448SchemeProvider(HashAlgorithm.SHAKE_256));
+    }
+
+    @Test
+    public void failure_Verify_tampered_message() {
+        SchemeProvider scheme = new Ed25519SchemeProvider(HashAlgorithm.SHA_512, BACKEND);
+        KeyPair pair = new EdDsaKeyGenerator(scheme).generateKeyPair();
+        Signature signature = scheme.getSigner().sign(pair, new byte[]{1, 2, 3}, null);
+
+        assertThat(scheme.getSigner().verify(pair.getPublicKey(), new byte[]{1, 2, 4}, null, signature), is(false));
+    }
+
+    @Test
+    public void success_VerifyBatch() {
+        SchemeProvider scheme = new Ed448SchemeProvider(HashAlgorithm.SHAKE_256, BACKEND);
+        EdDsaSigner signer = scheme.getSigner();
+        List<VerificationItem> items = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            KeyPair pair = new EdDsaKeyGenerator(scheme).generateKeyPair();
+            byte[] data = new byte[]{(byte) i};
+            items.add(new VerificationItem(pair.getPublicKey(), i == 1 ? new byte[]{9} : data, signer.sign(pair, data, null)));
+        }
+
+        boolean[] results = signer.verifyBatch(items);
+
+        assertThat(results[0], is(true));
+        assertThat(results[1], is(false));
+        assertThat(results[2], is(true));
+    }
+
+    @Test(expected = DecodeException.class)
+    public void failure_Decode_y_not_less_than_p() throws DecodeException {
+        byte[] value = ReferenceCoordinate.encode(ReferenceCurve.ED25519.getPrimePowerP(), 32);
+        new ReferenceEncodedPoint(ReferenceCurve.ED25519, value).decode();
+    }
+
+    @Test(expected = DecodeException.class)
+    public void failure_Decode_x_zero_with_sign() throws DecodeException {
+        // y = 1, x = 0 and the sign bit 1
+        byte[] value = new byte[57];
+        value[0] = 1;
+        value[56] = (byte) 0x80;
+        new ReferenceEncodedPoint(ReferenceCurve.ED448, value).decode();
+    }
+
+    @Test
+    public void success_Decode_encoded_point() throws DecodeException {
+        for (ReferenceCurve curve : new ReferenceCurve[]{ReferenceCurve.ED25519, ReferenceCurve.ED448}) {
+            Point point = curve.getBasePoint().scalarMultiply(new BigInteger(128, random));
+            byte[] encoded = point.encode().getValue();
+
+            assertThat(new ReferenceEncodedPoint(curve, encoded).decode().isEqual(point), is(true));
+        }
+    }
+
+    @Test
+    public void success_MultiScalarMultiplier() {
+        ReferenceCurve curve = ReferenceCurve.ED25519;
+        Point[] points = new Point[3];
+        BigInteger[] scalars = new BigInteger[3];
+        Point expected = curve.getBasePoint().scalarMultiply(BigInteger.ZERO);
+        for (int i = 0; i < points.length; i++) {
+            points[i] = curve.getBasePoint().scalarMultiply(BigInteger.valueOf(i + 2));
+            scalars[i] = BigInteger.valueOf(10 * i - 7);
+            expected = expected.add(curve.getBasePoint().scalarMultiply(BigInteger.valueOf((i + 2) * (10 * i - 7))));
+        }
+        MultiScalarMultiplier multiplier = curve.getMultiScalarMultiplier();
+
+        assertThat(multiplier.multiplyStraus(points, scalars).isEqual(expected), is(true));
+        assertThat(multiplier.multiplyPippenger(points, scalars).isEqual(expected), is(true));
+    }
+
+    /**
+     * Sign random messages with both schemes, which must give the same signatures and verify
+     * those of each other.
+     */
+    private void assertSameAsLimbs(SchemeProvider reference, SchemeProvider limbs) {
+        for (int i = 0; i < 4; i++) {
+            KeyPair pair = new EdDsaKeyGenerator(limbs).generateKeyPair();
+            byte[] data = new byte[random.nextInt(100)];
+            random.nextBytes(data);
+            byte[] context = new byte[]{(byte) i};
+
+            Signature expected = limbs.getSigner().sign(pair, data, context);
+            Signature signature = reference.getSigner().sign(pair, data, context);
+
+            assertThat(signature.getSignature(), is(expected.getSignature()));
+            assertThat(reference.getSigner().verify(pair.getPublicKey(), data, context, expected), is(true));
+            assertThat(limbs.getSigner().verify(pair.getPublicKey(), data, context, signature), is(true));
+        }
+    }
+}
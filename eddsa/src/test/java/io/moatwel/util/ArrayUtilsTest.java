@@ -3,6 +3,8 @@ package io.moatwel.util;
 import org.junit.Test;
 
 import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Random;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.not;
@@ -98,6 +100,109 @@ public class ArrayUtilsTest {
         assertThat(result4, is(new int[]{1, -1, 1, -1, 0, 0, 1, 0, 0, -1}));
     }
 
+    @Test
+    public void success_toWindowedNonAdjacentForm() {
+        Random random = new Random(5);
+        for (int width = 2; width <= 8; width++) {
+            for (int count = 0; count < 100; count++) {
+                BigInteger integer = new BigInteger(253, random);
+                byte[] naf = ArrayUtils.toWindowedNonAdjacentForm(integer, width);
+
+                assertThat(naf.length, is(integer.bitLength() + 1));
+
+                BigInteger result = BigInteger.ZERO;
+                int lastNonZero = -width;
+                for (int i = naf.length - 1; i >= 0; i--) {
+                    result = result.shiftLeft(1).add(BigInteger.valueOf(naf[i]));
+                }
+                for (int i = 0; i < naf.length; i++) {
+                    if (naf[i] != 0) {
+                        assertThat(naf[i] % 2 != 0, is(true));
+                        assertThat(Math.abs(naf[i]) < (1 << (width - 1)), is(true));
+                        assertThat(i - lastNonZero >= width, is(true));
+                        lastNonZero = i;
+                    }
+                }
+                assertThat(result, is(integer));
+            }
+        }
+    }
+
+    @Test
+    public void success_toWindowedNonAdjacentForm_edge() {
+        assertThat(ArrayUtils.toWindowedNonAdjacentForm(BigInteger.ZERO, 5), is(new byte[]{0}));
+        assertThat(ArrayUtils.toWindowedNonAdjacentForm(new BigInteger("7"), 2), is(new byte[]{-1, 0, 0, 1}));
+        assertThat(ArrayUtils.toWindowedNonAdjacentForm(new BigInteger("255"), 8), is(new byte[]{-1, 0, 0, 0, 0, 0, 0, 0, 1}));
+    }
+
+    @Test
+    public void success_toWindowedNonAdjacentForm_words() {
+        Random random = new Random(6);
+        for (int width = 2; width <= 8; width++) {
+            for (int count = 0; count < 100; count++) {
+                int[] words = new int[8];
+                for (int i = 0; i < words.length; i++) {
+                    words[i] = random.nextInt();
+                }
+                BigInteger integer = BigInteger.ZERO;
+                for (int i = words.length - 1; i >= 0; i--) {
+                    integer = integer.shiftLeft(32).add(BigInteger.valueOf(words[i] & 0xFFFFFFFFL));
+                }
+
+                byte[] naf = ArrayUtils.toWindowedNonAdjacentForm(words, width);
+                byte[] expected = ArrayUtils.toWindowedNonAdjacentForm(integer, width);
+
+                assertThat(naf.length, is(257));
+                assertThat(Arrays.copyOf(naf, expected.length), is(expected));
+                assertThat(Arrays.copyOfRange(naf, expected.length, naf.length), is(new byte[naf.length - expected.length]));
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void failure_toWindowedNonAdjacentForm_negative() {
+        ArrayUtils.toWindowedNonAdjacentForm(BigInteger.ONE.negate(), 5);
+    }
+
+    @Test
+    public void success_toSignedRadixForm() {
+        Random random = new Random(7);
+        for (int width = 1; width <= 16; width++) {
+            for (int count = 0; count < 50; count++) {
+                BigInteger integer = new BigInteger(253, random);
+                int[] digits = ArrayUtils.toSignedRadixForm(integer, width);
+
+                assertThat(digits.length, is(integer.bitLength() / width + 1));
+
+                BigInteger result = BigInteger.ZERO;
+                for (int i = digits.length - 1; i >= 0; i--) {
+                    assertThat(digits[i] > -(1 << (width - 1)), is(true));
+                    assertThat(digits[i] <= 1 << (width - 1), is(true));
+                    result = result.shiftLeft(width).add(BigInteger.valueOf(digits[i]));
+                }
+                assertThat(result, is(integer));
+            }
+        }
+    }
+
+    @Test
+    public void success_toSignedRadixForm_edge() {
+        assertThat(ArrayUtils.toSignedRadixForm(BigInteger.ZERO, 4), is(new int[]{0}));
+        assertThat(ArrayUtils.toSignedRadixForm(new BigInteger("15"), 4), is(new int[]{-1, 1}));
+        assertThat(ArrayUtils.toSignedRadixForm(new BigInteger("8"), 4), is(new int[]{8, 0}));
+        assertThat(ArrayUtils.toSignedRadixForm(new BigInteger("255"), 8), is(new int[]{-1, 1}));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void failure_toSignedRadixForm_negative() {
+        ArrayUtils.toSignedRadixForm(BigInteger.ONE.negate(), 4);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void failure_toSignedRadixForm_width() {
+        ArrayUtils.toSignedRadixForm(BigInteger.ONE, 25);
+    }
+
     @Test
     public void success_ReverseIntegerArray() {
         int[] input1 = new int[]{0, 1, 1, -1, 0, 0, -1};